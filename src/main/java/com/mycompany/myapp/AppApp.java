@@ -2,6 +2,7 @@ package com.mycompany.myapp;
 
 import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.config.CRLFLogConverter;
+import com.mycompany.myapp.config.Constants;
 import jakarta.annotation.PostConstruct;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -15,7 +16,9 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
 import tech.jhipster.config.DefaultProfileUtil;
 import tech.jhipster.config.JHipsterConstants;
 
@@ -67,8 +70,12 @@ public class AppApp {
     public static void main(String[] args) {
         SpringApplication app = new SpringApplication(AppApp.class);
         DefaultProfileUtil.addDefaultProfile(app);
-        Environment env = app.run(args).getEnvironment();
-        logApplicationStartup(env);
+        ConfigurableApplicationContext context = app.run(args);
+        if (context.getEnvironment().acceptsProfiles(Profiles.of(Constants.SPRING_PROFILE_IMPORT))) {
+            // The import ran on startup, close the application with its exit code
+            System.exit(SpringApplication.exit(context));
+        }
+        logApplicationStartup(context.getEnvironment());
     }
 
     private static void logApplicationStartup(Environment env) {
@@ -0,0 +1,42 @@
+package com.mycompany.myapp.aop.jdbc;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aspect recording, for the current thread, that a {@link UseReadPool} method is running.
+ * <p>
+ * It runs before the transaction of the method is started, the read-only data source then hands out a connection of
+ * the read pool on the first statement.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadPoolAspect {
+
+    private static final ThreadLocal<Boolean> READ_POOL = new ThreadLocal<>();
+
+    /**
+     * Whether the current thread runs a {@link UseReadPool} method.
+     *
+     * @return true if a read-only transaction of the current thread may use the read pool.
+     */
+    public static boolean isReadPool() {
+        return READ_POOL.get() != null;
+    }
+
+    @Around("@annotation(com.mycompany.myapp.aop.jdbc.UseReadPool) || @within(com.mycompany.myapp.aop.jdbc.UseReadPool)")
+    public Object useReadPool(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (isReadPool()) {
+            return joinPoint.proceed();
+        }
+        READ_POOL.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            READ_POOL.remove();
+        }
+    }
+}
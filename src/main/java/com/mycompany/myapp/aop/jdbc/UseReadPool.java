@@ -0,0 +1,19 @@
+package com.mycompany.myapp.aop.jdbc;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the heavy reads, like analytics, exports and large pages, whose read-only transactions take their connection
+ * from the read pool of {@code application.jdbc.read}, possibly on a replica.
+ * <p>
+ * The other read-only transactions use the primary pool, so that they see what was just committed. A marked method
+ * called from a transaction that already has its connection keeps that connection.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface UseReadPool {}
@@ -0,0 +1,4 @@
+/**
+ * Read pool routing aspect.
+ */
+package com.mycompany.myapp.aop.jdbc;
@@ -1,30 +1,63 @@
 package com.mycompany.myapp.aop.logging;
 
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
 import java.util.Arrays;
-import org.aspectj.lang.JoinPoint;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import org.springframework.util.ClassUtils;
 import tech.jhipster.config.JHipsterConstants;
 
 /**
- * Aspect for logging execution of service and repository Spring components.
- *
- * By default, it only runs with the "dev" profile.
+ * Aspect for logging and timing the execution of service and repository Spring components.
+ * <p>
+ * By default, it only runs with the "dev" profile, {@code application.instrumentation.enabled} adds it to the other
+ * profiles. A sample of the calls, {@code application.instrumentation.sample-rate}, is recorded in the
+ * {@code method.latency} timers. The arguments and the results are logged at the {@code TRACE} level of the logger
+ * of the component, so they are off by default and can be turned on at runtime through {@code /management/loggers}.
+ * <p>
+ * The logger and the timers are the ones of the component, the repository interface for a Spring Data repository,
+ * rather than the ones of the class declaring the method, like {@code CrudRepository} for an inherited method. They are
+ * looked up once per component and method, on the first call. The histogram buckets are only published when
+ * {@code application.instrumentation.percentile-histogram} is set, as they multiply the series of every method.
  */
 @Aspect
 public class LoggingAspect {
 
-    private final Environment env;
+    public static final String LATENCY_METER_NAME = "method.latency";
+    public static final String LATENCY_METER_DESCRIPTION = "Sampled execution time of the repository, service and REST methods.";
 
-    public LoggingAspect(Environment env) {
-        this.env = env;
+    private final boolean development;
+
+    private final double sampleRate;
+
+    private final boolean percentileHistogram;
+
+    private final MeterRegistry registry;
+
+    private final Map<Target, Instrumentation> instrumentations = new ConcurrentHashMap<>();
+
+    public LoggingAspect(Environment env, ApplicationProperties.Instrumentation properties, MeterRegistry registry) {
+        this.development = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
+        this.sampleRate = properties.getSampleRate();
+        this.percentileHistogram = properties.isPercentileHistogram();
+        this.registry = registry;
     }
 
     /**
@@ -52,42 +85,54 @@ public class LoggingAspect {
     }
 
     /**
-     * Retrieves the {@link Logger} associated to the given {@link JoinPoint}.
+     * Retrieves the {@link Instrumentation} of the method of the given {@link ProceedingJoinPoint}.
      *
-     * @param joinPoint join point we want the logger for.
-     * @return {@link Logger} associated to the given {@link JoinPoint}.
+     * @param joinPoint join point we want the instrumentation for.
+     * @return {@link Instrumentation} of the method of the given {@link ProceedingJoinPoint}.
      */
-    private Logger logger(JoinPoint joinPoint) {
-        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+    private Instrumentation instrumentation(ProceedingJoinPoint joinPoint) {
+        Target target = new Target(targetType(joinPoint), ((MethodSignature) joinPoint.getSignature()).getMethod());
+        Instrumentation instrumentation = instrumentations.get(target);
+        if (instrumentation == null) {
+            instrumentation = instrumentations.computeIfAbsent(target, key ->
+                new Instrumentation(
+                    LoggerFactory.getLogger(key.type()),
+                    key.method().getName(),
+                    latencyTimer(key, "success"),
+                    latencyTimer(key, "error")
+                )
+            );
+        }
+        return instrumentation;
     }
 
     /**
-     * Advice that logs methods throwing exceptions.
+     * Retrieves the type of the component called at the given {@link ProceedingJoinPoint}.
      *
-     * @param joinPoint join point for advice.
-     * @param e exception.
+     * @param joinPoint join point we want the component type for.
+     * @return the first interface of a JDK proxy, like a Spring Data repository, else the class of the target.
      */
-    @AfterThrowing(pointcut = "applicationPackagePointcut() && springBeanPointcut()", throwing = "e")
-    public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
-        if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
-            logger(joinPoint).error(
-                "Exception in {}() with cause = '{}' and exception = '{}'",
-                joinPoint.getSignature().getName(),
-                e.getCause() != null ? e.getCause() : "NULL",
-                e.getMessage(),
-                e
-            );
-        } else {
-            logger(joinPoint).error(
-                "Exception in {}() with cause = {}",
-                joinPoint.getSignature().getName(),
-                e.getCause() != null ? String.valueOf(e.getCause()) : "NULL"
-            );
+    private static Class<?> targetType(ProceedingJoinPoint joinPoint) {
+        Object proxy = joinPoint.getThis();
+        if (proxy != null && Proxy.isProxyClass(proxy.getClass())) {
+            return AopProxyUtils.proxiedUserInterfaces(proxy)[0];
         }
+        Object target = joinPoint.getTarget();
+        return target != null ? ClassUtils.getUserClass(target) : joinPoint.getSignature().getDeclaringType();
+    }
+
+    private Timer latencyTimer(Target target, String outcome) {
+        return Timer.builder(LATENCY_METER_NAME)
+            .description(LATENCY_METER_DESCRIPTION)
+            .tags("class", target.type().getSimpleName(), "method", target.method().getName(), "outcome", outcome)
+            .publishPercentileHistogram(percentileHistogram)
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .register(registry);
     }
 
     /**
-     * Advice that logs when a method is entered and exited.
+     * Advice that logs when a method is entered and exited, and that logs the methods throwing exceptions.
      *
      * @param joinPoint join point for advice.
      * @return result.
@@ -95,19 +140,63 @@ public class LoggingAspect {
      */
     @Around("applicationPackagePointcut() && springBeanPointcut()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        Logger log = logger(joinPoint);
-        if (log.isDebugEnabled()) {
-            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+        Instrumentation instrumentation = instrumentation(joinPoint);
+        Logger log = instrumentation.log();
+        if (log.isTraceEnabled()) {
+            log.trace("Enter: {}() with argument[s] = {}", instrumentation.name(), Arrays.toString(joinPoint.getArgs()));
         }
+        boolean sampled = isSampled();
+        long start = sampled ? System.nanoTime() : 0;
         try {
             Object result = joinPoint.proceed();
-            if (log.isDebugEnabled()) {
-                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+            if (sampled) {
+                instrumentation.success().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (log.isTraceEnabled()) {
+                log.trace("Exit: {}() with result = {}", instrumentation.name(), result);
             }
             return result;
-        } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+        } catch (Throwable e) {
+            if (sampled) {
+                instrumentation.error().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (e instanceof IllegalArgumentException) {
+                if (log.isTraceEnabled()) {
+                    log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), instrumentation.name());
+                } else {
+                    log.error("Illegal argument in {}()", instrumentation.name());
+                }
+            }
+            logThrowing(log, instrumentation.name(), e);
             throw e;
         }
     }
+
+    private boolean isSampled() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void logThrowing(Logger log, String name, Throwable e) {
+        if (development) {
+            log.error(
+                "Exception in {}() with cause = '{}' and exception = '{}'",
+                name,
+                e.getCause() != null ? e.getCause() : "NULL",
+                e.getMessage(),
+                e
+            );
+        } else {
+            log.error("Exception in {}() with cause = {}", name, e.getCause() != null ? String.valueOf(e.getCause()) : "NULL");
+        }
+    }
+
+    /**
+     * Method called on a component.
+     */
+    private record Target(Class<?> type, Method method) {}
+
+    /**
+     * Logger and latency timers of a method of a component.
+     */
+    private record Instrumentation(Logger log, String name, Timer success, Timer error) {}
 }
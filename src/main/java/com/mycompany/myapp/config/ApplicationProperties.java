@@ -1,5 +1,8 @@
 package com.mycompany.myapp.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +16,84 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Bulk bulk = new Bulk();
+
+    private final DataImport dataImport = new DataImport();
+
+    private final OrgChart orgChart = new OrgChart();
+
+    private final Analytics analytics = new Analytics();
+
+    private final JobHistory jobHistory = new JobHistory();
+
+    private final ChangeFeed changeFeed = new ChangeFeed();
+
+    private final Jackson jackson = new Jackson();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final Security security = new Security();
+
+    private final Logging logging = new Logging();
+
+    private final Instrumentation instrumentation = new Instrumentation();
+
+    private final Jdbc jdbc = new Jdbc();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public DataImport getDataImport() {
+        return dataImport;
+    }
+
+    public OrgChart getOrgChart() {
+        return orgChart;
+    }
+
+    public Analytics getAnalytics() {
+        return analytics;
+    }
+
+    public JobHistory getJobHistory() {
+        return jobHistory;
+    }
+
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    public Jackson getJackson() {
+        return jackson;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Logging getLogging() {
+        return logging;
+    }
+
+    public Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    public Jdbc getJdbc() {
+        return jdbc;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +108,608 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Bulk {
+
+        /**
+         * Number of items written per transaction by the bulk endpoints.
+         */
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class DataImport {
+
+        /**
+         * Directory of the CSV files imported by the {@code import} profile.
+         */
+        private String directory;
+
+        /**
+         * Number of rows per JDBC batch for the tables that are not loaded with {@code COPY}.
+         */
+        private int batchSize = 1000;
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class OrgChart {
+
+        /**
+         * Whether org chart queries are answered from an in-memory index of the manager relation. The index only sees the
+         * writes of this instance, disable it when several instances write employees; queries then use recursive SQL.
+         */
+        private boolean indexEnabled = true;
+
+        public boolean isIndexEnabled() {
+            return indexEnabled;
+        }
+
+        public void setIndexEnabled(boolean indexEnabled) {
+            this.indexEnabled = indexEnabled;
+        }
+    }
+
+    public static class Analytics {
+
+        /**
+         * Delay between two refreshes of the salary aggregates, the maximum staleness of the analytics endpoints.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(5);
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+    }
+
+    public static class JobHistory {
+
+        /**
+         * Whether as-of and overlap queries on job histories are answered from an in-memory interval tree. The tree only
+         * sees the writes of this instance, disable it when several instances write job histories; queries then use the
+         * GiST index on the periods.
+         */
+        private boolean indexEnabled = true;
+
+        public boolean isIndexEnabled() {
+            return indexEnabled;
+        }
+
+        public void setIndexEnabled(boolean indexEnabled) {
+            this.indexEnabled = indexEnabled;
+        }
+    }
+
+    public static class ChangeFeed {
+
+        /**
+         * How long the entity changes are kept, consumers further behind must read the entities again.
+         */
+        private Duration retention = Duration.ofDays(7);
+
+        /**
+         * Delay between two reads of the new changes for the SSE subscribers.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+    }
+
+    public static class Jackson {
+
+        /**
+         * Whether JSON is written with bytecode generated property accessors (Blackbird) and with an {@code ObjectWriter}
+         * prepared once per response type, instead of with reflection and a new {@code ObjectWriter} per response.
+         */
+        private boolean optimizedSerialization;
+
+        public boolean isOptimizedSerialization() {
+            return optimizedSerialization;
+        }
+
+        public void setOptimizedSerialization(boolean optimizedSerialization) {
+            this.optimizedSerialization = optimizedSerialization;
+        }
+    }
+
+    public static class RateLimit {
+
+        /**
+         * Whether the requests matching a route are limited.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The limited routes. A request counts against the first route it matches, with one token bucket per route and
+         * per user, or per IP address for the anonymous requests.
+         */
+        private List<Route> routes = new ArrayList<>();
+
+        /**
+         * Maximum number of token buckets kept. Once reached, the clients without a bucket share one bucket per route
+         * until the full buckets are dropped.
+         */
+        private int maxBuckets = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxBuckets() {
+            return maxBuckets;
+        }
+
+        public void setMaxBuckets(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        public List<Route> getRoutes() {
+            return routes;
+        }
+
+        public void setRoutes(List<Route> routes) {
+            this.routes = routes;
+        }
+
+        public static class Route {
+
+            /**
+             * Name of the route, in the metrics.
+             */
+            private String name;
+
+            /**
+             * HTTP method of the route, any method if not set.
+             */
+            private String method;
+
+            /**
+             * Path pattern of the route, e.g. {@code /api/nlq/**}.
+             */
+            private String pattern;
+
+            /**
+             * Number of requests allowed in a burst, at least 1.
+             */
+            private int capacity = 60;
+
+            /**
+             * Time to refill the bucket after a burst: {@code capacity} requests are allowed per period, which must be
+             * positive.
+             */
+            private Duration period = Duration.ofMinutes(1);
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public String getMethod() {
+                return method;
+            }
+
+            public void setMethod(String method) {
+                this.method = method;
+            }
+
+            public String getPattern() {
+                return pattern;
+            }
+
+            public void setPattern(String pattern) {
+                this.pattern = pattern;
+            }
+
+            public int getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(int capacity) {
+                this.capacity = capacity;
+            }
+
+            public Duration getPeriod() {
+                return period;
+            }
+
+            public void setPeriod(Duration period) {
+                this.period = period;
+            }
+        }
+    }
+
+    public static class Security {
+
+        /**
+         * Maximum number of decoded JWTs kept until they expire, so that the signature of a token is verified once rather
+         * than on every request. 0 disables the cache.
+         */
+        private int jwtCacheMaxSize = 10000;
+
+        private final Password password = new Password();
+
+        private final RefreshToken refreshToken = new RefreshToken();
+
+        public int getJwtCacheMaxSize() {
+            return jwtCacheMaxSize;
+        }
+
+        public void setJwtCacheMaxSize(int jwtCacheMaxSize) {
+            this.jwtCacheMaxSize = jwtCacheMaxSize;
+        }
+
+        public Password getPassword() {
+            return password;
+        }
+
+        public RefreshToken getRefreshToken() {
+            return refreshToken;
+        }
+
+        public static class Password {
+
+            /**
+             * Cost of the bcrypt hashes, as log2 of the rounds. The hashes of a lower cost are re-hashed on the next
+             * successful login of their user.
+             */
+            private int bcryptStrength = 10;
+
+            /**
+             * Number of threads hashing the passwords, 0 for half the processors, so that a login storm leaves the other
+             * half to the API.
+             */
+            private int threads = 0;
+
+            /**
+             * Maximum number of passwords waiting for a hashing thread, the logins beyond are rejected with a
+             * {@code 503 (Service Unavailable)}.
+             */
+            private int queueCapacity = 100;
+
+            public int getBcryptStrength() {
+                return bcryptStrength;
+            }
+
+            public void setBcryptStrength(int bcryptStrength) {
+                this.bcryptStrength = bcryptStrength;
+            }
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+        }
+
+        public static class RefreshToken {
+
+            /**
+             * Issue a refresh token with each access token. The access tokens then always have the short validity, and
+             * remember-me only extends the validity of the refresh tokens.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Validity of the refresh tokens.
+             */
+            private Duration validity = Duration.ofDays(1);
+
+            /**
+             * Validity of the refresh tokens of the logins asking to be remembered.
+             */
+            private Duration rememberMeValidity = Duration.ofDays(30);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Duration getValidity() {
+                return validity;
+            }
+
+            public void setValidity(Duration validity) {
+                this.validity = validity;
+            }
+
+            public Duration getRememberMeValidity() {
+                return rememberMeValidity;
+            }
+
+            public void setRememberMeValidity(Duration rememberMeValidity) {
+                this.rememberMeValidity = rememberMeValidity;
+            }
+        }
+    }
+    public static class Logging {
+
+        /**
+         * Whether the root appenders write the events on a background thread, fed by a bounded ring buffer. When the
+         * buffer is full, the events up to INFO are dropped and the WARN and ERROR events wait for a free slot.
+         */
+        private boolean async;
+
+        /**
+         * Number of events the ring buffer holds, rounded up to a power of 2.
+         */
+        private int ringBufferSize = 8192;
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        public void setAsync(boolean async) {
+            this.async = async;
+        }
+
+        public int getRingBufferSize() {
+            return ringBufferSize;
+        }
+
+        public void setRingBufferSize(int ringBufferSize) {
+            this.ringBufferSize = ringBufferSize;
+        }
+    }
+    public static class Instrumentation {
+
+        /**
+         * Whether the repository, service and REST methods are timed and logged in the other profiles than "dev".
+         */
+        private boolean enabled;
+
+        /**
+         * Fraction of the calls recorded in the {@code method.latency} timers, from 0 to 1.
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * Whether the {@code method.latency} timers publish histogram buckets, for percentiles aggregated across instances.
+         */
+        private boolean percentileHistogram;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public boolean isPercentileHistogram() {
+            return percentileHistogram;
+        }
+
+        public void setPercentileHistogram(boolean percentileHistogram) {
+            this.percentileHistogram = percentileHistogram;
+        }
+    }
+    public static class Jdbc {
+
+        /**
+         * Whether the SQL statements are counted and timed per repository and REST method.
+         */
+        private boolean instrumentationEnabled;
+
+        /**
+         * Execution time from which a statement is kept in the {@code /management/slowqueries} ring buffer.
+         */
+        private Duration slowQueryThreshold = Duration.ofMillis(500);
+
+        /**
+         * Number of slow statements kept, the oldest are overwritten.
+         */
+        private int slowQueryBufferSize = 100;
+
+        /**
+         * Number of selects on the same table from which a request is logged as a likely N+1, {@code 0} to disable.
+         */
+        private int repeatedSelectThreshold = 0;
+
+        private final Read read = new Read();
+
+        public boolean isInstrumentationEnabled() {
+            return instrumentationEnabled;
+        }
+
+        public void setInstrumentationEnabled(boolean instrumentationEnabled) {
+            this.instrumentationEnabled = instrumentationEnabled;
+        }
+
+        public Duration getSlowQueryThreshold() {
+            return slowQueryThreshold;
+        }
+
+        public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+            this.slowQueryThreshold = slowQueryThreshold;
+        }
+
+        public int getSlowQueryBufferSize() {
+            return slowQueryBufferSize;
+        }
+
+        public void setSlowQueryBufferSize(int slowQueryBufferSize) {
+            this.slowQueryBufferSize = slowQueryBufferSize;
+        }
+
+        public int getRepeatedSelectThreshold() {
+            return repeatedSelectThreshold;
+        }
+
+        public void setRepeatedSelectThreshold(int repeatedSelectThreshold) {
+            this.repeatedSelectThreshold = repeatedSelectThreshold;
+        }
+
+        public Read getRead() {
+            return read;
+        }
+
+        /**
+         * Pool of the read-only transactions, the other settings are the ones of {@code spring.datasource.hikari}.
+         */
+        public static class Read {
+
+            /**
+             * Whether the read-only transactions use their own pool, else they share the one of
+             * {@code spring.datasource}. A read-only transaction joining a read-write one uses its connection.
+             */
+            private boolean enabled = false;
+
+            /**
+             * JDBC URL of a replica, the primary database when empty. A replica lags behind the primary database: a
+             * read-only transaction may not see the writes just committed by another one, e.g. the entity created by
+             * the previous request of the same user. The reads that must see them have to be read-write.
+             */
+            private String url;
+
+            /**
+             * User of the replica, the one of {@code spring.datasource} when empty.
+             */
+            private String username;
+
+            /**
+             * Password of the replica, the one of {@code spring.datasource} when empty.
+             */
+            private String password;
+
+            /**
+             * Maximum number of connections, sized for the heavy reads (analytics, exports, large pages) independently
+             * of {@code spring.datasource.hikari.maximum-pool-size}.
+             */
+            private int maximumPoolSize = 10;
+
+            /**
+             * Wait for a connection of the pool, after which the transaction uses a connection of the primary pool.
+             */
+            private Duration connectionTimeout = Duration.ofSeconds(1);
+
+            /**
+             * Time during which the read-only transactions use the primary pool after a failure of the pool.
+             */
+            private Duration fallbackDuration = Duration.ofSeconds(10);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public int getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(int maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+
+            public Duration getConnectionTimeout() {
+                return connectionTimeout;
+            }
+
+            public void setConnectionTimeout(Duration connectionTimeout) {
+                this.connectionTimeout = connectionTimeout;
+            }
+
+            public Duration getFallbackDuration() {
+                return fallbackDuration;
+            }
+
+            public void setFallbackDuration(Duration fallbackDuration) {
+                this.fallbackDuration = fallbackDuration;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -0,0 +1,245 @@
+package com.mycompany.myapp.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appender handing the events over to its appenders on a background thread, through a bounded ring buffer in the
+ * style of the LMAX Disruptor: the slots are allocated once, the logging threads claim them with a compare-and-set
+ * and never take a lock.
+ * <p>
+ * When the buffer is full, the events up to {@code INFO} are dropped, and the {@code WARN} and {@code ERROR} events
+ * wait for a free slot. The dropped events, the waits and the time spent waiting are counted, see
+ * {@link LoggingConfiguration} for their meters.
+ */
+public class AsyncRingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    private static final long IDLE_PARK = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long FULL_PARK = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder blocked = new LongAdder();
+
+    private final LongAdder blockedNanos = new LongAdder();
+
+    private int ringBufferSize = 8192;
+
+    private long maxFlushTime = TimeUnit.SECONDS.toMillis(1);
+
+    private ILoggingEvent[] events;
+
+    private AtomicLongArray sequences;
+
+    private int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile long head;
+
+    private volatile boolean sleeping;
+
+    private Thread worker;
+
+    public void setRingBufferSize(int ringBufferSize) {
+        this.ringBufferSize = ringBufferSize;
+    }
+
+    public int getRingBufferSize() {
+        return ringBufferSize;
+    }
+
+    public void setMaxFlushTime(long maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (ringBufferSize < 1) {
+            addError("Invalid ring buffer size [" + ringBufferSize + "]");
+            return;
+        }
+        int capacity = ringBufferSize <= 2 ? 2 : Integer.highestOneBit(ringBufferSize - 1) << 1;
+        events = new ILoggingEvent[capacity];
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        mask = capacity - 1;
+        tail.set(0);
+        head = 0;
+        worker = new Thread(this::run, "AsyncRingBufferAppender-" + getName());
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(worker);
+        try {
+            worker.join(maxFlushTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn("Max flush time of " + maxFlushTime + " ms exceeded, " + size() + " events discarded");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (offer(event)) {
+            return;
+        }
+        if (!event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            dropped.increment();
+            return;
+        }
+        blocked.increment();
+        long start = System.nanoTime();
+        while (!offer(event)) {
+            if (!isStarted()) {
+                dropped.increment();
+                break;
+            }
+            LockSupport.parkNanos(FULL_PARK);
+        }
+        blockedNanos.add(System.nanoTime() - start);
+    }
+
+    /**
+     * Claim the next slot, publish the event in it and wake the worker up, if there is a free slot.
+     */
+    private boolean offer(ILoggingEvent event) {
+        long position = tail.get();
+        while (true) {
+            long sequence = sequences.get((int) position & mask);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (sequence < position) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        int slot = (int) position & mask;
+        events[slot] = event;
+        sequences.set(slot, position + 1);
+        if (sleeping) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    private void run() {
+        long position = head;
+        while (true) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) == position + 1) {
+                ILoggingEvent event = events[slot];
+                events[slot] = null;
+                // Free the slot for the next turn of the buffer
+                sequences.set(slot, position + mask + 1);
+                head = ++position;
+                appenders.appendLoopOnAppenders(event);
+            } else if (!isStarted()) {
+                return;
+            } else {
+                sleeping = true;
+                if (sequences.get(slot) != position + 1 && isStarted()) {
+                    LockSupport.parkNanos(this, IDLE_PARK);
+                }
+                sleeping = false;
+            }
+        }
+    }
+
+    /**
+     * @return the number of events waiting in the buffer.
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    /**
+     * @return the number of {@code TRACE} to {@code INFO} events dropped because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the number of {@code WARN} and {@code ERROR} events that waited because the buffer was full.
+     */
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    /**
+     * @return the time the logging threads spent waiting for a free slot, in nanoseconds.
+     */
+    public long getBlockedNanos() {
+        return blockedNanos.sum();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 import org.springframework.boot.ansi.AnsiColor;
@@ -16,6 +17,9 @@ import org.springframework.boot.ansi.AnsiStyle;
 /**
  * Log filter to prevent attackers from forging log entries by submitting input containing CRLF characters.
  * CRLF characters are replaced with a red colored _ character.
+ * <p>
+ * The messages are scanned once and returned as is when there is nothing to replace, and whether a logger is safe is
+ * decided once per logger name, so that the common case doesn't allocate.
  *
  * @see <a href="https://owasp.org/www-community/attacks/Log_Injection">Log Forging Description</a>
  * @see <a href="https://github.com/jhipster/generator-jhipster/issues/14949">JHipster issue</a>
@@ -29,6 +33,8 @@ public class CRLFLogConverter extends CompositeConverter<ILoggingEvent> {
         "org.springframework.boot.autoconfigure",
         "org.springframework.boot.diagnostics",
     };
+    private static final int MAX_CACHED_LOGGERS = 10000;
+
     private static final Map<String, AnsiElement> ELEMENTS;
 
     static {
@@ -43,20 +49,56 @@ public class CRLFLogConverter extends CompositeConverter<ILoggingEvent> {
         ELEMENTS = Collections.unmodifiableMap(ansiElements);
     }
 
+    private final Map<String, Boolean> safeLoggers = new ConcurrentHashMap<>();
+
     @Override
     protected String transform(ILoggingEvent event, String in) {
-        AnsiElement element = ELEMENTS.get(getFirstOption());
         List<Marker> markers = event.getMarkerList();
         if ((markers != null && !markers.isEmpty() && markers.get(0).contains(CRLF_SAFE_MARKER)) || isLoggerSafe(event)) {
             return in;
         }
+        int length = in.length();
+        int i = 0;
+        while (i < length && !isCrlf(in.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return in;
+        }
+        // The ANSI output can be enabled after the start of the converter, the replacement isn't kept
+        AnsiElement element = ELEMENTS.get(getFirstOption());
         String replacement = element == null ? "_" : toAnsiString("_", element);
-        return in.replaceAll("[\n\r\t]", replacement);
+        StringBuilder out = new StringBuilder(length + replacement.length()).append(in, 0, i);
+        for (; i < length; i++) {
+            char c = in.charAt(i);
+            if (isCrlf(c)) {
+                out.append(replacement);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean isCrlf(char c) {
+        return c == '\n' || c == '\r' || c == '\t';
     }
 
     protected boolean isLoggerSafe(ILoggingEvent event) {
+        String loggerName = event.getLoggerName();
+        Boolean safe = safeLoggers.get(loggerName);
+        if (safe == null) {
+            safe = isSafeLoggerName(loggerName);
+            if (safeLoggers.size() < MAX_CACHED_LOGGERS) {
+                safeLoggers.put(loggerName, safe);
+            }
+        }
+        return safe;
+    }
+
+    private static boolean isSafeLoggerName(String loggerName) {
         for (String safeLogger : SAFE_LOGS) {
-            if (event.getLoggerName().startsWith(safeLogger)) {
+            if (loggerName.startsWith(safeLogger)) {
                 return true;
             }
         }
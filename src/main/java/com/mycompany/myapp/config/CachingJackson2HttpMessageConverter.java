@@ -0,0 +1,46 @@
+package com.mycompany.myapp.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * JSON message converter writing the responses with an {@link ObjectWriter} prepared once per response type.
+ * <p>
+ * A writer bound to a type resolves the serializer of the type when it is created, the writers Spring creates for every
+ * response look it up again each time. Only the types Spring writes as their declared type are cached: collections,
+ * {@link Optional} and final classes such as the projection records. Responses with a JSON view or a
+ * {@link FieldSelection} keep the writer of the request.
+ * <p>
+ * The response is streamed: the generator writes to the output stream of the response, not to an intermediate buffer.
+ */
+class CachingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Map<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    CachingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, JavaType javaType, MediaType contentType) {
+        if (javaType == null || !isCacheable(javaType) || (contentType != null && contentType.includes(MediaType.TEXT_EVENT_STREAM))) {
+            return writer;
+        }
+        SerializationConfig config = writer.getConfig();
+        if (config.getActiveView() != null || config.getFilterProvider() != null) {
+            return writer;
+        }
+        return writers.computeIfAbsent(javaType, writer::forType);
+    }
+
+    private static boolean isCacheable(JavaType javaType) {
+        return javaType.isContainerType() || javaType.isTypeOrSubTypeOf(Optional.class) || javaType.isFinal();
+    }
+}
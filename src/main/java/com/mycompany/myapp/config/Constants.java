@@ -11,5 +11,8 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Spring profile running the CSV import of application.data-import.directory, then exiting
+    public static final String SPRING_PROFILE_IMPORT = "import";
+
     private Constants() {}
 }
@@ -0,0 +1,329 @@
+package com.mycompany.myapp.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Selection of the properties written by the JSON serialization of a response, from the {@code fields} and
+ * {@code expand} request parameters.
+ * <p>
+ * {@code fields} is a comma separated list of property paths, e.g. {@code id,firstName,department.departmentName}: only
+ * these properties are written, at every level a path goes through. {@code expand} is a comma separated list of
+ * property paths whose objects are written in full, e.g. {@code department,jobs}. The other nested objects are written
+ * as references, with their {@code id} only. Without {@code fields}, all the properties of the response are written.
+ * <p>
+ * The selection is passed to the serialization as its {@link FilterProvider}, so that it only applies to the response
+ * it was parsed for. Every bean serializer is wrapped by a {@link Serializer} that delegates to it when there is no
+ * selection, and otherwise writes the properties of a {@link Plan}, computed once per selection and serializer.
+ */
+final class FieldSelection extends FilterProvider {
+
+    private static final Object CURRENT_NODE = FieldSelection.class;
+
+    private static final String ID = "id";
+
+    private final Node root;
+
+    private FieldSelection(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Parse the request parameters.
+     *
+     * @param fields the {@code fields} parameter, may be {@code null}.
+     * @param expand the {@code expand} parameter, may be {@code null}.
+     * @return the selection.
+     */
+    static FieldSelection parse(String fields, String expand) {
+        return new FieldSelection(Node.of(fields == null ? null : PathTree.parse(fields), expand == null ? null : PathTree.parse(expand)));
+    }
+
+    /**
+     * @return the module wrapping the bean serializers.
+     */
+    static SimpleModule module() {
+        SimpleModule module = new SimpleModule("FieldSelectionModule");
+        module.setSerializerModifier(
+            new BeanSerializerModifier() {
+                @Override
+                public JsonSerializer<?> modifySerializer(
+                    SerializationConfig config,
+                    BeanDescription beanDesc,
+                    JsonSerializer<?> serializer
+                ) {
+                    return serializer instanceof BeanSerializerBase bean ? new Serializer(bean) : serializer;
+                }
+            }
+        );
+        return module;
+    }
+
+    @Override
+    @Deprecated
+    public BeanPropertyFilter findFilter(Object filterId) {
+        // The selection doesn't provide filters for @JsonFilter
+        return null;
+    }
+
+    /**
+     * The property paths of a parameter, as a tree.
+     */
+    private record PathTree(Map<String, PathTree> children) {
+        static PathTree parse(String paths) {
+            PathTree root = new PathTree(new LinkedHashMap<>());
+            for (String path : paths.split(",")) {
+                PathTree tree = root;
+                for (String name : path.split("\\.")) {
+                    String trimmed = name.trim();
+                    if (trimmed.isEmpty()) {
+                        break;
+                    }
+                    tree = tree.children.computeIfAbsent(trimmed, key -> new PathTree(new LinkedHashMap<>()));
+                }
+            }
+            return root;
+        }
+    }
+
+    /**
+     * How to write an object: in full, as a reference, or with a selection of its properties.
+     */
+    static final class Node {
+
+        static final Node FULL = new Node(null, Map.of());
+
+        static final Node REFERENCE = new Node(Set.of(ID), Map.of());
+
+        // The selected properties, or null for all of them
+        private final Set<String> include;
+
+        // The nodes of the properties not written as references
+        private final Map<String, Node> children;
+
+        private final Map<JsonSerializer<?>, Plan> plans = new ConcurrentHashMap<>();
+
+        private Node(Set<String> include, Map<String, Node> children) {
+            this.include = include;
+            this.children = children;
+        }
+
+        static Node of(PathTree fields, PathTree expand) {
+            Set<String> names = new LinkedHashSet<>();
+            if (fields != null) {
+                names.addAll(fields.children().keySet());
+            }
+            if (expand != null) {
+                names.addAll(expand.children().keySet());
+            }
+            Map<String, Node> children = new HashMap<>();
+            for (String name : names) {
+                PathTree subFields = fields == null ? null : fields.children().get(name);
+                PathTree subExpand = expand == null ? null : expand.children().get(name);
+                if (subFields != null && !subFields.children().isEmpty()) {
+                    children.put(name, of(subFields, subExpand));
+                } else if (subExpand != null) {
+                    children.put(name, subExpand.children().isEmpty() ? FULL : of(null, subExpand));
+                }
+            }
+            return new Node(fields == null ? null : Set.copyOf(fields.children().keySet()), Map.copyOf(children));
+        }
+
+        /**
+         * @return the plan of a serializer, or {@link Plan#FULL} if it must write the object in full.
+         */
+        Plan plan(BeanSerializerBase serializer) {
+            if (this == FULL) {
+                return Plan.FULL;
+            }
+            return plans.computeIfAbsent(serializer, key -> createPlan(serializer));
+        }
+
+        private Plan createPlan(BeanSerializerBase serializer) {
+            List<BeanPropertyWriter> writers = new ArrayList<>();
+            List<Node> nodes = new ArrayList<>();
+            for (Iterator<PropertyWriter> it = serializer.properties(); it.hasNext();) {
+                PropertyWriter property = it.next();
+                if (property instanceof BeanPropertyWriter writer && (include == null || include.contains(writer.getName()))) {
+                    writers.add(writer);
+                    nodes.add(children.getOrDefault(writer.getName(), REFERENCE));
+                }
+            }
+            // Objects without an id can't be written as references
+            if (this == REFERENCE && writers.isEmpty()) {
+                return Plan.FULL;
+            }
+            return new Plan(writers.toArray(BeanPropertyWriter[]::new), nodes.toArray(Node[]::new));
+        }
+    }
+
+    /**
+     * The properties a serializer writes for a node, and the nodes of their values.
+     */
+    record Plan(BeanPropertyWriter[] writers, Node[] nodes) {
+        static final Plan FULL = new Plan(null, null);
+    }
+
+    /**
+     * Bean serializer writing the properties selected by the {@link FieldSelection} of the serialization, if any.
+     */
+    static final class Serializer extends JsonSerializer<Object> implements ContextualSerializer, ResolvableSerializer {
+
+        private final BeanSerializerBase delegate;
+
+        Serializer(BeanSerializerBase delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Node node = node(provider);
+            Plan plan = node == null ? Plan.FULL : node.plan(delegate);
+            if (plan == Plan.FULL) {
+                serializeInFull(node, provider, () -> delegate.serialize(value, gen, provider));
+                return;
+            }
+            gen.writeStartObject(value);
+            serializeFields(value, gen, provider, node, plan);
+            gen.writeEndObject();
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+            throws IOException {
+            Node node = node(provider);
+            Plan plan = node == null ? Plan.FULL : node.plan(delegate);
+            if (plan == Plan.FULL) {
+                serializeInFull(node, provider, () -> delegate.serializeWithType(value, gen, provider, typeSer));
+                return;
+            }
+            gen.assignCurrentValue(value);
+            WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(value, JsonToken.START_OBJECT));
+            serializeFields(value, gen, provider, node, plan);
+            typeSer.writeTypeSuffix(gen, typeId);
+        }
+
+        /**
+         * @return the node of the value being written, or {@code null} if there is no selection.
+         */
+        private static Node node(SerializerProvider provider) {
+            Node node = (Node) provider.getAttribute(CURRENT_NODE);
+            if (node == null && provider.getFilterProvider() instanceof FieldSelection selection) {
+                return selection.root;
+            }
+            return node;
+        }
+
+        private static void serializeInFull(Node node, SerializerProvider provider, Write write) throws IOException {
+            if (node == null) {
+                write.run();
+                return;
+            }
+            // The nested objects are written in full too
+            provider.setAttribute(CURRENT_NODE, Node.FULL);
+            try {
+                write.run();
+            } finally {
+                provider.setAttribute(CURRENT_NODE, node);
+            }
+        }
+
+        private static void serializeFields(Object value, JsonGenerator gen, SerializerProvider provider, Node node, Plan plan)
+            throws IOException {
+            BeanPropertyWriter[] writers = plan.writers();
+            Node[] nodes = plan.nodes();
+            int i = 0;
+            try {
+                for (; i < writers.length; i++) {
+                    provider.setAttribute(CURRENT_NODE, nodes[i]);
+                    writers[i].serializeAsField(value, gen, provider);
+                }
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw JsonMappingException.wrapWithPath(e, value, writers[i].getName());
+            } finally {
+                provider.setAttribute(CURRENT_NODE, node);
+            }
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            JsonSerializer<?> contextual = delegate.createContextual(provider, property);
+            if (contextual == delegate) {
+                return this;
+            }
+            return contextual instanceof BeanSerializerBase bean ? new Serializer(bean) : contextual;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            delegate.resolve(provider);
+        }
+
+        @Override
+        public JsonSerializer<Object> unwrappingSerializer(NameTransformer unwrapper) {
+            return delegate.unwrappingSerializer(unwrapper);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType type) throws JsonMappingException {
+            delegate.acceptJsonFormatVisitor(visitor, type);
+        }
+
+        @Override
+        public boolean usesObjectId() {
+            return delegate.usesObjectId();
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return delegate.handledType();
+        }
+
+        @Override
+        public Iterator<PropertyWriter> properties() {
+            return delegate.properties();
+        }
+
+        @FunctionalInterface
+        private interface Write {
+            void run() throws IOException;
+        }
+    }
+}
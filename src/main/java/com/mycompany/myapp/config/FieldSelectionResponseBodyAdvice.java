@@ -0,0 +1,68 @@
+package com.mycompany.myapp.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Apply the {@link FieldSelection} of the {@code fields} and {@code expand} request parameters to the JSON responses.
+ * <p>
+ * The parsed selections are kept, with the plans computed for them, so that the clients sending the same parameters
+ * again don't pay for them again, unless they are longer than {@value #MAX_CACHED_LENGTH} characters. Errors are always
+ * written in full.
+ */
+@ControllerAdvice
+public class FieldSelectionResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String FIELDS_PARAMETER = "fields";
+
+    public static final String EXPAND_PARAMETER = "expand";
+
+    private static final int MAX_CACHED_SELECTIONS = 256;
+
+    private static final int MAX_CACHED_LENGTH = 1024;
+
+    private final Map<String, FieldSelection> selections = new ConcurrentHashMap<>();
+
+    @Override
+    protected void beforeBodyWriteInternal(
+        MappingJacksonValue bodyContainer,
+        MediaType contentType,
+        MethodParameter returnType,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest) || bodyContainer.getValue() instanceof ProblemDetail) {
+            return;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        String fields = httpRequest.getParameter(FIELDS_PARAMETER);
+        String expand = httpRequest.getParameter(EXPAND_PARAMETER);
+        if (fields == null && expand == null) {
+            return;
+        }
+        bodyContainer.setFilters(selection(fields, expand));
+    }
+
+    private FieldSelection selection(String fields, String expand) {
+        String key = fields + '\n' + expand;
+        FieldSelection selection = selections.get(key);
+        if (selection == null) {
+            selection = FieldSelection.parse(fields, expand);
+            // Arbitrary parameters are parsed for every request once the cache is full, and overlong ones never take a slot
+            if (key.length() <= MAX_CACHED_LENGTH && selections.size() < MAX_CACHED_SELECTIONS) {
+                selections.putIfAbsent(key, selection);
+            }
+        }
+        return selection;
+    }
+}
@@ -0,0 +1,75 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.service.ImportService;
+import com.mycompany.myapp.service.dto.ImportReportDTO;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.FileSystemResource;
+
+/**
+ * Command line import: with the {@code import} profile, the application imports the {@code <table>.csv} files of
+ * {@code application.data-import.directory} once started, then {@link com.mycompany.myapp.AppApp#main} closes it
+ * with the exit code of the import, {@code 1} if any row was rejected.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_IMPORT)
+public class ImportConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImportConfiguration.class);
+
+    @Bean
+    public ImportRunner importRunner(ImportService importService, ApplicationProperties applicationProperties) {
+        return new ImportRunner(importService, applicationProperties.getDataImport().getDirectory());
+    }
+
+    /**
+     * Imports the CSV files of a directory and keeps the exit code of the import for {@link SpringApplication#exit}.
+     */
+    public static class ImportRunner implements ApplicationRunner, ExitCodeGenerator {
+
+        private final ImportService importService;
+
+        private final String directory;
+
+        private int exitCode;
+
+        public ImportRunner(ImportService importService, String directory) {
+            this.importService = importService;
+            this.directory = directory;
+        }
+
+        @Override
+        public void run(ApplicationArguments args) {
+            if (directory == null) {
+                throw new IllegalStateException("application.data-import.directory must be set with the import profile");
+            }
+            Map<ImportService.Table, FileSystemResource> sources = new EnumMap<>(ImportService.Table.class);
+            for (ImportService.Table table : ImportService.Table.values()) {
+                Path file = Path.of(directory, table.getTableName() + ".csv");
+                if (Files.isReadable(file)) {
+                    sources.put(table, new FileSystemResource(file));
+                }
+            }
+            LOG.info("Importing {} from {}", sources.keySet(), directory);
+            ImportReportDTO report = importService.importTables(sources);
+            report.getErrors().forEach(error -> LOG.warn("Import error: {}", error));
+            exitCode = report.getErrorCount() == 0 ? 0 : 1;
+        }
+
+        @Override
+        public int getExitCode() {
+            return exitCode;
+        }
+    }
+}
@@ -2,19 +2,26 @@ package com.mycompany.myapp.config;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module.Feature;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import java.io.IOException;
 import java.time.LocalTime;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 
 @Configuration
 public class JacksonConfiguration {
 
+    private static final String OPTIMIZED_SERIALIZATION = "application.jackson.optimized-serialization";
+
     /**
      * Support for Java date and time API.
      * @return the corresponding Jackson module.
@@ -46,4 +53,34 @@ public class JacksonConfiguration {
     public Hibernate6Module hibernate6Module() {
         return new Hibernate6Module().configure(Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
     }
+
+    /**
+     * Support for the {@code fields} and {@code expand} request parameters.
+     * @return the module wrapping the bean serializers, see {@link FieldSelection}.
+     */
+    @Bean
+    public Module fieldSelectionModule() {
+        return FieldSelection.module();
+    }
+
+    /**
+     * Property accessors generated with method handles instead of reflection.
+     * @return the corresponding Jackson module.
+     */
+    @Bean
+    @ConditionalOnProperty(name = OPTIMIZED_SERIALIZATION, havingValue = "true")
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Replaces the converter of Spring Boot, with the ObjectWriters prepared once per response type.
+     * @param objectMapper the object mapper of the application.
+     * @return the converter, see {@link CachingJackson2HttpMessageConverter}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = OPTIMIZED_SERIALIZATION, havingValue = "true")
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new CachingJackson2HttpMessageConverter(objectMapper);
+    }
 }
@@ -2,11 +2,21 @@ package com.mycompany.myapp.config;
 
 import static tech.jhipster.config.logging.LoggingUtils.*;
 
+import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
@@ -18,10 +28,14 @@ import tech.jhipster.config.JHipsterProperties;
 @Configuration
 public class LoggingConfiguration {
 
+    private static final String ASYNC_APPENDER_NAME = "ASYNC_RING_BUFFER";
+
     public LoggingConfiguration(
         @Value("${spring.application.name}") String appName,
         @Value("${server.port}") String serverPort,
         JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
         ObjectMapper mapper
     ) throws JsonProcessingException {
         LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
@@ -43,5 +57,47 @@ public class LoggingConfiguration {
         if (loggingProperties.isUseJsonFormat() || logstashProperties.isEnabled()) {
             addContextListener(context, customFields, loggingProperties);
         }
+        if (applicationProperties.getLogging().isAsync()) {
+            addAsyncAppender(context, applicationProperties.getLogging(), meterRegistry);
+        }
+    }
+
+    /**
+     * Moves the appenders of the root logger behind an {@link AsyncRingBufferAppender}. A configuration reloaded by
+     * logback brings the synchronous appenders back.
+     */
+    private static void addAsyncAppender(LoggerContext context, ApplicationProperties.Logging properties, MeterRegistry registry) {
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        if (rootLogger.getAppender(ASYNC_APPENDER_NAME) != null) {
+            return;
+        }
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        rootLogger.iteratorForAppenders().forEachRemaining(appenders::add);
+
+        AsyncRingBufferAppender asyncAppender = new AsyncRingBufferAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName(ASYNC_APPENDER_NAME);
+        asyncAppender.setRingBufferSize(properties.getRingBufferSize());
+        appenders.forEach(asyncAppender::addAppender);
+        asyncAppender.start();
+        // Attached before the others are detached: a few events may be written twice, rather than lost
+        rootLogger.addAppender(asyncAppender);
+        appenders.forEach(rootLogger::detachAppender);
+
+        FunctionCounter.builder("logback.async.dropped", asyncAppender, AsyncRingBufferAppender::getDroppedCount)
+            .description("The number of TRACE to INFO events dropped because the ring buffer was full")
+            .register(registry);
+        FunctionTimer.builder(
+            "logback.async.blocked",
+            asyncAppender,
+            AsyncRingBufferAppender::getBlockedCount,
+            AsyncRingBufferAppender::getBlockedNanos,
+            TimeUnit.NANOSECONDS
+        )
+            .description("The WARN and ERROR events that waited for a free slot of the ring buffer")
+            .register(registry);
+        Gauge.builder("logback.async.queued", asyncAppender, AsyncRingBufferAppender::size)
+            .description("The number of events waiting in the ring buffer")
+            .register(registry);
     }
 }
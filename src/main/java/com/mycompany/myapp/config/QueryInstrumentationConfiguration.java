@@ -0,0 +1,91 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.management.InstrumentedDataSource;
+import com.mycompany.myapp.management.QueryInstrumentation;
+import com.mycompany.myapp.management.QueryOriginInterceptor;
+import com.mycompany.myapp.management.RepositoryQueryOriginInterceptor;
+import com.mycompany.myapp.management.SlowQueriesEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Counts and times the SQL statements per repository and REST method, see {@link QueryInstrumentation}. Off unless
+ * {@code application.jdbc.instrumentation-enabled} is set, as with the "dev" profile and in the tests.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.jdbc", name = "instrumentation-enabled", havingValue = "true")
+public class QueryInstrumentationConfiguration {
+
+    private static final String DATA_SOURCE_BEAN_NAME = "dataSource";
+
+    @Bean
+    public QueryInstrumentation queryInstrumentation(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new QueryInstrumentation(applicationProperties.getJdbc(), meterRegistry);
+    }
+
+    @Bean
+    public SlowQueriesEndpoint slowQueriesEndpoint(QueryInstrumentation queryInstrumentation) {
+        return new SlowQueriesEndpoint(queryInstrumentation);
+    }
+
+    @Bean
+    public WebMvcConfigurer queryOriginWebMvcConfigurer(QueryInstrumentation queryInstrumentation) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new QueryOriginInterceptor(queryInstrumentation));
+            }
+        };
+    }
+
+    /**
+     * Wraps the data source of the application, not the pools behind a routing one. The instrumentation is looked up
+     * lazily, so that the meter registry isn't created before its own post-processors.
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<QueryInstrumentation> queryInstrumentation) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (
+                    DATA_SOURCE_BEAN_NAME.equals(beanName) &&
+                    bean instanceof DataSource dataSource &&
+                    !(bean instanceof InstrumentedDataSource)
+                ) {
+                    return new InstrumentedDataSource(dataSource, queryInstrumentation.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryQueryOriginPostProcessor(ObjectProvider<QueryInstrumentation> queryInstrumentation) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(
+                                new RepositoryQueryOriginInterceptor(
+                                    queryInstrumentation.getObject(),
+                                    repositoryInformation.getRepositoryInterface()
+                                )
+                            )
+                        )
+                    );
+                }
+                return bean;
+            }
+        };
+    }
+}
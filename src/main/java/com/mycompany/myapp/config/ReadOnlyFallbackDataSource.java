@@ -0,0 +1,80 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.aop.jdbc.ReadPoolAspect;
+import com.mycompany.myapp.aop.jdbc.UseReadPool;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} of the read-only transactions: the connections of the read pool for the {@link UseReadPool}
+ * methods, else read-only connections of the primary pool.
+ * <p>
+ * When the read pool fails to hand out a connection in time, e.g. the replica is down or the pool is exhausted, the
+ * transactions use the primary pool for the {@code fallbackDuration}, rather than each waiting for the read pool.
+ * The failures are counted by the {@code hikaricp.connections.timeout} meter of the read pool.
+ */
+public class ReadOnlyFallbackDataSource extends DelegatingDataSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadOnlyFallbackDataSource.class);
+
+    private final DataSource primary;
+
+    private final long fallbackNanos;
+
+    private volatile boolean fallingBack;
+
+    private volatile long fallbackEnd;
+
+    public ReadOnlyFallbackDataSource(DataSource read, DataSource primary, Duration fallbackDuration) {
+        super(read);
+        this.primary = primary;
+        this.fallbackNanos = fallbackDuration.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadPoolAspect.isReadPool()) {
+            return readOnly(primary.getConnection());
+        }
+        if (fallingBack && System.nanoTime() - fallbackEnd < 0) {
+            return readOnly(primary.getConnection());
+        }
+        try {
+            Connection connection = super.getConnection();
+            if (fallingBack) {
+                fallingBack = false;
+                LOG.info("The read pool is available again");
+            }
+            return connection;
+        } catch (SQLException e) {
+            fallbackEnd = System.nanoTime() + fallbackNanos;
+            if (!fallingBack) {
+                fallingBack = true;
+                LOG.warn("The read pool is unavailable, falling back to the primary pool: {}", e.getMessage());
+            }
+            return readOnly(primary.getConnection());
+        }
+    }
+
+    /**
+     * The primary pool resets the flag when the connection is closed.
+     */
+    private static Connection readOnly(Connection connection) throws SQLException {
+        try {
+            connection.setReadOnly(true);
+            return connection;
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    boolean isFallingBack() {
+        return fallingBack;
+    }
+}
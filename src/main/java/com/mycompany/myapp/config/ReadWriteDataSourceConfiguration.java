@@ -0,0 +1,96 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.aop.jdbc.ReadPoolAspect;
+import com.mycompany.myapp.aop.jdbc.UseReadPool;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+/**
+ * Sends the {@code @Transactional(readOnly = true)} methods marked {@link UseReadPool} to a separately sized pool,
+ * optionally on a replica, so that the heavy reads don't compete with the writes for the connections of the primary
+ * pool. The other read-only methods, like the login or the change feed, stay on the primary pool.
+ * <p>
+ * The {@code dataSource} is a {@link LazyConnectionDataSourceProxy}, which takes a connection from a pool on the first
+ * statement of a transaction, once Spring has marked the connection read-only or not. The two pools are beans of their
+ * own, so that each one has its {@code hikaricp} meters, tagged by pool name.
+ * <p>
+ * On a replica, a {@link UseReadPool} transaction may not see the writes committed just before it, until the replica catches up.
+ * A read-only method called within a read-write transaction joins it and reads its writes from the primary pool.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.jdbc.read", name = "enabled", havingValue = "true")
+public class ReadWriteDataSourceConfiguration {
+
+    /**
+     * Same as the pool of Spring Boot.
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    /**
+     * Settings of the primary pool, sized and timed out by {@code application.jdbc.read}. The pool starts even when
+     * the replica is down, the read-only transactions then use the primary pool.
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readDataSource(HikariDataSource primaryDataSource, ApplicationProperties applicationProperties) {
+        ApplicationProperties.Jdbc.Read properties = applicationProperties.getJdbc().getRead();
+        HikariConfig config = new HikariConfig();
+        primaryDataSource.copyStateTo(config);
+        config.setPoolName(Objects.requireNonNullElse(primaryDataSource.getPoolName(), "HikariPool") + "-read");
+        if (StringUtils.hasText(properties.getUrl())) {
+            config.setJdbcUrl(properties.getUrl());
+        }
+        if (StringUtils.hasText(properties.getUsername())) {
+            config.setUsername(properties.getUsername());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            config.setPassword(properties.getPassword());
+        }
+        config.setMaximumPoolSize(properties.getMaximumPoolSize());
+        if (config.getMinimumIdle() > properties.getMaximumPoolSize()) {
+            config.setMinimumIdle(properties.getMaximumPoolSize());
+        }
+        config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        config.setReadOnly(true);
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    public ReadPoolAspect readPoolAspect() {
+        return new ReadPoolAspect();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        HikariDataSource primaryDataSource,
+        HikariDataSource readDataSource,
+        ApplicationProperties applicationProperties
+    ) {
+        Duration fallbackDuration = applicationProperties.getJdbc().getRead().getFallbackDuration();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReadOnlyFallbackDataSource(readDataSource, primaryDataSource, fallbackDuration));
+        return dataSource;
+    }
+}
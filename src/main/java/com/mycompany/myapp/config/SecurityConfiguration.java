@@ -2,21 +2,32 @@ package com.mycompany.myapp.config;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import com.mycompany.myapp.management.SecurityMetersService;
 import com.mycompany.myapp.security.*;
+import com.mycompany.myapp.web.filter.RateLimitFilter;
+import com.mycompany.myapp.web.filter.RouteClassifier;
 import com.mycompany.myapp.web.filter.SpaWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.header.HeaderWriterFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
@@ -28,13 +39,57 @@ public class SecurityConfiguration {
 
     private final JHipsterProperties jHipsterProperties;
 
-    public SecurityConfiguration(JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    public SecurityConfiguration(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(SecurityMetersService securityMetersService) {
+        ApplicationProperties.Security.Password password = applicationProperties.getSecurity().getPassword();
+        int threads = password.getThreads() > 0 ? password.getThreads() : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(
+            new BCryptPasswordEncoder(password.getBcryptStrength()),
+            threads,
+            password.getQueueCapacity(),
+            securityMetersService
+        );
+    }
+
+    /**
+     * Minimal chain of the static assets and of the client routes forwarded to {@code index.html}, as classified by the
+     * {@link RouteClassifier}: they are public, so the chain only writes the security headers, without loading a
+     * security context, decoding a token or checking the access rules. The forwards and the errors still go through
+     * {@link #filterChain}.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain staticFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(request ->
+                request.getDispatcherType() == DispatcherType.REQUEST && RouteClassifier.classify(request) != RouteClassifier.Route.BACKEND
+            )
+            .cors(withDefaults())
+            .csrf(csrf -> csrf.disable())
+            .addFilterAfter(new SpaWebFilter(), HeaderWriterFilter.class)
+            .headers(this::headers)
+            .securityContext(securityContext -> securityContext.disable())
+            .sessionManagement(session -> session.disable())
+            .requestCache(requestCache -> requestCache.disable())
+            .servletApi(servletApi -> servletApi.disable())
+            .anonymous(anonymous -> anonymous.disable())
+            .exceptionHandling(exceptions -> exceptions.disable())
+            .logout(logout -> logout.disable());
+        return http.build();
     }
 
     @Bean
@@ -42,18 +97,9 @@ public class SecurityConfiguration {
         http
             .cors(withDefaults())
             .csrf(csrf -> csrf.disable())
-            .addFilterAfter(new SpaWebFilter(), BasicAuthenticationFilter.class)
-            .headers(headers ->
-                headers
-                    .contentSecurityPolicy(csp -> csp.policyDirectives(jHipsterProperties.getSecurity().getContentSecurityPolicy()))
-                    .frameOptions(FrameOptionsConfig::sameOrigin)
-                    .referrerPolicy(referrer -> referrer.policy(ReferrerPolicyHeaderWriter.ReferrerPolicy.STRICT_ORIGIN_WHEN_CROSS_ORIGIN))
-                    .permissionsPolicyHeader(permissions ->
-                        permissions.policy(
-                            "camera=(), fullscreen=(self), geolocation=(), gyroscope=(), magnetometer=(), microphone=(), midi=(), payment=(), sync-xhr=()"
-                        )
-                    )
-            )
+            // After the authentication, to limit the users by subject rather than by IP address
+            .addFilterAfter(new RateLimitFilter(applicationProperties.getRateLimit(), meterRegistry), BearerTokenAuthenticationFilter.class)
+            .headers(this::headers)
             .authorizeHttpRequests(authz ->
                 // prettier-ignore
                 authz
@@ -65,6 +111,8 @@ public class SecurityConfiguration {
                     .requestMatchers(mvc.pattern("/swagger-ui/**")).permitAll()
                     .requestMatchers(mvc.pattern(HttpMethod.POST, "/api/authenticate")).permitAll()
                     .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/authenticate")).permitAll()
+                    .requestMatchers(mvc.pattern(HttpMethod.POST, "/api/authenticate/refresh")).permitAll()
+                    .requestMatchers(mvc.pattern(HttpMethod.POST, "/api/authenticate/revoke")).permitAll()
                     .requestMatchers(mvc.pattern("/api/register")).permitAll()
                     .requestMatchers(mvc.pattern("/api/activate")).permitAll()
                     .requestMatchers(mvc.pattern("/api/account/reset-password/init")).permitAll()
@@ -88,10 +136,33 @@ public class SecurityConfiguration {
                     .authenticationEntryPoint(new BearerTokenAuthenticationEntryPoint())
                     .accessDeniedHandler(new BearerTokenAccessDeniedHandler())
             )
-            .oauth2ResourceServer(oauth2 -> oauth2.jwt(withDefaults()));
+            .oauth2ResourceServer(oauth2 -> oauth2.bearerTokenResolver(bearerTokenResolver()).jwt(withDefaults()));
         return http.build();
     }
 
+    private void headers(HeadersConfigurer<HttpSecurity> headers) {
+        headers
+            .contentSecurityPolicy(csp -> csp.policyDirectives(jHipsterProperties.getSecurity().getContentSecurityPolicy()))
+            .frameOptions(FrameOptionsConfig::sameOrigin)
+            .referrerPolicy(referrer -> referrer.policy(ReferrerPolicyHeaderWriter.ReferrerPolicy.STRICT_ORIGIN_WHEN_CROSS_ORIGIN))
+            .permissionsPolicyHeader(permissions ->
+                permissions.policy(
+                    "camera=(), fullscreen=(self), geolocation=(), gyroscope=(), magnetometer=(), microphone=(), midi=(), payment=(), sync-xhr=()"
+                )
+            );
+    }
+
+    /**
+     * Ignore the access token of the refresh token requests, it is usually expired and would fail the request.
+     */
+    private static BearerTokenResolver bearerTokenResolver() {
+        DefaultBearerTokenResolver resolver = new DefaultBearerTokenResolver();
+        return request -> {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            return path.equals("/api/authenticate/refresh") || path.equals("/api/authenticate/revoke") ? null : resolver.resolve(request);
+        };
+    }
+
     @Bean
     MvcRequestMatcher.Builder mvc(HandlerMappingIntrospector introspector) {
         return new MvcRequestMatcher.Builder(introspector);
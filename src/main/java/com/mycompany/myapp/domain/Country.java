@@ -13,13 +13,12 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Table(name = "country")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class Country implements Serializable {
+public class Country extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @EntitySequence("country_seq")
     @Column(name = "id")
     private Long id;
 
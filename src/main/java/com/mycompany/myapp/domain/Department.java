@@ -17,13 +17,12 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Table(name = "department")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class Department implements Serializable {
+public class Department extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @EntitySequence("department_seq")
     @Column(name = "id")
     private Long id;
 
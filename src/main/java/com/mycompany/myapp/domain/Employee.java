@@ -18,13 +18,12 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Table(name = "employee")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class Employee implements Serializable {
+public class Employee extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @EntitySequence("employee_seq")
     @Column(name = "id")
     private Long id;
 
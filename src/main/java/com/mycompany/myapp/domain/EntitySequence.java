@@ -0,0 +1,21 @@
+package com.mycompany.myapp.domain;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates the id of an entity from its own database sequence, see {@link EntitySequenceGenerator}.
+ */
+@IdGeneratorType(EntitySequenceGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface EntitySequence {
+    /**
+     * @return the name of the sequence.
+     */
+    String value();
+}
@@ -0,0 +1,52 @@
+package com.mycompany.myapp.domain;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Sequence generator of the {@link EntitySequence} ids.
+ * <p>
+ * The sequences hand out blocks of ids with the {@code pooled-lo} optimizer: a {@code nextval} returns the first id
+ * of the next block. The block size is the {@value #INCREMENT_SIZE} setting, which must match the increment of the
+ * sequences, the {@code sequenceIncrement} Liquibase parameter. The {@code jhi_user} ids keep the default optimizer
+ * of the shared {@code sequence_generator}.
+ */
+public class EntitySequenceGenerator extends SequenceStyleGenerator implements AnnotationBasedGenerator<EntitySequence> {
+
+    /**
+     * Hibernate setting of the block size, the increment of the entity sequences.
+     */
+    public static final String INCREMENT_SIZE = "hibernate.id.entity_sequence.increment_size";
+
+    /**
+     * Block size when the setting is absent, the default {@code sequenceIncrement} of the Liquibase changelog.
+     */
+    public static final int DEFAULT_INCREMENT_SIZE = 50;
+
+    private String sequenceName;
+
+    @Override
+    public void initialize(EntitySequence annotation, Member member, GeneratorCreationContext context) {
+        this.sequenceName = annotation.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int incrementSize = serviceRegistry
+            .requireService(ConfigurationService.class)
+            .getSetting(INCREMENT_SIZE, StandardConverters.INTEGER, DEFAULT_INCREMENT_SIZE);
+        parameters.put(SEQUENCE_PARAM, sequenceName);
+        parameters.put(INCREMENT_PARAM, String.valueOf(incrementSize));
+        parameters.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -15,13 +15,12 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Table(name = "job_history")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class JobHistory implements Serializable {
+public class JobHistory extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @EntitySequence("job_history_seq")
     @Column(name = "id")
     private Long id;
 
@@ -15,13 +15,12 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Table(name = "location")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class Location implements Serializable {
+public class Location extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @EntitySequence("location_seq")
     @Column(name = "id")
     private Long id;
 
@@ -13,13 +13,12 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Table(name = "region")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class Region implements Serializable {
+public class Region extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @EntitySequence("region_seq")
     @Column(name = "id")
     private Long id;
 
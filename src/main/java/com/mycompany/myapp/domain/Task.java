@@ -18,13 +18,12 @@ import org.hibernate.annotations.CacheConcurrencyStrategy;
 @Table(name = "task")
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SuppressWarnings("common-java:DuplicatedBlocks")
-public class Task implements Serializable {
+public class Task extends AbstractVersionedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @EntitySequence("task_seq")
     @Column(name = "id")
     private Long id;
 
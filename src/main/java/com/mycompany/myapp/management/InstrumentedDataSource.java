@@ -0,0 +1,136 @@
+package com.mycompany.myapp.management;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} handing out connections whose statements are counted and timed by the
+ * {@link QueryInstrumentation}, along with the rows read from their result sets.
+ * <p>
+ * The connections and statements are JDK proxies of the ones of the target pool, the result sets are wrapped in a
+ * {@link RowCountingResultSet} which only intercepts {@code next()}. {@code unwrap} still returns the driver objects,
+ * e.g. for the {@code COPY} of the imports.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final QueryInstrumentation instrumentation;
+
+    public InstrumentedDataSource(DataSource target, QueryInstrumentation instrumentation) {
+        super(target);
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Handles the methods of {@link Object} on the proxy itself.
+     */
+    private abstract static class Handler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "Instrumented " + target();
+                default -> handle(method, args);
+            };
+        }
+
+        abstract Object target();
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    private final class ConnectionHandler extends Handler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        Object target() {
+            return target;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, new StatementHandler((Statement) result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler((Statement) result, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler extends Handler {
+
+        private final Statement target;
+
+        private final String sql;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        Object target() {
+            return target;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    Object result = InstrumentedDataSource.invoke(target, method, args);
+                    return name.equals("executeQuery") ? new RowCountingResultSet((ResultSet) result, instrumentation) : result;
+                } finally {
+                    String statement = args != null && args.length > 0 && args[0] instanceof String executed ? executed : sql;
+                    instrumentation.recordStatement(statement, System.nanoTime() - start);
+                }
+            }
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (name.equals("getResultSet") && result != null) {
+                return new RowCountingResultSet((ResultSet) result, instrumentation);
+            }
+            return result;
+        }
+    }
+}
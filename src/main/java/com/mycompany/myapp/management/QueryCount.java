@@ -0,0 +1,99 @@
+package com.mycompany.myapp.management;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Number of SQL statements, of selects per table and of fetched rows, run by the current thread since
+ * {@link QueryInstrumentation#startCounting()}, e.g. to bound the statements of a REST method in its integration test:
+ * <pre>
+ * try (QueryCount queries = queryInstrumentation.startCounting()) {
+ *     restEmployeeMockMvc.perform(get("/api/employees")).andExpect(status().isOk());
+ *     assertThat(queries.getMaxSelectsPerTable()).isLessThanOrEqualTo(2);
+ * }
+ * </pre>
+ * The table of a select is the first one of its {@code from} clause, so that the selects of the lazy associations
+ * loaded one by one (N+1) add up on the table of the association.
+ */
+public final class QueryCount implements AutoCloseable {
+
+    private final QueryInstrumentation instrumentation;
+
+    private final Map<String, Integer> selectsPerTable = new HashMap<>();
+
+    private long statements;
+
+    private long rows;
+
+    QueryCount(QueryInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    void recordStatement(String table) {
+        statements++;
+        if (table != null) {
+            selectsPerTable.merge(table, 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    void reset() {
+        statements = 0;
+        rows = 0;
+        selectsPerTable.clear();
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getSelects() {
+        long selects = 0;
+        for (int count : selectsPerTable.values()) {
+            selects += count;
+        }
+        return selects;
+    }
+
+    public int getSelects(String table) {
+        return selectsPerTable.getOrDefault(table, 0);
+    }
+
+    public Map<String, Integer> getSelectsPerTable() {
+        return Collections.unmodifiableMap(selectsPerTable);
+    }
+
+    /**
+     * @return the number of selects on the most selected table, 0 without selects.
+     */
+    public int getMaxSelectsPerTable() {
+        int max = 0;
+        for (int count : selectsPerTable.values()) {
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+
+    /**
+     * Stops counting, the counts can still be read.
+     */
+    @Override
+    public void close() {
+        if (instrumentation != null) {
+            instrumentation.stopCounting(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCount{statements=" + statements + ", rows=" + rows + ", selectsPerTable=" + selectsPerTable + "}";
+    }
+}
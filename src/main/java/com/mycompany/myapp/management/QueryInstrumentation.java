@@ -0,0 +1,323 @@
+package com.mycompany.myapp.management;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts and times the SQL statements of the {@link InstrumentedDataSource}, per origin: the repository method running
+ * the statement, else the REST method of the request.
+ * <p>
+ * The origin and the counts of the current request are kept per thread, set by the {@link QueryOriginInterceptor} and
+ * the {@link RepositoryQueryOriginInterceptor}. The meters are:
+ * <ul>
+ * <li>{@code jdbc.statements}, the execution time of the statements, tagged by origin;</li>
+ * <li>{@code jdbc.request.statements} and {@code jdbc.request.rows}, the number of statements and of fetched rows
+ * per request, tagged by REST method.</li>
+ * </ul>
+ * The statements slower than {@code application.jdbc.slow-query-threshold} are kept, without their literals, in a ring
+ * buffer exposed by the {@link SlowQueriesEndpoint}.
+ * <p>
+ * The selects are also counted per table: a request running more than {@code application.jdbc.repeated-select-threshold}
+ * selects on the same table, usually a lazy association loaded row by row, is logged as a warning. The tests count the
+ * statements of their own calls with {@link #startCounting()}.
+ */
+public class QueryInstrumentation {
+
+    public static final String STATEMENTS_METER_NAME = "jdbc.statements";
+    public static final String STATEMENTS_METER_DESCRIPTION = "Execution time of the SQL statements.";
+    public static final String REQUEST_STATEMENTS_METER_NAME = "jdbc.request.statements";
+    public static final String REQUEST_STATEMENTS_METER_DESCRIPTION = "Number of SQL statements per request.";
+    public static final String REQUEST_ROWS_METER_NAME = "jdbc.request.rows";
+    public static final String REQUEST_ROWS_METER_DESCRIPTION = "Number of rows fetched per request.";
+    public static final String ORIGIN_DIMENSION = "origin";
+    public static final String METHOD_DIMENSION = "method";
+
+    static final String NO_ORIGIN = "none";
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryInstrumentation.class);
+
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+
+    private final MeterRegistry registry;
+
+    private final long slowQueryThreshold;
+
+    private final int repeatedSelectThreshold;
+
+    private final Map<String, Timer> statementTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, RequestMeters> requestMeters = new ConcurrentHashMap<>();
+
+    private final AtomicReferenceArray<SlowQuery> slowQueries;
+
+    private final AtomicLong slowQueryCount = new AtomicLong();
+
+    public QueryInstrumentation(ApplicationProperties.Jdbc properties, MeterRegistry registry) {
+        this.registry = registry;
+        this.slowQueryThreshold = properties.getSlowQueryThreshold().toNanos();
+        this.repeatedSelectThreshold = properties.getRepeatedSelectThreshold();
+        this.slowQueries = new AtomicReferenceArray<>(Math.max(1, properties.getSlowQueryBufferSize()));
+    }
+
+    /**
+     * Sets the origin of the statements of the current thread.
+     *
+     * @return the previous origin, to restore with {@link #restoreOrigin(String)}.
+     */
+    String enterOrigin(String origin) {
+        Context context = CONTEXT.get();
+        String previous = context.origin;
+        context.origin = origin;
+        return previous;
+    }
+
+    void restoreOrigin(String previous) {
+        CONTEXT.get().origin = previous;
+    }
+
+    /**
+     * Starts counting the statements of a request of the current thread.
+     */
+    void beginRequest(String method) {
+        Context context = CONTEXT.get();
+        context.method = method;
+        context.origin = method;
+        context.request.reset();
+    }
+
+    /**
+     * Records the counts of the request of the current thread.
+     */
+    void endRequest() {
+        Context context = CONTEXT.get();
+        if (context.method == null) {
+            return;
+        }
+        QueryCount request = context.request;
+        RequestMeters meters = requestMeters.computeIfAbsent(context.method, this::requestMeters);
+        meters.statements().record(request.getStatements());
+        meters.rows().record(request.getRows());
+        if (repeatedSelectThreshold > 0 && request.getMaxSelectsPerTable() > repeatedSelectThreshold) {
+            request
+                .getSelectsPerTable()
+                .forEach((table, selects) -> {
+                    if (selects > repeatedSelectThreshold) {
+                        LOG.warn("{} ran {} selects on {}, check the fetching of its associations (N+1)", context.method, selects, table);
+                    }
+                });
+        }
+        context.method = null;
+        context.origin = null;
+    }
+
+    /**
+     * Forgets the request of the current thread without recording it, e.g. when it goes on asynchronously.
+     */
+    void clearRequest() {
+        Context context = CONTEXT.get();
+        context.method = null;
+        context.origin = null;
+        context.request.reset();
+    }
+
+    /**
+     * Counts the statements of the current thread, until {@link QueryCount#close()}.
+     */
+    public QueryCount startCounting() {
+        QueryCount count = new QueryCount(this);
+        CONTEXT.get().counts.add(count);
+        return count;
+    }
+
+    void stopCounting(QueryCount count) {
+        CONTEXT.get().counts.remove(count);
+    }
+
+    void recordStatement(String sql, long nanos) {
+        Context context = CONTEXT.get();
+        String table = selectedTable(sql);
+        context.request.recordStatement(table);
+        for (QueryCount count : context.counts) {
+            count.recordStatement(table);
+        }
+        String origin = context.origin != null ? context.origin : NO_ORIGIN;
+        statementTimers.computeIfAbsent(origin, this::statementTimer).record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos >= slowQueryThreshold) {
+            long index = slowQueryCount.getAndIncrement();
+            slowQueries.set(
+                (int) (index % slowQueries.length()),
+                new SlowQuery(Instant.now(), context.method, origin, TimeUnit.NANOSECONDS.toMillis(nanos), redact(sql))
+            );
+        }
+    }
+
+    void recordRow() {
+        Context context = CONTEXT.get();
+        context.request.recordRow();
+        for (QueryCount count : context.counts) {
+            count.recordRow();
+        }
+    }
+
+    /**
+     * @return the last slow statements, the slowest first.
+     */
+    public List<SlowQuery> getSlowQueries() {
+        List<SlowQuery> queries = new ArrayList<>(slowQueries.length());
+        for (int i = 0; i < slowQueries.length(); i++) {
+            SlowQuery query = slowQueries.get(i);
+            if (query != null) {
+                queries.add(query);
+            }
+        }
+        queries.sort((a, b) -> Long.compare(b.durationMillis(), a.durationMillis()));
+        return queries;
+    }
+
+    public void clearSlowQueries() {
+        for (int i = 0; i < slowQueries.length(); i++) {
+            slowQueries.set(i, null);
+        }
+    }
+
+    private Timer statementTimer(String origin) {
+        return Timer.builder(STATEMENTS_METER_NAME)
+            .description(STATEMENTS_METER_DESCRIPTION)
+            .tag(ORIGIN_DIMENSION, origin)
+            .register(registry);
+    }
+
+    private RequestMeters requestMeters(String method) {
+        return new RequestMeters(
+            DistributionSummary.builder(REQUEST_STATEMENTS_METER_NAME)
+                .description(REQUEST_STATEMENTS_METER_DESCRIPTION)
+                .baseUnit("statements")
+                .tag(METHOD_DIMENSION, method)
+                .register(registry),
+            DistributionSummary.builder(REQUEST_ROWS_METER_NAME)
+                .description(REQUEST_ROWS_METER_DESCRIPTION)
+                .baseUnit("rows")
+                .tag(METHOD_DIMENSION, method)
+                .register(registry)
+        );
+    }
+
+    /**
+     * Replaces the string and number literals of a statement with {@code ?}, the bind parameters are never kept.
+     */
+    static String redact(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        int length = Math.min(sql.length(), MAX_SQL_LENGTH);
+        StringBuilder out = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        // A doubled quote is a quote inside the literal
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                out.append('?');
+                i++;
+            } else if (Character.isDigit(c) && (i == 0 || !Character.isJavaIdentifierPart(sql.charAt(i - 1)))) {
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        if (length < sql.length()) {
+            out.append("...");
+        }
+        return out.toString();
+    }
+
+    /**
+     * @return the first table of the {@code from} clause of a select, in lower case, else {@code null}.
+     */
+    static String selectedTable(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        int i = skipWhitespace(sql, 0);
+        if (!sql.regionMatches(true, i, "select", 0, 6)) {
+            return null;
+        }
+        for (i += 6; i + 5 < sql.length(); i++) {
+            if (
+                Character.isWhitespace(sql.charAt(i)) &&
+                sql.regionMatches(true, i + 1, "from", 0, 4) &&
+                Character.isWhitespace(sql.charAt(i + 5))
+            ) {
+                int start = skipWhitespace(sql, i + 5);
+                int end = start;
+                while (end < sql.length() && isTableNamePart(sql.charAt(end))) {
+                    end++;
+                }
+                return end > start ? sql.substring(start, end).toLowerCase(Locale.ROOT) : null;
+            }
+        }
+        return null;
+    }
+
+    private static int skipWhitespace(String sql, int i) {
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isTableNamePart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '"';
+    }
+
+    /**
+     * A statement slower than the threshold.
+     *
+     * @param request the REST method of the request, if any.
+     * @param origin the repository or REST method running the statement.
+     * @param sql the statement, without its literals.
+     */
+    public record SlowQuery(Instant timestamp, String request, String origin, long durationMillis, String sql) {}
+
+    private record RequestMeters(DistributionSummary statements, DistributionSummary rows) {}
+
+    private static final class Context {
+
+        private String origin;
+
+        private String method;
+
+        private final QueryCount request = new QueryCount(null);
+
+        private final List<QueryCount> counts = new ArrayList<>(1);
+    }
+}
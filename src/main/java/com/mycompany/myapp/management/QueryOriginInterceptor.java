@@ -0,0 +1,47 @@
+package com.mycompany.myapp.management;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Sets the REST method of the request, e.g. {@code EmployeeResource.getAllEmployees}, as the origin of its SQL
+ * statements, and records the number of statements and of rows of the request when it completes.
+ * <p>
+ * An asynchronous request is only recorded by its last dispatch, the thread starting it is released without its origin.
+ */
+public class QueryOriginInterceptor implements AsyncHandlerInterceptor {
+
+    private final QueryInstrumentation instrumentation;
+
+    private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+    public QueryOriginInterceptor(QueryInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            String name = names.computeIfAbsent(handlerMethod.getMethod(), method ->
+                handlerMethod.getBeanType().getSimpleName() + '.' + method.getName()
+            );
+            instrumentation.beginRequest(name);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        instrumentation.clearRequest();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        instrumentation.endRequest();
+    }
+}
@@ -0,0 +1,37 @@
+package com.mycompany.myapp.management;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Sets the method of a Spring Data repository, e.g. {@code EmployeeRepository.findAll}, as the origin of the SQL
+ * statements it runs.
+ */
+public class RepositoryQueryOriginInterceptor implements MethodInterceptor {
+
+    private final QueryInstrumentation instrumentation;
+
+    private final String repositoryName;
+
+    private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+    public RepositoryQueryOriginInterceptor(QueryInstrumentation instrumentation, Class<?> repositoryInterface) {
+        this.instrumentation = instrumentation;
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String previous = instrumentation.enterOrigin(
+            names.computeIfAbsent(invocation.getMethod(), method -> repositoryName + '.' + method.getName())
+        );
+        try {
+            return invocation.proceed();
+        } finally {
+            instrumentation.restoreOrigin(previous);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.mycompany.myapp.management;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +15,48 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String PASSWORD_QUEUE_METER_NAME = "security.password.queue";
+    public static final String PASSWORD_QUEUE_METER_DESCRIPTION = "Time the passwords waited for a hashing thread.";
+    public static final String PASSWORD_HASHING_METER_NAME = "security.password.hashing";
+    public static final String PASSWORD_HASHING_METER_DESCRIPTION = "Time spent hashing the passwords.";
+    public static final String PASSWORD_OPERATION_DIMENSION = "operation";
+
+    public static final String PASSWORD_REJECTED_METER_NAME = "security.password.rejected";
+    public static final String PASSWORD_REJECTED_METER_DESCRIPTION = "Number of passwords rejected because the hashing queue was full.";
+    public static final String PASSWORD_UPGRADES_METER_NAME = "security.password.upgrades";
+    public static final String PASSWORD_UPGRADES_METER_DESCRIPTION = "Number of password hashes re-hashed with the configured cost.";
+    public static final String PASSWORD_METER_BASE_UNIT = "passwords";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
 
+    private final Timer passwordMatchQueueTimer;
+    private final Timer passwordMatchHashingTimer;
+    private final Timer passwordEncodeQueueTimer;
+    private final Timer passwordEncodeHashingTimer;
+    private final Counter passwordRejectedCounter;
+    private final Counter passwordUpgradesCounter;
+
     public SecurityMetersService(MeterRegistry registry) {
         this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
         this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
         this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
         this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+
+        this.passwordMatchQueueTimer = passwordQueueTimerBuilder("match").register(registry);
+        this.passwordMatchHashingTimer = passwordHashingTimerBuilder("match").register(registry);
+        this.passwordEncodeQueueTimer = passwordQueueTimerBuilder("encode").register(registry);
+        this.passwordEncodeHashingTimer = passwordHashingTimerBuilder("encode").register(registry);
+        this.passwordRejectedCounter = Counter.builder(PASSWORD_REJECTED_METER_NAME)
+            .baseUnit(PASSWORD_METER_BASE_UNIT)
+            .description(PASSWORD_REJECTED_METER_DESCRIPTION)
+            .register(registry);
+        this.passwordUpgradesCounter = Counter.builder(PASSWORD_UPGRADES_METER_NAME)
+            .baseUnit(PASSWORD_METER_BASE_UNIT)
+            .description(PASSWORD_UPGRADES_METER_DESCRIPTION)
+            .register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -32,6 +66,18 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Timer.Builder passwordQueueTimerBuilder(String operation) {
+        return Timer.builder(PASSWORD_QUEUE_METER_NAME)
+            .description(PASSWORD_QUEUE_METER_DESCRIPTION)
+            .tag(PASSWORD_OPERATION_DIMENSION, operation);
+    }
+
+    private Timer.Builder passwordHashingTimerBuilder(String operation) {
+        return Timer.builder(PASSWORD_HASHING_METER_NAME)
+            .description(PASSWORD_HASHING_METER_DESCRIPTION)
+            .tag(PASSWORD_OPERATION_DIMENSION, operation);
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -47,4 +93,22 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackPasswordMatch(long queuedNanos, long hashingNanos) {
+        this.passwordMatchQueueTimer.record(queuedNanos, TimeUnit.NANOSECONDS);
+        this.passwordMatchHashingTimer.record(hashingNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackPasswordEncode(long queuedNanos, long hashingNanos) {
+        this.passwordEncodeQueueTimer.record(queuedNanos, TimeUnit.NANOSECONDS);
+        this.passwordEncodeHashingTimer.record(hashingNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackPasswordRejected() {
+        this.passwordRejectedCounter.increment();
+    }
+
+    public void trackPasswordUpgraded() {
+        this.passwordUpgradesCounter.increment();
+    }
 }
@@ -0,0 +1,30 @@
+package com.mycompany.myapp.management;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /management/slowqueries}: the last SQL statements slower than {@code application.jdbc.slow-query-threshold},
+ * without their literals.
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    private final QueryInstrumentation instrumentation;
+
+    public SlowQueriesEndpoint(QueryInstrumentation instrumentation) {
+        this.instrumentation = instrumentation;
+    }
+
+    @ReadOperation
+    public List<QueryInstrumentation.SlowQuery> slowQueries() {
+        return instrumentation.getSlowQueries();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        instrumentation.clearSlowQueries();
+    }
+}
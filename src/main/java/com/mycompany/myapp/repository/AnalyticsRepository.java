@@ -0,0 +1,135 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.repository.projection.JobSalaryBand;
+import com.mycompany.myapp.repository.projection.SalaryAggregate;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the salary aggregates precomputed in the {@code mv_department_salary_stats} and
+ * {@code mv_job_salary_bands} materialized views.
+ * <p>
+ * The country, region and company aggregates are rolled up from the department rows, so every query reads at most one
+ * row per department whatever the number of employees.
+ */
+@Repository
+public class AnalyticsRepository {
+
+    private static final String ROLLUP =
+        "sum(s.headcount) AS headcount, sum(s.payroll) AS payroll, sum(s.salary_count) AS salary_count, " +
+        "min(s.min_salary) AS min_salary, max(s.max_salary) AS max_salary, sum(s.total_commission) AS total_commission, " +
+        "sum(s.commission_count) AS commission_count, max(s.refreshed_at) AS refreshed_at ";
+
+    private static final String DEPARTMENT_QUERY =
+        "SELECT s.department_id AS id, s.department_name AS name, s.headcount, s.payroll, s.salary_count, s.min_salary, " +
+        "s.max_salary, s.total_commission, s.commission_count, s.refreshed_at FROM mv_department_salary_stats s " +
+        "WHERE s.department_key <> 0 OR s.headcount > 0 ORDER BY s.department_id NULLS LAST";
+
+    private static final String COUNTRY_QUERY =
+        "SELECT g.id, g.country_name AS name, " +
+        ROLLUP +
+        "FROM mv_department_salary_stats s LEFT JOIN country g ON g.id = s.country_id " +
+        "GROUP BY g.id, g.country_name HAVING g.id IS NOT NULL OR sum(s.headcount) > 0 ORDER BY g.id NULLS LAST";
+
+    private static final String REGION_QUERY =
+        "SELECT g.id, g.region_name AS name, " +
+        ROLLUP +
+        "FROM mv_department_salary_stats s LEFT JOIN region g ON g.id = s.region_id " +
+        "GROUP BY g.id, g.region_name HAVING g.id IS NOT NULL OR sum(s.headcount) > 0 ORDER BY g.id NULLS LAST";
+
+    private static final String COMPANY_QUERY = "SELECT NULL AS id, NULL AS name, " + ROLLUP + "FROM mv_department_salary_stats s";
+
+    private static final String JOB_SALARY_BAND_QUERY =
+        "SELECT job_title, jobs, min_salary, max_salary, below_band, within_band, above_band, refreshed_at " +
+        "FROM mv_job_salary_bands ORDER BY job_title";
+
+    private static final RowMapper<SalaryAggregate> SALARY_AGGREGATE_MAPPER = AnalyticsRepository::mapSalaryAggregate;
+
+    private static final RowMapper<JobSalaryBand> JOB_SALARY_BAND_MAPPER = (rs, rowNum) ->
+        new JobSalaryBand(
+            rs.getString("job_title"),
+            rs.getLong("jobs"),
+            getLong(rs, "min_salary"),
+            getLong(rs, "max_salary"),
+            rs.getLong("below_band"),
+            rs.getLong("within_band"),
+            rs.getLong("above_band"),
+            rs.getTimestamp("refreshed_at").toInstant()
+        );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalyticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public SalaryAggregate getCompanySalaries() {
+        return jdbcTemplate.queryForObject(COMPANY_QUERY, SALARY_AGGREGATE_MAPPER);
+    }
+
+    /**
+     * @return the aggregates of each department, then those of the employees without department if there are some.
+     */
+    public List<SalaryAggregate> findSalariesByDepartment() {
+        return jdbcTemplate.query(DEPARTMENT_QUERY, SALARY_AGGREGATE_MAPPER);
+    }
+
+    /**
+     * @return the aggregates of each country with departments, then those of the employees whose department has no
+     * country if there are some.
+     */
+    public List<SalaryAggregate> findSalariesByCountry() {
+        return jdbcTemplate.query(COUNTRY_QUERY, SALARY_AGGREGATE_MAPPER);
+    }
+
+    /**
+     * @return the aggregates of each region with departments, then those of the employees whose department has no
+     * region if there are some.
+     */
+    public List<SalaryAggregate> findSalariesByRegion() {
+        return jdbcTemplate.query(REGION_QUERY, SALARY_AGGREGATE_MAPPER);
+    }
+
+    public List<JobSalaryBand> findJobSalaryBands() {
+        return jdbcTemplate.query(JOB_SALARY_BAND_QUERY, JOB_SALARY_BAND_MAPPER);
+    }
+
+    /**
+     * Recompute the aggregates. The views are refreshed concurrently, so queries keep reading the previous aggregates
+     * meanwhile.
+     */
+    public void refresh() {
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY mv_department_salary_stats");
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY mv_job_salary_bands");
+    }
+
+    private static SalaryAggregate mapSalaryAggregate(ResultSet rs, int rowNum) throws SQLException {
+        Long payroll = getLong(rs, "payroll");
+        long salaryCount = rs.getLong("salary_count");
+        Long totalCommission = getLong(rs, "total_commission");
+        long commissionCount = rs.getLong("commission_count");
+        Timestamp refreshedAt = rs.getTimestamp("refreshed_at");
+        return new SalaryAggregate(
+            getLong(rs, "id"),
+            rs.getString("name"),
+            rs.getLong("headcount"),
+            payroll,
+            salaryCount == 0 ? null : (double) payroll / salaryCount,
+            getLong(rs, "min_salary"),
+            getLong(rs, "max_salary"),
+            totalCommission,
+            commissionCount == 0 ? null : (double) totalCommission / commissionCount,
+            refreshedAt == null ? null : refreshedAt.toInstant()
+        );
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+}
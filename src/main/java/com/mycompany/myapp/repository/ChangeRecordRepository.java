@@ -0,0 +1,127 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.repository.projection.ChangeRecord;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the {@code change_record} outbox of the entity changes.
+ * <p>
+ * Records are read in {@code (tx_id, id)} order, and only those of the transactions older than the oldest running one:
+ * a running transaction may still commit records, they must not be skipped by a reader already past them. A long
+ * running transaction holds the feed back until it ends.
+ */
+@Repository
+public class ChangeRecordRepository {
+
+    private static final String INSERT =
+        "INSERT INTO change_record (entity_type, entity_id, operation, changed_at, changes) VALUES (?, ?, ?, ?, CAST(? AS jsonb))";
+
+    /**
+     * The transactions older than this one have all ended.
+     */
+    private static final String HORIZON = "pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    private static final String COLUMNS = "SELECT tx_id, id, entity_type, entity_id, operation, changed_at, changes FROM change_record ";
+
+    private static final String PURGE =
+        "DELETE FROM change_record WHERE id IN (SELECT id FROM change_record WHERE changed_at < ? ORDER BY changed_at LIMIT ?)";
+
+    private static final RowMapper<ChangeRecord> MAPPER = (rs, rowNum) ->
+        new ChangeRecord(
+            rs.getLong("tx_id"),
+            rs.getLong("id"),
+            rs.getString("entity_type"),
+            rs.getLong("entity_id"),
+            rs.getString("operation"),
+            rs.getObject("changed_at", LocalDateTime.class).toInstant(ZoneOffset.UTC),
+            rs.getString("changes")
+        );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public ChangeRecordRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Write change records in one JDBC batch, on the connection of the transaction that made the changes.
+     *
+     * @param connection the connection of the transaction.
+     * @param records the records, their {@code txId} and {@code id} are ignored.
+     * @throws SQLException if the records can't be written.
+     */
+    public void insertAll(Connection connection, List<ChangeRecord> records) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            for (ChangeRecord record : records) {
+                statement.setString(1, record.entity());
+                statement.setLong(2, record.entityId());
+                statement.setString(3, record.operation());
+                statement.setObject(4, LocalDateTime.ofInstant(record.changedAt(), ZoneOffset.UTC));
+                statement.setString(5, record.changes());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Get the records after a position of the feed.
+     *
+     * @param txId the transaction id of the position.
+     * @param id the record id of the position.
+     * @param entities the entities of the records, or empty for all of them.
+     * @param limit the maximum number of records.
+     * @return the records, in feed order.
+     */
+    public List<ChangeRecord> findAfter(long txId, long id, Collection<String> entities, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("txId", txId)
+            .addValue("id", id)
+            .addValue("entities", entities)
+            .addValue("limit", limit);
+        String sql =
+            COLUMNS +
+            "WHERE (tx_id, id) > (:txId, :id) AND tx_id < " +
+            HORIZON +
+            (entities.isEmpty() ? "" : " AND entity_type IN (:entities)") +
+            " ORDER BY tx_id, id LIMIT :limit";
+        return namedParameterJdbcTemplate.query(sql, parameters, MAPPER);
+    }
+
+    /**
+     * @return the last record of the feed, if any.
+     */
+    public Optional<ChangeRecord> findLast() {
+        return jdbcTemplate
+            .query(COLUMNS + "WHERE tx_id < " + HORIZON + " ORDER BY tx_id DESC, id DESC LIMIT 1", MAPPER)
+            .stream()
+            .findFirst();
+    }
+
+    /**
+     * Delete a batch of the records older than a date.
+     *
+     * @param before the date.
+     * @param limit the maximum number of records to delete.
+     * @return the number of deleted records.
+     */
+    public int deleteBatchChangedBefore(Instant before, int limit) {
+        return jdbcTemplate.update(PURGE, LocalDateTime.ofInstant(before, ZoneOffset.UTC), limit);
+    }
+}
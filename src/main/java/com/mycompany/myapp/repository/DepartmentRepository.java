@@ -1,7 +1,13 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Department;
+import com.mycompany.myapp.repository.projection.DepartmentView;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,36 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface DepartmentRepository extends JpaRepository<Department, Long> {}
+public interface DepartmentRepository extends VersionedRepository<Department> {
+    String VIEW_QUERY =
+        "select new com.mycompany.myapp.repository.projection.DepartmentView(" +
+        "department.id, department.departmentName, department.location.id, " +
+        "jobHistory.id, jobHistory.startDate, jobHistory.endDate, jobHistory.language, jobHistory.version, jobHistory.lastModifiedDate, " +
+        "department.version, department.lastModifiedDate) " +
+        "from Department department left join department.jobHistory jobHistory";
+
+    /**
+     * Full-text search of the departments, {@code :query} in web search syntax. Must use the configuration of the
+     * {@code search_vector} column.
+     */
+    String SEARCH = "FROM department, websearch_to_tsquery('english', :query) q WHERE search_vector @@ q";
+
+    @Query(VIEW_QUERY)
+    List<DepartmentView> findAllViews();
+
+    @Query(VIEW_QUERY + " where jobHistory.id is null")
+    List<DepartmentView> findAllViewsWhereJobHistoryIsNull();
+
+    @Query(VIEW_QUERY + " where department.id in :ids")
+    List<DepartmentView> findAllViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ids of the departments matching a full-text query, best ranked first.
+     */
+    @Query(
+        value = "SELECT id " + SEARCH + " ORDER BY ts_rank_cd(search_vector, q) DESC, id",
+        countQuery = "SELECT count(*) " + SEARCH,
+        nativeQuery = true
+    )
+    Page<Long> searchIds(@Param("query") String query, Pageable pageable);
+}
@@ -1,7 +1,17 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.repository.projection.EmployeeView;
+import com.mycompany.myapp.repository.projection.ManagerLink;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +19,118 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {}
+public interface EmployeeRepository extends VersionedRepository<Employee> {
+    String VIEW_QUERY =
+        "select new com.mycompany.myapp.repository.projection.EmployeeView(" +
+        "employee.id, employee.firstName, employee.lastName, employee.email, employee.phoneNumber, employee.hireDate, " +
+        "employee.salary, employee.commissionPct, employee.manager.id, employee.department.id, " +
+        "jobHistory.id, jobHistory.startDate, jobHistory.endDate, jobHistory.language, jobHistory.version, jobHistory.lastModifiedDate, " +
+        "employee.version, employee.lastModifiedDate) " +
+        "from Employee employee left join employee.jobHistory jobHistory";
+
+    /**
+     * Full-text search of the employees, {@code :query} in web search syntax. Must use the configuration of the
+     * {@code search_vector} column.
+     */
+    String SEARCH = "FROM employee, websearch_to_tsquery('simple', :query) q WHERE search_vector @@ q";
+
+    /**
+     * The text matched by the typeahead. Must stay identical to the expression of the {@code idx_employee_typeahead} trigram
+     * index.
+     */
+    String TYPEAHEAD_TEXT = "(coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' || coalesce(email, ''))";
+
+    /**
+     * All the reports of employee {@code :id}, direct or not, with their depth below it and their path from it. Rows on a
+     * manager cycle are visited once.
+     */
+    String SUBTREE_CTE =
+        "WITH RECURSIVE subtree(id, depth, path) AS (" +
+        "SELECT e.id, 1, ARRAY[e.manager_id, e.id] FROM employee e WHERE e.manager_id = :id " +
+        "UNION ALL " +
+        "SELECT e.id, s.depth + 1, s.path || e.id FROM employee e JOIN subtree s ON e.manager_id = s.id " +
+        "WHERE NOT e.id = ANY(s.path)) ";
+
+    /**
+     * The managers of employee {@code :id}, up to the top of the org chart, with their distance to it.
+     */
+    String ANCESTORS_CTE =
+        "WITH RECURSIVE chain(id, manager_id, depth, path) AS (" +
+        "SELECT e.id, e.manager_id, 0, ARRAY[e.id] FROM employee e WHERE e.id = :id " +
+        "UNION ALL " +
+        "SELECT m.id, m.manager_id, c.depth + 1, c.path || m.id FROM employee m JOIN chain c ON m.id = c.manager_id " +
+        "WHERE NOT m.id = ANY(c.path)) ";
+
+    @Query(value = VIEW_QUERY, countQuery = "select count(employee) from Employee employee")
+    Page<EmployeeView> findAllViews(Pageable pageable);
+
+    @Query(VIEW_QUERY + " where jobHistory.id is null")
+    List<EmployeeView> findAllViewsWhereJobHistoryIsNull();
+
+    @Query(VIEW_QUERY + " order by employee.id")
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    Stream<EmployeeView> streamAllViews();
+
+    @Query(VIEW_QUERY + " where employee.id in :ids")
+    List<EmployeeView> findAllViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+        value = VIEW_QUERY + " where employee.manager.id = :managerId order by employee.id",
+        countQuery = "select count(employee) from Employee employee where employee.manager.id = :managerId"
+    )
+    Page<EmployeeView> findAllViewsByManagerId(@Param("managerId") Long managerId, Pageable pageable);
+
+    @Query("select new com.mycompany.myapp.repository.projection.ManagerLink(employee.id, employee.manager.id) from Employee employee")
+    List<ManagerLink> findAllManagerLinks();
+
+    long countByManagerId(Long managerId);
+
+    /**
+     * Ids of all the reports of an employee, in depth-first order with the reports of a manager ordered by id.
+     */
+    @Query(value = SUBTREE_CTE + "SELECT id FROM subtree ORDER BY path", nativeQuery = true)
+    List<Long> findSubtreeIds(@Param("id") Long id);
+
+    @Query(value = SUBTREE_CTE + "SELECT count(*) FROM subtree", nativeQuery = true)
+    long countSubtree(@Param("id") Long id);
+
+    /**
+     * Ids of the managers of an employee, from its direct manager to the top of the org chart.
+     */
+    @Query(value = ANCESTORS_CTE + "SELECT id FROM chain WHERE depth > 0 ORDER BY depth", nativeQuery = true)
+    List<Long> findAncestorIds(@Param("id") Long id);
+
+    /**
+     * Depth of an employee in the org chart, 0 for an employee without manager.
+     */
+    @Query(value = ANCESTORS_CTE + "SELECT max(depth) FROM chain", nativeQuery = true)
+    Integer findDepth(@Param("id") Long id);
+
+    /**
+     * Ids of the employees matching a full-text query, best ranked first.
+     */
+    @Query(
+        value = "SELECT id " + SEARCH + " ORDER BY ts_rank_cd(search_vector, q) DESC, id",
+        countQuery = "SELECT count(*) " + SEARCH,
+        nativeQuery = true
+    )
+    Page<Long> searchIds(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Ids of the employees whose name or email matches a {@code LIKE} pattern, the closest to {@code :query} first.
+     */
+    @Query(
+        value = "SELECT id FROM employee WHERE " +
+        TYPEAHEAD_TEXT +
+        " ILIKE :pattern ORDER BY word_similarity(:query, " +
+        TYPEAHEAD_TEXT +
+        ") DESC, id LIMIT :limit",
+        nativeQuery = true
+    )
+    List<Long> findTypeaheadIds(@Param("query") String query, @Param("pattern") String pattern, @Param("limit") int limit);
+}
@@ -1,7 +1,18 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.JobHistory;
+import com.mycompany.myapp.repository.projection.JobHistoryPeriod;
+import com.mycompany.myapp.repository.projection.JobHistoryView;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +20,83 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface JobHistoryRepository extends JpaRepository<JobHistory, Long> {}
+public interface JobHistoryRepository extends VersionedRepository<JobHistory> {
+    String VIEW_QUERY =
+        "select new com.mycompany.myapp.repository.projection.JobHistoryView(" +
+        "jobHistory.id, jobHistory.startDate, jobHistory.endDate, jobHistory.language, " +
+        "jobHistory.job.id, jobHistory.department.id, jobHistory.employee.id, jobHistory.version, jobHistory.lastModifiedDate) " +
+        "from JobHistory jobHistory";
+
+    /**
+     * The period of a job history, {@code [start_date, end_date)} with a missing date unbounded and empty if it ends before
+     * it starts. Must stay identical to the expression of the {@code idx_job_history_period} GiST index.
+     */
+    String PERIOD = "tsrange(start_date, CASE WHEN end_date < start_date THEN start_date ELSE end_date END, '[)')";
+
+    String AS_OF = "FROM job_history WHERE " + PERIOD + " @> CAST(:at AS timestamp)";
+
+    String OVERLAPPING = "FROM job_history WHERE " + PERIOD + " && tsrange(CAST(:from AS timestamp), CAST(:to AS timestamp), '[)')";
+
+    String ORDER = " ORDER BY start_date NULLS FIRST, id";
+
+    @Query(value = VIEW_QUERY, countQuery = "select count(jobHistory) from JobHistory jobHistory")
+    Page<JobHistoryView> findAllViews(Pageable pageable);
+
+    @Query(VIEW_QUERY + " order by jobHistory.id")
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    Stream<JobHistoryView> streamAllViews();
+
+    @Query(VIEW_QUERY + " where jobHistory.id in :ids")
+    List<JobHistoryView> findAllViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(VIEW_QUERY + " where jobHistory.employee.id = :employeeId order by jobHistory.startDate nulls first, jobHistory.id")
+    List<JobHistoryView> findAllViewsByEmployeeId(@Param("employeeId") Long employeeId);
+
+    @Query(
+        "select new com.mycompany.myapp.repository.projection.JobHistoryPeriod(" +
+        "jobHistory.id, jobHistory.startDate, jobHistory.endDate, jobHistory.department.id) " +
+        "from JobHistory jobHistory"
+    )
+    List<JobHistoryPeriod> findAllPeriods();
+
+    /**
+     * Ids of the job histories whose period contains a date, ordered by start date.
+     *
+     * @param at the date, in UTC.
+     */
+    @Query(value = "SELECT id " + AS_OF + ORDER, countQuery = "SELECT count(*) " + AS_OF, nativeQuery = true)
+    Page<Long> findIdsAsOf(@Param("at") LocalDateTime at, Pageable pageable);
+
+    @Query(
+        value = "SELECT id " + AS_OF + " AND department_id = :departmentId" + ORDER,
+        countQuery = "SELECT count(*) " + AS_OF + " AND department_id = :departmentId",
+        nativeQuery = true
+    )
+    Page<Long> findIdsAsOfInDepartment(@Param("at") LocalDateTime at, @Param("departmentId") Long departmentId, Pageable pageable);
+
+    /**
+     * Ids of the job histories whose period overlaps {@code [from, to)}, ordered by start date.
+     *
+     * @param from the start of the interval, in UTC.
+     * @param to the end of the interval, in UTC.
+     */
+    @Query(value = "SELECT id " + OVERLAPPING + ORDER, countQuery = "SELECT count(*) " + OVERLAPPING, nativeQuery = true)
+    Page<Long> findIdsOverlapping(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query(
+        value = "SELECT id " + OVERLAPPING + " AND department_id = :departmentId" + ORDER,
+        countQuery = "SELECT count(*) " + OVERLAPPING + " AND department_id = :departmentId",
+        nativeQuery = true
+    )
+    Page<Long> findIdsOverlappingInDepartment(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        @Param("departmentId") Long departmentId,
+        Pageable pageable
+    );
+}
@@ -1,11 +1,18 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Job;
+import com.mycompany.myapp.repository.projection.JobTaskRef;
+import com.mycompany.myapp.repository.projection.JobView;
+import com.mycompany.myapp.repository.projection.TaskRef;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -15,7 +22,20 @@ import org.springframework.stereotype.Repository;
  * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface JobRepository extends JobRepositoryWithBagRelationships, JpaRepository<Job, Long> {
+public interface JobRepository extends JobRepositoryWithBagRelationships, VersionedRepository<Job> {
+    String VIEW_QUERY =
+        "select new com.mycompany.myapp.repository.projection.JobView(" +
+        "job.id, job.jobTitle, job.minSalary, job.maxSalary, job.employee.id, " +
+        "jobHistory.id, jobHistory.startDate, jobHistory.endDate, jobHistory.language, jobHistory.version, jobHistory.lastModifiedDate, " +
+        "job.version, job.lastModifiedDate) " +
+        "from Job job left join job.jobHistory jobHistory";
+
+    /**
+     * Full-text search of the jobs, {@code :query} in web search syntax. Must use the configuration of the
+     * {@code search_vector} column.
+     */
+    String SEARCH = "FROM job, websearch_to_tsquery('english', :query) q WHERE search_vector @@ q";
+
     default Optional<Job> findOneWithEagerRelationships(Long id) {
         return this.fetchBagRelationships(this.findById(id));
     }
@@ -27,4 +47,44 @@ public interface JobRepository extends JobRepositoryWithBagRelationships, JpaRep
     default Page<Job> findAllWithEagerRelationships(Pageable pageable) {
         return this.fetchBagRelationships(this.findAll(pageable));
     }
+
+    @Query(value = VIEW_QUERY, countQuery = "select count(job) from Job job")
+    Page<JobView> findAllViews(Pageable pageable);
+
+    @Query(VIEW_QUERY + " where jobHistory.id is null")
+    List<JobView> findAllViewsWhereJobHistoryIsNull();
+
+    @Query(
+        "select new com.mycompany.myapp.repository.projection.JobTaskRef(" +
+        "job.id, task.id, task.title, task.description, task.version, task.lastModifiedDate) " +
+        "from Job job join job.tasks task where job.id in :jobIds"
+    )
+    List<JobTaskRef> findTaskRefsByJobIdIn(@Param("jobIds") Collection<Long> jobIds);
+
+    /**
+     * Same as {@link #findAllViews(Pageable)}, with the tasks of the page loaded in one additional query.
+     */
+    default Page<JobView> findAllViewsWithEagerRelationships(Pageable pageable) {
+        Page<JobView> page = this.findAllViews(pageable);
+        if (page.isEmpty()) {
+            return page;
+        }
+        Map<Long, List<TaskRef>> tasksByJob = this.findTaskRefsByJobIdIn(page.map(JobView::id).getContent())
+            .stream()
+            .collect(Collectors.groupingBy(JobTaskRef::jobId, Collectors.mapping(JobTaskRef::task, Collectors.toList())));
+        return page.map(job -> job.withTasks(tasksByJob.getOrDefault(job.id(), List.of())));
+    }
+
+    @Query(VIEW_QUERY + " where job.id in :ids")
+    List<JobView> findAllViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ids of the jobs matching a full-text query, best ranked first.
+     */
+    @Query(
+        value = "SELECT id " + SEARCH + " ORDER BY ts_rank_cd(search_vector, q) DESC, id",
+        countQuery = "SELECT count(*) " + SEARCH,
+        nativeQuery = true
+    )
+    Page<Long> searchIds(@Param("query") String query, Pageable pageable);
 }
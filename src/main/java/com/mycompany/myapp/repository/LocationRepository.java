@@ -1,6 +1,8 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Location;
+import com.mycompany.myapp.repository.projection.LocationView;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +11,17 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface LocationRepository extends JpaRepository<Location, Long> {}
+public interface LocationRepository extends VersionedRepository<Location> {
+    String VIEW_QUERY =
+        "select new com.mycompany.myapp.repository.projection.LocationView(" +
+        "location.id, location.streetAddress, location.postalCode, location.city, location.stateProvince, " +
+        "location.country.id, department.id, department.departmentName, department.version, department.lastModifiedDate, " +
+        "location.version, location.lastModifiedDate) " +
+        "from Location location left join location.department department";
+
+    @Query(VIEW_QUERY)
+    List<LocationView> findAllViews();
+
+    @Query(VIEW_QUERY + " where department.id is null")
+    List<LocationView> findAllViewsWhereDepartmentIsNull();
+}
@@ -0,0 +1,121 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.repository.projection.RefreshToken;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the {@code refresh_token} table.
+ */
+@Repository
+public class RefreshTokenRepository {
+
+    private static final String INSERT =
+        "INSERT INTO refresh_token (token_hash, family, user_id, remember_me, issued_at, expires_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT =
+        "SELECT token_hash, family, user_id, remember_me, issued_at, expires_at, revoked_at FROM refresh_token WHERE token_hash = ?";
+
+    private static final String REVOKE = "UPDATE refresh_token SET revoked_at = ? WHERE token_hash = ? AND revoked_at IS NULL";
+
+    private static final String REVOKE_FAMILY = "UPDATE refresh_token SET revoked_at = ? WHERE family = ? AND revoked_at IS NULL";
+
+    private static final String REVOKE_USER = "UPDATE refresh_token SET revoked_at = ? WHERE user_id = ? AND revoked_at IS NULL";
+
+    private static final String PURGE =
+        "DELETE FROM refresh_token WHERE id IN (SELECT id FROM refresh_token WHERE expires_at < ? ORDER BY expires_at LIMIT ?)";
+
+    private static final RowMapper<RefreshToken> MAPPER = (rs, rowNum) ->
+        new RefreshToken(
+            rs.getString("token_hash"),
+            rs.getObject("family", UUID.class),
+            rs.getLong("user_id"),
+            rs.getBoolean("remember_me"),
+            toInstant(rs.getObject("issued_at", LocalDateTime.class)),
+            toInstant(rs.getObject("expires_at", LocalDateTime.class)),
+            toInstant(rs.getObject("revoked_at", LocalDateTime.class))
+        );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RefreshTokenRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime toDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    /**
+     * @param token the token to store, its {@code revokedAt} is ignored.
+     */
+    public void insert(RefreshToken token) {
+        jdbcTemplate.update(
+            INSERT,
+            token.tokenHash(),
+            token.family(),
+            token.userId(),
+            token.rememberMe(),
+            toDateTime(token.issuedAt()),
+            toDateTime(token.expiresAt())
+        );
+    }
+
+    /**
+     * @param tokenHash the hash of a token.
+     * @return the token, if any.
+     */
+    public Optional<RefreshToken> findOneByTokenHash(String tokenHash) {
+        return jdbcTemplate.query(SELECT, MAPPER, tokenHash).stream().findFirst();
+    }
+
+    /**
+     * Revoke a token unless it already is, so that only one of the concurrent exchanges of a token succeeds.
+     *
+     * @param tokenHash the hash of the token.
+     * @param now the revocation date.
+     * @return true if the token was revoked by this call.
+     */
+    public boolean revoke(String tokenHash, Instant now) {
+        return jdbcTemplate.update(REVOKE, toDateTime(now), tokenHash) == 1;
+    }
+
+    /**
+     * @param family the family of the tokens to revoke.
+     * @param now the revocation date.
+     * @return the number of revoked tokens.
+     */
+    public int revokeFamily(UUID family, Instant now) {
+        return jdbcTemplate.update(REVOKE_FAMILY, toDateTime(now), family);
+    }
+
+    /**
+     * @param userId the id of the user whose tokens to revoke.
+     * @param now the revocation date.
+     * @return the number of revoked tokens.
+     */
+    public int revokeAllByUserId(Long userId, Instant now) {
+        return jdbcTemplate.update(REVOKE_USER, toDateTime(now), userId);
+    }
+
+    /**
+     * Delete a batch of the tokens expired before a date.
+     *
+     * @param before the date.
+     * @param limit the maximum number of tokens to delete.
+     * @return the number of deleted tokens.
+     */
+    public int deleteBatchExpiredBefore(Instant before, int limit) {
+        return jdbcTemplate.update(PURGE, toDateTime(before), limit);
+    }
+}
@@ -1,7 +1,10 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,20 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {}
+public interface TaskRepository extends VersionedRepository<Task> {
+    /**
+     * Full-text search of the tasks, {@code :query} in web search syntax. Must use the configuration of the
+     * {@code search_vector} column.
+     */
+    String SEARCH = "FROM task, websearch_to_tsquery('english', :query) q WHERE search_vector @@ q";
+
+    /**
+     * Ids of the tasks matching a full-text query, best ranked first.
+     */
+    @Query(
+        value = "SELECT id " + SEARCH + " ORDER BY ts_rank_cd(search_vector, q) DESC, id",
+        countQuery = "SELECT count(*) " + SEARCH,
+        nativeQuery = true
+    )
+    Page<Long> searchIds(@Param("query") String query, Pageable pageable);
+}
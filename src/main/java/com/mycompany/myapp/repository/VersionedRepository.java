@@ -0,0 +1,20 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.AbstractVersionedEntity;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Spring Data JPA repository for the entities extending {@link AbstractVersionedEntity}.
+ */
+@NoRepositoryBean
+public interface VersionedRepository<T extends AbstractVersionedEntity> extends JpaRepository<T, Long> {
+    /**
+     * @return the current version of an entity, without loading it.
+     */
+    @Query("select entity.version from #{#entityName} entity where entity.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,35 @@
+package com.mycompany.myapp.repository.projection;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.Instant;
+
+/**
+ * A change of an entity, as recorded in the {@code change_record} outbox.
+ *
+ * @param txId the id of the transaction that made the change.
+ * @param id the id of the record, in the order of the changes within a transaction.
+ * @param entity the simple class name of the entity.
+ * @param entityId the id of the entity.
+ * @param operation {@code CREATE}, {@code UPDATE} or {@code DELETE}.
+ * @param changedAt when the change was flushed.
+ * @param changes the changed properties as a JSON object, associations as {@code {"id": ...}}.
+ */
+public record ChangeRecord(
+    @JsonIgnore long txId,
+    @JsonIgnore long id,
+    String entity,
+    Long entityId,
+    String operation,
+    Instant changedAt,
+    @JsonRawValue String changes
+) {
+    /**
+     * @return the position of the record in the change feed, to read the changes after it.
+     */
+    @JsonProperty("cursor")
+    public String cursor() {
+        return txId + "-" + id;
+    }
+}
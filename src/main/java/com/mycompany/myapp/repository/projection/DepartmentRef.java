@@ -0,0 +1,12 @@
+package com.mycompany.myapp.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Nested {@link com.mycompany.myapp.domain.Department} as embedded in the {@link com.mycompany.myapp.domain.Location} JSON.
+ */
+public record DepartmentRef(Long id, String departmentName, Long version, Instant lastModifiedDate) {
+    public static DepartmentRef of(Long id, String departmentName, Long version, Instant lastModifiedDate) {
+        return id == null ? null : new DepartmentRef(id, departmentName, version, lastModifiedDate);
+    }
+}
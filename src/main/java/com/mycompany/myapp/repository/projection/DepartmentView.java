@@ -0,0 +1,53 @@
+package com.mycompany.myapp.repository.projection;
+
+import com.mycompany.myapp.domain.enumeration.Language;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read-only projection of {@link com.mycompany.myapp.domain.Department}, with the same JSON shape as the entity.
+ * {@code employees} is always {@code null}, as the lazy collection of an entity read outside of its session.
+ */
+public record DepartmentView(
+    Long id,
+    String departmentName,
+    EntityRef location,
+    List<EntityRef> employees,
+    JobHistoryRef jobHistory,
+    Long version,
+    Instant lastModifiedDate
+) {
+    /**
+     * Flat constructor used by JPQL constructor expressions.
+     */
+    public DepartmentView(
+        Long id,
+        String departmentName,
+        Long locationId,
+        Long jobHistoryId,
+        Instant jobHistoryStartDate,
+        Instant jobHistoryEndDate,
+        Language jobHistoryLanguage,
+        Long jobHistoryVersion,
+        Instant jobHistoryLastModifiedDate,
+        Long version,
+        Instant lastModifiedDate
+    ) {
+        this(
+            id,
+            departmentName,
+            EntityRef.of(locationId),
+            null,
+            JobHistoryRef.of(
+                jobHistoryId,
+                jobHistoryStartDate,
+                jobHistoryEndDate,
+                jobHistoryLanguage,
+                jobHistoryVersion,
+                jobHistoryLastModifiedDate
+            ),
+            version,
+            lastModifiedDate
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.mycompany.myapp.repository.projection;
+
+import com.mycompany.myapp.domain.enumeration.Language;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read-only projection of {@link com.mycompany.myapp.domain.Employee}, with the same JSON shape as the entity.
+ * {@code jobs} is always {@code null}, as the lazy collection of an entity read outside of its session.
+ */
+public record EmployeeView(
+    Long id,
+    String firstName,
+    String lastName,
+    String email,
+    String phoneNumber,
+    Instant hireDate,
+    Long salary,
+    Long commissionPct,
+    List<EntityRef> jobs,
+    EntityRef manager,
+    EntityRef department,
+    JobHistoryRef jobHistory,
+    Long version,
+    Instant lastModifiedDate
+) {
+    /**
+     * Flat constructor used by JPQL constructor expressions.
+     */
+    public EmployeeView(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String phoneNumber,
+        Instant hireDate,
+        Long salary,
+        Long commissionPct,
+        Long managerId,
+        Long departmentId,
+        Long jobHistoryId,
+        Instant jobHistoryStartDate,
+        Instant jobHistoryEndDate,
+        Language jobHistoryLanguage,
+        Long jobHistoryVersion,
+        Instant jobHistoryLastModifiedDate,
+        Long version,
+        Instant lastModifiedDate
+    ) {
+        this(
+            id,
+            firstName,
+            lastName,
+            email,
+            phoneNumber,
+            hireDate,
+            salary,
+            commissionPct,
+            null,
+            EntityRef.of(managerId),
+            EntityRef.of(departmentId),
+            JobHistoryRef.of(
+                jobHistoryId,
+                jobHistoryStartDate,
+                jobHistoryEndDate,
+                jobHistoryLanguage,
+                jobHistoryVersion,
+                jobHistoryLastModifiedDate
+            ),
+            version,
+            lastModifiedDate
+        );
+    }
+}
@@ -0,0 +1,10 @@
+package com.mycompany.myapp.repository.projection;
+
+/**
+ * Identifier-only reference to an association, serialized as {@code {"id": ...}} like an uninitialized Hibernate proxy.
+ */
+public record EntityRef(Long id) {
+    public static EntityRef of(Long id) {
+        return id == null ? null : new EntityRef(id);
+    }
+}
@@ -0,0 +1,8 @@
+package com.mycompany.myapp.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * The period of a {@link com.mycompany.myapp.domain.JobHistory}, with the department it was spent in.
+ */
+public record JobHistoryPeriod(Long id, Instant startDate, Instant endDate, Long departmentId) {}
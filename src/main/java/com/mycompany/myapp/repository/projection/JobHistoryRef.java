@@ -0,0 +1,20 @@
+package com.mycompany.myapp.repository.projection;
+
+import com.mycompany.myapp.domain.enumeration.Language;
+import java.time.Instant;
+
+/**
+ * Nested {@link com.mycompany.myapp.domain.JobHistory} as embedded in the owning entity's JSON.
+ */
+public record JobHistoryRef(Long id, Instant startDate, Instant endDate, Language language, Long version, Instant lastModifiedDate) {
+    public static JobHistoryRef of(
+        Long id,
+        Instant startDate,
+        Instant endDate,
+        Language language,
+        Long version,
+        Instant lastModifiedDate
+    ) {
+        return id == null ? null : new JobHistoryRef(id, startDate, endDate, language, version, lastModifiedDate);
+    }
+}
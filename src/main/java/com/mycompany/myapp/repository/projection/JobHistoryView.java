@@ -0,0 +1,46 @@
+package com.mycompany.myapp.repository.projection;
+
+import com.mycompany.myapp.domain.enumeration.Language;
+import java.time.Instant;
+
+/**
+ * Read-only projection of {@link com.mycompany.myapp.domain.JobHistory}, with the same JSON shape as the entity.
+ */
+public record JobHistoryView(
+    Long id,
+    Instant startDate,
+    Instant endDate,
+    Language language,
+    EntityRef job,
+    EntityRef department,
+    EntityRef employee,
+    Long version,
+    Instant lastModifiedDate
+) {
+    /**
+     * Flat constructor used by JPQL constructor expressions.
+     */
+    public JobHistoryView(
+        Long id,
+        Instant startDate,
+        Instant endDate,
+        Language language,
+        Long jobId,
+        Long departmentId,
+        Long employeeId,
+        Long version,
+        Instant lastModifiedDate
+    ) {
+        this(
+            id,
+            startDate,
+            endDate,
+            language,
+            EntityRef.of(jobId),
+            EntityRef.of(departmentId),
+            EntityRef.of(employeeId),
+            version,
+            lastModifiedDate
+        );
+    }
+}
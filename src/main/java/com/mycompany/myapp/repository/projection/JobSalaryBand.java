@@ -0,0 +1,26 @@
+package com.mycompany.myapp.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Salary band of a {@link com.mycompany.myapp.domain.Job} title, and where the salaries of the employees holding it fall.
+ *
+ * @param jobTitle the job title, empty for the jobs without title.
+ * @param jobs the number of jobs with this title.
+ * @param minSalary the lowest minimum salary of the jobs.
+ * @param maxSalary the highest maximum salary of the jobs.
+ * @param belowBand the number of employees paid below the minimum salary of their job.
+ * @param withinBand the number of employees paid within the band of their job.
+ * @param aboveBand the number of employees paid above the maximum salary of their job.
+ * @param refreshedAt when the aggregates were last computed.
+ */
+public record JobSalaryBand(
+    String jobTitle,
+    long jobs,
+    Long minSalary,
+    Long maxSalary,
+    long belowBand,
+    long withinBand,
+    long aboveBand,
+    Instant refreshedAt
+) {}
@@ -0,0 +1,12 @@
+package com.mycompany.myapp.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * A {@link TaskRef} tagged with the id of the job it belongs to, used to attach tasks to a page of {@link JobView}s.
+ */
+public record JobTaskRef(Long jobId, TaskRef task) {
+    public JobTaskRef(Long jobId, Long taskId, String title, String description, Long version, Instant lastModifiedDate) {
+        this(jobId, new TaskRef(taskId, title, description, version, lastModifiedDate));
+    }
+}
@@ -0,0 +1,63 @@
+package com.mycompany.myapp.repository.projection;
+
+import com.mycompany.myapp.domain.enumeration.Language;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read-only projection of {@link com.mycompany.myapp.domain.Job}, with the same JSON shape as the entity.
+ * {@code tasks} is {@code null} unless loaded through {@link #withTasks(List)}.
+ */
+public record JobView(
+    Long id,
+    String jobTitle,
+    Long minSalary,
+    Long maxSalary,
+    List<TaskRef> tasks,
+    EntityRef employee,
+    JobHistoryRef jobHistory,
+    Long version,
+    Instant lastModifiedDate
+) {
+    /**
+     * Flat constructor used by JPQL constructor expressions.
+     */
+    public JobView(
+        Long id,
+        String jobTitle,
+        Long minSalary,
+        Long maxSalary,
+        Long employeeId,
+        Long jobHistoryId,
+        Instant jobHistoryStartDate,
+        Instant jobHistoryEndDate,
+        Language jobHistoryLanguage,
+        Long jobHistoryVersion,
+        Instant jobHistoryLastModifiedDate,
+        Long version,
+        Instant lastModifiedDate
+    ) {
+        this(
+            id,
+            jobTitle,
+            minSalary,
+            maxSalary,
+            null,
+            EntityRef.of(employeeId),
+            JobHistoryRef.of(
+                jobHistoryId,
+                jobHistoryStartDate,
+                jobHistoryEndDate,
+                jobHistoryLanguage,
+                jobHistoryVersion,
+                jobHistoryLastModifiedDate
+            ),
+            version,
+            lastModifiedDate
+        );
+    }
+
+    public JobView withTasks(List<TaskRef> tasks) {
+        return new JobView(id, jobTitle, minSalary, maxSalary, tasks, employee, jobHistory, version, lastModifiedDate);
+    }
+}
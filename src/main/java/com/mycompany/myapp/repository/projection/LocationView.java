@@ -0,0 +1,48 @@
+package com.mycompany.myapp.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of {@link com.mycompany.myapp.domain.Location}, with the same JSON shape as the entity.
+ */
+public record LocationView(
+    Long id,
+    String streetAddress,
+    String postalCode,
+    String city,
+    String stateProvince,
+    EntityRef country,
+    DepartmentRef department,
+    Long version,
+    Instant lastModifiedDate
+) {
+    /**
+     * Flat constructor used by JPQL constructor expressions.
+     */
+    public LocationView(
+        Long id,
+        String streetAddress,
+        String postalCode,
+        String city,
+        String stateProvince,
+        Long countryId,
+        Long departmentId,
+        String departmentName,
+        Long departmentVersion,
+        Instant departmentLastModifiedDate,
+        Long version,
+        Instant lastModifiedDate
+    ) {
+        this(
+            id,
+            streetAddress,
+            postalCode,
+            city,
+            stateProvince,
+            EntityRef.of(countryId),
+            DepartmentRef.of(departmentId, departmentName, departmentVersion, departmentLastModifiedDate),
+            version,
+            lastModifiedDate
+        );
+    }
+}
@@ -0,0 +1,6 @@
+package com.mycompany.myapp.repository.projection;
+
+/**
+ * The manager of an {@link com.mycompany.myapp.domain.Employee}, one edge of the org chart.
+ */
+public record ManagerLink(Long id, Long managerId) {}
@@ -0,0 +1,25 @@
+package com.mycompany.myapp.repository.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A refresh token, as stored in the {@code refresh_token} table.
+ *
+ * @param tokenHash the SHA-256 hash of the token, hex encoded.
+ * @param family the tokens issued from the same login, each one in exchange for the previous one.
+ * @param userId the id of the user.
+ * @param rememberMe whether the login asked to be remembered, for the validity of the next tokens.
+ * @param issuedAt when the token was issued.
+ * @param expiresAt when the token expires.
+ * @param revokedAt when the token was exchanged or revoked, {@code null} if it is still valid.
+ */
+public record RefreshToken(
+    String tokenHash,
+    UUID family,
+    Long userId,
+    boolean rememberMe,
+    Instant issuedAt,
+    Instant expiresAt,
+    Instant revokedAt
+) {}
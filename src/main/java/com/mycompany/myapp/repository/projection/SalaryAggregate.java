@@ -0,0 +1,30 @@
+package com.mycompany.myapp.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Salary and headcount of a group of employees: a department, a country, a region or the whole company.
+ *
+ * @param id the id of the department, country or region, {@code null} for the employees not assigned to one.
+ * @param name the name of the department, country or region.
+ * @param headcount the number of employees.
+ * @param payroll the sum of the salaries.
+ * @param averageSalary the average of the salaries that are set.
+ * @param minSalary the lowest salary.
+ * @param maxSalary the highest salary.
+ * @param totalCommission the sum of the commission percentages.
+ * @param averageCommission the average of the commission percentages that are set.
+ * @param refreshedAt when the aggregates were last computed.
+ */
+public record SalaryAggregate(
+    Long id,
+    String name,
+    long headcount,
+    Long payroll,
+    Double averageSalary,
+    Long minSalary,
+    Long maxSalary,
+    Long totalCommission,
+    Double averageCommission,
+    Instant refreshedAt
+) {}
@@ -0,0 +1,8 @@
+package com.mycompany.myapp.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Nested {@link com.mycompany.myapp.domain.Task} as embedded in the {@link com.mycompany.myapp.domain.Job} JSON.
+ */
+public record TaskRef(Long id, String title, String description, Long version, Instant lastModifiedDate) {}
@@ -0,0 +1,4 @@
+/**
+ * Read-only projections used by the list endpoints.
+ */
+package com.mycompany.myapp.repository.projection;
@@ -0,0 +1,141 @@
+package com.mycompany.myapp.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} keeping the tokens it decoded, so that a client sending the same token again doesn't pay for its
+ * parsing and the verification of its signature.
+ * <p>
+ * The tokens are keyed by their SHA-256 hash and kept until they expire, reads don't lock. Only the valid tokens are
+ * kept: the invalid ones are decoded, and counted by the {@link com.mycompany.myapp.management.SecurityMetersService},
+ * every time. When the cache is full, the expired tokens are dropped, at most once per second, and the new tokens are
+ * not kept until there is room again.
+ * <p>
+ * The cache exports the {@code cache.gets} (hits and misses), {@code cache.evictions} and {@code cache.size} meters,
+ * tagged {@code cache=jwt}.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final String CACHE_NAME = "jwt";
+
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JwtDecoder delegate;
+
+    private final int maxSize;
+
+    private final Clock clock;
+
+    private final Map<Key, Jwt> tokens = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxSize, MeterRegistry registry) {
+        this(delegate, maxSize, registry, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxSize, MeterRegistry registry, Clock clock) {
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.clock = clock;
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+            .tags("cache", CACHE_NAME, "result", "hit")
+            .description("The number of times the cache returned a decoded token")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+            .tags("cache", CACHE_NAME, "result", "miss")
+            .description("The number of times a token had to be decoded")
+            .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+            .tags("cache", CACHE_NAME)
+            .description("The number of expired tokens dropped from the cache")
+            .register(registry);
+        Gauge.builder("cache.size", tokens, Map::size)
+            .tags("cache", CACHE_NAME)
+            .description("The number of cached tokens")
+            .register(registry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Key key = Key.of(token);
+        Instant now = clock.instant();
+        Jwt cached = tokens.get(key);
+        if (cached != null) {
+            if (now.isBefore(cached.getExpiresAt())) {
+                hits.increment();
+                return cached;
+            }
+            if (tokens.remove(key, cached)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        Jwt jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null && now.isBefore(jwt.getExpiresAt())) {
+            if (tokens.size() >= maxSize) {
+                sweep(now);
+            }
+            if (tokens.size() < maxSize) {
+                tokens.put(key, jwt);
+            }
+        }
+        return jwt;
+    }
+
+    private void sweep(Instant now) {
+        long time = System.nanoTime();
+        long next = nextSweep.get();
+        if (time - next >= 0 && nextSweep.compareAndSet(next, time + SWEEP_INTERVAL)) {
+            tokens
+                .values()
+                .removeIf(jwt -> {
+                    boolean expired = !now.isBefore(jwt.getExpiresAt());
+                    if (expired) {
+                        evictions.increment();
+                    }
+                    return expired;
+                });
+        }
+    }
+
+    /**
+     * SHA-256 hash of a token.
+     */
+    private record Key(long a, long b, long c, long d) {
+        static Key of(String token) {
+            ByteBuffer hash = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new Key(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+}
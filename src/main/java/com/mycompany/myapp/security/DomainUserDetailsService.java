@@ -2,14 +2,17 @@ package com.mycompany.myapp.security;
 
 import com.mycompany.myapp.domain.Authority;
 import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.management.SecurityMetersService;
 import com.mycompany.myapp.repository.UserRepository;
 import java.util.*;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -17,16 +20,25 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * The password hashes of a lower cost than the configured one are re-hashed on a successful login, see
+ * {@link #updatePassword(UserDetails, String)}.
  */
 @Component("userDetailsService")
-public class DomainUserDetailsService implements UserDetailsService {
+public class DomainUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger LOG = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final CacheManager cacheManager;
+
+    private final SecurityMetersService securityMetersService;
+
+    public DomainUserDetailsService(UserRepository userRepository, CacheManager cacheManager, SecurityMetersService securityMetersService) {
         this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.securityMetersService = securityMetersService;
     }
 
     @Override
@@ -48,6 +60,35 @@ public class DomainUserDetailsService implements UserDetailsService {
             .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
     }
 
+    /**
+     * Store the new hash of the password of a user who just logged in with a hash to upgrade.
+     *
+     * @param userDetails the authenticated user.
+     * @param newPassword the password hashed with the configured encoding.
+     * @return the user with the new hash.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        return userRepository
+            .findOneByLogin(userDetails.getUsername())
+            .map(user -> {
+                LOG.debug("Upgrading the password hash of {}", user.getLogin());
+                user.setPassword(newPassword);
+                clearUserCaches(user);
+                securityMetersService.trackPasswordUpgraded();
+                return (UserDetails) UserWithId.fromUser(user);
+            })
+            .orElse(userDetails);
+    }
+
+    private void clearUserCaches(User user) {
+        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evictIfPresent(user.getLogin());
+        if (user.getEmail() != null) {
+            Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
+        }
+    }
+
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
         if (!user.isActivated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
@@ -0,0 +1,72 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.aop.jdbc.UseReadPool;
+import com.mycompany.myapp.repository.AnalyticsRepository;
+import com.mycompany.myapp.repository.projection.JobSalaryBand;
+import com.mycompany.myapp.repository.projection.SalaryAggregate;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for the salary and headcount analytics.
+ * <p>
+ * The aggregates are precomputed in materialized views and refreshed every {@code application.analytics.refresh-interval},
+ * so they may be that much behind the employees.
+ */
+@Service
+@UseReadPool
+@Transactional(readOnly = true)
+public class AnalyticsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AnalyticsService.class);
+
+    private final AnalyticsRepository analyticsRepository;
+
+    public AnalyticsService(AnalyticsRepository analyticsRepository) {
+        this.analyticsRepository = analyticsRepository;
+    }
+
+    public SalaryAggregate getCompanySalaries() {
+        LOG.debug("Request to get the salaries of the company");
+        return analyticsRepository.getCompanySalaries();
+    }
+
+    public List<SalaryAggregate> findSalariesByDepartment() {
+        LOG.debug("Request to get the salaries by department");
+        return analyticsRepository.findSalariesByDepartment();
+    }
+
+    public List<SalaryAggregate> findSalariesByCountry() {
+        LOG.debug("Request to get the salaries by country");
+        return analyticsRepository.findSalariesByCountry();
+    }
+
+    public List<SalaryAggregate> findSalariesByRegion() {
+        LOG.debug("Request to get the salaries by region");
+        return analyticsRepository.findSalariesByRegion();
+    }
+
+    public List<JobSalaryBand> findJobSalaryBands() {
+        LOG.debug("Request to get the job salary bands");
+        return analyticsRepository.findJobSalaryBands();
+    }
+
+    /**
+     * Recompute the aggregates.
+     * <p>
+     * This is scheduled to get fired every {@code application.analytics.refresh-interval}, 5 minutes by default.
+     */
+    @Scheduled(
+        initialDelayString = "${application.analytics.refresh-interval:PT5M}",
+        fixedDelayString = "${application.analytics.refresh-interval:PT5M}"
+    )
+    @Transactional
+    public void refresh() {
+        LOG.debug("Request to refresh the salary aggregates");
+        analyticsRepository.refresh();
+    }
+}
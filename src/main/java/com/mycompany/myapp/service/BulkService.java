@@ -0,0 +1,304 @@
+package com.mycompany.myapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.AbstractVersionedEntity;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO.Status;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for bulk create, update and delete of entities.
+ * <p>
+ * Items are read one by one from a JSON array or an NDJSON stream and written in chunks of
+ * {@code application.bulk.chunk-size}, one transaction per chunk, so that Hibernate can group the inserts and updates
+ * of a chunk into JDBC batches. When a chunk fails, it is rolled back and replayed item by item so that every item
+ * gets its own result.
+ * <p>
+ * An item that can't be written is a {@link Status#FAILED} result with the error key of the matching single-entity
+ * endpoint: an id that doesn't exist is {@code idnotfound} for both update and delete.
+ */
+@Service
+public class BulkService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkService.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    public BulkService(
+        ObjectMapper objectMapper,
+        Validator validator,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, applicationProperties.getBulk().getChunkSize());
+    }
+
+    /**
+     * Lazily read the items of a request body, either a JSON array or newline-delimited JSON values.
+     *
+     * @param in the request body.
+     * @param type the item type.
+     * @return an iterator over the items, reading the body as it goes.
+     * @throws IOException if the body can't be read.
+     */
+    public <T> Iterator<T> readItems(InputStream in, Class<T> type) throws IOException {
+        return objectMapper.readerFor(type).readValues(in);
+    }
+
+    /**
+     * Create new entities.
+     *
+     * @param items the entities to create, without ids.
+     * @param repository the repository of the entity.
+     * @param idOf the id getter of the entity.
+     * @param setId the id setter of the entity, used to reset the ids of a rolled back chunk.
+     * @return one result per item, in input order.
+     */
+    public <T> List<BulkItemResultDTO> create(
+        Iterator<T> items,
+        JpaRepository<T, Long> repository,
+        Function<T, Long> idOf,
+        BiConsumer<T, Long> setId
+    ) {
+        return process(
+            items,
+            idOf,
+            item -> {
+                if (idOf.apply(item.value()) != null) {
+                    return BulkItemResultDTO.failure(
+                        item.index(),
+                        idOf.apply(item.value()),
+                        "idexists",
+                        "A new entity cannot already have an ID"
+                    );
+                }
+                return validate(item, idOf);
+            },
+            chunk -> {
+                List<BulkItemResultDTO> results = new ArrayList<>(chunk.size());
+                for (Item<T> item : chunk) {
+                    results.add(BulkItemResultDTO.success(item.index(), idOf.apply(repository.save(item.value())), Status.CREATED));
+                }
+                return results;
+            },
+            item -> setId.accept(item.value(), null)
+        );
+    }
+
+    /**
+     * Update existing entities. The existing rows of a chunk are loaded with a single query.
+     *
+     * @param items the entities to update, with ids.
+     * @param repository the repository of the entity.
+     * @param idOf the id getter of the entity.
+     * @return one result per item, in input order.
+     */
+    public <T> List<BulkItemResultDTO> update(Iterator<T> items, JpaRepository<T, Long> repository, Function<T, Long> idOf) {
+        return process(
+            items,
+            idOf,
+            item -> {
+                if (idOf.apply(item.value()) == null) {
+                    return BulkItemResultDTO.failure(item.index(), null, "idnull", "Invalid id");
+                }
+                return validate(item, idOf);
+            },
+            chunk -> {
+                Map<Long, T> existing = repository
+                    .findAllById(chunk.stream().map(item -> idOf.apply(item.value())).toList())
+                    .stream()
+                    .collect(Collectors.toMap(idOf, Function.identity()));
+                List<BulkItemResultDTO> results = new ArrayList<>(chunk.size());
+                for (Item<T> item : chunk) {
+                    Long id = idOf.apply(item.value());
+                    T current = existing.get(id);
+                    if (current == null) {
+                        results.add(BulkItemResultDTO.failure(item.index(), id, "idnotfound", "Entity not found"));
+                    } else if (!isSameVersion(item.value(), current)) {
+                        results.add(BulkItemResultDTO.failure(item.index(), id, "versionmismatch", "Entity was modified"));
+                    } else {
+                        repository.save(item.value());
+                        results.add(BulkItemResultDTO.success(item.index(), id, Status.UPDATED));
+                    }
+                }
+                return results;
+            },
+            item -> {}
+        );
+    }
+
+    /**
+     * Delete entities by id. The rows of a chunk are loaded with a single query.
+     *
+     * @param ids the ids of the entities to delete.
+     * @param repository the repository of the entity.
+     * @param idOf the id getter of the entity.
+     * @return one result per item, in input order.
+     */
+    public <T> List<BulkItemResultDTO> delete(Iterator<Long> ids, JpaRepository<T, Long> repository, Function<T, Long> idOf) {
+        return process(
+            ids,
+            Function.identity(),
+            item -> item.value() == null ? BulkItemResultDTO.failure(item.index(), null, "idnull", "Invalid id") : null,
+            chunk -> {
+                Map<Long, T> existing = repository
+                    .findAllById(chunk.stream().map(Item::value).toList())
+                    .stream()
+                    .collect(Collectors.toMap(idOf, Function.identity()));
+                List<BulkItemResultDTO> results = new ArrayList<>(chunk.size());
+                for (Item<Long> item : chunk) {
+                    T entity = existing.remove(item.value());
+                    if (entity == null) {
+                        results.add(BulkItemResultDTO.failure(item.index(), item.value(), "idnotfound", "Entity not found"));
+                    } else {
+                        repository.delete(entity);
+                        results.add(BulkItemResultDTO.success(item.index(), item.value(), Status.DELETED));
+                    }
+                }
+                return results;
+            },
+            item -> {}
+        );
+    }
+
+    /**
+     * Check the version of an update against the current one. An update without a version is based on the current one.
+     */
+    private static boolean isSameVersion(Object update, Object current) {
+        if (update instanceof AbstractVersionedEntity versioned && current instanceof AbstractVersionedEntity currentVersioned) {
+            if (versioned.getVersion() == null) {
+                versioned.setVersion(currentVersioned.getVersion());
+            }
+            return versioned.getVersion().equals(currentVersioned.getVersion());
+        }
+        return true;
+    }
+
+    private <T> List<BulkItemResultDTO> process(
+        Iterator<T> items,
+        Function<T, Long> idOf,
+        Function<Item<T>, BulkItemResultDTO> precheck,
+        Function<List<Item<T>>, List<BulkItemResultDTO>> writer,
+        Consumer<Item<T>> onRollback
+    ) {
+        List<BulkItemResultDTO> results = new ArrayList<>();
+        List<Item<T>> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        while (true) {
+            T value;
+            try {
+                if (!items.hasNext()) {
+                    break;
+                }
+                value = items.next();
+            } catch (RuntimeException e) {
+                // The position in the stream is unknown after a parse error, stop reading
+                results.add(BulkItemResultDTO.failure(index, null, "parse", NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+                break;
+            }
+            Item<T> item = new Item<>(index++, value);
+            BulkItemResultDTO rejected = precheck.apply(item);
+            if (rejected != null) {
+                results.add(rejected);
+                continue;
+            }
+            chunk.add(item);
+            if (chunk.size() == chunkSize) {
+                results.addAll(writeChunk(chunk, idOf, writer, onRollback));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(writeChunk(chunk, idOf, writer, onRollback));
+        }
+        results.sort(Comparator.comparingInt(BulkItemResultDTO::getIndex));
+        LOG.debug("Processed bulk request of {} items", index);
+        return results;
+    }
+
+    private <T> List<BulkItemResultDTO> writeChunk(
+        List<Item<T>> chunk,
+        Function<T, Long> idOf,
+        Function<List<Item<T>>, List<BulkItemResultDTO>> writer,
+        Consumer<Item<T>> onRollback
+    ) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<BulkItemResultDTO> results = writer.apply(chunk);
+                entityManager.flush();
+                entityManager.clear();
+                return results;
+            });
+        } catch (RuntimeException e) {
+            chunk.forEach(onRollback);
+            if (chunk.size() == 1) {
+                Item<T> item = chunk.get(0);
+                return List.of(
+                    BulkItemResultDTO.failure(
+                        item.index(),
+                        idOf.apply(item.value()),
+                        "persistence",
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage()
+                    )
+                );
+            }
+            LOG.debug("Bulk chunk of {} items failed, replaying items one by one: {}", chunk.size(), e.getMessage());
+            List<BulkItemResultDTO> results = new ArrayList<>(chunk.size());
+            for (Item<T> item : chunk) {
+                results.addAll(writeChunk(List.of(item), idOf, writer, onRollback));
+            }
+            return results;
+        }
+    }
+
+    private <T> BulkItemResultDTO validate(Item<T> item, Function<T, Long> idOf) {
+        Set<ConstraintViolation<T>> violations = validator.validate(item.value());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        String message = violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+            .collect(Collectors.joining(", "));
+        return BulkItemResultDTO.failure(item.index(), idOf.apply(item.value()), "validation", message);
+    }
+
+    private record Item<T>(int index, T value) {}
+}
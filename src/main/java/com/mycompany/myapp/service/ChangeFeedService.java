@@ -0,0 +1,467 @@
+package com.mycompany.myapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Country;
+import com.mycompany.myapp.domain.Department;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.Job;
+import com.mycompany.myapp.domain.JobHistory;
+import com.mycompany.myapp.domain.Location;
+import com.mycompany.myapp.domain.Region;
+import com.mycompany.myapp.domain.Task;
+import com.mycompany.myapp.repository.ChangeRecordRepository;
+import com.mycompany.myapp.repository.projection.ChangeRecord;
+import com.mycompany.myapp.service.dto.ChangeFeedDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.OneToOneType;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service for the feed of the entity changes.
+ * <p>
+ * Hibernate events record each change of an entity during the flush, and the records of a transaction are written to the
+ * {@code change_record} outbox in one batch just before it commits, so that the feed holds exactly the committed changes.
+ * Creations hold all the properties of the entity, updates only the changed ones. Consumers read the changes after a
+ * cursor, page by page or as a server-sent event stream. Changes older than {@code application.change-feed.retention} are
+ * purged.
+ * <p>
+ * Rows written with SQL, like the CSV imports, are not recorded.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ChangeFeedService
+    implements
+        PostInsertEventListener,
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String START = "0-0";
+
+    private static final int PURGE_BATCH_SIZE = 10_000;
+
+    private static final long STREAM_TIMEOUT = Duration.ofMinutes(30).toMillis();
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+    private static final Set<String> TRACKED_ENTITIES = Stream.of(
+        Region.class,
+        Country.class,
+        Location.class,
+        Department.class,
+        Task.class,
+        Employee.class,
+        Job.class,
+        JobHistory.class
+    )
+        .map(Class::getName)
+        .collect(Collectors.toUnmodifiableSet());
+
+    private enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE,
+    }
+
+    private final ChangeRecordRepository changeRecordRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration retention;
+
+    private final TransactionTemplate readTransactionTemplate;
+
+    private final Map<SharedSessionContractImplementor, Batch> batches = new ConcurrentHashMap<>();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public ChangeFeedService(
+        ChangeRecordRepository changeRecordRepository,
+        EntityManagerFactory entityManagerFactory,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.changeRecordRepository = changeRecordRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+        this.retention = applicationProperties.getChangeFeed().getRetention();
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+    }
+
+    /**
+     * Get the changes after a cursor.
+     *
+     * @param since the cursor of the last change read, or {@code null} to read from the oldest retained change.
+     * @param entities the entities to get the changes of, or empty for all of them.
+     * @param limit the maximum number of changes, at most {@value #MAX_LIMIT}.
+     * @return the changes, and the cursor to read the next ones with.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    public ChangeFeedDTO findChanges(String since, Collection<String> entities, int limit) {
+        LOG.debug("Request to get the changes since {}, entities: {}", since, entities);
+        long[] position = parseCursor(since);
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<ChangeRecord> changes = changeRecordRepository.findAfter(position[0], position[1], entities, pageSize);
+        String cursor = changes.isEmpty() ? position[0] + "-" + position[1] : changes.get(changes.size() - 1).cursor();
+        return new ChangeFeedDTO(changes, cursor, changes.size() == pageSize);
+    }
+
+    /**
+     * @return the cursor of the last change, to only read the changes made from now on.
+     */
+    public String getHead() {
+        LOG.debug("Request to get the head of the change feed");
+        return changeRecordRepository.findLast().map(ChangeRecord::cursor).orElse(START);
+    }
+
+    /**
+     * Stream the changes after a cursor as server-sent events, named {@code change} with the cursor of the change as id.
+     *
+     * @param since the cursor of the last change read, or {@code null} to stream from the oldest retained change.
+     * @param entities the entities to stream the changes of, or empty for all of them.
+     * @return the emitter of the events.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    public SseEmitter subscribe(String since, Collection<String> entities) {
+        LOG.debug("Request to stream the changes since {}, entities: {}", since, entities);
+        Subscriber subscriber = new Subscriber(new SseEmitter(STREAM_TIMEOUT), Set.copyOf(entities), parseCursor(since));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Send the new changes to the stream subscribers.
+     * <p>
+     * The changes after the position of the furthest behind subscriber are read once, in a short transaction, and then
+     * sent to each subscriber without holding a connection. When that batch is full, the subscribers that were already
+     * past it get their own read, so a subscriber catching up doesn't hold the others back.
+     * <p>
+     * This is scheduled to get fired every {@code application.change-feed.poll-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.change-feed.poll-interval:PT1S}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void publish() {
+        List<Subscriber> pending = new ArrayList<>(subscribers);
+        while (!pending.isEmpty()) {
+            Subscriber first = pending.stream().min(Subscriber.POSITION).orElseThrow();
+            long txId = first.txId;
+            long id = first.id;
+            List<ChangeRecord> changes = readTransactionTemplate.execute(status ->
+                changeRecordRepository.findAfter(txId, id, List.of(), MAX_LIMIT)
+            );
+            List<Subscriber> ahead = new ArrayList<>();
+            for (Subscriber subscriber : pending) {
+                if (changes.size() == MAX_LIMIT && subscriber.isAtOrAfter(changes.get(changes.size() - 1))) {
+                    ahead.add(subscriber);
+                    continue;
+                }
+                try {
+                    subscriber.publish(changes);
+                } catch (IOException | IllegalStateException e) {
+                    LOG.debug("Change feed subscriber gone: {}", e.getMessage());
+                    subscribers.remove(subscriber);
+                    subscriber.emitter.completeWithError(e);
+                }
+            }
+            pending = ahead;
+        }
+    }
+
+    /**
+     * Delete the changes older than {@code application.change-feed.retention}, in batches.
+     * <p>
+     * This is scheduled to get fired every hour.
+     */
+    @Scheduled(cron = "0 15 * * * ?")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purge() {
+        Instant before = Instant.now().minus(retention);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = changeRecordRepository.deleteBatchChangedBefore(before, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        LOG.debug("Purged {} changes older than {}", total, before);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        EntityPersister persister = event.getPersister();
+        if (TRACKED_ENTITIES.contains(persister.getEntityName())) {
+            Map<String, Object> changes = changes(event.getSession(), persister, event.getState(), null);
+            record(event.getSession(), persister.getEntityName(), event.getId(), Operation.CREATE, changes);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        if (TRACKED_ENTITIES.contains(persister.getEntityName())) {
+            Map<String, Object> changes = changes(event.getSession(), persister, event.getState(), event.getDirtyProperties());
+            if (!changes.isEmpty()) {
+                record(event.getSession(), persister.getEntityName(), event.getId(), Operation.UPDATE, changes);
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        EntityPersister persister = event.getPersister();
+        if (TRACKED_ENTITIES.contains(persister.getEntityName())) {
+            record(event.getSession(), persister.getEntityName(), event.getId(), Operation.DELETE, Map.of());
+        }
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Record the new elements of an owned many-to-many collection as an update of its owner.
+     */
+    private void collectionChanged(AbstractCollectionEvent event) {
+        String entityName = event.getAffectedOwnerEntityName();
+        Object ownerId = event.getAffectedOwnerIdOrNull();
+        if (ownerId == null || !TRACKED_ENTITIES.contains(entityName)) {
+            return;
+        }
+        PersistentCollection<?> collection = event.getCollection();
+        CollectionPersister persister = event.getFactory().getMappingMetamodel().getCollectionDescriptor(collection.getRole());
+        if (persister.isInverse() || persister.getAttributeMapping().getElementDescriptor().asEntityMappingType() == null) {
+            return;
+        }
+        PersistenceUnitUtil util = event.getFactory().getPersistenceUnitUtil();
+        List<Map<String, Object>> elements = new ArrayList<>();
+        for (Object element : (Collection<?>) collection) {
+            elements.add(Map.of("id", util.getIdentifier(element)));
+        }
+        String property = collection.getRole().substring(entityName.length() + 1);
+        record(event.getSession(), entityName, ownerId, Operation.UPDATE, Map.of(property, elements));
+    }
+
+    /**
+     * The values of the columns of an entity, associations as {@code {"id": ...}}.
+     *
+     * @param properties the indexes of the properties, or {@code null} for all of them.
+     */
+    private static Map<String, Object> changes(EventSource session, EntityPersister persister, Object[] state, int[] properties) {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        PersistenceUnitUtil util = session.getFactory().getPersistenceUnitUtil();
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (properties != null && !contains(properties, i)) {
+                continue;
+            }
+            // Collections and the inverse side of one-to-one associations have no column
+            if (types[i].isCollectionType() || types[i] instanceof OneToOneType) {
+                continue;
+            }
+            Object value = state[i];
+            if (value != null && types[i].isEntityType()) {
+                value = Map.of("id", util.getIdentifier(value));
+            }
+            changes.put(names[i], value);
+        }
+        return changes;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void record(EventSource session, String entityName, Object id, Operation operation, Map<String, Object> changes) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the changes of " + entityName + " " + id, e);
+        }
+        Batch batch = batches.get(session);
+        if (batch == null) {
+            batch = new Batch();
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) batch);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) batch);
+            batches.put(session, batch);
+        }
+        String entity = entityName.substring(entityName.lastIndexOf('.') + 1);
+        batch.records.add(new ChangeRecord(0, 0, entity, (Long) id, operation.name(), Instant.now(), json));
+    }
+
+    private static long[] parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new long[] { 0, 0 };
+        }
+        int separator = cursor.indexOf('-');
+        try {
+            return new long[] { Long.parseLong(cursor.substring(0, separator)), Long.parseLong(cursor.substring(separator + 1)) };
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * The change records of a transaction, written just before it commits.
+     */
+    private final class Batch implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+        private final List<ChangeRecord> records = new ArrayList<>();
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            batches.remove(session);
+            session.doWork(connection -> changeRecordRepository.insertAll(connection, records));
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+            // Not removed before completion if the transaction was rolled back
+            batches.remove(session);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private static final Comparator<Subscriber> POSITION = Comparator.comparingLong((Subscriber s) -> s.txId).thenComparingLong(
+            s -> s.id
+        );
+
+        private final SseEmitter emitter;
+
+        private final Set<String> entities;
+
+        private long txId;
+
+        private long id;
+
+        private long lastSent = System.nanoTime();
+
+        private Subscriber(SseEmitter emitter, Set<String> entities, long[] position) {
+            this.emitter = emitter;
+            this.entities = entities;
+            this.txId = position[0];
+            this.id = position[1];
+        }
+
+        private boolean isAtOrAfter(ChangeRecord change) {
+            return txId > change.txId() || (txId == change.txId() && id >= change.id());
+        }
+
+        /**
+         * Send the changes of a batch that are after the position of the subscriber and of its entities.
+         */
+        private void publish(List<ChangeRecord> changes) throws IOException {
+            boolean sent = false;
+            for (ChangeRecord change : changes) {
+                if (isAtOrAfter(change)) {
+                    continue;
+                }
+                if (entities.isEmpty() || entities.contains(change.entity())) {
+                    emitter.send(SseEmitter.event().id(change.cursor()).name("change").data(change, MediaType.APPLICATION_JSON));
+                    sent = true;
+                }
+                // The other changes of the batch were seen too, don't read them again
+                txId = change.txId();
+                id = change.id();
+            }
+            if (sent) {
+                lastSent = System.nanoTime();
+            } else if (System.nanoTime() - lastSent > HEARTBEAT_INTERVAL.toNanos()) {
+                // Lets the clients and the proxies know that the stream is alive, and fails once the client is gone
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                lastSent = System.nanoTime();
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Department;
+import com.mycompany.myapp.repository.projection.DepartmentView;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,18 +34,18 @@ public interface DepartmentService {
     Optional<Department> partialUpdate(Department department);
 
     /**
-     * Get all the departments.
+     * Get all the departments as read-only projections.
      *
-     * @return the list of entities.
+     * @return the list of projections.
      */
-    List<Department> findAll();
+    List<DepartmentView> findAllViews();
 
     /**
-     * Get all the Department where JobHistory is {@code null}.
+     * Get all the departments where JobHistory is {@code null}, as read-only projections.
      *
-     * @return the {@link List} of entities.
+     * @return the list of projections.
      */
-    List<Department> findAllWhereJobHistoryIsNull();
+    List<DepartmentView> findAllViewsWhereJobHistoryIsNull();
 
     /**
      * Get the "id" department.
@@ -0,0 +1,153 @@
+package com.mycompany.myapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Base class for the services keeping an in-memory copy of an entity up to date from Hibernate post-commit events.
+ * <p>
+ * The listener is registered on the session factory when the service is created and {@code enabled} is true. The copy
+ * is loaded in a read-write transaction of its own, on the primary database: a read-only transaction may use a replica,
+ * and the rows it hasn't replayed yet would be missing from the copy until it is loaded again.
+ *
+ * @param <T> the type of the entity.
+ */
+abstract class EntityCommitListener<T>
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final Class<T> entityClass;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final TransactionTemplate loadTransaction;
+
+    private final boolean enabled;
+
+    protected EntityCommitListener(
+        Class<T> entityClass,
+        EntityManagerFactory entityManagerFactory,
+        PlatformTransactionManager transactionManager,
+        boolean enabled
+    ) {
+        this.entityClass = entityClass;
+        this.entityManagerFactory = entityManagerFactory;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        if (!enabled) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Called after an entity was inserted or updated and the transaction committed.
+     *
+     * @param entity the entity, its session is closed.
+     */
+    protected abstract void onCommitted(T entity);
+
+    /**
+     * Called after an entity was deleted and the transaction committed.
+     *
+     * @param id the id of the entity.
+     */
+    protected abstract void onDeleted(Object id);
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (entityClass.isInstance(event.getEntity())) {
+            onCommitted(entityClass.cast(event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was recorded before the commit
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (entityClass.isInstance(event.getEntity())) {
+            onCommitted(entityClass.cast(event.getEntity()));
+        }
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was recorded before the commit
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (entityClass.isInstance(event.getEntity())) {
+            onDeleted(event.getId());
+        }
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was recorded before the commit
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return entityClass.equals(persister.getMappedClass());
+    }
+
+    /**
+     * Load the in-memory copy from the primary database.
+     *
+     * @param loader the query loading the copy.
+     * @param <R> the type of the copy.
+     * @return the result of {@code loader}.
+     */
+    protected <R> R load(Supplier<R> loader) {
+        return loadTransaction.execute(status -> loader.get());
+    }
+
+    /**
+     * Get the id of an association of a committed entity.
+     *
+     * @param reference the associated entity, possibly an uninitialized proxy.
+     * @param getId the id getter of the associated entity.
+     * @param <E> the type of the associated entity.
+     * @return the id, or {@code null} if {@code reference} is null.
+     */
+    protected static <E> Long idOf(E reference, Function<E, Long> getId) {
+        if (reference == null) {
+            return null;
+        }
+        // The session is closed after the commit, don't initialize the proxy
+        if (reference instanceof HibernateProxy proxy) {
+            return (Long) proxy.getHibernateLazyInitializer().getInternalIdentifier();
+        }
+        return getId.apply(reference);
+    }
+}
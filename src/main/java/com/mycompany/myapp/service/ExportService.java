@@ -0,0 +1,218 @@
+package com.mycompany.myapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mycompany.myapp.aop.jdbc.UseReadPool;
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.repository.JobHistoryRepository;
+import com.mycompany.myapp.repository.projection.EmployeeView;
+import com.mycompany.myapp.repository.projection.EntityRef;
+import com.mycompany.myapp.repository.projection.JobHistoryView;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for exporting whole tables as CSV or newline-delimited JSON.
+ * <p>
+ * Rows are read from a forward-only cursor, {@code 1000} rows per fetch, and written to the output stream as they
+ * arrive, so memory use doesn't depend on the size of the table.
+ */
+@Service
+@UseReadPool
+@Transactional(readOnly = true)
+public class ExportService {
+
+    /**
+     * The export formats.
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson");
+
+        private final String contentType;
+
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExportService.class);
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final List<Column<EmployeeView>> EMPLOYEE_COLUMNS = List.of(
+        new Column<>("id", EmployeeView::id),
+        new Column<>("first_name", EmployeeView::firstName),
+        new Column<>("last_name", EmployeeView::lastName),
+        new Column<>("email", EmployeeView::email),
+        new Column<>("phone_number", EmployeeView::phoneNumber),
+        new Column<>("hire_date", EmployeeView::hireDate),
+        new Column<>("salary", EmployeeView::salary),
+        new Column<>("commission_pct", EmployeeView::commissionPct),
+        new Column<>("manager_id", view -> idOf(view.manager())),
+        new Column<>("department_id", view -> idOf(view.department())),
+        new Column<>("job_history_id", view -> view.jobHistory() == null ? null : view.jobHistory().id())
+    );
+
+    private static final List<Column<JobHistoryView>> JOB_HISTORY_COLUMNS = List.of(
+        new Column<>("id", JobHistoryView::id),
+        new Column<>("start_date", JobHistoryView::startDate),
+        new Column<>("end_date", JobHistoryView::endDate),
+        new Column<>("language", JobHistoryView::language),
+        new Column<>("job_id", view -> idOf(view.job())),
+        new Column<>("department_id", view -> idOf(view.department())),
+        new Column<>("employee_id", view -> idOf(view.employee()))
+    );
+
+    private final EmployeeRepository employeeRepository;
+
+    private final JobHistoryRepository jobHistoryRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectWriter jsonWriter;
+
+    public ExportService(
+        EmployeeRepository employeeRepository,
+        JobHistoryRepository jobHistoryRepository,
+        EntityManager entityManager,
+        ObjectMapper objectMapper
+    ) {
+        this.employeeRepository = employeeRepository;
+        this.jobHistoryRepository = jobHistoryRepository;
+        this.entityManager = entityManager;
+        // The output is flushed once per chunk, not once per row
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Export all the employees, ordered by id.
+     *
+     * @param out the stream to write to, left open.
+     * @param format the export format.
+     * @return the number of exported rows.
+     * @throws IOException if the stream can't be written.
+     */
+    public long exportEmployees(OutputStream out, Format format) throws IOException {
+        LOG.debug("Request to export Employees as {}", format);
+        try (Stream<EmployeeView> rows = employeeRepository.streamAllViews()) {
+            return export(rows, EMPLOYEE_COLUMNS, out, format);
+        }
+    }
+
+    /**
+     * Export all the jobHistories, ordered by id.
+     *
+     * @param out the stream to write to, left open.
+     * @param format the export format.
+     * @return the number of exported rows.
+     * @throws IOException if the stream can't be written.
+     */
+    public long exportJobHistories(OutputStream out, Format format) throws IOException {
+        LOG.debug("Request to export JobHistories as {}", format);
+        try (Stream<JobHistoryView> rows = jobHistoryRepository.streamAllViews()) {
+            return export(rows, JOB_HISTORY_COLUMNS, out, format);
+        }
+    }
+
+    private <T> long export(Stream<T> rows, List<Column<T>> columns, OutputStream out, Format format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter<T> rowWriter = format == Format.CSV ? csvRowWriter(writer, columns) : ndjsonRowWriter(writer);
+        long count = 0;
+        for (Iterator<T> it = rows.iterator(); it.hasNext();) {
+            rowWriter.write(it.next());
+            if (++count % CHUNK_SIZE == 0) {
+                writer.flush();
+                // Projections aren't managed, this only drops what Hibernate keeps per loaded row
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+        LOG.debug("Exported {} rows as {}", count, format);
+        return count;
+    }
+
+    private static <T> RowWriter<T> csvRowWriter(Writer writer, List<Column<T>> columns) throws IOException {
+        writeCsvLine(writer, columns.stream().map(Column::name).toList());
+        return row -> writeCsvLine(writer, columns.stream().map(column -> column.value().apply(row)).toList());
+    }
+
+    private <T> RowWriter<T> ndjsonRowWriter(Writer writer) throws IOException {
+        JsonGenerator generator = jsonWriter.createGenerator(writer);
+        // Flushing the generator only moves its buffer to the writer, the writer is flushed once per chunk
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        generator.setRootValueSeparator(null);
+        return row -> {
+            jsonWriter.writeValue(generator, row);
+            generator.writeRaw('\n');
+            generator.flush();
+        };
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writeCsvValue(writer, value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static Long idOf(EntityRef ref) {
+        return ref == null ? null : ref.id();
+    }
+
+    private record Column<T>(String name, Function<T, ?> value) {}
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+}
@@ -0,0 +1,112 @@
+package com.mycompany.myapp.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader for the CSV format of the Liquibase fake-data files: {@code ;} separated values, optionally quoted with
+ * {@code "}, one record per line, a header line first. Empty values are read as {@code null}.
+ */
+class ImportCsvReader {
+
+    private static final char SEPARATOR = ';';
+
+    private static final char QUOTE = '"';
+
+    private final Reader reader;
+
+    private final StringBuilder value = new StringBuilder();
+
+    private int pending = -2;
+
+    private long line = 1;
+
+    private long recordLine;
+
+    ImportCsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return the values of the record, or {@code null} at the end of the input.
+     * @throws IOException if the input can't be read.
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        // Skip blank lines
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> values = new ArrayList<>();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        value.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new InvalidImportException("Unterminated quoted value at line " + recordLine);
+                }
+                if (c == QUOTE) {
+                    int following = read();
+                    if (following == QUOTE) {
+                        value.append(QUOTE);
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    value.append((char) c);
+                }
+            } else if (c == QUOTE && value.isEmpty()) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == SEPARATOR) {
+                values.add(wasQuoted || !value.isEmpty() ? value.toString() : null);
+                value.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                values.add(wasQuoted || !value.isEmpty() ? value.toString() : null);
+                return values;
+            } else {
+                value.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return the line number of the record last returned by {@link #next()}.
+     */
+    long getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pending != -2) {
+            c = pending;
+            pending = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        if (c == '\n') {
+            line--;
+        }
+        pending = c;
+    }
+}
@@ -0,0 +1,636 @@
+package com.mycompany.myapp.service;
+
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongLongHashMap;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.enumeration.Language;
+import com.mycompany.myapp.service.dto.ImportReportDTO;
+import com.mycompany.myapp.service.dto.ImportReportDTO.TableReport;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service for importing CSV files in the format of the Liquibase fake-data files.
+ * <p>
+ * Each file is streamed through three stages: parse, validate and insert. The ids of the files are only used to link
+ * the rows of an import together, the rows get new ids from the entity sequences, and the foreign key columns are
+ * resolved through in-memory maps from file ids to database ids. A foreign key to a table that is not part of the import
+ * is taken as an existing database id. The largest tables are loaded with Postgres {@code COPY}, the others with JDBC
+ * batches. Invalid rows are rejected and reported, the import of the other rows goes on. The whole import is one
+ * transaction.
+ */
+@Service
+public class ImportService {
+
+    /**
+     * The importable tables, in import order.
+     */
+    public enum Table {
+        DEPARTMENT("department", false, Column.of("department_name", ColumnType.STRING)),
+        EMPLOYEE(
+            "employee",
+            true,
+            Column.of("first_name", ColumnType.STRING),
+            Column.of("last_name", ColumnType.STRING),
+            Column.of("email", ColumnType.STRING),
+            Column.of("phone_number", ColumnType.STRING),
+            Column.of("hire_date", ColumnType.INSTANT),
+            Column.of("salary", ColumnType.LONG),
+            Column.of("commission_pct", ColumnType.LONG),
+            Column.reference("manager_id", "employee"),
+            Column.reference("department_id", "department")
+        ),
+        JOB(
+            "job",
+            false,
+            Column.of("job_title", ColumnType.STRING),
+            Column.of("min_salary", ColumnType.LONG),
+            Column.of("max_salary", ColumnType.LONG),
+            Column.reference("employee_id", "employee")
+        ),
+        JOB_HISTORY(
+            "job_history",
+            true,
+            Column.of("start_date", ColumnType.INSTANT),
+            Column.of("end_date", ColumnType.INSTANT),
+            Column.of("language", ColumnType.LANGUAGE),
+            Column.reference("job_id", "job"),
+            Column.reference("department_id", "department"),
+            Column.reference("employee_id", "employee")
+        );
+
+        private final String tableName;
+
+        private final boolean copy;
+
+        private final List<Column> columns;
+
+        Table(String tableName, boolean copy, Column... columns) {
+            this.tableName = tableName;
+            this.copy = copy;
+            this.columns = List.of(columns);
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public static Optional<Table> fromTableName(String tableName) {
+            return Stream.of(values()).filter(table -> table.tableName.equals(tableName)).findFirst();
+        }
+    }
+
+    private enum ColumnType {
+        STRING,
+        LONG,
+        INSTANT,
+        LANGUAGE,
+        REFERENCE,
+    }
+
+    private record Column(String name, ColumnType type, String references) {
+        static Column of(String name, ColumnType type) {
+            return new Column(name, type, null);
+        }
+
+        static Column reference(String name, String references) {
+            return new Column(name, ColumnType.REFERENCE, references);
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int MAX_STRING_LENGTH = 255;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final OrgChartService orgChartService;
+
+    private final JobHistoryPeriodService jobHistoryPeriodService;
+
+    private final int batchSize;
+
+    public ImportService(
+        JdbcTemplate jdbcTemplate,
+        EntityManagerFactory entityManagerFactory,
+        OrgChartService orgChartService,
+        JobHistoryPeriodService jobHistoryPeriodService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.orgChartService = orgChartService;
+        this.jobHistoryPeriodService = jobHistoryPeriodService;
+        this.batchSize = Math.max(1, applicationProperties.getDataImport().getBatchSize());
+    }
+
+    /**
+     * Import CSV files.
+     *
+     * @param sources the file of each imported table.
+     * @return the import report.
+     * @throws InvalidImportException if a file can't be imported at all, e.g. because of an unknown column.
+     */
+    @Transactional
+    public ImportReportDTO importTables(Map<Table, ? extends InputStreamSource> sources) {
+        LOG.debug("Request to import {}", sources.keySet());
+        long start = System.nanoTime();
+        ImportReportDTO report = new ImportReportDTO();
+        Map<String, LongLongHashMap> ids = new HashMap<>();
+        for (Table table : Table.values()) {
+            InputStreamSource source = sources.get(table);
+            if (source != null) {
+                ConnectionCallback<TableReport> importer = connection -> importTable(connection, table, source, ids, report);
+                report.getTables().add(jdbcTemplate.execute(importer));
+            }
+        }
+        // The rows were written behind Hibernate's back, cached collections and the in-memory indexes may be stale
+        entityManagerFactory.getCache().evictAll();
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (sources.containsKey(Table.EMPLOYEE)) {
+                        orgChartService.invalidate();
+                    }
+                    if (sources.containsKey(Table.JOB_HISTORY)) {
+                        jobHistoryPeriodService.invalidate();
+                    }
+                }
+            }
+        );
+        report.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        LOG.info("Imported {}", report);
+        return report;
+    }
+
+    private TableReport importTable(
+        Connection connection,
+        Table table,
+        InputStreamSource source,
+        Map<String, LongLongHashMap> ids,
+        ImportReportDTO report
+    ) throws SQLException {
+        long start = System.nanoTime();
+        TableReport tableReport = new TableReport();
+        tableReport.setTable(table.tableName);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8))) {
+            ImportCsvReader reader = new ImportCsvReader(in);
+            List<String> header = reader.next();
+            if (header == null) {
+                return tableReport;
+            }
+            int[] positions = columnPositions(table, header);
+            int idPosition = header.indexOf("id");
+
+            LongLongHashMap tableIds = new LongLongHashMap();
+            ids.put(table.tableName, tableIds);
+            LongLongHashMap[] references = new LongLongHashMap[table.columns.size()];
+            int selfReference = -1;
+            for (int i = 0; i < references.length; i++) {
+                Column column = table.columns.get(i);
+                if (column.references() == null || positions[i] == -1) {
+                    continue;
+                }
+                if (column.references().equals(table.tableName)) {
+                    selfReference = i;
+                }
+                references[i] = ids.computeIfAbsent(column.references(), name -> existingIds(connection, name));
+            }
+
+            IdAllocator allocator = new IdAllocator(connection, table.tableName + "_seq");
+            // Pairs of row id and file id of a self reference that wasn't seen yet
+            LongArrayList deferred = new LongArrayList();
+            try (RowSink sink = table.copy ? new CopySink(connection, table) : new BatchSink(connection, table, batchSize)) {
+                for (List<String> record = reader.next(); record != null; record = reader.next()) {
+                    Object[] row = new Object[table.columns.size() + 1];
+                    Long sourceId;
+                    Long pendingReference = null;
+                    try {
+                        if (record.size() != header.size()) {
+                            throw new RowException("expected " + header.size() + " values, found " + record.size());
+                        }
+                        sourceId = idPosition == -1 ? null : parseLong(record.get(idPosition), "id");
+                        if (sourceId != null && tableIds.containsKey(sourceId)) {
+                            throw new RowException("duplicate id " + sourceId);
+                        }
+                        for (int i = 0; i < positions.length; i++) {
+                            if (positions[i] == -1) {
+                                continue;
+                            }
+                            Column column = table.columns.get(i);
+                            String value = record.get(positions[i]);
+                            if (column.type() != ColumnType.REFERENCE) {
+                                row[i + 1] = parse(column, value);
+                                continue;
+                            }
+                            Long reference = parseLong(value, column.name());
+                            if (reference == null) {
+                                continue;
+                            }
+                            if (references[i].containsKey(reference)) {
+                                row[i + 1] = references[i].get(reference);
+                            } else if (i == selfReference) {
+                                pendingReference = reference;
+                            } else {
+                                throw new RowException("unknown " + column.name() + " " + reference);
+                            }
+                        }
+                    } catch (RowException e) {
+                        tableReport.setRejectedRows(tableReport.getRejectedRows() + 1);
+                        addError(report, table.tableName + ".csv line " + reader.getRecordLine() + ": " + e.getMessage());
+                        continue;
+                    }
+                    long id = allocator.next();
+                    row[0] = id;
+                    if (sourceId != null) {
+                        tableIds.put(sourceId, id);
+                    }
+                    if (pendingReference != null) {
+                        deferred.add(id, pendingReference);
+                    }
+                    sink.add(row);
+                    tableReport.setImportedRows(tableReport.getImportedRows() + 1);
+                }
+                sink.finish();
+            }
+            if (!deferred.isEmpty()) {
+                updateDeferredReferences(connection, table, table.columns.get(selfReference), tableIds, deferred, report);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        tableReport.setDurationMillis(millis);
+        tableReport.setRowsPerSecond(tableReport.getImportedRows() * 1000 / millis);
+        LOG.info(
+            "Imported {} rows into {} in {} ms ({} rows/s), {} rejected",
+            tableReport.getImportedRows(),
+            table.tableName,
+            millis,
+            tableReport.getRowsPerSecond(),
+            tableReport.getRejectedRows()
+        );
+        return tableReport;
+    }
+
+    private static int[] columnPositions(Table table, List<String> header) {
+        int[] positions = new int[table.columns.size()];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i) == null ? "" : header.get(i).trim().toLowerCase(Locale.ROOT);
+            header.set(i, name);
+            if ("id".equals(name)) {
+                continue;
+            }
+            int column = -1;
+            for (int j = 0; j < positions.length; j++) {
+                if (table.columns.get(j).name().equals(name)) {
+                    column = j;
+                }
+            }
+            if (column == -1) {
+                throw new InvalidImportException("Unknown column '" + name + "' in " + table.tableName + ".csv");
+            }
+            positions[column] = i;
+        }
+        return positions;
+    }
+
+    private static Object parse(Column column, String value) throws RowException {
+        if (value == null) {
+            return null;
+        }
+        switch (column.type()) {
+            case STRING:
+                if (value.length() > MAX_STRING_LENGTH) {
+                    throw new RowException(column.name() + " is longer than " + MAX_STRING_LENGTH + " characters");
+                }
+                return value;
+            case LONG:
+                return parseLong(value, column.name());
+            case INSTANT:
+                try {
+                    TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(
+                        value.trim(),
+                        ZonedDateTime::from,
+                        LocalDateTime::from
+                    );
+                    return parsed instanceof ZonedDateTime zoned ? zoned.toInstant() : ((LocalDateTime) parsed).toInstant(ZoneOffset.UTC);
+                } catch (DateTimeParseException e) {
+                    throw new RowException(column.name() + " is not a date-time: " + value);
+                }
+            case LANGUAGE:
+                try {
+                    return Language.valueOf(value.trim());
+                } catch (IllegalArgumentException e) {
+                    throw new RowException(column.name() + " is not a language: " + value);
+                }
+            default:
+                throw new IllegalStateException("Unexpected column type " + column.type());
+        }
+    }
+
+    private static Long parseLong(String value, String name) throws RowException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RowException(name + " is not a number: " + value);
+        }
+    }
+
+    /**
+     * Convert a parsed value to the value bound to the statement, timestamps are stored as UTC like
+     * {@code hibernate.jdbc.time_zone}.
+     */
+    private static Object toJdbcValue(Object value) {
+        if (value instanceof Instant instant) {
+            return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+        }
+        if (value instanceof Language language) {
+            return language.name();
+        }
+        return value;
+    }
+
+    private static LongLongHashMap existingIds(Connection connection, String tableName) {
+        LongLongHashMap existing = new LongLongHashMap();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM " + tableName)) {
+            statement.setFetchSize(10_000);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    existing.put(resultSet.getLong(1), resultSet.getLong(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the ids of " + tableName, e);
+        }
+        return existing;
+    }
+
+    private void updateDeferredReferences(
+        Connection connection,
+        Table table,
+        Column column,
+        LongLongHashMap tableIds,
+        LongArrayList deferred,
+        ImportReportDTO report
+    ) throws SQLException {
+        String sql = "UPDATE " + table.tableName + " SET " + column.name() + " = ? WHERE id = ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int batched = 0;
+            for (int i = 0; i < deferred.size(); i += 2) {
+                long id = deferred.get(i);
+                long reference = deferred.get(i + 1);
+                if (!tableIds.containsKey(reference)) {
+                    addError(report, table.tableName + ": unknown " + column.name() + " " + reference + ", left empty");
+                    continue;
+                }
+                statement.setLong(1, tableIds.get(reference));
+                statement.setLong(2, id);
+                statement.addBatch();
+                if (++batched % batchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static void addError(ImportReportDTO report, String error) {
+        report.setErrorCount(report.getErrorCount() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(error);
+        }
+    }
+
+    private static String columnList(Table table) {
+        return Stream.concat(Stream.of("id"), table.columns.stream().map(Column::name)).collect(Collectors.joining(", "));
+    }
+
+    private static final class RowException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        RowException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /**
+     * Hands out ids from an entity sequence the way Hibernate's pooled-lo optimizer does: each {@code nextval} reserves
+     * the block of {@code increment_by} ids starting at the returned value. Blocks are fetched several at a time, twice
+     * as many each time.
+     */
+    private static final class IdAllocator {
+
+        private static final int MAX_BLOCKS_PER_QUERY = 64;
+
+        private final Connection connection;
+
+        private final String sequence;
+
+        private final long increment;
+
+        private final LongArrayList blocks = new LongArrayList();
+
+        private int blockIndex;
+
+        private int blocksPerQuery = 1;
+
+        private long next;
+
+        private long limit;
+
+        IdAllocator(Connection connection, String sequence) throws SQLException {
+            this.connection = connection;
+            this.sequence = sequence;
+            try (
+                PreparedStatement statement = connection.prepareStatement(
+                    "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?"
+                )
+            ) {
+                statement.setString(1, sequence);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        throw new IllegalStateException("Sequence " + sequence + " not found");
+                    }
+                    this.increment = resultSet.getLong(1);
+                }
+            }
+        }
+
+        long next() throws SQLException {
+            if (next == limit) {
+                if (blockIndex == blocks.size()) {
+                    fetchBlocks();
+                }
+                next = blocks.get(blockIndex++);
+                limit = next + increment;
+            }
+            return next++;
+        }
+
+        private void fetchBlocks() throws SQLException {
+            blocks.clear();
+            blockIndex = 0;
+            try (PreparedStatement statement = connection.prepareStatement("SELECT nextval(?::regclass) FROM generate_series(1, ?)")) {
+                statement.setString(1, sequence);
+                statement.setInt(2, blocksPerQuery);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        blocks.add(resultSet.getLong(1));
+                    }
+                }
+            }
+            blocksPerQuery = Math.min(blocksPerQuery * 2, MAX_BLOCKS_PER_QUERY);
+        }
+    }
+
+    /**
+     * Insert stage: row values are the id followed by the table columns.
+     */
+    private interface RowSink extends AutoCloseable {
+        void add(Object[] row) throws SQLException;
+
+        void finish() throws SQLException;
+
+        @Override
+        void close() throws SQLException;
+    }
+
+    private static final class BatchSink implements RowSink {
+
+        private final PreparedStatement statement;
+
+        private final int batchSize;
+
+        private int batched;
+
+        BatchSink(Connection connection, Table table, int batchSize) throws SQLException {
+            String placeholders = Stream.generate(() -> "?").limit(table.columns.size() + 1L).collect(Collectors.joining(", "));
+            this.statement = connection.prepareStatement(
+                "INSERT INTO " + table.tableName + " (" + columnList(table) + ") VALUES (" + placeholders + ")"
+            );
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void add(Object[] row) throws SQLException {
+            for (int i = 0; i < row.length; i++) {
+                statement.setObject(i + 1, toJdbcValue(row[i]));
+            }
+            statement.addBatch();
+            if (++batched % batchSize == 0) {
+                statement.executeBatch();
+            }
+        }
+
+        @Override
+        public void finish() throws SQLException {
+            statement.executeBatch();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            statement.close();
+        }
+    }
+
+    private static final class CopySink implements RowSink {
+
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final CopyIn copyIn;
+
+        private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 1024);
+
+        CopySink(Connection connection, Table table) throws SQLException {
+            this.copyIn = connection
+                .unwrap(PGConnection.class)
+                .getCopyAPI()
+                .copyIn("COPY " + table.tableName + " (" + columnList(table) + ") FROM STDIN WITH (FORMAT csv)");
+        }
+
+        @Override
+        public void add(Object[] row) throws SQLException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                Object value = toJdbcValue(row[i]);
+                if (value instanceof String string) {
+                    // Quoted, so that empty strings are not read as null
+                    buffer.append('"').append(string.replace("\"", "\"\"")).append('"');
+                } else if (value != null) {
+                    buffer.append(value);
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void finish() throws SQLException {
+            flush();
+            copyIn.endCopy();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.mycompany.myapp.service;
+
+public class InvalidImportException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,236 @@
+package com.mycompany.myapp.service;
+
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.ObjectCursor;
+import com.mycompany.myapp.repository.projection.JobHistoryPeriod;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * In-memory interval tree of the periods of the job histories.
+ * <p>
+ * The periods are loaded once and kept up to date one write at a time. Queries are answered from an immutable
+ * {@link Snapshot}: the periods sorted by start, with a tree of the latest end of each range of that order, so that
+ * finding the {@code k} periods overlapping an interval takes O(log n + k log n). A write only drops the snapshot, the
+ * next query builds a new one in O(n log n).
+ * <p>
+ * A period is {@code [start, end)} in microseconds, a missing date is unbounded and a period ending before it starts is
+ * empty, as with {@code JobHistoryRepository.PERIOD}.
+ */
+class JobHistoryPeriodIndex {
+
+    static final long NO_DEPARTMENT = -1L;
+
+    private final LongObjectHashMap<Entry> periods = new LongObjectHashMap<>();
+
+    private boolean loaded;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Get the current snapshot, loading the periods first if needed.
+     * <p>
+     * The loader runs with the index locked, so that the writes committed while it runs are applied after it.
+     *
+     * @param loader loads the periods from the database.
+     * @return the current snapshot.
+     */
+    Snapshot snapshot(Supplier<List<JobHistoryPeriod>> loader) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                for (JobHistoryPeriod period : loader.get()) {
+                    periods.put(period.id(), Entry.of(period.id(), period.startDate(), period.endDate(), period.departmentId()));
+                }
+                loaded = true;
+            }
+            if (snapshot == null) {
+                snapshot = Snapshot.build(periods);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Record the period of a job history. Ignored until the index is loaded, the load reads the committed state.
+     */
+    synchronized void put(long id, Instant startDate, Instant endDate, Long departmentId) {
+        if (!loaded) {
+            return;
+        }
+        Entry entry = Entry.of(id, startDate, endDate, departmentId);
+        if (!entry.equals(periods.get(id))) {
+            periods.put(id, entry);
+            snapshot = null;
+        }
+    }
+
+    synchronized void remove(long id) {
+        if (loaded && periods.indexOf(id) >= 0) {
+            periods.remove(id);
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Drop the index, it is loaded again by the next query.
+     */
+    synchronized void invalidate() {
+        periods.clear();
+        loaded = false;
+        snapshot = null;
+    }
+
+    /**
+     * @return a date in microseconds since the epoch, {@code null} mapped to {@code unbounded} and the dates beyond the
+     * range of a {@code long} (about 292,000 years from the epoch) clamped to it.
+     */
+    static long toMicros(Instant date, long unbounded) {
+        if (date == null) {
+            return unbounded;
+        }
+        try {
+            return ChronoUnit.MICROS.between(Instant.EPOCH, date);
+        } catch (ArithmeticException e) {
+            return date.isBefore(Instant.EPOCH) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private record Entry(long id, long start, long end, long departmentId) {
+        static Entry of(long id, Instant startDate, Instant endDate, Long departmentId) {
+            long start = toMicros(startDate, Long.MIN_VALUE);
+            return new Entry(
+                id,
+                start,
+                Math.max(start, toMicros(endDate, Long.MAX_VALUE)),
+                departmentId == null ? NO_DEPARTMENT : departmentId
+            );
+        }
+    }
+
+    /**
+     * The non-empty periods ordered by start then id, as an implicit binary tree over that order whose nodes hold the
+     * latest end of their range.
+     */
+    static final class Snapshot {
+
+        private final long[] ids;
+
+        private final long[] starts;
+
+        private final long[] departmentIds;
+
+        // Latest end of each node of the tree, the root at 1 and the periods from index leaves on
+        private final long[] maxEnds;
+
+        private final int leaves;
+
+        private Snapshot(long[] ids, long[] starts, long[] departmentIds, long[] maxEnds, int leaves) {
+            this.ids = ids;
+            this.starts = starts;
+            this.departmentIds = departmentIds;
+            this.maxEnds = maxEnds;
+            this.leaves = leaves;
+        }
+
+        static Snapshot build(LongObjectHashMap<Entry> periods) {
+            Entry[] entries = new Entry[periods.size()];
+            int n = 0;
+            for (ObjectCursor<Entry> cursor : periods.values()) {
+                if (cursor.value.end() > cursor.value.start()) {
+                    entries[n++] = cursor.value;
+                }
+            }
+            Arrays.sort(entries, 0, n, Comparator.comparingLong(Entry::start).thenComparingLong(Entry::id));
+            int leaves = Integer.highestOneBit(Math.max(1, n));
+            if (leaves < n) {
+                leaves <<= 1;
+            }
+            long[] ids = new long[n];
+            long[] starts = new long[n];
+            long[] departmentIds = new long[n];
+            long[] maxEnds = new long[2 * leaves];
+            Arrays.fill(maxEnds, Long.MIN_VALUE);
+            for (int i = 0; i < n; i++) {
+                ids[i] = entries[i].id();
+                starts[i] = entries[i].start();
+                departmentIds[i] = entries[i].departmentId();
+                maxEnds[leaves + i] = entries[i].end();
+            }
+            for (int node = leaves - 1; node > 0; node--) {
+                maxEnds[node] = Math.max(maxEnds[2 * node], maxEnds[2 * node + 1]);
+            }
+            return new Snapshot(ids, starts, departmentIds, maxEnds, leaves);
+        }
+
+        /**
+         * Get the periods overlapping {@code [from, to)}, ordered by start then id.
+         *
+         * @param from the start of the interval, in microseconds.
+         * @param to the end of the interval, in microseconds.
+         * @param departmentId the department of the periods, or {@code null} for all of them.
+         * @return the ids of the job histories.
+         */
+        long[] overlapping(long from, long to, Long departmentId) {
+            LongArrayList result = new LongArrayList();
+            if (from < to) {
+                // Only the periods starting before the end of the interval can overlap it
+                int candidates = lowerBound(to);
+                collect(1, 0, leaves, candidates, from, departmentId, result);
+            }
+            return result.toArray();
+        }
+
+        /**
+         * @return the ids of the job histories whose period contains a date, ordered by start then id.
+         */
+        long[] asOf(long at, Long departmentId) {
+            return at == Long.MAX_VALUE ? new long[0] : overlapping(at, at + 1, departmentId);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        private void collect(int node, int low, int high, int candidates, long from, Long departmentId, LongArrayList result) {
+            if (low >= candidates || maxEnds[node] <= from) {
+                return;
+            }
+            if (node >= leaves) {
+                int i = node - leaves;
+                if (departmentId == null || departmentIds[i] == departmentId) {
+                    result.add(ids[i]);
+                }
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            collect(2 * node, low, middle, candidates, from, departmentId, result);
+            collect(2 * node + 1, middle, high, candidates, from, departmentId, result);
+        }
+
+        /**
+         * @return the index of the first period starting at or after {@code start}.
+         */
+        private int lowerBound(long start) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] < start) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
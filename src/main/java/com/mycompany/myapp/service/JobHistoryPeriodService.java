@@ -0,0 +1,176 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Department;
+import com.mycompany.myapp.domain.JobHistory;
+import com.mycompany.myapp.repository.JobHistoryRepository;
+import com.mycompany.myapp.repository.projection.JobHistoryView;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for the temporal queries on {@link JobHistory}: as-of lookups, interval overlap and employee timelines.
+ * <p>
+ * The period of a job history is {@code [startDate, endDate)}, a missing date is unbounded and a period ending before it
+ * starts is empty. As-of and overlap queries are answered from a {@link JobHistoryPeriodIndex}, kept up to date by
+ * Hibernate post-commit events on {@link JobHistory}, or from the GiST index on the periods when
+ * {@code application.job-history.index-enabled} is false.
+ */
+@Service
+@Transactional(readOnly = true)
+public class JobHistoryPeriodService extends EntityCommitListener<JobHistory> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobHistoryPeriodService.class);
+
+    private final JobHistoryRepository jobHistoryRepository;
+
+    private final boolean indexEnabled;
+
+    private final JobHistoryPeriodIndex index = new JobHistoryPeriodIndex();
+
+    public JobHistoryPeriodService(
+        JobHistoryRepository jobHistoryRepository,
+        EntityManagerFactory entityManagerFactory,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        super(JobHistory.class, entityManagerFactory, transactionManager, applicationProperties.getJobHistory().isIndexEnabled());
+        this.jobHistoryRepository = jobHistoryRepository;
+        this.indexEnabled = applicationProperties.getJobHistory().isIndexEnabled();
+    }
+
+    /**
+     * Get the job histories whose period contains a date, ordered by start date.
+     *
+     * @param at the date.
+     * @param departmentId the department of the job histories, or {@code null} for all of them.
+     * @param pageable the pagination information.
+     * @return the job histories.
+     */
+    public Page<JobHistoryView> findAsOf(Instant at, Long departmentId, Pageable pageable) {
+        LOG.debug("Request to get the JobHistories as of {}, department: {}", at, departmentId);
+        if (indexEnabled) {
+            long micros = JobHistoryPeriodIndex.toMicros(at, Long.MIN_VALUE);
+            return page(snapshot().asOf(micros, departmentId), pageable);
+        }
+        LocalDateTime utc = toUtc(at);
+        Page<Long> ids = departmentId == null
+            ? jobHistoryRepository.findIdsAsOf(utc, unsorted(pageable))
+            : jobHistoryRepository.findIdsAsOfInDepartment(utc, departmentId, unsorted(pageable));
+        return page(ids);
+    }
+
+    /**
+     * Get the job histories whose period overlaps {@code [from, to)}, ordered by start date.
+     *
+     * @param from the start of the interval.
+     * @param to the end of the interval, after {@code from}.
+     * @param departmentId the department of the job histories, or {@code null} for all of them.
+     * @param pageable the pagination information.
+     * @return the job histories.
+     */
+    public Page<JobHistoryView> findOverlapping(Instant from, Instant to, Long departmentId, Pageable pageable) {
+        LOG.debug("Request to get the JobHistories overlapping [{}, {}), department: {}", from, to, departmentId);
+        if (indexEnabled) {
+            long fromMicros = JobHistoryPeriodIndex.toMicros(from, Long.MIN_VALUE);
+            long toMicros = JobHistoryPeriodIndex.toMicros(to, Long.MAX_VALUE);
+            return page(snapshot().overlapping(fromMicros, toMicros, departmentId), pageable);
+        }
+        LocalDateTime fromUtc = toUtc(from);
+        LocalDateTime toUtc = toUtc(to);
+        Page<Long> ids = departmentId == null
+            ? jobHistoryRepository.findIdsOverlapping(fromUtc, toUtc, unsorted(pageable))
+            : jobHistoryRepository.findIdsOverlappingInDepartment(fromUtc, toUtc, departmentId, unsorted(pageable));
+        return page(ids);
+    }
+
+    /**
+     * Get the timeline of an employee.
+     *
+     * @param employeeId the id of the employee.
+     * @return the job histories of the employee, ordered by start date.
+     */
+    public List<JobHistoryView> findTimeline(Long employeeId) {
+        LOG.debug("Request to get the timeline of Employee : {}", employeeId);
+        return jobHistoryRepository.findAllViewsByEmployeeId(employeeId);
+    }
+
+    /**
+     * Drop the index after job histories were written without Hibernate, it is loaded again by the next query.
+     */
+    public void invalidate() {
+        LOG.debug("Request to invalidate the job history period index");
+        index.invalidate();
+    }
+
+    @Override
+    protected void onCommitted(JobHistory jobHistory) {
+        Long departmentId = idOf(jobHistory.getDepartment(), Department::getId);
+        index.put(jobHistory.getId(), jobHistory.getStartDate(), jobHistory.getEndDate(), departmentId);
+    }
+
+    @Override
+    protected void onDeleted(Object id) {
+        index.remove((Long) id);
+    }
+
+    private JobHistoryPeriodIndex.Snapshot snapshot() {
+        return index.snapshot(() -> load(jobHistoryRepository::findAllPeriods));
+    }
+
+    private Page<JobHistoryView> page(long[] ids, Pageable pageable) {
+        long[] content = ids;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(ids.length, pageable.getOffset());
+            content = Arrays.copyOfRange(ids, from, (int) Math.min(ids.length, (long) from + pageable.getPageSize()));
+        }
+        return new PageImpl<>(findViews(content), pageable, ids.length);
+    }
+
+    private Page<JobHistoryView> page(Page<Long> ids) {
+        long[] content = ids.getContent().stream().mapToLong(Long::longValue).toArray();
+        return new PageImpl<>(findViews(content), ids.getPageable(), ids.getTotalElements());
+    }
+
+    private List<JobHistoryView> findViews(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Long, JobHistoryView> views = jobHistoryRepository
+            .findAllViewsByIdIn(Arrays.stream(ids).boxed().toList())
+            .stream()
+            .collect(Collectors.toMap(JobHistoryView::id, Function.identity()));
+        return Arrays.stream(ids).mapToObj(views::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * The native queries are ordered by start date, drop the sort of the request.
+     */
+    private static Pageable unsorted(Pageable pageable) {
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : Pageable.unpaged();
+    }
+
+    /**
+     * The columns are timestamps without time zone holding UTC dates.
+     */
+    private static LocalDateTime toUtc(Instant date) {
+        return LocalDateTime.ofInstant(date, ZoneOffset.UTC);
+    }
+}
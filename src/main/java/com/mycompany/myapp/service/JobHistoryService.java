@@ -1,6 +1,7 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.JobHistory;
+import com.mycompany.myapp.repository.projection.JobHistoryView;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -34,12 +35,12 @@ public interface JobHistoryService {
     Optional<JobHistory> partialUpdate(JobHistory jobHistory);
 
     /**
-     * Get all the jobHistories.
+     * Get all the jobHistories as read-only projections.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of projections.
      */
-    Page<JobHistory> findAll(Pageable pageable);
+    Page<JobHistoryView> findAllViews(Pageable pageable);
 
     /**
      * Get the "id" jobHistory.
@@ -1,6 +1,7 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Location;
+import com.mycompany.myapp.repository.projection.LocationView;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,18 +34,18 @@ public interface LocationService {
     Optional<Location> partialUpdate(Location location);
 
     /**
-     * Get all the locations.
+     * Get all the locations as read-only projections.
      *
-     * @return the list of entities.
+     * @return the list of projections.
      */
-    List<Location> findAll();
+    List<LocationView> findAllViews();
 
     /**
-     * Get all the Location where Department is {@code null}.
+     * Get all the locations where Department is {@code null}, as read-only projections.
      *
-     * @return the {@link List} of entities.
+     * @return the list of projections.
      */
-    List<Location> findAllWhereDepartmentIsNull();
+    List<LocationView> findAllViewsWhereDepartmentIsNull();
 
     /**
      * Get the "id" location.
@@ -0,0 +1,239 @@
+package com.mycompany.myapp.service;
+
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.LongLongHashMap;
+import com.mycompany.myapp.repository.projection.ManagerLink;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of the manager relation of the employees.
+ * <p>
+ * The parent array (employee to manager) is loaded once and kept up to date one write at a time. Queries are answered
+ * from an immutable {@link Snapshot} that lays the org chart out in depth-first order (an Euler tour), so that the
+ * reports of an employee are a contiguous range of that order. A write only drops the snapshot, the next query builds a
+ * new one in O(n log n).
+ */
+class OrgChartIndex {
+
+    static final long NO_MANAGER = -1L;
+
+    private final LongLongHashMap managers = new LongLongHashMap();
+
+    private boolean loaded;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Get the current snapshot, loading the manager relation first if needed.
+     * <p>
+     * The loader runs with the index locked, so that the writes committed while it runs are applied after it.
+     *
+     * @param loader loads the manager relation from the database.
+     * @return the current snapshot.
+     */
+    Snapshot snapshot(Supplier<List<ManagerLink>> loader) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                for (ManagerLink link : loader.get()) {
+                    managers.put(link.id(), link.managerId() == null ? NO_MANAGER : link.managerId());
+                }
+                loaded = true;
+            }
+            if (snapshot == null) {
+                snapshot = Snapshot.build(managers);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Record the manager of an employee. Ignored until the index is loaded, the load reads the committed state.
+     */
+    synchronized void put(long id, long managerId) {
+        if (!loaded) {
+            return;
+        }
+        if (managers.indexOf(id) < 0 || managers.get(id) != managerId) {
+            managers.put(id, managerId);
+            snapshot = null;
+        }
+    }
+
+    synchronized void remove(long id) {
+        if (loaded && managers.indexOf(id) >= 0) {
+            managers.remove(id);
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Drop the index, it is loaded again by the next query.
+     */
+    synchronized void invalidate() {
+        managers.clear();
+        loaded = false;
+        snapshot = null;
+    }
+
+    /**
+     * The org chart in depth-first order, the reports of a manager ordered by id. Employees on a manager cycle are laid
+     * out as if the employee of the cycle with the lowest id had no manager.
+     */
+    static final class Snapshot {
+
+        private final long[] ids;
+
+        private final LongIntHashMap positions;
+
+        // By position: end of the subtree (exclusive), position of the manager, number of direct reports and depth
+        private final int[] end;
+
+        private final int[] parent;
+
+        private final int[] directReports;
+
+        private final int[] depth;
+
+        private Snapshot(long[] ids, LongIntHashMap positions, int[] end, int[] parent, int[] directReports, int[] depth) {
+            this.ids = ids;
+            this.positions = positions;
+            this.end = end;
+            this.parent = parent;
+            this.directReports = directReports;
+            this.depth = depth;
+        }
+
+        static Snapshot build(LongLongHashMap managers) {
+            long[] sorted = managers.keys().toArray();
+            Arrays.sort(sorted);
+            int n = sorted.length;
+            LongIntHashMap index = new LongIntHashMap(n);
+            for (int i = 0; i < n; i++) {
+                index.put(sorted[i], i);
+            }
+
+            // Children of each employee as ranges of one array, in id order
+            int[] managerOf = new int[n];
+            int[] childStart = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                long managerId = managers.get(sorted[i]);
+                managerOf[i] = managerId == NO_MANAGER ? -1 : index.getOrDefault(managerId, -1);
+                if (managerOf[i] >= 0) {
+                    childStart[managerOf[i] + 1]++;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                childStart[i + 1] += childStart[i];
+            }
+            int[] children = new int[n];
+            int[] fill = Arrays.copyOf(childStart, n);
+            for (int i = 0; i < n; i++) {
+                if (managerOf[i] >= 0) {
+                    children[fill[managerOf[i]]++] = i;
+                }
+            }
+
+            long[] ids = new long[n];
+            LongIntHashMap positions = new LongIntHashMap(n);
+            int[] positionOf = new int[n];
+            Arrays.fill(positionOf, -1);
+            int[] end = new int[n];
+            int[] parent = new int[n];
+            int[] directReports = new int[n];
+            int[] depth = new int[n];
+            int[] stack = new int[n];
+            int[] nextChild = new int[n];
+            int counter = 0;
+            // Roots first, then what is left: the employees on a manager cycle and their reports
+            for (int pass = 0; pass < 2; pass++) {
+                for (int root = 0; root < n; root++) {
+                    if (positionOf[root] != -1 || (pass == 0 && managerOf[root] != -1)) {
+                        continue;
+                    }
+                    int top = 0;
+                    stack[top++] = root;
+                    positionOf[root] = counter;
+                    parent[counter] = -1;
+                    depth[counter] = 0;
+                    counter++;
+                    nextChild[root] = childStart[root];
+                    while (top > 0) {
+                        int node = stack[top - 1];
+                        int position = positionOf[node];
+                        if (nextChild[node] == childStart[node + 1]) {
+                            end[position] = counter;
+                            top--;
+                            continue;
+                        }
+                        int child = children[nextChild[node]++];
+                        if (positionOf[child] != -1) {
+                            continue;
+                        }
+                        positionOf[child] = counter;
+                        parent[counter] = position;
+                        depth[counter] = depth[position] + 1;
+                        directReports[position]++;
+                        counter++;
+                        nextChild[child] = childStart[child];
+                        stack[top++] = child;
+                    }
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                ids[positionOf[i]] = sorted[i];
+                positions.put(sorted[i], positionOf[i]);
+            }
+            return new Snapshot(ids, positions, end, parent, directReports, depth);
+        }
+
+        /**
+         * @return the position of an employee in the depth-first order, or {@code -1} if it is unknown.
+         */
+        int position(long id) {
+            return positions.getOrDefault(id, -1);
+        }
+
+        /**
+         * Get a range of the reports of an employee, direct or not, in O(limit).
+         *
+         * @param position the position of the employee.
+         * @param offset the index of the first report.
+         * @param limit the maximum number of reports.
+         * @return the ids of the reports.
+         */
+        long[] reports(int position, long offset, int limit) {
+            int from = (int) Math.min(end[position], position + 1 + offset);
+            int to = (int) Math.min(end[position], (long) from + limit);
+            return Arrays.copyOfRange(ids, from, to);
+        }
+
+        int totalReports(int position) {
+            return end[position] - position - 1;
+        }
+
+        int directReports(int position) {
+            return directReports[position];
+        }
+
+        int depth(int position) {
+            return depth[position];
+        }
+
+        /**
+         * @return the ids of the managers of an employee, from its direct manager to the top of the org chart.
+         */
+        long[] managers(int position) {
+            long[] chain = new long[depth[position]];
+            for (int i = 0, p = parent[position]; p != -1; i++, p = parent[p]) {
+                chain[i] = ids[p];
+            }
+            return chain;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.repository.projection.EmployeeView;
+import com.mycompany.myapp.service.dto.SpanOfControlDTO;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for querying the org chart formed by {@link Employee#getManager()}.
+ * <p>
+ * Queries are answered from an {@link OrgChartIndex}, kept up to date by Hibernate post-commit events on
+ * {@link Employee}, or with recursive SQL when {@code application.org-chart.index-enabled} is false.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrgChartService extends EntityCommitListener<Employee> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrgChartService.class);
+
+    private final EmployeeRepository employeeRepository;
+
+    private final boolean indexEnabled;
+
+    private final OrgChartIndex index = new OrgChartIndex();
+
+    public OrgChartService(
+        EmployeeRepository employeeRepository,
+        EntityManagerFactory entityManagerFactory,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        super(Employee.class, entityManagerFactory, transactionManager, applicationProperties.getOrgChart().isIndexEnabled());
+        this.employeeRepository = employeeRepository;
+        this.indexEnabled = applicationProperties.getOrgChart().isIndexEnabled();
+    }
+
+    /**
+     * Get the reports of an employee, ordered depth-first with the reports of a manager ordered by id.
+     *
+     * @param id the id of the manager.
+     * @param direct whether to only get the direct reports.
+     * @param pageable the pagination information.
+     * @return the reports, or empty if the employee doesn't exist.
+     */
+    public Optional<Page<EmployeeView>> findReports(Long id, boolean direct, Pageable pageable) {
+        LOG.debug("Request to get the reports of Employee : {}, direct: {}", id, direct);
+        OrgChartIndex.Snapshot snapshot = null;
+        int position = -1;
+        if (indexEnabled) {
+            snapshot = snapshot();
+            position = snapshot.position(id);
+            if (position == -1) {
+                return Optional.empty();
+            }
+        } else if (!employeeRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        if (direct) {
+            return Optional.of(employeeRepository.findAllViewsByManagerId(id, pageable));
+        }
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        long[] ids;
+        long total;
+        if (snapshot != null) {
+            ids = snapshot.reports(position, offset, limit);
+            total = snapshot.totalReports(position);
+        } else {
+            List<Long> subtree = employeeRepository.findSubtreeIds(id);
+            ids = subtree.stream().skip(offset).limit(limit).mapToLong(Long::longValue).toArray();
+            total = subtree.size();
+        }
+        return Optional.of(new PageImpl<>(findViews(ids), pageable, total));
+    }
+
+    /**
+     * Get the reporting chain of an employee.
+     *
+     * @param id the id of the employee.
+     * @return the managers of the employee, from its direct manager to the top of the org chart, or empty if the
+     * employee doesn't exist.
+     */
+    public Optional<List<EmployeeView>> findReportingChain(Long id) {
+        LOG.debug("Request to get the reporting chain of Employee : {}", id);
+        if (indexEnabled) {
+            OrgChartIndex.Snapshot snapshot = snapshot();
+            int position = snapshot.position(id);
+            return position == -1 ? Optional.empty() : Optional.of(findViews(snapshot.managers(position)));
+        }
+        if (!employeeRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        return Optional.of(findViews(employeeRepository.findAncestorIds(id).stream().mapToLong(Long::longValue).toArray()));
+    }
+
+    /**
+     * Get the span of control of an employee.
+     *
+     * @param id the id of the employee.
+     * @return the span of control, or empty if the employee doesn't exist.
+     */
+    public Optional<SpanOfControlDTO> getSpanOfControl(Long id) {
+        LOG.debug("Request to get the span of control of Employee : {}", id);
+        if (indexEnabled) {
+            OrgChartIndex.Snapshot snapshot = snapshot();
+            int position = snapshot.position(id);
+            if (position == -1) {
+                return Optional.empty();
+            }
+            return Optional.of(
+                new SpanOfControlDTO(id, snapshot.directReports(position), snapshot.totalReports(position), snapshot.depth(position))
+            );
+        }
+        if (!employeeRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        long directReports = employeeRepository.countByManagerId(id);
+        return Optional.of(new SpanOfControlDTO(id, directReports, employeeRepository.countSubtree(id), employeeRepository.findDepth(id)));
+    }
+
+    /**
+     * Drop the index after employees were written without Hibernate, it is loaded again by the next query.
+     */
+    public void invalidate() {
+        LOG.debug("Request to invalidate the org chart index");
+        index.invalidate();
+    }
+
+    @Override
+    protected void onCommitted(Employee employee) {
+        Long managerId = idOf(employee.getManager(), Employee::getId);
+        index.put(employee.getId(), managerId == null ? OrgChartIndex.NO_MANAGER : managerId);
+    }
+
+    @Override
+    protected void onDeleted(Object id) {
+        index.remove((Long) id);
+    }
+
+    /**
+     * Each query reads a single snapshot: a write committed meanwhile drops the snapshot, and the next one may no
+     * longer know the employee.
+     */
+    private OrgChartIndex.Snapshot snapshot() {
+        return index.snapshot(() -> load(employeeRepository::findAllManagerLinks));
+    }
+
+    private List<EmployeeView> findViews(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Long, EmployeeView> views = employeeRepository
+            .findAllViewsByIdIn(Arrays.stream(ids).boxed().toList())
+            .stream()
+            .collect(Collectors.toMap(EmployeeView::id, Function.identity()));
+        return Arrays.stream(ids).mapToObj(views::get).filter(Objects::nonNull).toList();
+    }
+}
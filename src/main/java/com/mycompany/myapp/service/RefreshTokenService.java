@@ -0,0 +1,222 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.RefreshTokenRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.repository.projection.RefreshToken;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service issuing and exchanging the refresh tokens, which renew the access tokens without the password of the user.
+ * <p>
+ * A refresh token is a random value, only its SHA-256 hash is stored. It can be exchanged once, for a new access token
+ * and a new refresh token of the same family. Presenting an exchanged token again means that it was stolen, or that the
+ * legitimate client is replaying it: the whole family is revoked and the user has to log in again.
+ * <p>
+ * There is no grace period for a concurrent exchange: the clients sharing a refresh token, like the tabs of a browser
+ * sharing its storage, have to serialize their exchanges and use the tokens of the first one. The web application does
+ * so with a lock of the Web Locks API.
+ * <p>
+ * The tokens rejected once are remembered until they expire, so that a client insisting with a revoked token is
+ * rejected without reading the database.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private static final int MAX_REJECTED_TOKENS = 10000;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final ApplicationProperties.Security.RefreshToken properties;
+
+    private final Clock clock;
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * The hashes of the tokens rejected once, with their expiry date.
+     */
+    private final Map<String, Instant> rejectedTokens = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RefreshTokenService(
+        RefreshTokenRepository refreshTokenRepository,
+        UserRepository userRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this(refreshTokenRepository, userRepository, applicationProperties.getSecurity().getRefreshToken(), Clock.systemUTC());
+    }
+
+    RefreshTokenService(
+        RefreshTokenRepository refreshTokenRepository,
+        UserRepository userRepository,
+        ApplicationProperties.Security.RefreshToken properties,
+        Clock clock
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if the access tokens come with a refresh token.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Issue the first refresh token of a login.
+     *
+     * @param userId the id of the user who logged in.
+     * @param rememberMe whether the login asked to be remembered.
+     * @return the refresh token.
+     */
+    public String issue(Long userId, boolean rememberMe) {
+        return issue(UUID.randomUUID(), userId, rememberMe, clock.instant());
+    }
+
+    private String issue(UUID family, Long userId, boolean rememberMe, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant expiresAt = now.plus(rememberMe ? properties.getRememberMeValidity() : properties.getValidity());
+        refreshTokenRepository.insert(new RefreshToken(hash(token), family, userId, rememberMe, now, expiresAt, null));
+        return token;
+    }
+
+    /**
+     * Exchange a refresh token for a new one.
+     *
+     * @param token the refresh token.
+     * @return the user, with his current authorities, and the new refresh token; empty if the token isn't valid.
+     */
+    public Optional<Exchange> exchange(String token) {
+        Instant now = clock.instant();
+        String tokenHash = hash(token);
+        if (rejectedTokens.containsKey(tokenHash)) {
+            return Optional.empty();
+        }
+        Optional<RefreshToken> found = refreshTokenRepository.findOneByTokenHash(tokenHash);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        RefreshToken refreshToken = found.orElseThrow();
+        if (refreshToken.revokedAt() != null) {
+            LOG.warn("Exchanged refresh token of user {} presented again, revoking its family", refreshToken.userId());
+            revokeFamily(refreshToken, now);
+            return Optional.empty();
+        }
+        if (!now.isBefore(refreshToken.expiresAt())) {
+            reject(refreshToken);
+            return Optional.empty();
+        }
+        if (!refreshTokenRepository.revoke(tokenHash, now)) {
+            // Exchanged concurrently
+            return Optional.empty();
+        }
+        return userRepository
+            .findOneWithAuthoritiesById(refreshToken.userId())
+            .filter(User::isActivated)
+            .map(user ->
+                new Exchange(
+                    user,
+                    issue(refreshToken.family(), refreshToken.userId(), refreshToken.rememberMe(), now),
+                    refreshToken.rememberMe()
+                )
+            );
+    }
+
+    /**
+     * Revoke the family of a refresh token, on logout.
+     *
+     * @param token the refresh token.
+     */
+    public void revoke(String token) {
+        refreshTokenRepository.findOneByTokenHash(hash(token)).ifPresent(refreshToken -> revokeFamily(refreshToken, clock.instant()));
+    }
+
+    /**
+     * Revoke all the refresh tokens of a user, when his password changes.
+     *
+     * @param userId the id of the user.
+     */
+    public void revokeAll(Long userId) {
+        int revoked = refreshTokenRepository.revokeAllByUserId(userId, clock.instant());
+        LOG.debug("Revoked {} refresh tokens of user {}", revoked, userId);
+    }
+
+    private void revokeFamily(RefreshToken refreshToken, Instant now) {
+        refreshTokenRepository.revokeFamily(refreshToken.family(), now);
+        reject(refreshToken);
+    }
+
+    private void reject(RefreshToken refreshToken) {
+        if (rejectedTokens.size() < MAX_REJECTED_TOKENS) {
+            rejectedTokens.put(refreshToken.tokenHash(), refreshToken.expiresAt());
+        }
+    }
+
+    /**
+     * Expired refresh tokens are deleted every hour.
+     */
+    @Scheduled(cron = "0 45 * * * ?")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purge() {
+        Instant now = clock.instant();
+        rejectedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        long total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteBatchExpiredBefore(now, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        LOG.debug("Purged {} expired refresh tokens", total);
+    }
+
+    static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The result of the exchange of a refresh token.
+     *
+     * @param user the user of the token, with his current authorities.
+     * @param refreshToken the new refresh token.
+     * @param rememberMe whether the login asked to be remembered.
+     */
+    public record Exchange(User user, String refreshToken, boolean rememberMe) {}
+}
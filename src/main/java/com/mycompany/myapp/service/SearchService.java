@@ -0,0 +1,135 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Task;
+import com.mycompany.myapp.repository.DepartmentRepository;
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.repository.JobRepository;
+import com.mycompany.myapp.repository.TaskRepository;
+import com.mycompany.myapp.repository.projection.DepartmentView;
+import com.mycompany.myapp.repository.projection.EmployeeView;
+import com.mycompany.myapp.repository.projection.JobView;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for searching employees, jobs, tasks and departments with the full-text search of Postgres.
+ * <p>
+ * Queries use the web search syntax: words, {@code "quoted phrases"}, {@code or} and {@code -excluded} words. Results are
+ * ranked by relevance, the names and titles weighing more than the emails and descriptions.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchService.class);
+
+    static final int MAX_TYPEAHEAD_SIZE = 50;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final JobRepository jobRepository;
+
+    private final TaskRepository taskRepository;
+
+    private final DepartmentRepository departmentRepository;
+
+    public SearchService(
+        EmployeeRepository employeeRepository,
+        JobRepository jobRepository,
+        TaskRepository taskRepository,
+        DepartmentRepository departmentRepository
+    ) {
+        this.employeeRepository = employeeRepository;
+        this.jobRepository = jobRepository;
+        this.taskRepository = taskRepository;
+        this.departmentRepository = departmentRepository;
+    }
+
+    public Page<EmployeeView> searchEmployees(String query, Pageable pageable) {
+        LOG.debug("Request to search for a page of Employees for query {}", query);
+        if (query.isBlank()) {
+            return Page.empty(pageable);
+        }
+        return load(employeeRepository.searchIds(query, unsorted(pageable)), employeeRepository::findAllViewsByIdIn, EmployeeView::id);
+    }
+
+    public Page<JobView> searchJobs(String query, Pageable pageable) {
+        LOG.debug("Request to search for a page of Jobs for query {}", query);
+        if (query.isBlank()) {
+            return Page.empty(pageable);
+        }
+        return load(jobRepository.searchIds(query, unsorted(pageable)), jobRepository::findAllViewsByIdIn, JobView::id);
+    }
+
+    public Page<Task> searchTasks(String query, Pageable pageable) {
+        LOG.debug("Request to search for a page of Tasks for query {}", query);
+        if (query.isBlank()) {
+            return Page.empty(pageable);
+        }
+        return load(taskRepository.searchIds(query, unsorted(pageable)), taskRepository::findAllById, Task::getId);
+    }
+
+    public Page<DepartmentView> searchDepartments(String query, Pageable pageable) {
+        LOG.debug("Request to search for a page of Departments for query {}", query);
+        if (query.isBlank()) {
+            return Page.empty(pageable);
+        }
+        return load(
+            departmentRepository.searchIds(query, unsorted(pageable)),
+            departmentRepository::findAllViewsByIdIn,
+            DepartmentView::id
+        );
+    }
+
+    /**
+     * Find the employees whose name or email contains some text, for typeahead.
+     *
+     * @param text the text typed so far.
+     * @param size the maximum number of employees, at most {@value #MAX_TYPEAHEAD_SIZE}.
+     * @return the employees, the closest matches first.
+     */
+    public List<EmployeeView> typeaheadEmployees(String text, int size) {
+        LOG.debug("Request to get the Employees matching {}", text);
+        String trimmed = text.trim();
+        if (trimmed.isEmpty() || size <= 0) {
+            return List.of();
+        }
+        String pattern = "%" + escapeLike(trimmed) + "%";
+        List<Long> ids = employeeRepository.findTypeaheadIds(trimmed, pattern, Math.min(size, MAX_TYPEAHEAD_SIZE));
+        return inOrder(ids, employeeRepository::findAllViewsByIdIn, EmployeeView::id);
+    }
+
+    private static <T> Page<T> load(Page<Long> ids, Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        return new PageImpl<>(inOrder(ids.getContent(), loader, idOf), ids.getPageable(), ids.getTotalElements());
+    }
+
+    private static <T> List<T> inOrder(List<Long> ids, Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, T> items = loader.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream().map(items::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * The results are ordered by rank, drop the sort of the request.
+     */
+    private static Pageable unsorted(Pageable pageable) {
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : Pageable.unpaged();
+    }
+
+    static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,70 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.repository.projection.ChangeRecord;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing a page of the entity change feed.
+ */
+public class ChangeFeedDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<ChangeRecord> changes = new ArrayList<>();
+
+    private String cursor;
+
+    private boolean hasMore;
+
+    public ChangeFeedDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ChangeFeedDTO(List<ChangeRecord> changes, String cursor, boolean hasMore) {
+        this.changes = changes;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<ChangeRecord> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ChangeRecord> changes) {
+        this.changes = changes;
+    }
+
+    /**
+     * @return the cursor to read the next changes with.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * @return whether more changes can be read right away.
+     */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ChangeFeedDTO{" +
+            "changes=" + changes.size() +
+            ", cursor='" + cursor + "'" +
+            ", hasMore=" + hasMore +
+            "}";
+    }
+}
@@ -0,0 +1,132 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a CSV import.
+ */
+public class ImportReportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<TableReport> tables = new ArrayList<>();
+
+    private List<String> errors = new ArrayList<>();
+
+    private long errorCount;
+
+    private long durationMillis;
+
+    public List<TableReport> getTables() {
+        return tables;
+    }
+
+    public void setTables(List<TableReport> tables) {
+        this.tables = tables;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(long errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImportReportDTO{" +
+            "tables=" + tables +
+            ", errorCount=" + errorCount +
+            ", durationMillis=" + durationMillis +
+            "}";
+    }
+
+    /**
+     * The outcome of the import of one table.
+     */
+    public static class TableReport implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String table;
+
+        private long importedRows;
+
+        private long rejectedRows;
+
+        private long durationMillis;
+
+        private long rowsPerSecond;
+
+        public String getTable() {
+            return table;
+        }
+
+        public void setTable(String table) {
+            this.table = table;
+        }
+
+        public long getImportedRows() {
+            return importedRows;
+        }
+
+        public void setImportedRows(long importedRows) {
+            this.importedRows = importedRows;
+        }
+
+        public long getRejectedRows() {
+            return rejectedRows;
+        }
+
+        public void setRejectedRows(long rejectedRows) {
+            this.rejectedRows = rejectedRows;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public void setDurationMillis(long durationMillis) {
+            this.durationMillis = durationMillis;
+        }
+
+        public long getRowsPerSecond() {
+            return rowsPerSecond;
+        }
+
+        public void setRowsPerSecond(long rowsPerSecond) {
+            this.rowsPerSecond = rowsPerSecond;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "TableReport{" +
+                "table='" + table + "'" +
+                ", importedRows=" + importedRows +
+                ", rejectedRows=" + rejectedRows +
+                ", rowsPerSecond=" + rowsPerSecond +
+                "}";
+        }
+    }
+}
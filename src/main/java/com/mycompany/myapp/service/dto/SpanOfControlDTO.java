@@ -0,0 +1,73 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the span of control of an employee in the org chart.
+ */
+public class SpanOfControlDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long employeeId;
+
+    private long directReports;
+
+    private long totalReports;
+
+    private int depth;
+
+    public SpanOfControlDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SpanOfControlDTO(Long employeeId, long directReports, long totalReports, int depth) {
+        this.employeeId = employeeId;
+        this.directReports = directReports;
+        this.totalReports = totalReports;
+        this.depth = depth;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public long getDirectReports() {
+        return directReports;
+    }
+
+    public void setDirectReports(long directReports) {
+        this.directReports = directReports;
+    }
+
+    public long getTotalReports() {
+        return totalReports;
+    }
+
+    public void setTotalReports(long totalReports) {
+        this.totalReports = totalReports;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SpanOfControlDTO{" +
+            "employeeId=" + employeeId +
+            ", directReports=" + directReports +
+            ", totalReports=" + totalReports +
+            ", depth=" + depth +
+            "}";
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Optional;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +46,9 @@ public class CountryServiceImpl implements CountryService {
         return countryRepository
             .findById(country.getId())
             .map(existingCountry -> {
+                if (country.getVersion() != null && !country.getVersion().equals(existingCountry.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Country.class, country.getId());
+                }
                 if (country.getCountryName() != null) {
                     existingCountry.setCountryName(country.getCountryName());
                 }
@@ -2,12 +2,13 @@ package com.mycompany.myapp.service.impl;
 
 import com.mycompany.myapp.domain.Department;
 import com.mycompany.myapp.repository.DepartmentRepository;
+import com.mycompany.myapp.repository.projection.DepartmentView;
 import com.mycompany.myapp.service.DepartmentService;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +46,9 @@ public class DepartmentServiceImpl implements DepartmentService {
         return departmentRepository
             .findById(department.getId())
             .map(existingDepartment -> {
+                if (department.getVersion() != null && !department.getVersion().equals(existingDepartment.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Department.class, department.getId());
+                }
                 if (department.getDepartmentName() != null) {
                     existingDepartment.setDepartmentName(department.getDepartmentName());
                 }
@@ -56,21 +60,16 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Department> findAll() {
-        LOG.debug("Request to get all Departments");
-        return departmentRepository.findAll();
+    public List<DepartmentView> findAllViews() {
+        LOG.debug("Request to get all Department views");
+        return departmentRepository.findAllViews();
     }
 
-    /**
-     *  Get all the departments where JobHistory is {@code null}.
-     *  @return the list of entities.
-     */
+    @Override
     @Transactional(readOnly = true)
-    public List<Department> findAllWhereJobHistoryIsNull() {
-        LOG.debug("Request to get all departments where JobHistory is null");
-        return StreamSupport.stream(departmentRepository.findAll().spliterator(), false)
-            .filter(department -> department.getJobHistory() == null)
-            .toList();
+    public List<DepartmentView> findAllViewsWhereJobHistoryIsNull() {
+        LOG.debug("Request to get all Department views where JobHistory is null");
+        return departmentRepository.findAllViewsWhereJobHistoryIsNull();
     }
 
     @Override
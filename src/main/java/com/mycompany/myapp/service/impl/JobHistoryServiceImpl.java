@@ -1,13 +1,16 @@
 package com.mycompany.myapp.service.impl;
 
+import com.mycompany.myapp.aop.jdbc.UseReadPool;
 import com.mycompany.myapp.domain.JobHistory;
 import com.mycompany.myapp.repository.JobHistoryRepository;
+import com.mycompany.myapp.repository.projection.JobHistoryView;
 import com.mycompany.myapp.service.JobHistoryService;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +48,9 @@ public class JobHistoryServiceImpl implements JobHistoryService {
         return jobHistoryRepository
             .findById(jobHistory.getId())
             .map(existingJobHistory -> {
+                if (jobHistory.getVersion() != null && !jobHistory.getVersion().equals(existingJobHistory.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(JobHistory.class, jobHistory.getId());
+                }
                 if (jobHistory.getStartDate() != null) {
                     existingJobHistory.setStartDate(jobHistory.getStartDate());
                 }
@@ -61,10 +67,11 @@ public class JobHistoryServiceImpl implements JobHistoryService {
     }
 
     @Override
+    @UseReadPool
     @Transactional(readOnly = true)
-    public Page<JobHistory> findAll(Pageable pageable) {
-        LOG.debug("Request to get all JobHistories");
-        return jobHistoryRepository.findAll(pageable);
+    public Page<JobHistoryView> findAllViews(Pageable pageable) {
+        LOG.debug("Request to get all JobHistory views");
+        return jobHistoryRepository.findAllViews(pageable);
     }
 
     @Override
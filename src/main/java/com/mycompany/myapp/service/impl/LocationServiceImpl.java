@@ -2,12 +2,13 @@ package com.mycompany.myapp.service.impl;
 
 import com.mycompany.myapp.domain.Location;
 import com.mycompany.myapp.repository.LocationRepository;
+import com.mycompany.myapp.repository.projection.LocationView;
 import com.mycompany.myapp.service.LocationService;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +46,9 @@ public class LocationServiceImpl implements LocationService {
         return locationRepository
             .findById(location.getId())
             .map(existingLocation -> {
+                if (location.getVersion() != null && !location.getVersion().equals(existingLocation.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Location.class, location.getId());
+                }
                 if (location.getStreetAddress() != null) {
                     existingLocation.setStreetAddress(location.getStreetAddress());
                 }
@@ -65,21 +69,16 @@ public class LocationServiceImpl implements LocationService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Location> findAll() {
-        LOG.debug("Request to get all Locations");
-        return locationRepository.findAll();
+    public List<LocationView> findAllViews() {
+        LOG.debug("Request to get all Location views");
+        return locationRepository.findAllViews();
     }
 
-    /**
-     *  Get all the locations where Department is {@code null}.
-     *  @return the list of entities.
-     */
+    @Override
     @Transactional(readOnly = true)
-    public List<Location> findAllWhereDepartmentIsNull() {
-        LOG.debug("Request to get all locations where Department is null");
-        return StreamSupport.stream(locationRepository.findAll().spliterator(), false)
-            .filter(location -> location.getDepartment() == null)
-            .toList();
+    public List<LocationView> findAllViewsWhereDepartmentIsNull() {
+        LOG.debug("Request to get all Location views where Department is null");
+        return locationRepository.findAllViewsWhereDepartmentIsNull();
     }
 
     @Override
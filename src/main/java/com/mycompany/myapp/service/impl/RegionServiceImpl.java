@@ -8,6 +8,7 @@ import java.util.Optional;
 import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +46,9 @@ public class RegionServiceImpl implements RegionService {
         return regionRepository
             .findById(region.getId())
             .map(existingRegion -> {
+                if (region.getVersion() != null && !region.getVersion().equals(existingRegion.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Region.class, region.getId());
+                }
                 if (region.getRegionName() != null) {
                     existingRegion.setRegionName(region.getRegionName());
                 }
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -44,6 +45,9 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository
             .findById(task.getId())
             .map(existingTask -> {
+                if (task.getVersion() != null && !task.getVersion().equals(existingTask.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+                }
                 if (task.getTitle() != null) {
                     existingTask.setTitle(task.getTitle());
                 }
@@ -0,0 +1,230 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Limits the rate of the requests to the routes of {@link ApplicationProperties.RateLimit}, with one token bucket per
+ * route and per user, or per IP address for the anonymous requests.
+ * <p>
+ * The buckets are lock-free: a bucket is the time at which it will be full again, updated with a compare-and-set (the
+ * generic cell rate algorithm). The responses carry the {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset} headers, and a throttled request gets a {@code 429 (Too Many Requests)} with a
+ * {@code Retry-After} header.
+ * <p>
+ * At most {@code application.rate-limit.max-buckets} buckets are kept: beyond that, the new clients of a route share a
+ * single bucket until the periodic sweep drops the full ones.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String THROTTLED_METER_NAME = "security.rate-limit.throttled";
+    public static final String THROTTLED_METER_DESCRIPTION = "Number of requests rejected by the rate limit of a route.";
+    public static final String THROTTLED_METER_BASE_UNIT = "requests";
+    public static final String THROTTLED_METER_ROUTE_DIMENSION = "route";
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    static final String OVERFLOW_CLIENT = "overflow";
+
+    private final List<Route> routes;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final int maxBuckets;
+
+    private final LongSupplier nanoClock;
+
+    private final long sweepInterval;
+
+    private final AtomicLong nextSweep;
+
+    public RateLimitFilter(ApplicationProperties.RateLimit properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    RateLimitFilter(ApplicationProperties.RateLimit properties, MeterRegistry registry, LongSupplier nanoClock) {
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        this.routes = properties.isEnabled()
+            ? properties.getRoutes().stream().map(route -> route(route, parser, registry)).toList()
+            : List.of();
+        this.maxBuckets = properties.getMaxBuckets();
+        this.nanoClock = nanoClock;
+        // The buckets that are full again are dropped, the longest period is the longest time a bucket is needed
+        this.sweepInterval = routes.stream().mapToLong(route -> route.interval() * route.capacity()).max().orElse(0);
+        this.nextSweep = new AtomicLong(nanoClock.getAsLong() + sweepInterval);
+    }
+
+    private static Route route(ApplicationProperties.RateLimit.Route route, PathPatternParser parser, MeterRegistry registry) {
+        if (route.getCapacity() < 1) {
+            throw new IllegalArgumentException(
+                "The capacity of the rate limit route " + route.getName() + " must be at least 1, got " + route.getCapacity()
+            );
+        }
+        if (route.getPeriod() == null || route.getPeriod().isNegative() || route.getPeriod().isZero()) {
+            throw new IllegalArgumentException(
+                "The period of the rate limit route " + route.getName() + " must be positive, got " + route.getPeriod()
+            );
+        }
+        return new Route(
+            route.getName(),
+            route.getMethod(),
+            parser.parse(route.getPattern()),
+            route.getCapacity(),
+            Math.max(1, route.getPeriod().toNanos() / route.getCapacity()),
+            Counter.builder(THROTTLED_METER_NAME)
+                .baseUnit(THROTTLED_METER_BASE_UNIT)
+                .description(THROTTLED_METER_DESCRIPTION)
+                .tag(THROTTLED_METER_ROUTE_DIMENSION, route.getName())
+                .register(registry)
+        );
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        Route route = findRoute(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        sweep(now);
+        Bucket bucket = bucket(route.name() + ':' + clientKey(request), route, now);
+        long result = bucket.tryConsume(now, route.interval(), route.capacity());
+        response.setHeader(LIMIT_HEADER, String.valueOf(route.capacity()));
+        if (result > 0) {
+            long used = (result + route.interval() - 1) / route.interval();
+            response.setHeader(REMAINING_HEADER, String.valueOf(Math.max(0, route.capacity() - used)));
+            response.setHeader(RESET_HEADER, String.valueOf(toSeconds(result)));
+            filterChain.doFilter(request, response);
+            return;
+        }
+        route.throttled().increment();
+        long retryAfter = toSeconds(-result);
+        response.setHeader(REMAINING_HEADER, "0");
+        response.setHeader(RESET_HEADER, String.valueOf(retryAfter));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response
+            .getWriter()
+            .write(
+                "{\"title\":\"Too Many Requests\",\"status\":429,\"detail\":\"Rate limit of " +
+                route.capacity() +
+                " requests exceeded, retry in " +
+                retryAfter +
+                " s\"}"
+            );
+    }
+
+    private Route findRoute(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Route route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(request.getMethod())) && route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private Bucket bucket(String key, Route route, long now) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        // Many clients, e.g. spoofed addresses, share a bucket rather than growing the map without bound
+        if (buckets.size() >= maxBuckets) {
+            key = route.name() + ':' + OVERFLOW_CLIENT;
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(now));
+    }
+
+    private void sweep(long now) {
+        long next = nextSweep.get();
+        if (now - next >= 0 && nextSweep.compareAndSet(next, now + sweepInterval)) {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private record Route(String name, String method, PathPattern pattern, int capacity, long interval, Counter throttled) {}
+
+    /**
+     * Token bucket as the time at which it is full again: each request adds the interval between two tokens, and is
+     * allowed if the bucket isn't more than a full period ahead.
+     */
+    static final class Bucket {
+
+        private final AtomicLong fullAt;
+
+        Bucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        /**
+         * Take a token.
+         *
+         * @param now the current time, in nanoseconds.
+         * @param interval the time to refill one token, in nanoseconds.
+         * @param capacity the number of tokens of a full bucket.
+         * @return the time until the bucket is full again if a token was taken, else minus the time to wait for one.
+         */
+        long tryConsume(long now, long interval, int capacity) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current - now, 0) + interval;
+                long overflow = next - interval * capacity;
+                if (overflow > 0) {
+                    return -overflow;
+                }
+                if (fullAt.compareAndSet(current, now + next)) {
+                    return next;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return fullAt.get() - now <= 0;
+        }
+    }
+}
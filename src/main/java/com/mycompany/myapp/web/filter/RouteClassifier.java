@@ -0,0 +1,129 @@
+package com.mycompany.myapp.web.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Classifies the request paths between the backend, the public static assets and the client routes of the SPA.
+ * <p>
+ * The prefixes are kept in a trie built once, so a path is classified in a single scan of its characters, without
+ * regular expressions nor allocations:
+ * <ul>
+ * <li>the paths starting with {@code /api}, {@code /management} or {@code /v3/api-docs} are backend paths;</li>
+ * <li>the other paths without a period are client routes, forwarded to {@code index.html};</li>
+ * <li>the files of the {@code /app}, {@code /i18n}, {@code /content} and {@code /swagger-ui} directories, and the
+ * {@code index.html}, scripts, styles, icons and manifests at the root are static assets;</li>
+ * <li>any other file is a backend path, left to the access rules of the security configuration.</li>
+ * </ul>
+ */
+public final class RouteClassifier {
+
+    public enum Route {
+        BACKEND,
+        STATIC,
+        SPA,
+    }
+
+    private static final String[] BACKEND_PREFIXES = { "/api", "/management", "/v3/api-docs" };
+
+    private static final String[] STATIC_DIRECTORIES = { "/app/", "/i18n/", "/content/", "/swagger-ui/" };
+
+    private static final String[] ROOT_FILES = { "/index.html" };
+
+    private static final String[] ROOT_EXTENSIONS = { ".js", ".txt", ".json", ".map", ".css", ".ico", ".png", ".svg", ".webapp" };
+
+    private static final Node ROOT = new Node();
+
+    static {
+        for (String prefix : BACKEND_PREFIXES) {
+            ROOT.add(prefix, Route.BACKEND);
+        }
+        for (String directory : STATIC_DIRECTORIES) {
+            ROOT.add(directory, Route.STATIC);
+        }
+    }
+
+    private RouteClassifier() {}
+
+    public static Route classify(HttpServletRequest request) {
+        // Request URI includes the contextPath if any, removed it.
+        return classify(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    public static Route classify(String path) {
+        if (path.isEmpty() || path.charAt(0) != '/') {
+            return Route.BACKEND;
+        }
+        Node node = ROOT;
+        Route prefix = null;
+        boolean file = false;
+        boolean rootFile = true;
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (node != null) {
+                node = node.child(c);
+                if (node != null && node.route != null) {
+                    prefix = node.route;
+                    if (prefix == Route.BACKEND) {
+                        return Route.BACKEND;
+                    }
+                }
+            }
+            if (c == '.') {
+                file = true;
+            } else if (c == '/' && i > 0) {
+                rootFile = false;
+            }
+        }
+        if (!file) {
+            return Route.SPA;
+        }
+        if (prefix == Route.STATIC || (rootFile && isRootAsset(path))) {
+            return Route.STATIC;
+        }
+        return Route.BACKEND;
+    }
+
+    private static boolean isRootAsset(String path) {
+        for (String file : ROOT_FILES) {
+            if (path.equals(file)) {
+                return true;
+            }
+        }
+        for (String extension : ROOT_EXTENSIONS) {
+            if (path.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Node of the trie of the prefixes, with one child per printable ASCII character.
+     */
+    private static final class Node {
+
+        private static final char FIRST = ' ';
+
+        private static final char LAST = '~';
+
+        private final Node[] children = new Node[LAST - FIRST + 1];
+
+        private Route route;
+
+        Node child(char c) {
+            return c < FIRST || c > LAST ? null : children[c - FIRST];
+        }
+
+        void add(String prefix, Route route) {
+            Node node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                int index = prefix.charAt(i) - FIRST;
+                if (node.children[index] == null) {
+                    node.children[index] = new Node();
+                }
+                node = node.children[index];
+            }
+            node.route = route;
+        }
+    }
+}
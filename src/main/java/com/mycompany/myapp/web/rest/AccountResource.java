@@ -86,10 +86,7 @@ public class AccountResource {
      */
     @GetMapping("/account")
     public AdminUserDTO getAccount() {
-        return userService
-            .getUserWithAuthorities()
-            .map(AdminUserDTO::new)
-            .orElseThrow(() -> new AccountResourceException("User could not be found"));
+        return userService.getCurrentAccount().orElseThrow(() -> new AccountResourceException("User could not be found"));
     }
 
     /**
@@ -0,0 +1,100 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.repository.projection.JobSalaryBand;
+import com.mycompany.myapp.repository.projection.SalaryAggregate;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.AnalyticsService;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the salary and headcount analytics.
+ * <p>
+ * The aggregates are refreshed periodically, see {@code refreshedAt} in the responses for their age.
+ */
+@RestController
+@RequestMapping("/api")
+public class AnalyticsResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AnalyticsResource.class);
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsResource(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * {@code GET  /analytics/salaries} : get the salaries and headcount of the company.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the aggregates in body.
+     */
+    @GetMapping("/analytics/salaries")
+    public SalaryAggregate getCompanySalaries() {
+        LOG.debug("REST request to get the salaries of the company");
+        return analyticsService.getCompanySalaries();
+    }
+
+    /**
+     * {@code GET  /analytics/salaries/by-department} : get the salaries and headcount of each department.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of aggregates in body.
+     */
+    @GetMapping("/analytics/salaries/by-department")
+    public List<SalaryAggregate> getSalariesByDepartment() {
+        LOG.debug("REST request to get the salaries by department");
+        return analyticsService.findSalariesByDepartment();
+    }
+
+    /**
+     * {@code GET  /analytics/salaries/by-country} : get the salaries and headcount of each country, by the location of
+     * the departments.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of aggregates in body.
+     */
+    @GetMapping("/analytics/salaries/by-country")
+    public List<SalaryAggregate> getSalariesByCountry() {
+        LOG.debug("REST request to get the salaries by country");
+        return analyticsService.findSalariesByCountry();
+    }
+
+    /**
+     * {@code GET  /analytics/salaries/by-region} : get the salaries and headcount of each region, by the location of
+     * the departments.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of aggregates in body.
+     */
+    @GetMapping("/analytics/salaries/by-region")
+    public List<SalaryAggregate> getSalariesByRegion() {
+        LOG.debug("REST request to get the salaries by region");
+        return analyticsService.findSalariesByRegion();
+    }
+
+    /**
+     * {@code GET  /analytics/job-salary-bands} : get the salary band of each job title.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of bands in body.
+     */
+    @GetMapping("/analytics/job-salary-bands")
+    public List<JobSalaryBand> getJobSalaryBands() {
+        LOG.debug("REST request to get the job salary bands");
+        return analyticsService.findJobSalaryBands();
+    }
+
+    /**
+     * {@code POST  /admin/analytics/refresh} : recompute the aggregates now.
+     *
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @PostMapping("/admin/analytics/refresh")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> refresh() {
+        LOG.debug("REST request to refresh the salary aggregates");
+        analyticsService.refresh();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -4,9 +4,12 @@ import static com.mycompany.myapp.security.SecurityUtils.AUTHORITIES_CLAIM;
 import static com.mycompany.myapp.security.SecurityUtils.JWT_ALGORITHM;
 import static com.mycompany.myapp.security.SecurityUtils.USER_ID_CLAIM;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.mycompany.myapp.security.DomainUserDetailsService.UserWithId;
+import com.mycompany.myapp.service.RefreshTokenService;
 import com.mycompany.myapp.web.rest.vm.LoginVM;
+import com.mycompany.myapp.web.rest.vm.RefreshTokenVM;
 import jakarta.validation.Valid;
 import java.security.Principal;
 import java.time.Instant;
@@ -48,9 +51,16 @@ public class AuthenticateController {
 
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public AuthenticateController(JwtEncoder jwtEncoder, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final RefreshTokenService refreshTokenService;
+
+    public AuthenticateController(
+        JwtEncoder jwtEncoder,
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        RefreshTokenService refreshTokenService
+    ) {
         this.jwtEncoder = jwtEncoder;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/authenticate")
@@ -62,10 +72,49 @@ public class AuthenticateController {
 
         Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = this.createToken(authentication, loginVM.isRememberMe());
+        if (refreshTokenService.isEnabled() && authentication.getPrincipal() instanceof UserWithId user) {
+            // The access token is short-lived, remember-me extends the validity of the refresh token instead
+            String refreshToken = refreshTokenService.issue(user.getId(), loginVM.isRememberMe());
+            return tokenResponse(this.createToken(authentication, false), refreshToken);
+        }
+        return tokenResponse(this.createToken(authentication, loginVM.isRememberMe()), null);
+    }
+
+    /**
+     * {@code POST /authenticate/refresh} : exchange a refresh token for a new access token and a new refresh token,
+     * without checking the password again.
+     *
+     * @param refreshTokenVM the refresh token, which can't be exchanged again.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the tokens, or with status
+     * {@code 401 (Unauthorized)} if the refresh token is unknown, expired or revoked.
+     */
+    @PostMapping("/authenticate/refresh")
+    public ResponseEntity<JWTToken> refresh(@Valid @RequestBody RefreshTokenVM refreshTokenVM) {
+        return refreshTokenService
+            .exchange(refreshTokenVM.getRefreshToken())
+            .map(exchange -> {
+                UserWithId user = UserWithId.fromUser(exchange.user());
+                Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+                return tokenResponse(this.createToken(authentication, false), exchange.refreshToken());
+            })
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    /**
+     * {@code POST /authenticate/revoke} : revoke a refresh token and the ones exchanged for it, on logout.
+     *
+     * @param refreshTokenVM the refresh token.
+     */
+    @PostMapping("/authenticate/revoke")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void revoke(@Valid @RequestBody RefreshTokenVM refreshTokenVM) {
+        refreshTokenService.revoke(refreshTokenVM.getRefreshToken());
+    }
+
+    private static ResponseEntity<JWTToken> tokenResponse(String jwt, String refreshToken) {
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.setBearerAuth(jwt);
-        return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        return new ResponseEntity<>(new JWTToken(jwt, refreshToken), httpHeaders, HttpStatus.OK);
     }
 
     /**
@@ -112,8 +161,11 @@ public class AuthenticateController {
 
         private String idToken;
 
-        JWTToken(String idToken) {
+        private String refreshToken;
+
+        JWTToken(String idToken, String refreshToken) {
             this.idToken = idToken;
+            this.refreshToken = refreshToken;
         }
 
         @JsonProperty("id_token")
@@ -124,5 +176,15 @@ public class AuthenticateController {
         void setIdToken(String idToken) {
             this.idToken = idToken;
         }
+
+        @JsonProperty("refresh_token")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        String getRefreshToken() {
+            return refreshToken;
+        }
+
+        void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
     }
 }
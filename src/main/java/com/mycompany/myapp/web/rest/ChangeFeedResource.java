@@ -0,0 +1,92 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.service.ChangeFeedService;
+import com.mycompany.myapp.service.InvalidCursorException;
+import com.mycompany.myapp.service.dto.ChangeFeedDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for reading the changes of the entities.
+ * <p>
+ * Changes are identified by an opaque cursor; a consumer keeps the cursor of the last change it handled and reads the
+ * changes after it. Only the changes of the last {@code application.change-feed.retention} are kept.
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeFeedResource.class);
+
+    private static final String ENTITY_NAME = "changeFeed";
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedResource(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * {@code GET  /changes} : get the changes after a cursor, oldest first.
+     *
+     * @param since the cursor of the last change read, from the oldest retained change if absent.
+     * @param entities the entities to get the changes of, all of them if absent.
+     * @param limit the maximum number of changes, at most {@value ChangeFeedService#MAX_LIMIT}.
+     * @return the changes, the cursor to read the next ones with, and whether there are more.
+     */
+    @GetMapping("")
+    public ChangeFeedDTO getChanges(
+        @RequestParam(name = "since", required = false) String since,
+        @RequestParam(name = "entity", required = false, defaultValue = "") List<String> entities,
+        @RequestParam(name = "limit", defaultValue = "100") int limit
+    ) {
+        LOG.debug("REST request to get the changes since {}", since);
+        try {
+            return changeFeedService.findChanges(since, entities, limit);
+        } catch (InvalidCursorException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /changes/head} : get the cursor of the last change, to only read the changes made from now on.
+     *
+     * @return the cursor in body.
+     */
+    @GetMapping("/head")
+    public Map<String, String> getHead() {
+        LOG.debug("REST request to get the head of the change feed");
+        return Map.of("cursor", changeFeedService.getHead());
+    }
+
+    /**
+     * {@code GET  /changes/stream} : stream the changes after a cursor as server-sent events.
+     * <p>
+     * Each change is sent as a {@code change} event with its cursor as id, so that a reconnecting client resumes from the
+     * {@code Last-Event-ID} header.
+     *
+     * @param since the cursor of the last change read, from the oldest retained change if absent.
+     * @param lastEventId the cursor of the last event received before the client reconnected.
+     * @param entities the entities to stream the changes of, all of them if absent.
+     * @return the event stream.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+        @RequestParam(name = "since", required = false) String since,
+        @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+        @RequestParam(name = "entity", required = false, defaultValue = "") List<String> entities
+    ) {
+        LOG.debug("REST request to stream the changes since {}", lastEventId != null ? lastEventId : since);
+        try {
+            return changeFeedService.subscribe(lastEventId != null ? lastEventId : since, entities);
+        } catch (InvalidCursorException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+        }
+    }
+}
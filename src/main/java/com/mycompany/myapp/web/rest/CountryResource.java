@@ -12,10 +12,10 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Country}.
@@ -56,6 +56,7 @@ public class CountryResource {
         country = countryService.save(country);
         return ResponseEntity.created(new URI("/api/countries/" + country.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, country.getId().toString()))
+            .eTag(EntityTagUtil.eTag(country.getVersion()))
             .body(country);
     }
 
@@ -63,15 +64,21 @@ public class CountryResource {
      * {@code PUT  /countries/:id} : Updates an existing country.
      *
      * @param id the id of the country to save.
+     * @param ifMatch the tag of the version of the country the update is based on, if any.
      * @param country the country to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated country,
      * or with status {@code 400 (Bad Request)} if the country is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the country was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the country was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the country couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Country> updateCountry(@PathVariable(value = "id", required = false) final Long id, @RequestBody Country country)
-        throws URISyntaxException {
+    public ResponseEntity<Country> updateCountry(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody Country country
+    ) throws URISyntaxException {
         LOG.debug("REST request to update Country : {}, {}", id, country);
         if (country.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -80,30 +87,36 @@ public class CountryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!countryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = countryRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, country, version, ENTITY_NAME);
 
         country = countryService.update(country);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, country.getId().toString()))
-            .body(country);
+        return EntityTagUtil.ok(
+            country,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, country.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /countries/:id} : Partial updates given fields of an existing country, field will ignore if it is null
      *
      * @param id the id of the country to save.
+     * @param ifMatch the tag of the version of the country the update is based on, if any.
      * @param country the country to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated country,
      * or with status {@code 400 (Bad Request)} if the country is not valid,
      * or with status {@code 404 (Not Found)} if the country is not found,
+     * or with status {@code 412 (Precondition Failed)} if the country was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the country was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the country couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Country> partialUpdateCountry(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody Country country
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Country partially : {}, {}", id, country);
@@ -114,13 +127,14 @@ public class CountryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!countryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = countryRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, country, version, ENTITY_NAME);
 
         Optional<Country> result = countryService.partialUpdate(country);
 
-        return ResponseUtil.wrapOrNotFound(
+        return EntityTagUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, country.getId().toString())
         );
@@ -133,13 +147,13 @@ public class CountryResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of countries in body.
      */
     @GetMapping("")
-    public List<Country> getAllCountries(@RequestParam(name = "filter", required = false) String filter) {
+    public ResponseEntity<List<Country>> getAllCountries(@RequestParam(name = "filter", required = false) String filter) {
         if ("location-is-null".equals(filter)) {
             LOG.debug("REST request to get all Countrys where location is null");
-            return countryService.findAllWhereLocationIsNull();
+            return EntityTagUtil.ok(countryService.findAllWhereLocationIsNull(), Country::getId, Country::getVersion);
         }
         LOG.debug("REST request to get all Countries");
-        return countryService.findAll();
+        return EntityTagUtil.ok(countryService.findAll(), Country::getId, Country::getVersion);
     }
 
     /**
@@ -152,7 +166,7 @@ public class CountryResource {
     public ResponseEntity<Country> getCountry(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Country : {}", id);
         Optional<Country> country = countryService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(country);
+        return EntityTagUtil.wrapOrNotFound(country);
     }
 
     /**
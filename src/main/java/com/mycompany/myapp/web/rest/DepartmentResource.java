@@ -2,7 +2,9 @@ package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.Department;
 import com.mycompany.myapp.repository.DepartmentRepository;
+import com.mycompany.myapp.repository.projection.DepartmentView;
 import com.mycompany.myapp.service.DepartmentService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -14,10 +16,14 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Department}.
@@ -37,9 +43,16 @@ public class DepartmentResource {
 
     private final DepartmentRepository departmentRepository;
 
-    public DepartmentResource(DepartmentService departmentService, DepartmentRepository departmentRepository) {
+    private final SearchService searchService;
+
+    public DepartmentResource(
+        DepartmentService departmentService,
+        DepartmentRepository departmentRepository,
+        SearchService searchService
+    ) {
         this.departmentService = departmentService;
         this.departmentRepository = departmentRepository;
+        this.searchService = searchService;
     }
 
     /**
@@ -58,6 +71,7 @@ public class DepartmentResource {
         department = departmentService.save(department);
         return ResponseEntity.created(new URI("/api/departments/" + department.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, department.getId().toString()))
+            .eTag(EntityTagUtil.eTag(department.getVersion()))
             .body(department);
     }
 
@@ -65,15 +79,19 @@ public class DepartmentResource {
      * {@code PUT  /departments/:id} : Updates an existing department.
      *
      * @param id the id of the department to save.
+     * @param ifMatch the tag of the version of the department the update is based on, if any.
      * @param department the department to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated department,
      * or with status {@code 400 (Bad Request)} if the department is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the department was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the department was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the department couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Department> updateDepartment(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody Department department
     ) throws URISyntaxException {
         LOG.debug("REST request to update Department : {}, {}", id, department);
@@ -84,30 +102,36 @@ public class DepartmentResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!departmentRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = departmentRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, department, version, ENTITY_NAME);
 
         department = departmentService.update(department);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, department.getId().toString()))
-            .body(department);
+        return EntityTagUtil.ok(
+            department,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, department.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /departments/:id} : Partial updates given fields of an existing department, field will ignore if it is null
      *
      * @param id the id of the department to save.
+     * @param ifMatch the tag of the version of the department the update is based on, if any.
      * @param department the department to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated department,
      * or with status {@code 400 (Bad Request)} if the department is not valid,
      * or with status {@code 404 (Not Found)} if the department is not found,
+     * or with status {@code 412 (Precondition Failed)} if the department was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the department was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the department couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Department> partialUpdateDepartment(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Department department
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Department partially : {}, {}", id, department);
@@ -118,13 +142,14 @@ public class DepartmentResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!departmentRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = departmentRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, department, version, ENTITY_NAME);
 
         Optional<Department> result = departmentService.partialUpdate(department);
 
-        return ResponseUtil.wrapOrNotFound(
+        return EntityTagUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, department.getId().toString())
         );
@@ -137,13 +162,32 @@ public class DepartmentResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of departments in body.
      */
     @GetMapping("")
-    public List<Department> getAllDepartments(@RequestParam(name = "filter", required = false) String filter) {
+    public ResponseEntity<List<DepartmentView>> getAllDepartments(@RequestParam(name = "filter", required = false) String filter) {
         if ("jobhistory-is-null".equals(filter)) {
             LOG.debug("REST request to get all Departments where jobHistory is null");
-            return departmentService.findAllWhereJobHistoryIsNull();
+            return EntityTagUtil.ok(departmentService.findAllViewsWhereJobHistoryIsNull(), DepartmentView::id, DepartmentView::version);
         }
         LOG.debug("REST request to get all Departments");
-        return departmentService.findAll();
+        return EntityTagUtil.ok(departmentService.findAllViews(), DepartmentView::id, DepartmentView::version);
+    }
+
+    /**
+     * {@code SEARCH  /departments/_search?query=:query} : search for the departments corresponding
+     * to the query.
+     *
+     * @param query the query of the department search, in web search syntax.
+     * @param pageable the pagination information.
+     * @return the result of the search, best ranked first.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<DepartmentView>> searchDepartments(
+        @RequestParam("query") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to search for a page of Departments for query {}", query);
+        Page<DepartmentView> page = searchService.searchDepartments(query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
@@ -156,7 +200,7 @@ public class DepartmentResource {
     public ResponseEntity<Department> getDepartment(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Department : {}", id);
         Optional<Department> department = departmentService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(department);
+        return EntityTagUtil.wrapOrNotFound(department);
     }
 
     /**
@@ -1,22 +1,34 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.aop.jdbc.UseReadPool;
 import com.mycompany.myapp.domain.Employee;
 import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.repository.projection.EmployeeView;
+import com.mycompany.myapp.service.BulkService;
+import com.mycompany.myapp.service.ExportService;
+import com.mycompany.myapp.service.OrgChartService;
+import com.mycompany.myapp.service.SearchService;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO;
+import com.mycompany.myapp.service.dto.SpanOfControlDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -41,8 +53,26 @@ public class EmployeeResource {
 
     private final EmployeeRepository employeeRepository;
 
-    public EmployeeResource(EmployeeRepository employeeRepository) {
+    private final BulkService bulkService;
+
+    private final ExportService exportService;
+
+    private final OrgChartService orgChartService;
+
+    private final SearchService searchService;
+
+    public EmployeeResource(
+        EmployeeRepository employeeRepository,
+        BulkService bulkService,
+        ExportService exportService,
+        OrgChartService orgChartService,
+        SearchService searchService
+    ) {
         this.employeeRepository = employeeRepository;
+        this.bulkService = bulkService;
+        this.exportService = exportService;
+        this.orgChartService = orgChartService;
+        this.searchService = searchService;
     }
 
     /**
@@ -61,6 +91,7 @@ public class EmployeeResource {
         employee = employeeRepository.save(employee);
         return ResponseEntity.created(new URI("/api/employees/" + employee.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, employee.getId().toString()))
+            .eTag(EntityTagUtil.eTag(employee.getVersion()))
             .body(employee);
     }
 
@@ -68,15 +99,19 @@ public class EmployeeResource {
      * {@code PUT  /employees/:id} : Updates an existing employee.
      *
      * @param id the id of the employee to save.
+     * @param ifMatch the tag of the version of the employee the update is based on, if any.
      * @param employee the employee to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employee,
      * or with status {@code 400 (Bad Request)} if the employee is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the employee was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the employee was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the employee couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Employee> updateEmployee(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody Employee employee
     ) throws URISyntaxException {
         LOG.debug("REST request to update Employee : {}, {}", id, employee);
@@ -87,30 +122,37 @@ public class EmployeeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!employeeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = employeeRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, employee, version, ENTITY_NAME);
 
-        employee = employeeRepository.save(employee);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employee.getId().toString()))
-            .body(employee);
+        // Flushed for the new version to be known before the commit
+        employee = employeeRepository.saveAndFlush(employee);
+        return EntityTagUtil.ok(
+            employee,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employee.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /employees/:id} : Partial updates given fields of an existing employee, field will ignore if it is null
      *
      * @param id the id of the employee to save.
+     * @param ifMatch the tag of the version of the employee the update is based on, if any.
      * @param employee the employee to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employee,
      * or with status {@code 400 (Bad Request)} if the employee is not valid,
      * or with status {@code 404 (Not Found)} if the employee is not found,
+     * or with status {@code 412 (Precondition Failed)} if the employee was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the employee was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the employee couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Employee> partialUpdateEmployee(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody Employee employee
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Employee partially : {}, {}", id, employee);
@@ -121,13 +163,17 @@ public class EmployeeResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!employeeRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = employeeRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, employee, version, ENTITY_NAME);
 
         Optional<Employee> result = employeeRepository
             .findById(employee.getId())
             .map(existingEmployee -> {
+                if (employee.getVersion() != null && !employee.getVersion().equals(existingEmployee.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getId());
+                }
                 if (employee.getFirstName() != null) {
                     existingEmployee.setFirstName(employee.getFirstName());
                 }
@@ -152,14 +198,85 @@ public class EmployeeResource {
 
                 return existingEmployee;
             })
-            .map(employeeRepository::save);
+            .map(employeeRepository::saveAndFlush);
 
-        return ResponseUtil.wrapOrNotFound(
+        return EntityTagUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employee.getId().toString())
         );
     }
 
+    /**
+     * {@code POST  /employees/bulk} : Create new employees in bulk.
+     * <p>
+     * The body is either a JSON array or newline-delimited JSON ({@code application/x-ndjson}). Items are written in chunks,
+     * one transaction per chunk.
+     *
+     * @param body the employees to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> createEmployees(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk create Employees");
+        return ResponseEntity.ok(
+            bulkService.create(bulkService.readItems(body, Employee.class), employeeRepository, Employee::getId, Employee::setId)
+        );
+    }
+
+    /**
+     * {@code PUT  /employees/bulk} : Updates existing employees in bulk.
+     *
+     * @param body the employees to update, as a JSON array or newline-delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @PutMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> updateEmployees(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk update Employees");
+        return ResponseEntity.ok(bulkService.update(bulkService.readItems(body, Employee.class), employeeRepository, Employee::getId));
+    }
+
+    /**
+     * {@code DELETE  /employees/bulk} : delete employees in bulk.
+     *
+     * @param body the ids of the employees to delete, as a JSON array or newline-delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> deleteEmployees(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk delete Employees");
+        return ResponseEntity.ok(bulkService.delete(bulkService.readItems(body, Long.class), employeeRepository, Employee::getId));
+    }
+
+    /**
+     * {@code GET  /employees/export} : export all the employees.
+     * <p>
+     * The rows are streamed from the database to the response, gzip-compressed if the client accepts it.
+     *
+     * @param format the export format, {@code csv} or {@code ndjson}.
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request.
+     * @param response the response to write the export to.
+     * @throws IOException if the response can't be written.
+     */
+    @GetMapping("/export")
+    @Transactional(readOnly = true)
+    public void exportEmployees(
+        @RequestParam(name = "format", defaultValue = "csv") String format,
+        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        HttpServletResponse response
+    ) throws IOException {
+        LOG.debug("REST request to export Employees as {}", format);
+        ExportService.Format exportFormat = ExportResponseUtil.parseFormat(format, ENTITY_NAME);
+        ExportResponseUtil.write(response, acceptEncoding, exportFormat, "employees", out ->
+            exportService.exportEmployees(out, exportFormat)
+        );
+    }
+
     /**
      * {@code GET  /employees} : get all the employees.
      *
@@ -168,25 +285,57 @@ public class EmployeeResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<Employee>> getAllEmployees(
+    @UseReadPool
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EmployeeView>> getAllEmployees(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
         @RequestParam(name = "filter", required = false) String filter
     ) {
         if ("jobhistory-is-null".equals(filter)) {
             LOG.debug("REST request to get all Employees where jobHistory is null");
-            return new ResponseEntity<>(
-                StreamSupport.stream(employeeRepository.findAll().spliterator(), false)
-                    .filter(employee -> employee.getJobHistory() == null)
-                    .toList(),
-                HttpStatus.OK
-            );
+            return EntityTagUtil.ok(employeeRepository.findAllViewsWhereJobHistoryIsNull(), EmployeeView::id, EmployeeView::version);
         }
         LOG.debug("REST request to get a page of Employees");
-        Page<Employee> page = employeeRepository.findAll(pageable);
+        Page<EmployeeView> page = employeeRepository.findAllViews(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return EntityTagUtil.ok(page, EmployeeView::id, EmployeeView::version, headers);
+    }
+
+    /**
+     * {@code SEARCH  /employees/_search?query=:query} : search for the employees corresponding
+     * to the query.
+     *
+     * @param query the query of the employee search, in web search syntax.
+     * @param pageable the pagination information.
+     * @return the result of the search, best ranked first.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<EmployeeView>> searchEmployees(
+        @RequestParam("query") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to search for a page of Employees for query {}", query);
+        Page<EmployeeView> page = searchService.searchEmployees(query, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /employees/_typeahead?query=:query} : get the employees whose name or email contains some text.
+     *
+     * @param query the text typed so far.
+     * @param size the maximum number of employees, at most 50.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body, the closest matches first.
+     */
+    @GetMapping("/_typeahead")
+    public List<EmployeeView> typeaheadEmployees(
+        @RequestParam("query") String query,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        LOG.debug("REST request to get the Employees matching {}", query);
+        return searchService.typeaheadEmployees(query, size);
+    }
+
     /**
      * {@code GET  /employees/:id} : get the "id" employee.
      *
@@ -197,7 +346,58 @@ public class EmployeeResource {
     public ResponseEntity<Employee> getEmployee(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Employee : {}", id);
         Optional<Employee> employee = employeeRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(employee);
+        return EntityTagUtil.wrapOrNotFound(employee);
+    }
+
+    /**
+     * {@code GET  /employees/:id/reports} : get the reports of the "id" employee.
+     *
+     * @param id the id of the manager.
+     * @param direct whether to only get the direct reports, by default all the reports are returned depth-first.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of reports in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/reports")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EmployeeView>> getReports(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "direct", defaultValue = "false") boolean direct,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get the reports of Employee : {}", id);
+        return orgChartService
+            .findReports(id, direct, pageable)
+            .map(page -> {
+                HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+                return ResponseEntity.ok().headers(headers).body(page.getContent());
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code GET  /employees/:id/reporting-chain} : get the managers of the "id" employee.
+     *
+     * @param id the id of the employee.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the managers from the direct manager to the top, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/reporting-chain")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EmployeeView>> getReportingChain(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the reporting chain of Employee : {}", id);
+        return ResponseUtil.wrapOrNotFound(orgChartService.findReportingChain(id));
+    }
+
+    /**
+     * {@code GET  /employees/:id/span-of-control} : get the span of control of the "id" employee.
+     *
+     * @param id the id of the employee.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the span of control, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/span-of-control")
+    @Transactional(readOnly = true)
+    public ResponseEntity<SpanOfControlDTO> getSpanOfControl(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the span of control of Employee : {}", id);
+        return ResponseUtil.wrapOrNotFound(orgChartService.getSpanOfControl(id));
     }
 
     /**
@@ -0,0 +1,149 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.domain.AbstractVersionedEntity;
+import com.mycompany.myapp.web.rest.errors.PreconditionFailedAlertException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Utility class for the entity tags of the {@link AbstractVersionedEntity versioned entities}.
+ * <p>
+ * The tag of an entity is its version: it changes with every update of the row, including its references to other
+ * entities, but not with the state of the referenced entities embedded in the body. The tag of a list is a hash of the
+ * ids and versions of its items. Spring MVC answers a {@code GET} with {@code 304 (Not Modified)}, without writing the
+ * body, when the tag of the response matches the {@code If-None-Match} header.
+ */
+final class EntityTagUtil {
+
+    // Clients may keep the responses, but must revalidate them before use
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private EntityTagUtil() {}
+
+    /**
+     * @return the strong entity tag of a version.
+     */
+    static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Wrap an entity into a {@code 200 (OK)} response with its entity tag and last modified date.
+     *
+     * @param entity the entity.
+     * @param headers additional headers, may be {@code null}.
+     * @return the response.
+     */
+    static <T extends AbstractVersionedEntity> ResponseEntity<T> ok(T entity, HttpHeaders headers) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .headers(headers)
+            .eTag(eTag(entity.getVersion()))
+            .cacheControl(CACHE_CONTROL);
+        if (entity.getLastModifiedDate() != null) {
+            builder.lastModified(entity.getLastModifiedDate());
+        }
+        return builder.body(entity);
+    }
+
+    /**
+     * Wrap an optional entity into a {@code 200 (OK)} response with its entity tag, or a {@code 404 (Not Found)}.
+     *
+     * @param entity the entity, if found.
+     * @param headers additional headers of the {@code 200 (OK)} response, may be {@code null}.
+     * @return the response.
+     */
+    static <T extends AbstractVersionedEntity> ResponseEntity<T> wrapOrNotFound(Optional<T> entity, HttpHeaders headers) {
+        return entity.map(value -> ok(value, headers)).orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    static <T extends AbstractVersionedEntity> ResponseEntity<T> wrapOrNotFound(Optional<T> entity) {
+        return wrapOrNotFound(entity, null);
+    }
+
+    /**
+     * Wrap a list into a {@code 200 (OK)} response with an entity tag made of the ids and versions of its items.
+     *
+     * @param items the items.
+     * @param id the id of an item.
+     * @param version the version of an item.
+     * @param headers additional headers, may be {@code null}.
+     * @return the response.
+     */
+    static <T> ResponseEntity<List<T>> ok(List<T> items, ToLongFunction<T> id, ToLongFunction<T> version, HttpHeaders headers) {
+        return ResponseEntity.ok().headers(headers).eTag(listTag(0, items, id, version)).cacheControl(CACHE_CONTROL).body(items);
+    }
+
+    static <T> ResponseEntity<List<T>> ok(List<T> items, ToLongFunction<T> id, ToLongFunction<T> version) {
+        return ok(items, id, version, null);
+    }
+
+    /**
+     * Wrap a page into a {@code 200 (OK)} response with an entity tag made of the total number of items, and the ids and
+     * versions of the items of the page.
+     *
+     * @param page the page.
+     * @param id the id of an item.
+     * @param version the version of an item.
+     * @param headers the pagination headers.
+     * @return the response.
+     */
+    static <T> ResponseEntity<List<T>> ok(Page<T> page, ToLongFunction<T> id, ToLongFunction<T> version, HttpHeaders headers) {
+        return ResponseEntity.ok()
+            .headers(headers)
+            .eTag(listTag(page.getTotalElements(), page.getContent(), id, version))
+            .cacheControl(CACHE_CONTROL)
+            .body(page.getContent());
+    }
+
+    /**
+     * Check the {@code If-Match} precondition of an update, and set the version the update is based on: the current
+     * version if the precondition holds, else the version in the body. Without either, the update is based on the
+     * current version.
+     *
+     * @param ifMatch the {@code If-Match} header of the request, may be {@code null}.
+     * @param entity the entity of the request body.
+     * @param currentVersion the current version of the entity.
+     * @param entityName the name of the entity, for the error message.
+     * @throws PreconditionFailedAlertException if the {@code If-Match} header doesn't match the current version.
+     */
+    static void checkIfMatch(String ifMatch, AbstractVersionedEntity entity, long currentVersion, String entityName) {
+        if (ifMatch != null) {
+            if (!matches(ifMatch, currentVersion)) {
+                throw new PreconditionFailedAlertException("Entity was modified", entityName, "versionmismatch");
+            }
+            entity.setVersion(currentVersion);
+        } else if (entity.getVersion() == null) {
+            entity.setVersion(currentVersion);
+        }
+    }
+
+    private static boolean matches(String ifMatch, long currentVersion) {
+        String current = eTag(currentVersion);
+        for (String tag : ifMatch.split(",")) {
+            // Strong comparison, a weak tag never matches
+            String trimmed = tag.trim();
+            if (trimmed.equals("*") || trimmed.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> String listTag(long seed, List<T> items, ToLongFunction<T> id, ToLongFunction<T> version) {
+        long hash = seed;
+        for (T item : items) {
+            hash = (hash ^ id.applyAsLong(item)) * HASH_MULTIPLIER;
+            hash = (hash ^ version.applyAsLong(item)) * HASH_MULTIPLIER;
+            hash ^= hash >>> 29;
+        }
+        return "\"" + items.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+}
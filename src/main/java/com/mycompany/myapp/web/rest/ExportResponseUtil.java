@@ -0,0 +1,87 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.service.ExportService;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Utility class for writing streamed exports to the HTTP response.
+ */
+final class ExportResponseUtil {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private ExportResponseUtil() {}
+
+    /**
+     * An export writing to an output stream.
+     */
+    @FunctionalInterface
+    interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Parse the {@code format} request parameter.
+     *
+     * @param format the format name, case insensitive.
+     * @param entityName the name of the exported entity, for the error message.
+     * @return the export format.
+     * @throws BadRequestAlertException if the format is unknown.
+     */
+    static ExportService.Format parseFormat(String format, String entityName) {
+        try {
+            return ExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unknown export format", entityName, "formatinvalid");
+        }
+    }
+
+    /**
+     * Write an export as a file attachment, gzip-compressed if the client accepts it.
+     *
+     * @param response the response to write to.
+     * @param acceptEncoding the {@code Accept-Encoding} request header, may be {@code null}.
+     * @param format the export format.
+     * @param fileName the file name, without extension.
+     * @param export the export.
+     * @throws IOException if the response can't be written.
+     */
+    static void write(HttpServletResponse response, String acceptEncoding, ExportService.Format format, String fileName, Export export)
+        throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(fileName + "." + format.getExtension()).build().toString()
+        );
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(acceptEncoding)) {
+            export.writeTo(response.getOutputStream());
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+        export.writeTo(gzip);
+        gzip.finish();
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
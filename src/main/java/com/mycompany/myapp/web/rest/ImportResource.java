@@ -0,0 +1,64 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.ImportService;
+import com.mycompany.myapp.service.InvalidImportException;
+import com.mycompany.myapp.service.dto.ImportReportDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * REST controller for importing CSV files in the format of the Liquibase fake-data files.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class ImportResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImportResource.class);
+
+    private static final String ENTITY_NAME = "import";
+
+    private final ImportService importService;
+
+    public ImportResource(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * {@code POST  /admin/import} : Import CSV files.
+     * <p>
+     * Each part of the multipart request is a CSV file, named after its table: {@code department}, {@code employee},
+     * {@code job} or {@code job_history}.
+     *
+     * @param files the CSV files, by table name.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import report,
+     * or with status {@code 400 (Bad Request)} if a file can't be imported.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<ImportReportDTO> importTables(@RequestParam Map<String, MultipartFile> files) {
+        LOG.debug("REST request to import : {}", files.keySet());
+        Map<ImportService.Table, MultipartFile> sources = new EnumMap<>(ImportService.Table.class);
+        files.forEach((name, file) ->
+            sources.put(
+                ImportService.Table.fromTableName(name).orElseThrow(() ->
+                    new BadRequestAlertException("Unknown table " + name, ENTITY_NAME, "tableinvalid")
+                ),
+                file
+            )
+        );
+        try {
+            return ResponseEntity.ok(importService.importTables(sources));
+        } catch (InvalidImportException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importinvalid");
+        }
+    }
+}
@@ -2,10 +2,19 @@ package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.JobHistory;
 import com.mycompany.myapp.repository.JobHistoryRepository;
+import com.mycompany.myapp.repository.projection.JobHistoryView;
+import com.mycompany.myapp.service.BulkService;
+import com.mycompany.myapp.service.ExportService;
+import com.mycompany.myapp.service.JobHistoryPeriodService;
 import com.mycompany.myapp.service.JobHistoryService;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -15,12 +24,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.JobHistory}.
@@ -40,9 +49,24 @@ public class JobHistoryResource {
 
     private final JobHistoryRepository jobHistoryRepository;
 
-    public JobHistoryResource(JobHistoryService jobHistoryService, JobHistoryRepository jobHistoryRepository) {
+    private final BulkService bulkService;
+
+    private final ExportService exportService;
+
+    private final JobHistoryPeriodService jobHistoryPeriodService;
+
+    public JobHistoryResource(
+        JobHistoryService jobHistoryService,
+        JobHistoryRepository jobHistoryRepository,
+        BulkService bulkService,
+        ExportService exportService,
+        JobHistoryPeriodService jobHistoryPeriodService
+    ) {
         this.jobHistoryService = jobHistoryService;
         this.jobHistoryRepository = jobHistoryRepository;
+        this.bulkService = bulkService;
+        this.exportService = exportService;
+        this.jobHistoryPeriodService = jobHistoryPeriodService;
     }
 
     /**
@@ -61,6 +85,7 @@ public class JobHistoryResource {
         jobHistory = jobHistoryService.save(jobHistory);
         return ResponseEntity.created(new URI("/api/job-histories/" + jobHistory.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, jobHistory.getId().toString()))
+            .eTag(EntityTagUtil.eTag(jobHistory.getVersion()))
             .body(jobHistory);
     }
 
@@ -68,15 +93,19 @@ public class JobHistoryResource {
      * {@code PUT  /job-histories/:id} : Updates an existing jobHistory.
      *
      * @param id the id of the jobHistory to save.
+     * @param ifMatch the tag of the version of the jobHistory the update is based on, if any.
      * @param jobHistory the jobHistory to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated jobHistory,
      * or with status {@code 400 (Bad Request)} if the jobHistory is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the jobHistory was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the jobHistory was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the jobHistory couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<JobHistory> updateJobHistory(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody JobHistory jobHistory
     ) throws URISyntaxException {
         LOG.debug("REST request to update JobHistory : {}, {}", id, jobHistory);
@@ -87,30 +116,36 @@ public class JobHistoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!jobHistoryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = jobHistoryRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, jobHistory, version, ENTITY_NAME);
 
         jobHistory = jobHistoryService.update(jobHistory);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, jobHistory.getId().toString()))
-            .body(jobHistory);
+        return EntityTagUtil.ok(
+            jobHistory,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, jobHistory.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /job-histories/:id} : Partial updates given fields of an existing jobHistory, field will ignore if it is null
      *
      * @param id the id of the jobHistory to save.
+     * @param ifMatch the tag of the version of the jobHistory the update is based on, if any.
      * @param jobHistory the jobHistory to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated jobHistory,
      * or with status {@code 400 (Bad Request)} if the jobHistory is not valid,
      * or with status {@code 404 (Not Found)} if the jobHistory is not found,
+     * or with status {@code 412 (Precondition Failed)} if the jobHistory was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the jobHistory was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the jobHistory couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<JobHistory> partialUpdateJobHistory(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody JobHistory jobHistory
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update JobHistory partially : {}, {}", id, jobHistory);
@@ -121,18 +156,88 @@ public class JobHistoryResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!jobHistoryRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = jobHistoryRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, jobHistory, version, ENTITY_NAME);
 
         Optional<JobHistory> result = jobHistoryService.partialUpdate(jobHistory);
 
-        return ResponseUtil.wrapOrNotFound(
+        return EntityTagUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, jobHistory.getId().toString())
         );
     }
 
+    /**
+     * {@code POST  /job-histories/bulk} : Create new jobHistories in bulk.
+     * <p>
+     * The body is either a JSON array or newline-delimited JSON ({@code application/x-ndjson}). Items are written in chunks,
+     * one transaction per chunk.
+     *
+     * @param body the jobHistories to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> createJobHistories(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk create JobHistories");
+        return ResponseEntity.ok(
+            bulkService.create(bulkService.readItems(body, JobHistory.class), jobHistoryRepository, JobHistory::getId, JobHistory::setId)
+        );
+    }
+
+    /**
+     * {@code PUT  /job-histories/bulk} : Updates existing jobHistories in bulk.
+     *
+     * @param body the jobHistories to update, as a JSON array or newline-delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @PutMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> updateJobHistories(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk update JobHistories");
+        return ResponseEntity.ok(
+            bulkService.update(bulkService.readItems(body, JobHistory.class), jobHistoryRepository, JobHistory::getId)
+        );
+    }
+
+    /**
+     * {@code DELETE  /job-histories/bulk} : delete jobHistories in bulk.
+     *
+     * @param body the ids of the jobHistories to delete, as a JSON array or newline-delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> deleteJobHistories(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk delete JobHistories");
+        return ResponseEntity.ok(bulkService.delete(bulkService.readItems(body, Long.class), jobHistoryRepository, JobHistory::getId));
+    }
+
+    /**
+     * {@code GET  /job-histories/export} : export all the jobHistories.
+     * <p>
+     * The rows are streamed from the database to the response, gzip-compressed if the client accepts it.
+     *
+     * @param format the export format, {@code csv} or {@code ndjson}.
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request.
+     * @param response the response to write the export to.
+     * @throws IOException if the response can't be written.
+     */
+    @GetMapping("/export")
+    public void exportJobHistories(
+        @RequestParam(name = "format", defaultValue = "csv") String format,
+        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        HttpServletResponse response
+    ) throws IOException {
+        LOG.debug("REST request to export JobHistories as {}", format);
+        ExportService.Format exportFormat = ExportResponseUtil.parseFormat(format, ENTITY_NAME);
+        ExportResponseUtil.write(response, acceptEncoding, exportFormat, "job-histories", out ->
+            exportService.exportJobHistories(out, exportFormat)
+        );
+    }
+
     /**
      * {@code GET  /job-histories} : get all the jobHistories.
      *
@@ -140,13 +245,71 @@ public class JobHistoryResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobHistories in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<JobHistory>> getAllJobHistories(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<JobHistoryView>> getAllJobHistories(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
         LOG.debug("REST request to get a page of JobHistories");
-        Page<JobHistory> page = jobHistoryService.findAll(pageable);
+        Page<JobHistoryView> page = jobHistoryService.findAllViews(pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return EntityTagUtil.ok(page, JobHistoryView::id, JobHistoryView::version, headers);
+    }
+
+    /**
+     * {@code GET  /job-histories/as-of} : get the jobHistories whose period contains a date.
+     *
+     * @param at the date.
+     * @param departmentId the department of the jobHistories, all departments if missing.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobHistories in body, ordered by start date.
+     */
+    @GetMapping("/as-of")
+    public ResponseEntity<List<JobHistoryView>> getJobHistoriesAsOf(
+        @RequestParam("at") Instant at,
+        @RequestParam(name = "departmentId", required = false) Long departmentId,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a page of JobHistories as of {}", at);
+        Page<JobHistoryView> page = jobHistoryPeriodService.findAsOf(at, departmentId, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /job-histories/overlapping} : get the jobHistories whose period overlaps {@code [from, to)}.
+     *
+     * @param from the start of the interval.
+     * @param to the end of the interval.
+     * @param departmentId the department of the jobHistories, all departments if missing.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobHistories in body, ordered by start date,
+     * or with status {@code 400 (Bad Request)} if {@code to} is not after {@code from}.
+     */
+    @GetMapping("/overlapping")
+    public ResponseEntity<List<JobHistoryView>> getOverlappingJobHistories(
+        @RequestParam("from") Instant from,
+        @RequestParam("to") Instant to,
+        @RequestParam(name = "departmentId", required = false) Long departmentId,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a page of JobHistories overlapping [{}, {})", from, to);
+        if (!to.isAfter(from)) {
+            throw new BadRequestAlertException("The end of the interval must be after its start", ENTITY_NAME, "intervalinvalid");
+        }
+        Page<JobHistoryView> page = jobHistoryPeriodService.findOverlapping(from, to, departmentId, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /job-histories/timeline} : get the jobHistories of an employee.
+     *
+     * @param employeeId the id of the employee.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobHistories in body, ordered by start date.
+     */
+    @GetMapping("/timeline")
+    public List<JobHistoryView> getTimeline(@RequestParam("employeeId") Long employeeId) {
+        LOG.debug("REST request to get the timeline of Employee : {}", employeeId);
+        return jobHistoryPeriodService.findTimeline(employeeId);
+    }
+
     /**
      * {@code GET  /job-histories/:id} : get the "id" jobHistory.
      *
@@ -157,7 +320,7 @@ public class JobHistoryResource {
     public ResponseEntity<JobHistory> getJobHistory(@PathVariable("id") Long id) {
         LOG.debug("REST request to get JobHistory : {}", id);
         Optional<JobHistory> jobHistory = jobHistoryService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(jobHistory);
+        return EntityTagUtil.wrapOrNotFound(jobHistory);
     }
 
     /**
@@ -1,28 +1,35 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.aop.jdbc.UseReadPool;
 import com.mycompany.myapp.domain.Job;
 import com.mycompany.myapp.repository.JobRepository;
+import com.mycompany.myapp.repository.projection.JobView;
+import com.mycompany.myapp.service.BulkService;
+import com.mycompany.myapp.service.SearchService;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Job}.
@@ -41,8 +48,14 @@ public class JobResource {
 
     private final JobRepository jobRepository;
 
-    public JobResource(JobRepository jobRepository) {
+    private final BulkService bulkService;
+
+    private final SearchService searchService;
+
+    public JobResource(JobRepository jobRepository, BulkService bulkService, SearchService searchService) {
         this.jobRepository = jobRepository;
+        this.bulkService = bulkService;
+        this.searchService = searchService;
     }
 
     /**
@@ -61,6 +74,7 @@ public class JobResource {
         job = jobRepository.save(job);
         return ResponseEntity.created(new URI("/api/jobs/" + job.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, job.getId().toString()))
+            .eTag(EntityTagUtil.eTag(job.getVersion()))
             .body(job);
     }
 
@@ -68,15 +82,21 @@ public class JobResource {
      * {@code PUT  /jobs/:id} : Updates an existing job.
      *
      * @param id the id of the job to save.
+     * @param ifMatch the tag of the version of the job the update is based on, if any.
      * @param job the job to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated job,
      * or with status {@code 400 (Bad Request)} if the job is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the job was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the job was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the job couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Job> updateJob(@PathVariable(value = "id", required = false) final Long id, @RequestBody Job job)
-        throws URISyntaxException {
+    public ResponseEntity<Job> updateJob(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody Job job
+    ) throws URISyntaxException {
         LOG.debug("REST request to update Job : {}, {}", id, job);
         if (job.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -85,30 +105,36 @@ public class JobResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!jobRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = jobRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, job, version, ENTITY_NAME);
 
-        job = jobRepository.save(job);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, job.getId().toString()))
-            .body(job);
+        // Flushed for the new version to be known before the commit
+        job = jobRepository.saveAndFlush(job);
+        return EntityTagUtil.ok(job, HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, job.getId().toString()));
     }
 
     /**
      * {@code PATCH  /jobs/:id} : Partial updates given fields of an existing job, field will ignore if it is null
      *
      * @param id the id of the job to save.
+     * @param ifMatch the tag of the version of the job the update is based on, if any.
      * @param job the job to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated job,
      * or with status {@code 400 (Bad Request)} if the job is not valid,
      * or with status {@code 404 (Not Found)} if the job is not found,
+     * or with status {@code 412 (Precondition Failed)} if the job was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the job was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the job couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Job> partialUpdateJob(@PathVariable(value = "id", required = false) final Long id, @RequestBody Job job)
-        throws URISyntaxException {
+    public ResponseEntity<Job> partialUpdateJob(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody Job job
+    ) throws URISyntaxException {
         LOG.debug("REST request to partial update Job partially : {}, {}", id, job);
         if (job.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -117,13 +143,17 @@ public class JobResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!jobRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = jobRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, job, version, ENTITY_NAME);
 
         Optional<Job> result = jobRepository
             .findById(job.getId())
             .map(existingJob -> {
+                if (job.getVersion() != null && !job.getVersion().equals(existingJob.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Job.class, job.getId());
+                }
                 if (job.getJobTitle() != null) {
                     existingJob.setJobTitle(job.getJobTitle());
                 }
@@ -136,14 +166,59 @@ public class JobResource {
 
                 return existingJob;
             })
-            .map(jobRepository::save);
+            .map(jobRepository::saveAndFlush);
 
-        return ResponseUtil.wrapOrNotFound(
+        return EntityTagUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, job.getId().toString())
         );
     }
 
+    /**
+     * {@code POST  /jobs/bulk} : Create new jobs in bulk.
+     * <p>
+     * The body is either a JSON array or newline-delimited JSON ({@code application/x-ndjson}). Items are written in chunks,
+     * one transaction per chunk.
+     *
+     * @param body the jobs to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> createJobs(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk create Jobs");
+        return ResponseEntity.ok(bulkService.create(bulkService.readItems(body, Job.class), jobRepository, Job::getId, Job::setId));
+    }
+
+    /**
+     * {@code PUT  /jobs/bulk} : Updates existing jobs in bulk.
+     *
+     * @param body the jobs to update, as a JSON array or newline-delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @PutMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> updateJobs(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk update Jobs");
+        return ResponseEntity.ok(bulkService.update(bulkService.readItems(body, Job.class), jobRepository, Job::getId));
+    }
+
+    /**
+     * {@code DELETE  /jobs/bulk} : delete jobs in bulk.
+     *
+     * @param body the ids of the jobs to delete, as a JSON array or newline-delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<List<BulkItemResultDTO>> deleteJobs(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk delete Jobs");
+        return ResponseEntity.ok(bulkService.delete(bulkService.readItems(body, Long.class), jobRepository, Job::getId));
+    }
+
     /**
      * {@code GET  /jobs} : get all the jobs.
      *
@@ -153,26 +228,44 @@ public class JobResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of jobs in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<Job>> getAllJobs(
+    @UseReadPool
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<JobView>> getAllJobs(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
         @RequestParam(name = "filter", required = false) String filter,
         @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
     ) {
         if ("jobhistory-is-null".equals(filter)) {
             LOG.debug("REST request to get all Jobs where jobHistory is null");
-            return new ResponseEntity<>(
-                StreamSupport.stream(jobRepository.findAll().spliterator(), false).filter(job -> job.getJobHistory() == null).toList(),
-                HttpStatus.OK
-            );
+            return EntityTagUtil.ok(jobRepository.findAllViewsWhereJobHistoryIsNull(), JobView::id, JobView::version);
         }
         LOG.debug("REST request to get a page of Jobs");
-        Page<Job> page;
+        Page<JobView> page;
         if (eagerload) {
-            page = jobRepository.findAllWithEagerRelationships(pageable);
+            page = jobRepository.findAllViewsWithEagerRelationships(pageable);
         } else {
-            page = jobRepository.findAll(pageable);
+            page = jobRepository.findAllViews(pageable);
         }
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return EntityTagUtil.ok(page, JobView::id, JobView::version, headers);
+    }
+
+    /**
+     * {@code SEARCH  /jobs/_search?query=:query} : search for the jobs corresponding
+     * to the query.
+     *
+     * @param query the query of the job search, in web search syntax.
+     * @param pageable the pagination information.
+     * @return the result of the search, best ranked first.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<JobView>> searchJobs(
+        @RequestParam("query") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to search for a page of Jobs for query {}", query);
+        Page<JobView> page = searchService.searchJobs(query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
@@ -186,7 +279,7 @@ public class JobResource {
     public ResponseEntity<Job> getJob(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Job : {}", id);
         Optional<Job> job = jobRepository.findOneWithEagerRelationships(id);
-        return ResponseUtil.wrapOrNotFound(job);
+        return EntityTagUtil.wrapOrNotFound(job);
     }
 
     /**
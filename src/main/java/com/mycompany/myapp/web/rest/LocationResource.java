@@ -2,6 +2,7 @@ package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.Location;
 import com.mycompany.myapp.repository.LocationRepository;
+import com.mycompany.myapp.repository.projection.LocationView;
 import com.mycompany.myapp.service.LocationService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
@@ -12,10 +13,10 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Location}.
@@ -56,6 +57,7 @@ public class LocationResource {
         location = locationService.save(location);
         return ResponseEntity.created(new URI("/api/locations/" + location.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, location.getId().toString()))
+            .eTag(EntityTagUtil.eTag(location.getVersion()))
             .body(location);
     }
 
@@ -63,15 +65,19 @@ public class LocationResource {
      * {@code PUT  /locations/:id} : Updates an existing location.
      *
      * @param id the id of the location to save.
+     * @param ifMatch the tag of the version of the location the update is based on, if any.
      * @param location the location to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated location,
      * or with status {@code 400 (Bad Request)} if the location is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the location was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the location was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the location couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Location> updateLocation(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody Location location
     ) throws URISyntaxException {
         LOG.debug("REST request to update Location : {}, {}", id, location);
@@ -82,30 +88,36 @@ public class LocationResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!locationRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = locationRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, location, version, ENTITY_NAME);
 
         location = locationService.update(location);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, location.getId().toString()))
-            .body(location);
+        return EntityTagUtil.ok(
+            location,
+            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, location.getId().toString())
+        );
     }
 
     /**
      * {@code PATCH  /locations/:id} : Partial updates given fields of an existing location, field will ignore if it is null
      *
      * @param id the id of the location to save.
+     * @param ifMatch the tag of the version of the location the update is based on, if any.
      * @param location the location to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated location,
      * or with status {@code 400 (Bad Request)} if the location is not valid,
      * or with status {@code 404 (Not Found)} if the location is not found,
+     * or with status {@code 412 (Precondition Failed)} if the location was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the location was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the location couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Location> partialUpdateLocation(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody Location location
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Location partially : {}, {}", id, location);
@@ -116,13 +128,14 @@ public class LocationResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!locationRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = locationRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, location, version, ENTITY_NAME);
 
         Optional<Location> result = locationService.partialUpdate(location);
 
-        return ResponseUtil.wrapOrNotFound(
+        return EntityTagUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, location.getId().toString())
         );
@@ -135,13 +148,13 @@ public class LocationResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of locations in body.
      */
     @GetMapping("")
-    public List<Location> getAllLocations(@RequestParam(name = "filter", required = false) String filter) {
+    public ResponseEntity<List<LocationView>> getAllLocations(@RequestParam(name = "filter", required = false) String filter) {
         if ("department-is-null".equals(filter)) {
             LOG.debug("REST request to get all Locations where department is null");
-            return locationService.findAllWhereDepartmentIsNull();
+            return EntityTagUtil.ok(locationService.findAllViewsWhereDepartmentIsNull(), LocationView::id, LocationView::version);
         }
         LOG.debug("REST request to get all Locations");
-        return locationService.findAll();
+        return EntityTagUtil.ok(locationService.findAllViews(), LocationView::id, LocationView::version);
     }
 
     /**
@@ -154,7 +167,7 @@ public class LocationResource {
     public ResponseEntity<Location> getLocation(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Location : {}", id);
         Optional<Location> location = locationService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(location);
+        return EntityTagUtil.wrapOrNotFound(location);
     }
 
     /**
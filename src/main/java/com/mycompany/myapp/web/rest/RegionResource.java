@@ -12,10 +12,10 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Region}.
@@ -56,6 +56,7 @@ public class RegionResource {
         region = regionService.save(region);
         return ResponseEntity.created(new URI("/api/regions/" + region.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, region.getId().toString()))
+            .eTag(EntityTagUtil.eTag(region.getVersion()))
             .body(region);
     }
 
@@ -63,15 +64,21 @@ public class RegionResource {
      * {@code PUT  /regions/:id} : Updates an existing region.
      *
      * @param id the id of the region to save.
+     * @param ifMatch the tag of the version of the region the update is based on, if any.
      * @param region the region to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated region,
      * or with status {@code 400 (Bad Request)} if the region is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the region was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the region was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the region couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Region> updateRegion(@PathVariable(value = "id", required = false) final Long id, @RequestBody Region region)
-        throws URISyntaxException {
+    public ResponseEntity<Region> updateRegion(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody Region region
+    ) throws URISyntaxException {
         LOG.debug("REST request to update Region : {}, {}", id, region);
         if (region.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -80,30 +87,33 @@ public class RegionResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!regionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = regionRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, region, version, ENTITY_NAME);
 
         region = regionService.update(region);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, region.getId().toString()))
-            .body(region);
+        return EntityTagUtil.ok(region, HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, region.getId().toString()));
     }
 
     /**
      * {@code PATCH  /regions/:id} : Partial updates given fields of an existing region, field will ignore if it is null
      *
      * @param id the id of the region to save.
+     * @param ifMatch the tag of the version of the region the update is based on, if any.
      * @param region the region to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated region,
      * or with status {@code 400 (Bad Request)} if the region is not valid,
      * or with status {@code 404 (Not Found)} if the region is not found,
+     * or with status {@code 412 (Precondition Failed)} if the region was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the region was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the region couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<Region> partialUpdateRegion(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody Region region
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Region partially : {}, {}", id, region);
@@ -114,13 +124,14 @@ public class RegionResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!regionRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = regionRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, region, version, ENTITY_NAME);
 
         Optional<Region> result = regionService.partialUpdate(region);
 
-        return ResponseUtil.wrapOrNotFound(
+        return EntityTagUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, region.getId().toString())
         );
@@ -133,13 +144,13 @@ public class RegionResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of regions in body.
      */
     @GetMapping("")
-    public List<Region> getAllRegions(@RequestParam(name = "filter", required = false) String filter) {
+    public ResponseEntity<List<Region>> getAllRegions(@RequestParam(name = "filter", required = false) String filter) {
         if ("country-is-null".equals(filter)) {
             LOG.debug("REST request to get all Regions where country is null");
-            return regionService.findAllWhereCountryIsNull();
+            return EntityTagUtil.ok(regionService.findAllWhereCountryIsNull(), Region::getId, Region::getVersion);
         }
         LOG.debug("REST request to get all Regions");
-        return regionService.findAll();
+        return EntityTagUtil.ok(regionService.findAll(), Region::getId, Region::getVersion);
     }
 
     /**
@@ -152,7 +163,7 @@ public class RegionResource {
     public ResponseEntity<Region> getRegion(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Region : {}", id);
         Optional<Region> region = regionService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(region);
+        return EntityTagUtil.wrapOrNotFound(region);
     }
 
     /**
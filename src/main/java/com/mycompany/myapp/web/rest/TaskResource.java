@@ -2,8 +2,13 @@ package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.Task;
 import com.mycompany.myapp.repository.TaskRepository;
+import com.mycompany.myapp.service.BulkService;
+import com.mycompany.myapp.service.SearchService;
 import com.mycompany.myapp.service.TaskService;
+import com.mycompany.myapp.service.dto.BulkItemResultDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -12,10 +17,15 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
-import tech.jhipster.web.util.ResponseUtil;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * REST controller for managing {@link com.mycompany.myapp.domain.Task}.
@@ -35,9 +45,15 @@ public class TaskResource {
 
     private final TaskRepository taskRepository;
 
-    public TaskResource(TaskService taskService, TaskRepository taskRepository) {
+    private final BulkService bulkService;
+
+    private final SearchService searchService;
+
+    public TaskResource(TaskService taskService, TaskRepository taskRepository, BulkService bulkService, SearchService searchService) {
         this.taskService = taskService;
         this.taskRepository = taskRepository;
+        this.bulkService = bulkService;
+        this.searchService = searchService;
     }
 
     /**
@@ -56,6 +72,7 @@ public class TaskResource {
         task = taskService.save(task);
         return ResponseEntity.created(new URI("/api/tasks/" + task.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, task.getId().toString()))
+            .eTag(EntityTagUtil.eTag(task.getVersion()))
             .body(task);
     }
 
@@ -63,15 +80,21 @@ public class TaskResource {
      * {@code PUT  /tasks/:id} : Updates an existing task.
      *
      * @param id the id of the task to save.
+     * @param ifMatch the tag of the version of the task the update is based on, if any.
      * @param task the task to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated task,
      * or with status {@code 400 (Bad Request)} if the task is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the task was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the task was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the task couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable(value = "id", required = false) final Long id, @RequestBody Task task)
-        throws URISyntaxException {
+    public ResponseEntity<Task> updateTask(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody Task task
+    ) throws URISyntaxException {
         LOG.debug("REST request to update Task : {}, {}", id, task);
         if (task.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -80,30 +103,35 @@ public class TaskResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!taskRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = taskRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, task, version, ENTITY_NAME);
 
         task = taskService.update(task);
-        return ResponseEntity.ok()
-            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, task.getId().toString()))
-            .body(task);
+        return EntityTagUtil.ok(task, HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, task.getId().toString()));
     }
 
     /**
      * {@code PATCH  /tasks/:id} : Partial updates given fields of an existing task, field will ignore if it is null
      *
      * @param id the id of the task to save.
+     * @param ifMatch the tag of the version of the task the update is based on, if any.
      * @param task the task to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated task,
      * or with status {@code 400 (Bad Request)} if the task is not valid,
      * or with status {@code 404 (Not Found)} if the task is not found,
+     * or with status {@code 412 (Precondition Failed)} if the task was modified since the version of {@code If-Match},
+     * or with status {@code 409 (Conflict)} if the task was modified since the version of the body,
      * or with status {@code 500 (Internal Server Error)} if the task couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
-    public ResponseEntity<Task> partialUpdateTask(@PathVariable(value = "id", required = false) final Long id, @RequestBody Task task)
-        throws URISyntaxException {
+    public ResponseEntity<Task> partialUpdateTask(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody Task task
+    ) throws URISyntaxException {
         LOG.debug("REST request to partial update Task partially : {}, {}", id, task);
         if (task.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -112,27 +140,89 @@ public class TaskResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!taskRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Long version = taskRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, task, version, ENTITY_NAME);
 
         Optional<Task> result = taskService.partialUpdate(task);
 
-        return ResponseUtil.wrapOrNotFound(
+        return EntityTagUtil.wrapOrNotFound(
             result,
             HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, task.getId().toString())
         );
     }
 
+    /**
+     * {@code POST  /tasks/bulk} : Create new tasks in bulk.
+     * <p>
+     * The body is either a JSON array or newline-delimited JSON ({@code application/x-ndjson}). Items are written in chunks,
+     * one transaction per chunk.
+     *
+     * @param body the tasks to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> createTasks(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk create Tasks");
+        return ResponseEntity.ok(bulkService.create(bulkService.readItems(body, Task.class), taskRepository, Task::getId, Task::setId));
+    }
+
+    /**
+     * {@code PUT  /tasks/bulk} : Updates existing tasks in bulk.
+     *
+     * @param body the tasks to update, as a JSON array or newline-delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @PutMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> updateTasks(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk update Tasks");
+        return ResponseEntity.ok(bulkService.update(bulkService.readItems(body, Task.class), taskRepository, Task::getId));
+    }
+
+    /**
+     * {@code DELETE  /tasks/bulk} : delete tasks in bulk.
+     *
+     * @param body the ids of the tasks to delete, as a JSON array or newline-delimited JSON.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each item, in input order.
+     * @throws IOException if the body can't be read.
+     */
+    @DeleteMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<List<BulkItemResultDTO>> deleteTasks(InputStream body) throws IOException {
+        LOG.debug("REST request to bulk delete Tasks");
+        return ResponseEntity.ok(bulkService.delete(bulkService.readItems(body, Long.class), taskRepository, Task::getId));
+    }
+
     /**
      * {@code GET  /tasks} : get all the tasks.
      *
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tasks in body.
      */
     @GetMapping("")
-    public List<Task> getAllTasks() {
+    public ResponseEntity<List<Task>> getAllTasks() {
         LOG.debug("REST request to get all Tasks");
-        return taskService.findAll();
+        return EntityTagUtil.ok(taskService.findAll(), Task::getId, Task::getVersion);
+    }
+
+    /**
+     * {@code SEARCH  /tasks/_search?query=:query} : search for the tasks corresponding
+     * to the query.
+     *
+     * @param query the query of the task search, in web search syntax.
+     * @param pageable the pagination information.
+     * @return the result of the search, best ranked first.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<List<Task>> searchTasks(
+        @RequestParam("query") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to search for a page of Tasks for query {}", query);
+        Page<Task> page = searchService.searchTasks(query, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     /**
@@ -145,7 +235,7 @@ public class TaskResource {
     public ResponseEntity<Task> getTask(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Task : {}", id);
         Optional<Task> task = taskService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(task);
+        return EntityTagUtil.wrapOrNotFound(task);
     }
 
     /**
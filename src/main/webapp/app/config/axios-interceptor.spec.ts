@@ -1,5 +1,6 @@
-import axios from 'axios';
+import axios, { AxiosError, type InternalAxiosRequestConfig } from 'axios';
 import sinon from 'sinon';
+import { Storage } from 'react-jhipster';
 
 import setupAxiosInterceptors from './axios-interceptor';
 
@@ -29,4 +30,113 @@ describe('Axios Interceptor', () => {
       expect(onUnauthenticated.calledOnce).toBe(true);
     });
   });
+
+  describe('token refresh', () => {
+    const AUTH_TOKEN_KEY = 'jhi-authenticationToken';
+    const REFRESH_TOKEN_KEY = 'jhi-refreshToken';
+    const defaultAdapter = axios.defaults.adapter;
+    let onUnauthenticated: sinon.SinonSpy;
+    let refreshes: string[];
+    let acceptedToken: string;
+
+    const respond = (config: InternalAxiosRequestConfig, status: number, data?: any) => {
+      const response = { data, status, statusText: '', headers: {}, config };
+      if (status >= 400) {
+        return Promise.reject(new AxiosError(`Request failed with status code ${status}`, 'ERR_BAD_REQUEST', config, null, response));
+      }
+      return Promise.resolve(response);
+    };
+
+    beforeEach(() => {
+      refreshes = [];
+      acceptedToken = 'new-token';
+      Storage.local.set(AUTH_TOKEN_KEY, 'old-token');
+      Storage.local.set(REFRESH_TOKEN_KEY, 'old-refresh');
+      axios.interceptors.request.clear();
+      axios.interceptors.response.clear();
+      onUnauthenticated = sinon.spy();
+      setupAxiosInterceptors(onUnauthenticated);
+      axios.defaults.adapter = async (config: InternalAxiosRequestConfig) => {
+        if (config.url === 'api/authenticate/refresh') {
+          refreshes.push(JSON.parse(config.data).refresh_token);
+          // Let the concurrent requests fail before the refresh completes
+          await new Promise(resolve => setTimeout(resolve, 10));
+          if (refreshes.length > 1 || acceptedToken === null) {
+            return respond(config, 401);
+          }
+          return respond(config, 200, { id_token: 'new-token', refresh_token: 'new-refresh' });
+        }
+        return config.headers.Authorization === `Bearer ${acceptedToken}` ? respond(config, 200, 'ok') : respond(config, 401);
+      };
+    });
+
+    afterEach(() => {
+      axios.defaults.adapter = defaultAdapter;
+      axios.interceptors.request.clear();
+      axios.interceptors.response.clear();
+      Storage.local.remove(AUTH_TOKEN_KEY);
+      Storage.local.remove(REFRESH_TOKEN_KEY);
+      delete (navigator as any).locks;
+    });
+
+    it('retries the request with the refreshed token', async () => {
+      const response = await axios.get('api/things');
+
+      expect(response.data).toBe('ok');
+      expect(refreshes).toEqual(['old-refresh']);
+      expect(Storage.local.get(AUTH_TOKEN_KEY)).toBe('new-token');
+      expect(Storage.local.get(REFRESH_TOKEN_KEY)).toBe('new-refresh');
+      expect(onUnauthenticated.called).toBe(false);
+    });
+
+    it('refreshes the tokens once for concurrent 401s', async () => {
+      const responses = await Promise.all([axios.get('api/things'), axios.get('api/things'), axios.get('api/other-things')]);
+
+      expect(responses.map(response => response.data)).toEqual(['ok', 'ok', 'ok']);
+      expect(refreshes).toEqual(['old-refresh']);
+      expect(onUnauthenticated.called).toBe(false);
+    });
+
+    it('logs out when the refresh fails', async () => {
+      acceptedToken = null;
+
+      await expect(axios.get('api/things')).rejects.toMatchObject({ response: { status: 401 } });
+      expect(refreshes).toEqual(['old-refresh']);
+      expect(onUnauthenticated.calledOnce).toBe(true);
+    });
+
+    it('does not refresh again when the retried request is rejected', async () => {
+      acceptedToken = 'another-token';
+
+      await expect(axios.get('api/things')).rejects.toMatchObject({ response: { status: 401 } });
+      expect(refreshes).toEqual(['old-refresh']);
+      expect(onUnauthenticated.calledOnce).toBe(true);
+    });
+
+    it('does not refresh the tokens for a 401 of the refresh endpoint', async () => {
+      acceptedToken = null;
+
+      await expect(axios.post('api/authenticate/refresh', { refresh_token: 'old-refresh' })).rejects.toMatchObject({
+        response: { status: 401 },
+      });
+      expect(refreshes).toEqual(['old-refresh']);
+      expect(onUnauthenticated.calledOnce).toBe(true);
+    });
+
+    it('uses the tokens refreshed by another tab while waiting for the lock', async () => {
+      const request = sinon.spy((name: string, task: () => Promise<void>) => {
+        Storage.local.set(AUTH_TOKEN_KEY, 'new-token');
+        Storage.local.set(REFRESH_TOKEN_KEY, 'new-refresh');
+        return task();
+      });
+      Object.defineProperty(navigator, 'locks', { value: { request }, configurable: true });
+
+      const response = await axios.get('api/things');
+
+      expect(response.data).toBe('ok');
+      expect(request.calledOnceWith('jhi-refreshToken')).toBe(true);
+      expect(refreshes).toEqual([]);
+      expect(Storage.local.get(REFRESH_TOKEN_KEY)).toBe('new-refresh');
+    });
+  });
 });
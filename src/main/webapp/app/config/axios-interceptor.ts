@@ -1,14 +1,58 @@
-import axios, { type AxiosError } from 'axios';
+import axios, { type AxiosError, type InternalAxiosRequestConfig } from 'axios';
 import { Storage } from 'react-jhipster';
 
 const TIMEOUT = 1 * 60 * 1000;
 axios.defaults.timeout = TIMEOUT;
 axios.defaults.baseURL = SERVER_API_URL;
 
+const AUTH_TOKEN_KEY = 'jhi-authenticationToken';
+const REFRESH_TOKEN_KEY = 'jhi-refreshToken';
+const AUTHENTICATE_URL = 'api/authenticate';
+
+const REFRESH_LOCK = 'jhi-refreshToken';
+
+type RetriableRequestConfig = InternalAxiosRequestConfig & { refreshed?: boolean };
+
+let pendingRefresh: Promise<void> | null = null;
+
+/**
+ * Runs a task holding a lock shared by the tabs of the application, where the Web Locks API is available.
+ */
+const withRefreshLock = (task: () => Promise<void>): Promise<void> =>
+  typeof navigator !== 'undefined' && navigator.locks ? navigator.locks.request(REFRESH_LOCK, task) : task();
+
+/**
+ * Exchanges the refresh token for new tokens, kept in the storage of the login. Concurrent 401s share one exchange, as
+ * a refresh token can only be exchanged once: presenting it again revokes the login on the server.
+ *
+ * The tabs remembering the login share the local storage, the exchange is serialized across them with a lock: a tab
+ * that finds the refresh token rotated by another tab while it waited uses the new tokens instead of exchanging the
+ * rotated one. Without the Web Locks API, tabs refreshing at the same time may still log each other out.
+ */
+const refreshTokens = (): Promise<void> => {
+  if (!pendingRefresh) {
+    const storage = Storage.local.get(REFRESH_TOKEN_KEY) ? Storage.local : Storage.session;
+    const refreshToken = storage.get(REFRESH_TOKEN_KEY);
+    pendingRefresh = withRefreshLock(() => {
+      if (storage.get(REFRESH_TOKEN_KEY) !== refreshToken) {
+        return Promise.resolve();
+      }
+      return axios.post<any>(`${AUTHENTICATE_URL}/refresh`, { refresh_token: refreshToken }).then(response => {
+        storage.set(AUTH_TOKEN_KEY, response.data.id_token);
+        storage.set(REFRESH_TOKEN_KEY, response.data.refresh_token);
+      });
+    }).finally(() => {
+      pendingRefresh = null;
+    });
+  }
+  return pendingRefresh;
+};
+
 const setupAxiosInterceptors = onUnauthenticated => {
   const onRequestSuccess = config => {
-    const token = Storage.local.get('jhi-authenticationToken') || Storage.session.get('jhi-authenticationToken');
-    if (token) {
+    const token = Storage.local.get(AUTH_TOKEN_KEY) || Storage.session.get(AUTH_TOKEN_KEY);
+    // The refresh token endpoints don't need the access token, which may have expired
+    if (token && !config.url?.startsWith(`${AUTHENTICATE_URL}/`)) {
       config.headers.Authorization = `Bearer ${token}`;
     }
     return config;
@@ -17,6 +61,15 @@ const setupAxiosInterceptors = onUnauthenticated => {
   const onResponseError = (err: AxiosError) => {
     const status = err.status || (err.response ? err.response.status : 0);
     if (status === 401) {
+      const config = err.config as RetriableRequestConfig | undefined;
+      const hasRefreshToken = Storage.local.get(REFRESH_TOKEN_KEY) || Storage.session.get(REFRESH_TOKEN_KEY);
+      if (hasRefreshToken && config && !config.refreshed && !config.url?.startsWith(AUTHENTICATE_URL)) {
+        // A 401 of the refresh itself already signals the unauthenticated user
+        return refreshTokens().then(
+          () => axios({ ...config, refreshed: true } as RetriableRequestConfig),
+          () => Promise.reject(err),
+        );
+      }
       onUnauthenticated();
     }
     return Promise.reject(err);
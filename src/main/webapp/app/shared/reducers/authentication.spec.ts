@@ -224,5 +224,35 @@ describe('Authentication reducer tests', () => {
       expect(Storage.session.get(AUTH_TOKEN_KEY)).toBe(undefined);
       expect(Storage.local.get(AUTH_TOKEN_KEY)).toBe(undefined);
     });
+    it('clears the refresh token on clearAuthToken', async () => {
+      const REFRESH_TOKEN_KEY = 'jhi-refreshToken';
+      const loginResponse = { headers: { authorization: 'Bearer TestToken' }, data: { refresh_token: 'TestRefreshToken' } };
+      axios.post = sinon.stub().returns(Promise.resolve(loginResponse));
+
+      await store.dispatch(login('user', 'user', true));
+      expect(Storage.session.get(REFRESH_TOKEN_KEY)).toBe(undefined);
+      expect(Storage.local.get(REFRESH_TOKEN_KEY)).toBe('TestRefreshToken');
+      clearAuthToken();
+      expect(Storage.session.get(REFRESH_TOKEN_KEY)).toBe(undefined);
+      expect(Storage.local.get(REFRESH_TOKEN_KEY)).toBe(undefined);
+    });
+    it('revokes the refresh token on logout', async () => {
+      const AUTH_TOKEN_KEY = 'jhi-authenticationToken';
+      const REFRESH_TOKEN_KEY = 'jhi-refreshToken';
+      const loginResponse = { headers: { authorization: 'Bearer TestToken' }, data: { refresh_token: 'TestRefreshToken' } };
+      axios.post = sinon.stub().returns(Promise.resolve(loginResponse));
+
+      await store.dispatch(login('test', 'test'));
+      await store.dispatch(logout());
+      expect((axios.post as sinon.SinonStub).calledWith('api/authenticate/revoke', { refresh_token: 'TestRefreshToken' })).toBe(true);
+      expect(Storage.session.get(AUTH_TOKEN_KEY)).toBe(undefined);
+      expect(Storage.session.get(REFRESH_TOKEN_KEY)).toBe(undefined);
+    });
+    it('does not revoke anything on logout without a refresh token', async () => {
+      axios.post = sinon.stub().returns(Promise.resolve({}));
+
+      await store.dispatch(logout());
+      expect((axios.post as sinon.SinonStub).called).toBe(false);
+    });
   });
 });
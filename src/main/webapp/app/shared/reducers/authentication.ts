@@ -7,6 +7,7 @@ import { setLocale } from 'app/shared/reducers/locale';
 import { serializeAxiosError } from './reducer.utils';
 
 const AUTH_TOKEN_KEY = 'jhi-authenticationToken';
+const REFRESH_TOKEN_KEY = 'jhi-refreshToken';
 
 export const initialState = {
   loading: false,
@@ -61,25 +62,33 @@ export const login: (username: string, password: string, rememberMe?: boolean) =
     const bearerToken = response?.headers?.authorization;
     if (bearerToken && bearerToken.slice(0, 7) === 'Bearer ') {
       const jwt = bearerToken.slice(7, bearerToken.length);
-      if (rememberMe) {
-        Storage.local.set(AUTH_TOKEN_KEY, jwt);
-      } else {
-        Storage.session.set(AUTH_TOKEN_KEY, jwt);
+      const refreshToken = response?.data?.refresh_token;
+      const storage = rememberMe ? Storage.local : Storage.session;
+      storage.set(AUTH_TOKEN_KEY, jwt);
+      if (refreshToken) {
+        storage.set(REFRESH_TOKEN_KEY, refreshToken);
       }
     }
     dispatch(getSession());
   };
 
 export const clearAuthToken = () => {
-  if (Storage.local.get(AUTH_TOKEN_KEY)) {
-    Storage.local.remove(AUTH_TOKEN_KEY);
-  }
-  if (Storage.session.get(AUTH_TOKEN_KEY)) {
-    Storage.session.remove(AUTH_TOKEN_KEY);
-  }
+  [AUTH_TOKEN_KEY, REFRESH_TOKEN_KEY].forEach(key => {
+    if (Storage.local.get(key)) {
+      Storage.local.remove(key);
+    }
+    if (Storage.session.get(key)) {
+      Storage.session.remove(key);
+    }
+  });
 };
 
 export const logout: () => AppThunk = () => dispatch => {
+  const refreshToken = Storage.local.get(REFRESH_TOKEN_KEY) || Storage.session.get(REFRESH_TOKEN_KEY);
+  if (refreshToken) {
+    // Revoke the refresh token on the server, the user is logged out locally whatever the outcome
+    axios.post('api/authenticate/revoke', { refresh_token: refreshToken }).catch(() => {});
+  }
   clearAuthToken();
   dispatch(logoutSession());
 };
@@ -0,0 +1,231 @@
+package com.mycompany.myapp.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+class LoggingAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(Sample.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final ApplicationProperties.Instrumentation properties = new ApplicationProperties.Instrumentation();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    private LoggingAspect aspect() {
+        return new LoggingAspect(new MockEnvironment(), properties, registry);
+    }
+
+    private static ProceedingJoinPoint joinPoint(Object... args) throws Exception {
+        Sample sample = new Sample();
+        return joinPoint(sample, sample, Sample.class.getMethod("greet", String.class), args);
+    }
+
+    private static ProceedingJoinPoint joinPoint(Object target, Object proxy, Method method, Object... args) {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        when(signature.getDeclaringType()).thenReturn(method.getDeclaringClass());
+        when(signature.getName()).thenReturn(method.getName());
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getTarget()).thenReturn(target);
+        when(joinPoint.getThis()).thenReturn(proxy);
+        when(joinPoint.getArgs()).thenReturn(args);
+        return joinPoint;
+    }
+
+    private Timer timer(String outcome) {
+        return timer("Sample", outcome);
+    }
+
+    private Timer timer(String type, String outcome) {
+        return registry.get(LoggingAspect.LATENCY_METER_NAME).tags("class", type, "method", "greet", "outcome", outcome).timer();
+    }
+
+    @Test
+    void shouldRecordTheSampledCalls() throws Throwable {
+        properties.setSampleRate(1);
+        LoggingAspect aspect = aspect();
+        ProceedingJoinPoint joinPoint = joinPoint("Ada");
+        when(joinPoint.proceed()).thenReturn("Hello Ada");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(aspect.logAround(joinPoint)).isEqualTo("Hello Ada");
+        }
+
+        assertThat(timer("success").count()).isEqualTo(3);
+        assertThat(timer("error").count()).isZero();
+    }
+
+    @Test
+    void shouldNotRecordWithoutSampling() throws Throwable {
+        properties.setSampleRate(0);
+        LoggingAspect aspect = aspect();
+        ProceedingJoinPoint joinPoint = joinPoint("Ada");
+        when(joinPoint.proceed()).thenReturn("Hello Ada");
+
+        aspect.logAround(joinPoint);
+
+        assertThat(timer("success").count()).isZero();
+    }
+
+    @Test
+    void shouldOnlyLogTheArgumentsAtTrace() throws Throwable {
+        LoggingAspect aspect = aspect();
+        ProceedingJoinPoint joinPoint = joinPoint("Ada");
+        when(joinPoint.proceed()).thenReturn("Hello Ada");
+        logger.setLevel(Level.DEBUG);
+
+        aspect.logAround(joinPoint);
+
+        assertThat(appender.list).isEmpty();
+
+        // As with POST /management/loggers/{name}
+        logger.setLevel(Level.TRACE);
+
+        aspect.logAround(joinPoint);
+
+        assertThat(appender.list)
+            .extracting(ILoggingEvent::getFormattedMessage)
+            .containsExactly("Enter: greet() with argument[s] = [Ada]", "Exit: greet() with result = Hello Ada");
+    }
+
+    @Test
+    void shouldLogAndRecordTheExceptions() throws Throwable {
+        properties.setSampleRate(1);
+        LoggingAspect aspect = aspect();
+        ProceedingJoinPoint joinPoint = joinPoint("secret");
+        when(joinPoint.proceed()).thenThrow(new IllegalArgumentException("Invalid name"));
+
+        assertThatThrownBy(() -> aspect.logAround(joinPoint)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(timer("error").count()).isEqualTo(1);
+        assertThat(appender.list)
+            .extracting(ILoggingEvent::getFormattedMessage)
+            .containsExactly("Illegal argument in greet()", "Exception in greet() with cause = NULL");
+    }
+
+    @Test
+    void shouldTagTheRepositoryInterfaceRatherThanTheDeclaringType() throws Throwable {
+        properties.setSampleRate(1);
+        LoggingAspect aspect = aspect();
+        Method greet = Greeter.class.getMethod("greet", String.class);
+        SampleRepositoryImpl target = new SampleRepositoryImpl();
+        ProceedingJoinPoint joinPoint = joinPoint(target, new ProxyFactory(target).getProxy(), greet, "Ada");
+        when(joinPoint.proceed()).thenReturn("Hello Ada");
+
+        aspect.logAround(joinPoint);
+
+        assertThat(timer("SampleRepository", "success").count()).isEqualTo(1);
+        assertThat(registry.find(LoggingAspect.LATENCY_METER_NAME).tag("class", "Greeter").timers()).isEmpty();
+    }
+
+    @Test
+    void shouldTimeAnInheritedMethodPerComponent() throws Throwable {
+        properties.setSampleRate(1);
+        LoggingAspect aspect = aspect();
+        Method greet = Sample.class.getMethod("greet", String.class);
+        OtherSample other = new OtherSample();
+        ProceedingJoinPoint sampleJoinPoint = joinPoint("Ada");
+        ProceedingJoinPoint otherJoinPoint = joinPoint(other, other, greet, "Ada");
+        when(sampleJoinPoint.proceed()).thenReturn("Hello Ada");
+        when(otherJoinPoint.proceed()).thenReturn("Hello Ada");
+
+        aspect.logAround(sampleJoinPoint);
+        aspect.logAround(otherJoinPoint);
+        aspect.logAround(otherJoinPoint);
+
+        assertThat(timer("Sample", "success").count()).isEqualTo(1);
+        assertThat(timer("OtherSample", "success").count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldOnlyPublishTheHistogramWhenEnabled() throws Throwable {
+        List<Boolean> percentileHistograms = new ArrayList<>();
+        registry
+            .config()
+            .meterFilter(
+                new MeterFilter() {
+                    @Override
+                    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                        percentileHistograms.add(config.isPercentileHistogram());
+                        return config;
+                    }
+                }
+            );
+        ProceedingJoinPoint joinPoint = joinPoint("Ada");
+        when(joinPoint.proceed()).thenReturn("Hello Ada");
+
+        aspect().logAround(joinPoint);
+
+        assertThat(percentileHistograms).containsOnly(false);
+
+        percentileHistograms.clear();
+        registry.clear();
+        properties.setPercentileHistogram(true);
+
+        aspect().logAround(joinPoint);
+
+        assertThat(percentileHistograms).containsOnly(true);
+    }
+
+    public static class Sample {
+
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+    }
+
+    public static class OtherSample extends Sample {}
+
+    public interface Greeter {
+        String greet(String name);
+    }
+
+    public interface SampleRepository extends Greeter {}
+
+    public static class SampleRepositoryImpl implements SampleRepository {
+
+        @Override
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+    }
+}
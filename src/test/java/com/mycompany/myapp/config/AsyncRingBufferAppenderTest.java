@@ -0,0 +1,151 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncRingBufferAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final Logger logger = context.getLogger(AsyncRingBufferAppenderTest.class);
+
+    private final CountDownLatch released = new CountDownLatch(1);
+
+    private final GatedAppender target = new GatedAppender();
+
+    private AsyncRingBufferAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        target.setContext(context);
+        target.start();
+        appender = new AsyncRingBufferAppender();
+        appender.setContext(context);
+        appender.setName("async");
+        appender.addAppender(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        released.countDown();
+        appender.stop();
+    }
+
+    private void append(Level level, String message) {
+        appender.doAppend(new LoggingEvent(Logger.FQCN, logger, level, message, null, null));
+    }
+
+    private List<String> messages() {
+        return target.events.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    @Test
+    void shouldWriteTheEventsInOrder() {
+        released.countDown();
+        appender.setRingBufferSize(1024);
+        appender.start();
+
+        for (int i = 0; i < 1000; i++) {
+            append(Level.INFO, "event " + i);
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> target.events.size() == 1000);
+        assertThat(messages()).startsWith("event 0", "event 1").endsWith("event 998", "event 999");
+        assertThat(target.threads).containsOnly("AsyncRingBufferAppender-async");
+        assertThat(appender.getDroppedCount()).isZero();
+        assertThat(appender.getBlockedCount()).isZero();
+    }
+
+    @Test
+    void shouldDropTheInfoEventsWhenFull() {
+        appender.setRingBufferSize(4);
+        appender.start();
+        fill();
+
+        append(Level.INFO, "dropped");
+        append(Level.DEBUG, "dropped");
+
+        assertThat(appender.getDroppedCount()).isEqualTo(2);
+        released.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> target.events.size() == 5);
+        assertThat(messages()).doesNotContain("dropped");
+    }
+
+    @Test
+    void shouldBlockTheWarnEventsUntilASlotIsFree() throws Exception {
+        appender.setRingBufferSize(4);
+        appender.start();
+        fill();
+
+        CompletableFuture<Void> warn = CompletableFuture.runAsync(() -> append(Level.WARN, "blocked"));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> appender.getBlockedCount() == 1);
+        assertThat(warn).isNotDone();
+        released.countDown();
+        warn.get(5, TimeUnit.SECONDS);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> target.events.size() == 6);
+        assertThat(messages()).endsWith("blocked");
+        assertThat(appender.getBlockedNanos()).isPositive();
+        assertThat(appender.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void shouldFlushTheEventsOnStop() {
+        appender.setRingBufferSize(4);
+        appender.start();
+        fill();
+
+        released.countDown();
+        appender.stop();
+
+        assertThat(target.events).hasSize(5);
+        assertThat(target.isStarted()).isFalse();
+    }
+
+    /**
+     * One event held by the target appender, and a full buffer behind it.
+     */
+    private void fill() {
+        append(Level.INFO, "held");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> appender.size() == 0);
+        for (int i = 0; i < 4; i++) {
+            append(Level.INFO, "queued " + i);
+        }
+        assertThat(appender.size()).isEqualTo(4);
+    }
+
+    private class GatedAppender extends AppenderBase<ILoggingEvent> {
+
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            threads.add(Thread.currentThread().getName());
+            events.add(event);
+        }
+    }
+}
@@ -99,6 +99,44 @@ class CRLFLogConverterTest {
         assertEquals("Test_input_string", result);
     }
 
+    @Test
+    void transformShouldReturnTheSameInstanceWhenThereIsNothingToReplace() {
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        when(event.getMarkerList()).thenReturn(Collections.emptyList());
+        when(event.getLoggerName()).thenReturn("com.mycompany.myapp.example.Logger");
+        String input = "Test input string";
+        CRLFLogConverter converter = new CRLFLogConverter();
+
+        String result = converter.transform(event, input);
+
+        assertSame(input, result);
+    }
+
+    @Test
+    void transformShouldReplaceTabsAndConsecutiveLineBreaks() {
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        when(event.getMarkerList()).thenReturn(Collections.emptyList());
+        when(event.getLoggerName()).thenReturn("com.mycompany.myapp.example.Logger");
+        CRLFLogConverter converter = new CRLFLogConverter();
+
+        assertEquals("_Test__input\\n_", converter.transform(event, "\tTest\r\ninput\\n\n"));
+        assertEquals("", converter.transform(event, ""));
+    }
+
+    @Test
+    void isLoggerSafeShouldKeepTheDecisionPerLoggerName() {
+        ILoggingEvent safe = mock(ILoggingEvent.class);
+        when(safe.getLoggerName()).thenReturn("org.hibernate.example.Logger");
+        ILoggingEvent unsafe = mock(ILoggingEvent.class);
+        when(unsafe.getLoggerName()).thenReturn("com.mycompany.myapp.example.Logger");
+        CRLFLogConverter converter = new CRLFLogConverter();
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(converter.isLoggerSafe(safe));
+            assertFalse(converter.isLoggerSafe(unsafe));
+        }
+    }
+
     @Test
     void isLoggerSafeShouldReturnTrueWhenLoggerNameStartsWithSafeLogger() {
         ILoggingEvent event = mock(ILoggingEvent.class);
@@ -0,0 +1,48 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import java.lang.reflect.Type;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class CachingJackson2HttpMessageConverterTest {
+
+    record Item(Long id, String name) {}
+
+    private static final Type ITEMS = new ParameterizedTypeReference<List<Item>>() {}.getType();
+
+    private final CachingJackson2HttpMessageConverter converter = new CachingJackson2HttpMessageConverter(
+        new ObjectMapper().registerModule(FieldSelection.module()).registerModule(new BlackbirdModule())
+    );
+
+    private String write(Object body, Type type) throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(body, type, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.getBodyAsString();
+    }
+
+    @Test
+    void shouldWriteWithCachedWriter() throws Exception {
+        List<Item> items = List.of(new Item(1L, "a"), new Item(2L, "b"));
+
+        assertThat(write(items, ITEMS)).isEqualTo("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]");
+        assertThat(write(items, ITEMS)).isEqualTo("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"}]");
+        assertThat(write(new Item(3L, "c"), Item.class)).isEqualTo("{\"id\":3,\"name\":\"c\"}");
+    }
+
+    @Test
+    void shouldKeepFiltersOfRequest() throws Exception {
+        write(List.of(new Item(1L, "a")), ITEMS);
+        MappingJacksonValue value = new MappingJacksonValue(List.of(new Item(1L, "a")));
+        value.setFilters(FieldSelection.parse("name", null));
+
+        assertThat(write(value, ITEMS)).isEqualTo("[{\"name\":\"a\"}]");
+    }
+}
@@ -0,0 +1,158 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonObjectFormatVisitor;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FieldSelectionTest {
+
+    record Department(Long id, String name, Location location) {}
+
+    record Location(Long id, String city) {}
+
+    record Salary(long amount, String currency) {}
+
+    record Employee(Long id, String firstName, String lastName, Department department, List<Department> history, Salary salary) {}
+
+    record Manager(Long id, @JsonIgnoreProperties("location") Department department) {}
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+    @JsonTypeName("contractor")
+    record Contractor(Long id, String firstName, String agency) {}
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(FieldSelection.module());
+
+    private final Employee employee = new Employee(
+        1L,
+        "Ada",
+        "Lovelace",
+        new Department(2L, "Research", new Location(3L, "London")),
+        List.of(new Department(4L, "Sales", null)),
+        new Salary(100, "EUR")
+    );
+
+    private String write(Object value, String fields, String expand) throws Exception {
+        return mapper.writer(FieldSelection.parse(fields, expand)).writeValueAsString(value);
+    }
+
+    @Test
+    void shouldWriteEverythingWithoutSelection() throws Exception {
+        assertThat(mapper.writeValueAsString(employee)).isEqualTo(
+            "{\"id\":1,\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"," +
+            "\"department\":{\"id\":2,\"name\":\"Research\",\"location\":{\"id\":3,\"city\":\"London\"}}," +
+            "\"history\":[{\"id\":4,\"name\":\"Sales\",\"location\":null}],\"salary\":{\"amount\":100,\"currency\":\"EUR\"}}"
+        );
+    }
+
+    @Test
+    void shouldOnlyWriteSelectedFields() throws Exception {
+        assertThat(write(employee, "id,firstName", null)).isEqualTo("{\"id\":1,\"firstName\":\"Ada\"}");
+    }
+
+    @Test
+    void shouldWriteNestedObjectsAsReferences() throws Exception {
+        assertThat(write(employee, "id,department,history", null)).isEqualTo(
+            "{\"id\":1,\"department\":{\"id\":2},\"history\":[{\"id\":4}]}"
+        );
+    }
+
+    @Test
+    void shouldWriteObjectsWithoutIdInFull() throws Exception {
+        assertThat(write(employee, "salary", null)).isEqualTo("{\"salary\":{\"amount\":100,\"currency\":\"EUR\"}}");
+    }
+
+    @Test
+    void shouldSelectNestedFields() throws Exception {
+        assertThat(write(employee, "id,department.name,department.location", null)).isEqualTo(
+            "{\"id\":1,\"department\":{\"name\":\"Research\",\"location\":{\"id\":3}}}"
+        );
+    }
+
+    @Test
+    void shouldExpandNestedObjects() throws Exception {
+        assertThat(write(employee, "id,department", "department")).isEqualTo(
+            "{\"id\":1,\"department\":{\"id\":2,\"name\":\"Research\",\"location\":{\"id\":3,\"city\":\"London\"}}}"
+        );
+        assertThat(write(employee, "department", "department.location")).isEqualTo(
+            "{\"department\":{\"id\":2,\"name\":\"Research\",\"location\":{\"id\":3,\"city\":\"London\"}}}"
+        );
+    }
+
+    @Test
+    void shouldWriteAllFieldsWhenOnlyExpanding() throws Exception {
+        assertThat(write(employee, null, "history")).isEqualTo(
+            "{\"id\":1,\"firstName\":\"Ada\",\"lastName\":\"Lovelace\",\"department\":{\"id\":2}," +
+            "\"history\":[{\"id\":4,\"name\":\"Sales\",\"location\":null}],\"salary\":{\"amount\":100,\"currency\":\"EUR\"}}"
+        );
+    }
+
+    @Test
+    void shouldApplySelectionToEveryElementOfList() throws Exception {
+        assertThat(write(List.of(employee, employee), " id , lastName ,,unknown", null)).isEqualTo(
+            "[{\"id\":1,\"lastName\":\"Lovelace\"},{\"id\":1,\"lastName\":\"Lovelace\"}]"
+        );
+    }
+
+    @Test
+    void shouldKeepIgnoredProperties() throws Exception {
+        Manager manager = new Manager(5L, employee.department());
+
+        assertThat(write(manager, null, "department")).isEqualTo("{\"id\":5,\"department\":{\"id\":2,\"name\":\"Research\"}}");
+        assertThat(mapper.writeValueAsString(manager)).isEqualTo("{\"id\":5,\"department\":{\"id\":2,\"name\":\"Research\"}}");
+    }
+
+    @Test
+    void shouldReuseSelection() throws Exception {
+        FieldSelection selection = FieldSelection.parse("id", null);
+
+        assertThat(mapper.writer(selection).writeValueAsString(employee)).isEqualTo("{\"id\":1}");
+        assertThat(mapper.writer(selection).writeValueAsString(employee.department())).isEqualTo("{\"id\":2}");
+        assertThat(mapper.writeValueAsString(employee.salary())).isEqualTo("{\"amount\":100,\"currency\":\"EUR\"}");
+    }
+
+    @Test
+    void shouldWriteTypeIdAroundSelectedFields() throws Exception {
+        Contractor contractor = new Contractor(6L, "Grace", "Acme");
+
+        assertThat(write(contractor, "id,firstName", null)).isEqualTo("{\"type\":\"contractor\",\"id\":6,\"firstName\":\"Grace\"}");
+        assertThat(write(contractor, null, null)).isEqualTo(
+            "{\"type\":\"contractor\",\"id\":6,\"firstName\":\"Grace\",\"agency\":\"Acme\"}"
+        );
+    }
+
+    @Test
+    void shouldDescribeAllProperties() throws Exception {
+        List<String> properties = new ArrayList<>();
+        mapper.acceptJsonFormatVisitor(
+            Salary.class,
+            new JsonFormatVisitorWrapper.Base() {
+                @Override
+                public JsonObjectFormatVisitor expectObjectFormat(JavaType type) {
+                    return new JsonObjectFormatVisitor.Base(getProvider()) {
+                        @Override
+                        public void property(BeanProperty writer) {
+                            properties.add(writer.getName());
+                        }
+
+                        @Override
+                        public void optionalProperty(BeanProperty writer) {
+                            properties.add(writer.getName());
+                        }
+                    };
+                }
+            }
+        );
+
+        assertThat(properties).containsExactly("amount", "currency");
+    }
+}
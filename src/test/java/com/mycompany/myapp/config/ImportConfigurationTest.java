@@ -0,0 +1,63 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ImportConfiguration.ImportRunner;
+import com.mycompany.myapp.service.ImportService;
+import com.mycompany.myapp.service.dto.ImportReportDTO;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.support.GenericApplicationContext;
+
+class ImportConfigurationTest {
+
+    private final ImportService importService = mock(ImportService.class);
+
+    private final ImportReportDTO report = new ImportReportDTO();
+
+    @TempDir
+    private Path directory;
+
+    private ImportRunner runner;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.writeString(directory.resolve("department.csv"), "department_name\nSales\n");
+        when(importService.importTables(any())).thenReturn(report);
+        runner = new ImportRunner(importService, directory.toString());
+    }
+
+    @Test
+    void shouldImportTheCsvFilesOfTheDirectory() {
+        runner.run(new DefaultApplicationArguments());
+
+        verify(importService).importTables(argThat(sources -> sources.keySet().equals(Set.of(ImportService.Table.DEPARTMENT))));
+        assertThat(runner.getExitCode()).isZero();
+    }
+
+    @Test
+    void shouldCloseTheApplicationWithAnErrorCodeWhenRowsAreRejected() {
+        report.setErrorCount(1);
+        try (GenericApplicationContext context = new GenericApplicationContext()) {
+            context.registerBean(ImportRunner.class, () -> runner);
+            context.refresh();
+
+            runner.run(new DefaultApplicationArguments());
+
+            assertThat(SpringApplication.exit(context)).isEqualTo(1);
+            assertThat(context.isActive()).isFalse();
+        }
+    }
+}
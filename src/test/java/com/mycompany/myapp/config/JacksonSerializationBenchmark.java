@@ -0,0 +1,179 @@
+package com.mycompany.myapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.mycompany.myapp.domain.Department;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.Job;
+import com.mycompany.myapp.domain.Location;
+import com.mycompany.myapp.repository.projection.EmployeeView;
+import com.mycompany.myapp.repository.projection.EntityRef;
+import com.mycompany.myapp.repository.projection.JobHistoryRef;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+/**
+ * Benchmark of the JSON serialization of a page of 1000 entities or projections, through the message converter, with
+ * and without {@code application.jackson.optimized-serialization}.
+ * <p>
+ * Run it with:
+ * <pre>
+ * ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) org.openjdk.jmh.Main JacksonSerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final Type EMPLOYEES = new ParameterizedTypeReference<List<Employee>>() {}.getType();
+
+    private static final Type EMPLOYEE_VIEWS = new ParameterizedTypeReference<List<EmployeeView>>() {}.getType();
+
+    private static final Type DEPARTMENTS = new ParameterizedTypeReference<List<Department>>() {}.getType();
+
+    private static final Type JOBS = new ParameterizedTypeReference<List<Job>>() {}.getType();
+
+    @Param({ "false", "true" })
+    private boolean optimized;
+
+    private MappingJackson2HttpMessageConverter converter;
+
+    private List<Employee> employees;
+
+    private List<EmployeeView> employeeViews;
+
+    private List<Department> departments;
+
+    private List<Job> jobs;
+
+    @Setup
+    public void setUp() {
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().modulesToInstall(
+            configuration.javaTimeModule(),
+            configuration.jdk8TimeModule(),
+            configuration.hibernate6Module(),
+            configuration.fieldSelectionModule()
+        );
+        if (optimized) {
+            builder.modulesToInstall(modules -> modules.add(new BlackbirdModule()));
+        }
+        ObjectMapper objectMapper = builder.build();
+        converter = optimized
+            ? new CachingJackson2HttpMessageConverter(objectMapper)
+            : new MappingJackson2HttpMessageConverter(objectMapper);
+
+        Instant now = Instant.parse("2026-10-18T00:00:00Z");
+        departments = new ArrayList<>();
+        employees = new ArrayList<>();
+        employeeViews = new ArrayList<>();
+        jobs = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            long id = i + 1L;
+            Location location = new Location()
+                .id(id)
+                .streetAddress("Street " + i)
+                .postalCode("75000")
+                .city("Paris")
+                .stateProvince("Ile-de-France");
+            Department department = new Department().id(id).departmentName("Department " + i).location(location);
+            department.setVersion(1L);
+            departments.add(department);
+            Employee employee = new Employee()
+                .id(id)
+                .firstName("First " + i)
+                .lastName("Last " + i)
+                .email("employee" + i + "@example.com")
+                .phoneNumber("+33 1 00 00 00 00")
+                .hireDate(now)
+                .salary(50000L + i)
+                .commissionPct(5L)
+                .department(department)
+                .manager(i == 0 ? null : employees.get(0));
+            employee.setVersion(1L);
+            employee.setLastModifiedDate(now);
+            employees.add(employee);
+            Job job = new Job().id(id).jobTitle("Job " + i).minSalary(40000L).maxSalary(80000L).employee(employee);
+            job.setVersion(1L);
+            jobs.add(job);
+            employeeViews.add(
+                new EmployeeView(
+                    id,
+                    "First " + i,
+                    "Last " + i,
+                    "employee" + i + "@example.com",
+                    "+33 1 00 00 00 00",
+                    now,
+                    50000L + i,
+                    5L,
+                    null,
+                    i == 0 ? null : EntityRef.of(1L),
+                    EntityRef.of(id),
+                    JobHistoryRef.of(id, now, null, null, 1L, now),
+                    1L,
+                    now
+                )
+            );
+        }
+    }
+
+    @Benchmark
+    public byte[] employees() throws IOException {
+        return write(employees, EMPLOYEES);
+    }
+
+    @Benchmark
+    public byte[] employeeViews() throws IOException {
+        return write(employeeViews, EMPLOYEE_VIEWS);
+    }
+
+    @Benchmark
+    public byte[] departments() throws IOException {
+        return write(departments, DEPARTMENTS);
+    }
+
+    @Benchmark
+    public byte[] jobs() throws IOException {
+        return write(jobs, JOBS);
+    }
+
+    private byte[] write(Object body, Type type) throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(body, type, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JacksonSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,124 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.aop.jdbc.ReadPoolAspect;
+import com.mycompany.myapp.aop.jdbc.UseReadPool;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadOnlyFallbackDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+
+    private final DataSource read = mock(DataSource.class);
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection readConnection = mock(Connection.class);
+
+    private ReadOnlyFallbackDataSource readOnlyDataSource;
+
+    private LazyConnectionDataSourceProxy dataSource;
+
+    private HeavyReads heavyReads;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(read.getConnection()).thenReturn(readConnection);
+        route(Duration.ofSeconds(10));
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new HeavyReads());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(ReadPoolAspect.class);
+        heavyReads = proxyFactory.getProxy();
+    }
+
+    /**
+     * As in {@link ReadWriteDataSourceConfiguration}.
+     */
+    private void route(Duration fallbackDuration) {
+        readOnlyDataSource = new ReadOnlyFallbackDataSource(read, primary, fallbackDuration);
+        dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+    }
+
+    /**
+     * @return the pooled connection of the first statement of a transaction of a {@link UseReadPool} method.
+     */
+    private Connection connectionOf(boolean readOnly) {
+        return heavyReads.run(() -> unmarkedConnectionOf(readOnly));
+    }
+
+    private Connection unmarkedConnectionOf(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection());
+    }
+
+    @Test
+    void shouldUseTheReadPoolForTheReadOnlyTransactions() {
+        assertThat(connectionOf(true)).isSameAs(readConnection);
+        assertThat(connectionOf(false)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void shouldUseReadOnlyConnectionsOfThePrimaryPoolForTheUnmarkedMethods() throws SQLException {
+        assertThat(unmarkedConnectionOf(true)).isSameAs(primaryConnection);
+
+        verify(read, never()).getConnection();
+        verify(primaryConnection).setReadOnly(true);
+    }
+
+    @Test
+    void shouldFallBackToReadOnlyConnectionsOfThePrimaryPool() throws SQLException {
+        when(read.getConnection()).thenThrow(new SQLTransientConnectionException("HikariPool-read - Connection is not available"));
+
+        assertThat(connectionOf(true)).isSameAs(primaryConnection);
+        assertThat(connectionOf(true)).isSameAs(primaryConnection);
+
+        assertThat(readOnlyDataSource.isFallingBack()).isTrue();
+        // The second transaction doesn't wait for the read pool
+        verify(read, times(1)).getConnection();
+        verify(primaryConnection, times(2)).setReadOnly(true);
+    }
+
+    @Test
+    void shouldUseTheReadPoolAgainAfterTheFallbackDuration() throws SQLException {
+        route(Duration.ZERO);
+        when(read.getConnection())
+            .thenThrow(new SQLTransientConnectionException("HikariPool-read - Connection is not available"))
+            .thenReturn(readConnection);
+
+        assertThat(connectionOf(true)).isSameAs(primaryConnection);
+        assertThat(connectionOf(true)).isSameAs(readConnection);
+
+        assertThat(readOnlyDataSource.isFallingBack()).isFalse();
+        verify(readConnection, never()).setReadOnly(true);
+    }
+
+    public static class HeavyReads {
+
+        @UseReadPool
+        public <T> T run(Supplier<T> read) {
+            return read.get();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.aop.jdbc.ReadPoolAspect;
+import com.mycompany.myapp.aop.jdbc.UseReadPool;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadWriteDataSourceConfigurationTest {
+
+    private static final HikariDataSource primaryDataSource = mock(HikariDataSource.class);
+
+    private static final HikariDataSource readDataSource = mock(HikariDataSource.class);
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection readConnection = mock(Connection.class);
+
+    private AnnotationConfigApplicationContext context;
+
+    private Reports reports;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        reset(primaryDataSource, readDataSource);
+        when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+        when(readDataSource.getConnection()).thenReturn(readConnection);
+        context = new AnnotationConfigApplicationContext(TransactionConfiguration.class);
+        reports = context.getBean(Reports.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void shouldUseTheReadPoolForTheMarkedReadOnlyMethods() {
+        assertThat(reports.heavyRead()).isSameAs(readConnection);
+    }
+
+    @Test
+    void shouldUseThePrimaryPoolForTheOtherReadOnlyMethods() throws SQLException {
+        // Like the login, they must see what was just committed
+        assertThat(reports.read()).isSameAs(primaryConnection);
+        verify(primaryConnection).setReadOnly(true);
+        verifyNoInteractions(readDataSource);
+    }
+
+    @Test
+    void shouldUseThePrimaryPoolForTheReadWriteMethods() {
+        assertThat(reports.write()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void shouldJoinTheReadWriteTransactionOfTheCaller() {
+        // The read-only method sees the writes of the transaction it joins
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Connection connection = transaction.execute(status -> reports.heavyRead());
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableAspectJAutoProxy
+    static class TransactionConfiguration {
+
+        @Bean
+        public DataSource dataSource() {
+            return new ReadWriteDataSourceConfiguration().dataSource(primaryDataSource, readDataSource, new ApplicationProperties());
+        }
+
+        @Bean
+        public ReadPoolAspect readPoolAspect() {
+            return new ReadPoolAspect();
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        public Reports reports(DataSource dataSource) {
+            return new Reports(dataSource);
+        }
+    }
+
+    /**
+     * Returns the pooled connection of the first statement of its transaction.
+     */
+    public static class Reports {
+
+        private final DataSource dataSource;
+
+        public Reports(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @UseReadPool
+        @Transactional(readOnly = true)
+        public Connection heavyRead() {
+            return ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection();
+        }
+
+        @Transactional(readOnly = true)
+        public Connection read() {
+            return ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection();
+        }
+
+        @Transactional
+        public Connection write() {
+            return ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection();
+        }
+    }
+}
@@ -3,20 +3,37 @@ package com.mycompany.myapp.config;
 import static com.mycompany.myapp.config.StaticResourcesWebConfiguration.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.ResourceChainRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.JHipsterDefaults;
 import tech.jhipster.config.JHipsterProperties;
 
 class StaticResourcesWebConfigurerTest {
 
+    @Configuration
+    @EnableWebMvc
+    static class WebMvcConfig {}
+
     public static final int MAX_AGE_TEST = 5;
     public StaticResourcesWebConfiguration staticResourcesWebConfiguration;
     private ResourceHandlerRegistry resourceHandlerRegistry;
@@ -55,6 +72,52 @@ class StaticResourcesWebConfigurerTest {
         verify(staticResourcesWebConfiguration, times(1)).getCacheControl();
         verify(resourceHandlerRegistration, times(1)).setCacheControl(ccExpected);
         verify(resourceHandlerRegistration, times(1)).addResourceLocations(RESOURCE_LOCATIONS);
+        verify(resourceHandlerRegistration, times(1)).resourceChain(true);
+    }
+
+    @Test
+    void shouldRegisterEncodedResourceResolver() {
+        ResourceHandlerRegistration resourceHandlerRegistration = spy(new ResourceHandlerRegistration(RESOURCE_PATHS));
+        ResourceChainRegistration resourceChainRegistration = spy(new ResourceChainRegistration(true));
+        doReturn(resourceChainRegistration).when(resourceHandlerRegistration).resourceChain(true);
+
+        staticResourcesWebConfiguration.initializeResourceHandler(resourceHandlerRegistration);
+
+        verify(resourceChainRegistration, times(1)).addResolver(any(EncodedResourceResolver.class));
+    }
+
+    @Test
+    void shouldServeEncodedVariantsToClientsAcceptingThem() throws Exception {
+        try (AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext()) {
+            context.setServletContext(new MockServletContext());
+            context.getEnvironment().setActiveProfiles(JHipsterConstants.SPRING_PROFILE_PRODUCTION);
+            context.register(WebMvcConfig.class, StaticResourcesWebConfiguration.class);
+            context.addBeanFactoryPostProcessor(beanFactory -> beanFactory.registerSingleton("jHipsterProperties", props));
+            context.refresh();
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+            mockMvc
+                .perform(get("/encoding-test.js").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "br"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(content().bytes(read("encoding-test.js.br")));
+            mockMvc
+                .perform(get("/encoding-test.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(content().bytes(read("encoding-test.js.gz")));
+            mockMvc
+                .perform(get("/encoding-test.js"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(read("encoding-test.js")));
+        }
+    }
+
+    private static byte[] read(String name) throws IOException {
+        return new ClassPathResource("static/" + name).getContentAsByteArray();
     }
 
     @Test
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Integration tests for the {@link EntitySequenceGenerator}.
+ */
+@IntegrationTest
+class EntitySequenceGeneratorIT {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @CsvSource(
+        {
+            "com.mycompany.myapp.domain.Region, region_seq",
+            "com.mycompany.myapp.domain.Country, country_seq",
+            "com.mycompany.myapp.domain.Location, location_seq",
+            "com.mycompany.myapp.domain.Department, department_seq",
+            "com.mycompany.myapp.domain.Task, task_seq",
+            "com.mycompany.myapp.domain.Employee, employee_seq",
+            "com.mycompany.myapp.domain.Job, job_seq",
+            "com.mycompany.myapp.domain.JobHistory, job_history_seq",
+        }
+    )
+    void shouldHandOutBlocksOfTheSequenceIncrement(Class<?> entityClass, String sequenceName) {
+        Long increment = jdbcTemplate.queryForObject(
+            "SELECT increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?",
+            Long.class,
+            sequenceName
+        );
+
+        Optimizer optimizer = optimizerOf(entityClass);
+        assertThat(optimizer).isInstanceOf(PooledLoOptimizer.class);
+        assertThat((long) optimizer.getIncrementSize()).isEqualTo(increment);
+    }
+
+    @Test
+    void shouldKeepTheDefaultOptimizerOfTheSharedSequence() {
+        assertThat(optimizerOf(User.class)).isInstanceOf(PooledOptimizer.class);
+    }
+
+    private Optimizer optimizerOf(Class<?> entityClass) {
+        return (
+            (OptimizableGenerator) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass)
+                .getGenerator()
+        ).getOptimizer();
+    }
+}
@@ -0,0 +1,268 @@
+package com.mycompany.myapp.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import javax.sql.DataSource;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+class QueryInstrumentationTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ApplicationProperties.Jdbc properties = new ApplicationProperties.Jdbc();
+
+    private final DataSource target = mock(DataSource.class);
+
+    private QueryInstrumentation instrumentation;
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        properties.setSlowQueryThreshold(Duration.ofDays(1));
+        properties.setSlowQueryBufferSize(2);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> preparedStatement());
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(target.getConnection()).thenReturn(connection);
+        instrument();
+    }
+
+    private void instrument() {
+        instrumentation = new QueryInstrumentation(properties, registry);
+        dataSource = new InstrumentedDataSource(target, instrumentation);
+    }
+
+    @AfterEach
+    void tearDown() {
+        instrumentation.endRequest();
+    }
+
+    /**
+     * A statement returning 3 rows.
+     */
+    private static PreparedStatement preparedStatement() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        return statement;
+    }
+
+    private void select(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            ResultSet resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                // Reads the rows
+            }
+        }
+    }
+
+    private DistributionSummary requestSummary(String name, String method) {
+        return registry.get(name).tag(QueryInstrumentation.METHOD_DIMENSION, method).summary();
+    }
+
+    private long statementCount(String origin) {
+        return registry.get(QueryInstrumentation.STATEMENTS_METER_NAME).tag(QueryInstrumentation.ORIGIN_DIMENSION, origin).timer().count();
+    }
+
+    @Test
+    void shouldCountTheStatementsAndRowsOfARequest() throws SQLException {
+        instrumentation.beginRequest("EmployeeResource.getAllEmployees");
+        select("select * from employee");
+        select("select * from department where id = ?");
+        instrumentation.endRequest();
+
+        assertThat(requestSummary(QueryInstrumentation.REQUEST_STATEMENTS_METER_NAME, "EmployeeResource.getAllEmployees").totalAmount())
+            .isEqualTo(2);
+        assertThat(requestSummary(QueryInstrumentation.REQUEST_ROWS_METER_NAME, "EmployeeResource.getAllEmployees").totalAmount())
+            .isEqualTo(6);
+        assertThat(statementCount("EmployeeResource.getAllEmployees")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldTagTheStatementsWithTheRepositoryMethod() throws Throwable {
+        RepositoryQueryOriginInterceptor interceptor = new RepositoryQueryOriginInterceptor(instrumentation, SampleRepository.class);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(SampleRepository.class.getMethod("findAll"));
+        when(invocation.proceed()).thenAnswer(call -> {
+            select("select * from employee");
+            return null;
+        });
+
+        instrumentation.beginRequest("EmployeeResource.getAllEmployees");
+        interceptor.invoke(invocation);
+        // Outside of the repository, e.g. a lazy association
+        select("select * from department where id = ?");
+        instrumentation.endRequest();
+        // Outside of a request, e.g. a scheduled job
+        select("select * from job");
+
+        assertThat(statementCount("SampleRepository.findAll")).isEqualTo(1);
+        assertThat(statementCount("EmployeeResource.getAllEmployees")).isEqualTo(1);
+        assertThat(statementCount(QueryInstrumentation.NO_ORIGIN)).isEqualTo(1);
+        assertThat(requestSummary(QueryInstrumentation.REQUEST_STATEMENTS_METER_NAME, "EmployeeResource.getAllEmployees").totalAmount())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void shouldReleaseTheThreadStartingAnAsyncRequest() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new AsyncResource())
+            .addInterceptors(new QueryOriginInterceptor(instrumentation))
+            .build();
+
+        MvcResult result = mockMvc.perform(get("/async")).andExpect(request().asyncStarted()).andReturn();
+        // The thread goes back to the pool, e.g. for a scheduled job
+        select("select * from job");
+
+        assertThat(statementCount(QueryInstrumentation.NO_ORIGIN)).isEqualTo(1);
+        assertThat(registry.find(QueryInstrumentation.REQUEST_STATEMENTS_METER_NAME).summaries()).isEmpty();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        assertThat(requestSummary(QueryInstrumentation.REQUEST_STATEMENTS_METER_NAME, "AsyncResource.getAsync").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepTheLastSlowQueriesWithoutTheirLiterals() throws SQLException {
+        properties.setSlowQueryThreshold(Duration.ZERO);
+        instrument();
+
+        instrumentation.beginRequest("EmployeeResource.getEmployee");
+        select("select * from employee where email = 'ada@example.com'");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("update employee set salary = 1000 where id = 42");
+            statement.execute("delete from job where id = 7");
+        }
+
+        assertThat(instrumentation.getSlowQueries())
+            .hasSize(2)
+            .extracting(QueryInstrumentation.SlowQuery::sql)
+            .containsExactlyInAnyOrder("update employee set salary = ? where id = ?", "delete from job where id = ?");
+        assertThat(instrumentation.getSlowQueries())
+            .allSatisfy(query -> assertThat(query.request()).isEqualTo("EmployeeResource.getEmployee"));
+
+        instrumentation.clearSlowQueries();
+
+        assertThat(instrumentation.getSlowQueries()).isEmpty();
+    }
+
+    @Test
+    void shouldRedactTheLiterals() {
+        assertThat(QueryInstrumentation.redact("select * from employee where email = 'it''s@example.com' and id > 10"))
+            .isEqualTo("select * from employee where email = ? and id > ?");
+        assertThat(QueryInstrumentation.redact("select e1_0.id from employee e1_0 where e1_0.salary >= 1500.50 limit ?"))
+            .isEqualTo("select e1_0.id from employee e1_0 where e1_0.salary >= ? limit ?");
+        assertThat(QueryInstrumentation.redact("select 'unterminated")).isEqualTo("select ?");
+        assertThat(QueryInstrumentation.redact("x".repeat(3000))).hasSize(2003).endsWith("...");
+        assertThat(QueryInstrumentation.redact(null)).isNull();
+    }
+
+    @Test
+    void shouldCountTheSelectsPerTable() throws SQLException {
+        select("select * from employee");
+        QueryCount queries;
+        try (QueryCount counting = instrumentation.startCounting()) {
+            queries = counting;
+            select("select e1_0.id,e1_0.first_name from employee e1_0 order by e1_0.id desc");
+            for (int i = 0; i < 3; i++) {
+                select("select j1_0.employee_id,j1_0.id from job j1_0 where j1_0.employee_id=?");
+            }
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("update job set min_salary = 1 where id = 2");
+            }
+        }
+        select("select * from job");
+
+        assertThat(queries.getStatements()).isEqualTo(5);
+        assertThat(queries.getSelects()).isEqualTo(4);
+        assertThat(queries.getRows()).isEqualTo(12);
+        assertThat(queries.getSelectsPerTable()).containsOnly(entry("employee", 1), entry("job", 3));
+        assertThat(queries.getMaxSelectsPerTable()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldWarnAboutTheRepeatedSelects() throws SQLException {
+        properties.setRepeatedSelectThreshold(2);
+        instrument();
+        Logger logger = (Logger) LoggerFactory.getLogger(QueryInstrumentation.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            instrumentation.beginRequest("EmployeeResource.getAllEmployees");
+            select("select * from employee");
+            select("select * from job where employee_id = ?");
+            select("select * from job where employee_id = ?");
+            instrumentation.endRequest();
+
+            assertThat(appender.list).isEmpty();
+
+            instrumentation.beginRequest("EmployeeResource.getAllEmployees");
+            for (int i = 0; i < 3; i++) {
+                select("select * from job where employee_id = ?");
+            }
+            instrumentation.endRequest();
+
+            assertThat(appender.list)
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("EmployeeResource.getAllEmployees ran 3 selects on job, check the fetching of its associations (N+1)");
+        } finally {
+            logger.detachAppender(appender);
+        }
+    }
+
+    @Test
+    void shouldFindTheSelectedTable() {
+        assertThat(QueryInstrumentation.selectedTable("select e1_0.id from employee e1_0 where e1_0.id=?")).isEqualTo("employee");
+        assertThat(QueryInstrumentation.selectedTable("  SELECT id FROM public.Job_History\nWHERE id = ?")).isEqualTo("public.job_history");
+        assertThat(QueryInstrumentation.selectedTable("select count(*) from\temployee")).isEqualTo("employee");
+        assertThat(QueryInstrumentation.selectedTable("select fromage from cheese")).isEqualTo("cheese");
+        assertThat(QueryInstrumentation.selectedTable("select nextval('sequence_generator')")).isNull();
+        assertThat(QueryInstrumentation.selectedTable("update employee set salary = ? where id = ?")).isNull();
+        assertThat(QueryInstrumentation.selectedTable(null)).isNull();
+    }
+
+    interface SampleRepository {
+        Object findAll();
+    }
+
+    @RestController
+    static class AsyncResource {
+
+        @GetMapping("/async")
+        public Callable<String> getAsync() {
+            return () -> "done";
+        }
+    }
+}
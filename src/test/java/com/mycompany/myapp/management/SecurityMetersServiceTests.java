@@ -4,8 +4,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -67,4 +69,21 @@ class SecurityMetersServiceTests {
 
         assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isEqualTo(1);
     }
+
+    @Test
+    void testPasswordMetersAreBoundToCorrectMeters() {
+        securityMetersService.trackPasswordMatch(TimeUnit.MILLISECONDS.toNanos(5), TimeUnit.MILLISECONDS.toNanos(80));
+
+        Timer queue = meterRegistry.get("security.password.queue").tag("operation", "match").timer();
+        Timer hashing = meterRegistry.get("security.password.hashing").tag("operation", "match").timer();
+        assertThat(queue.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+        assertThat(hashing.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(80);
+        assertThat(meterRegistry.get("security.password.hashing").tag("operation", "encode").timer().count()).isZero();
+
+        securityMetersService.trackPasswordRejected();
+        securityMetersService.trackPasswordUpgraded();
+
+        assertThat(meterRegistry.get("security.password.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.password.upgrades").counter().count()).isEqualTo(1);
+    }
 }
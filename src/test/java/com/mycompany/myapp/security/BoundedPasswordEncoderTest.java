@@ -0,0 +1,91 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.mycompany.myapp.management.SecurityMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final SecurityMetersService metersService = new SecurityMetersService(registry);
+
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, metersService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void shouldHashOnThePoolAndTrackTheTimes() {
+        String hash = encoder.encode("password");
+
+        assertThat(encoder.matches("password", hash)).isTrue();
+        assertThat(encoder.matches("other", hash)).isFalse();
+        assertThat(registry.get(SecurityMetersService.PASSWORD_HASHING_METER_NAME).tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(registry.get(SecurityMetersService.PASSWORD_HASHING_METER_NAME).tag("operation", "match").timer().count()).isEqualTo(2);
+        assertThat(registry.get(SecurityMetersService.PASSWORD_QUEUE_METER_NAME).tag("operation", "match").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldUpgradeTheHashesOfALowerCost() {
+        String weak = new BCryptPasswordEncoder(4).encode("password");
+        BoundedPasswordEncoder stronger = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, metersService);
+        try {
+            assertThat(stronger.upgradeEncoding(weak)).isTrue();
+            assertThat(stronger.upgradeEncoding(stronger.encode("password"))).isFalse();
+        } finally {
+            stronger.close();
+        }
+    }
+
+    @Test
+    void shouldRejectWhenTheQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        encoder.close();
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, metersService);
+
+        CompletableFuture<Boolean> hashing = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hash"));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "hash"));
+        while (encoder.queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatExceptionOfType(PasswordHashingRejectedException.class).isThrownBy(() -> encoder.matches("c", "hash"));
+        assertThat(registry.get(SecurityMetersService.PASSWORD_REJECTED_METER_NAME).counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(hashing.get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isTrue();
+    }
+}
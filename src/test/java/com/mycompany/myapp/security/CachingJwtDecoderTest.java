@@ -0,0 +1,100 @@
+package com.mycompany.myapp.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T10:00:00Z");
+
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+
+    private final Clock clock = mock(Clock.class);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenReturn(NOW);
+        when(delegate.decode(anyString())).thenAnswer(invocation -> jwt(invocation.getArgument(0), NOW.plusSeconds(60)));
+        decoder = new CachingJwtDecoder(delegate, 2, registry, clock);
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token).header("alg", "HS512").subject("user").issuedAt(NOW).expiresAt(expiresAt).build();
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tag("cache", "jwt").tag("result", result).functionCounter().count();
+    }
+
+    @Test
+    void shouldDecodeTokenOnce() {
+        Jwt first = decoder.decode("token");
+        Jwt second = decoder.decode("token");
+
+        assertThat(second).isSameAs(first);
+        verify(delegate, times(1)).decode("token");
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDecodeTokenAgainOnceExpired() {
+        decoder.decode("token");
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+        assertThat(registry.get("cache.evictions").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheInvalidToken() {
+        when(delegate.decode("invalid")).thenThrow(new BadJwtException("Invalid signature"));
+
+        assertThatThrownBy(() -> decoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+
+        verify(delegate, times(2)).decode("invalid");
+        assertThat(registry.get("cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheTokenWithoutExpiry() {
+        when(delegate.decode("eternal")).thenReturn(jwt("eternal", null));
+
+        decoder.decode("eternal");
+        decoder.decode("eternal");
+
+        verify(delegate, times(2)).decode("eternal");
+    }
+
+    @Test
+    void shouldNotGrowBeyondMaxSize() {
+        decoder.decode("a");
+        decoder.decode("b");
+        decoder.decode("c");
+        decoder.decode("c");
+
+        verify(delegate, times(2)).decode("c");
+        assertThat(registry.get("cache.size").gauge().value()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,43 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+class ImportCsvReaderTest {
+
+    @Test
+    void readsFakeDataFormat() throws IOException {
+        ImportCsvReader reader = new ImportCsvReader(
+            new StringReader("id;first_name;salary\n1;Margaret;18781\r\n2;;4208\n\n3;\"Smith; Jr\";\n")
+        );
+
+        assertThat(reader.next()).containsExactly("id", "first_name", "salary");
+        assertThat(reader.next()).containsExactly("1", "Margaret", "18781");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("2", null, "4208");
+        assertThat(reader.next()).containsExactly("3", "Smith; Jr", null);
+        assertThat(reader.getRecordLine()).isEqualTo(5);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void readsQuotedValues() throws IOException {
+        ImportCsvReader reader = new ImportCsvReader(new StringReader("\"\";\"say \"\"hi\"\"\";\"two\nlines\"\nnext"));
+
+        assertThat(reader.next()).containsExactly("", "say \"hi\"", "two\nlines");
+        assertThat(reader.next()).containsExactly("next");
+        assertThat(reader.getRecordLine()).isEqualTo(3);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() throws IOException {
+        ImportCsvReader reader = new ImportCsvReader(new StringReader("1;\"open"));
+
+        assertThatThrownBy(reader::next).isInstanceOf(InvalidImportException.class).hasMessageContaining("line 1");
+    }
+}
@@ -0,0 +1,176 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.repository.projection.JobHistoryPeriod;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JobHistoryPeriodIndexTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private JobHistoryPeriodIndex index;
+
+    @BeforeEach
+    void initTest() {
+        index = new JobHistoryPeriodIndex();
+    }
+
+    private static Instant day(int day) {
+        return Instant.EPOCH.plusSeconds(day * 86400L);
+    }
+
+    private static long micros(int day) {
+        return JobHistoryPeriodIndex.toMicros(day(day), 0);
+    }
+
+    /**
+     * 1 is [0, 10) in department 1, 2 is [5, ...) in department 2, 3 is [..., 3) without department, 4 ends before it starts
+     * and 5 is [20, 30) in department 1.
+     */
+    private List<JobHistoryPeriod> periods() {
+        loads.incrementAndGet();
+        return List.of(
+            new JobHistoryPeriod(5L, day(20), day(30), 1L),
+            new JobHistoryPeriod(2L, day(5), null, 2L),
+            new JobHistoryPeriod(1L, day(0), day(10), 1L),
+            new JobHistoryPeriod(3L, null, day(3), null),
+            new JobHistoryPeriod(4L, day(8), day(7), 1L)
+        );
+    }
+
+    private JobHistoryPeriodIndex.Snapshot snapshot() {
+        return index.snapshot(this::periods);
+    }
+
+    @Test
+    void asOfIsHalfOpen() {
+        JobHistoryPeriodIndex.Snapshot snapshot = snapshot();
+
+        assertThat(snapshot.asOf(micros(-100), null)).containsExactly(3L);
+        assertThat(snapshot.asOf(micros(0), null)).containsExactly(3L, 1L);
+        assertThat(snapshot.asOf(micros(3), null)).containsExactly(1L);
+        assertThat(snapshot.asOf(micros(7), null)).containsExactly(1L, 2L);
+        assertThat(snapshot.asOf(micros(10), null)).containsExactly(2L);
+        assertThat(snapshot.asOf(micros(25), null)).containsExactly(2L, 5L);
+    }
+
+    @Test
+    void overlappingIsOrderedByStart() {
+        JobHistoryPeriodIndex.Snapshot snapshot = snapshot();
+
+        assertThat(snapshot.overlapping(micros(2), micros(21), null)).containsExactly(3L, 1L, 2L, 5L);
+        assertThat(snapshot.overlapping(micros(10), micros(20), null)).containsExactly(2L);
+        assertThat(snapshot.overlapping(Long.MIN_VALUE, Long.MAX_VALUE, 1L)).containsExactly(1L, 5L);
+        assertThat(snapshot.overlapping(micros(5), micros(5), null)).isEmpty();
+    }
+
+    @Test
+    void emptyPeriodsAreSkipped() {
+        JobHistoryPeriodIndex.Snapshot snapshot = snapshot();
+
+        assertThat(snapshot.size()).isEqualTo(4);
+        assertThat(snapshot.overlapping(micros(7), micros(9), 1L)).containsExactly(1L);
+    }
+
+    @Test
+    void datesBeyondTheRangeOfMicrosAreClamped() {
+        assertThat(JobHistoryPeriodIndex.toMicros(Instant.MIN, 0)).isEqualTo(Long.MIN_VALUE);
+        assertThat(JobHistoryPeriodIndex.toMicros(Instant.MAX, 0)).isEqualTo(Long.MAX_VALUE);
+
+        index.snapshot(() -> List.of(new JobHistoryPeriod(1L, Instant.MIN, Instant.MAX, 1L)));
+        index.put(2L, day(0), Instant.MAX, 1L);
+        JobHistoryPeriodIndex.Snapshot snapshot = index.snapshot(this::periods);
+
+        assertThat(snapshot.asOf(JobHistoryPeriodIndex.toMicros(Instant.MAX, 0), null)).isEmpty();
+        assertThat(snapshot.asOf(micros(0), null)).containsExactly(1L, 2L);
+        assertThat(snapshot.overlapping(JobHistoryPeriodIndex.toMicros(Instant.MIN, 0), micros(1), 1L)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void writesBeforeLoadAreIgnored() {
+        index.put(6L, day(0), day(1), null);
+        index.remove(1L);
+
+        assertThat(snapshot().asOf(micros(0), null)).containsExactly(3L, 1L);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void writesAfterLoadRebuildTheSnapshot() {
+        JobHistoryPeriodIndex.Snapshot before = snapshot();
+
+        index.put(1L, day(0), day(10), 1L);
+        assertThat(snapshot()).isSameAs(before);
+
+        index.put(6L, day(6), day(8), 2L);
+        index.remove(2L);
+        index.put(5L, day(0), day(1), 1L);
+        JobHistoryPeriodIndex.Snapshot after = snapshot();
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.asOf(micros(7), null)).containsExactly(1L, 6L);
+        assertThat(after.asOf(micros(0), 1L)).containsExactly(1L, 5L);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void invalidateReloads() {
+        snapshot();
+        index.invalidate();
+        snapshot();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void matchesScanOfRandomPeriods() {
+        Random random = new Random(42);
+        List<JobHistoryPeriod> periods = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            int start = random.nextInt(1000);
+            periods.add(
+                new JobHistoryPeriod(
+                    id,
+                    random.nextInt(20) == 0 ? null : day(start),
+                    random.nextInt(20) == 0 ? null : day(start + random.nextInt(50) - 5),
+                    (long) random.nextInt(3)
+                )
+            );
+        }
+        JobHistoryPeriodIndex.Snapshot snapshot = index.snapshot(() -> periods);
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(1100) - 50;
+            int to = from + random.nextInt(30) + 1;
+            Long departmentId = i % 2 == 0 ? null : (long) random.nextInt(3);
+            long[] expected = periods
+                .stream()
+                .filter(period -> departmentId == null || departmentId.equals(period.departmentId()))
+                .filter(period -> overlaps(period, from, to))
+                .sorted((a, b) ->
+                    a.startDate() == null || b.startDate() == null
+                        ? Boolean.compare(a.startDate() != null, b.startDate() != null)
+                        : a.startDate().equals(b.startDate()) ? a.id().compareTo(b.id()) : a.startDate().compareTo(b.startDate())
+                )
+                .mapToLong(JobHistoryPeriod::id)
+                .toArray();
+            assertThat(snapshot.overlapping(micros(from), micros(to), departmentId)).containsExactly(expected);
+        }
+    }
+
+    private static boolean overlaps(JobHistoryPeriod period, int from, int to) {
+        Instant start = period.startDate();
+        Instant end = period.endDate();
+        if (start != null && end != null && !end.isAfter(start)) {
+            return false;
+        }
+        return (start == null || start.isBefore(day(to))) && (end == null || end.isAfter(day(from)));
+    }
+}
@@ -0,0 +1,125 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.repository.projection.ManagerLink;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrgChartIndexTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private OrgChartIndex index;
+
+    @BeforeEach
+    void initTest() {
+        index = new OrgChartIndex();
+    }
+
+    /**
+     * 1 manages 2 and 5, 2 manages 3 and 4, 6 has no manager.
+     */
+    private List<ManagerLink> org() {
+        loads.incrementAndGet();
+        return List.of(
+            new ManagerLink(4L, 2L),
+            new ManagerLink(1L, null),
+            new ManagerLink(5L, 1L),
+            new ManagerLink(3L, 2L),
+            new ManagerLink(2L, 1L),
+            new ManagerLink(6L, null)
+        );
+    }
+
+    private OrgChartIndex.Snapshot snapshot() {
+        return index.snapshot(this::org);
+    }
+
+    @Test
+    void reportsAreDepthFirstRanges() {
+        OrgChartIndex.Snapshot snapshot = snapshot();
+
+        assertThat(snapshot.reports(snapshot.position(1L), 0, 10)).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(snapshot.reports(snapshot.position(2L), 0, 10)).containsExactly(3L, 4L);
+        assertThat(snapshot.reports(snapshot.position(6L), 0, 10)).isEmpty();
+        assertThat(snapshot.reports(snapshot.position(1L), 1, 2)).containsExactly(3L, 4L);
+        assertThat(snapshot.reports(snapshot.position(1L), 10, 2)).isEmpty();
+    }
+
+    @Test
+    void spanOfControl() {
+        OrgChartIndex.Snapshot snapshot = snapshot();
+        int position = snapshot.position(1L);
+
+        assertThat(snapshot.directReports(position)).isEqualTo(2);
+        assertThat(snapshot.totalReports(position)).isEqualTo(4);
+        assertThat(snapshot.depth(position)).isZero();
+        assertThat(snapshot.depth(snapshot.position(4L))).isEqualTo(2);
+        assertThat(snapshot.position(42L)).isEqualTo(-1);
+    }
+
+    @Test
+    void managersGoUpTheChain() {
+        OrgChartIndex.Snapshot snapshot = snapshot();
+
+        assertThat(snapshot.managers(snapshot.position(4L))).containsExactly(2L, 1L);
+        assertThat(snapshot.managers(snapshot.position(1L))).isEmpty();
+    }
+
+    @Test
+    void writesAreAppliedWithoutReloading() {
+        snapshot();
+
+        // 2 and its reports move under 6, 7 joins under 5
+        index.put(2L, 6L);
+        index.put(7L, 5L);
+        index.remove(3L);
+        OrgChartIndex.Snapshot snapshot = snapshot();
+
+        assertThat(loads).hasValue(1);
+        assertThat(snapshot.reports(snapshot.position(1L), 0, 10)).containsExactly(5L, 7L);
+        assertThat(snapshot.reports(snapshot.position(6L), 0, 10)).containsExactly(2L, 4L);
+        assertThat(snapshot.managers(snapshot.position(4L))).containsExactly(2L, 6L);
+    }
+
+    @Test
+    void unchangedManagerKeepsSnapshot() {
+        OrgChartIndex.Snapshot snapshot = snapshot();
+
+        index.put(3L, 2L);
+
+        assertThat(snapshot()).isSameAs(snapshot);
+    }
+
+    @Test
+    void writesBeforeLoadAreLeftToTheLoad() {
+        index.put(7L, 1L);
+
+        OrgChartIndex.Snapshot snapshot = snapshot();
+
+        assertThat(snapshot.position(7L)).isEqualTo(-1);
+    }
+
+    @Test
+    void invalidateReloads() {
+        snapshot();
+
+        index.invalidate();
+        snapshot();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void managerCycleIsBrokenAtLowestId() {
+        OrgChartIndex.Snapshot snapshot = index.snapshot(() ->
+            List.of(new ManagerLink(1L, 3L), new ManagerLink(2L, 1L), new ManagerLink(3L, 2L), new ManagerLink(4L, 3L))
+        );
+
+        assertThat(snapshot.reports(snapshot.position(1L), 0, 10)).containsExactly(2L, 3L, 4L);
+        assertThat(snapshot.managers(snapshot.position(4L))).containsExactly(3L, 2L, 1L);
+    }
+}
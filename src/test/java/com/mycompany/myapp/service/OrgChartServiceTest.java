@@ -0,0 +1,93 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.repository.projection.ManagerLink;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class OrgChartServiceTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private OrgChartService orgChartService;
+
+    @BeforeEach
+    void initTest() {
+        // 1 manages 2, 2 manages 3
+        when(employeeRepository.findAllManagerLinks()).thenReturn(
+            List.of(new ManagerLink(1L, null), new ManagerLink(2L, 1L), new ManagerLink(3L, 2L))
+        );
+        when(employeeRepository.findAllViewsByIdIn(anyList())).thenReturn(List.of());
+        when(employeeRepository.findAllViewsByManagerId(any(), any())).thenReturn(new PageImpl<>(List.of()));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        orgChartService = new OrgChartService(
+            employeeRepository,
+            mock(EntityManagerFactory.class),
+            transactionManager,
+            new ApplicationProperties()
+        );
+    }
+
+    @Test
+    void shouldLoadTheIndexInAReadWriteTransactionOfItsOwn() {
+        // The read-only transaction of the caller may use a replica, which misses the rows it hasn't replayed yet
+        orgChartService.getSpanOfControl(1L);
+
+        InOrder order = inOrder(transactionManager, employeeRepository);
+        order
+            .verify(transactionManager)
+            .getTransaction(
+                argThat(
+                    definition ->
+                        definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW && !definition.isReadOnly()
+                )
+            );
+        order.verify(employeeRepository).findAllManagerLinks();
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shouldNotFindADeletedEmployee() {
+        assertThat(orgChartService.getSpanOfControl(2L)).isPresent();
+
+        orgChartService.onDeleted(2L);
+
+        assertThat(orgChartService.findReports(2L, false, Pageable.unpaged())).isEmpty();
+        assertThat(orgChartService.findReports(2L, true, Pageable.unpaged())).isEmpty();
+        assertThat(orgChartService.findReportingChain(2L)).isEmpty();
+        assertThat(orgChartService.getSpanOfControl(2L)).isEmpty();
+    }
+
+    @Test
+    void shouldAnswerFromOneSnapshotWhenTheEmployeeIsDeletedInBetween() {
+        // The delete commits while the query loads the views of the snapshot it already took
+        when(employeeRepository.findAllViewsByIdIn(anyList())).thenAnswer(invocation -> {
+            orgChartService.onDeleted(2L);
+            return List.of();
+        });
+
+        assertThat(orgChartService.findReports(2L, false, Pageable.unpaged())).map(Page::getTotalElements).contains(1L);
+        assertThat(orgChartService.findReportingChain(2L)).isEmpty();
+        assertThat(orgChartService.getSpanOfControl(2L)).isEmpty();
+    }
+}
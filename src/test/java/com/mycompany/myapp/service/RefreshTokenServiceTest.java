@@ -0,0 +1,123 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.RefreshTokenRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.repository.projection.RefreshToken;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class RefreshTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties.Security.RefreshToken properties = new ApplicationProperties.Security.RefreshToken();
+        service = new RefreshTokenService(refreshTokenRepository, userRepository, properties, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static User user(boolean activated) {
+        User user = new User();
+        user.setId(1L);
+        user.setLogin("user");
+        user.setActivated(activated);
+        return user;
+    }
+
+    private static RefreshToken stored(String token, Instant expiresAt, Instant revokedAt) {
+        return new RefreshToken(RefreshTokenService.hash(token), UUID.randomUUID(), 1L, true, NOW.minusSeconds(60), expiresAt, revokedAt);
+    }
+
+    @Test
+    void shouldStoreTheHashOfTheIssuedToken() {
+        String token = service.issue(1L, true);
+
+        ArgumentCaptor<RefreshToken> stored = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).insert(stored.capture());
+        assertThat(token).hasSize(43);
+        assertThat(stored.getValue().tokenHash()).isEqualTo(RefreshTokenService.hash(token)).isNotEqualTo(token);
+        assertThat(stored.getValue().expiresAt()).isEqualTo(NOW.plus(Duration.ofDays(30)));
+        assertThat(service.issue(1L, false)).isNotEqualTo(token);
+    }
+
+    @Test
+    void shouldExchangeATokenForOneOfTheSameFamily() {
+        RefreshToken refreshToken = stored("token", NOW.plusSeconds(60), null);
+        when(refreshTokenRepository.findOneByTokenHash(refreshToken.tokenHash())).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.revoke(refreshToken.tokenHash(), NOW)).thenReturn(true);
+        when(userRepository.findOneWithAuthoritiesById(1L)).thenReturn(Optional.of(user(true)));
+
+        Optional<RefreshTokenService.Exchange> exchange = service.exchange("token");
+
+        assertThat(exchange).isPresent();
+        assertThat(exchange.orElseThrow().user().getLogin()).isEqualTo("user");
+        assertThat(exchange.orElseThrow().rememberMe()).isTrue();
+        ArgumentCaptor<RefreshToken> issued = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).insert(issued.capture());
+        assertThat(issued.getValue().family()).isEqualTo(refreshToken.family());
+        assertThat(issued.getValue().tokenHash()).isEqualTo(RefreshTokenService.hash(exchange.orElseThrow().refreshToken()));
+    }
+
+    @Test
+    void shouldRevokeTheFamilyOfAReusedToken() {
+        RefreshToken refreshToken = stored("token", NOW.plusSeconds(60), NOW.minusSeconds(10));
+        when(refreshTokenRepository.findOneByTokenHash(refreshToken.tokenHash())).thenReturn(Optional.of(refreshToken));
+
+        assertThat(service.exchange("token")).isEmpty();
+        assertThat(service.exchange("token")).isEmpty();
+
+        verify(refreshTokenRepository).revokeFamily(refreshToken.family(), NOW);
+        // The second attempt is rejected from memory
+        verify(refreshTokenRepository, times(1)).findOneByTokenHash(anyString());
+        verify(refreshTokenRepository, times(0)).insert(any());
+    }
+
+    @Test
+    void shouldRejectExpiredAndConcurrentlyExchangedTokens() {
+        RefreshToken expired = stored("expired", NOW, null);
+        RefreshToken exchanged = stored("exchanged", NOW.plusSeconds(60), null);
+        when(refreshTokenRepository.findOneByTokenHash(expired.tokenHash())).thenReturn(Optional.of(expired));
+        when(refreshTokenRepository.findOneByTokenHash(exchanged.tokenHash())).thenReturn(Optional.of(exchanged));
+        when(refreshTokenRepository.revoke(eq(exchanged.tokenHash()), any())).thenReturn(false);
+
+        assertThat(service.exchange("expired")).isEmpty();
+        assertThat(service.exchange("exchanged")).isEmpty();
+        assertThat(service.exchange("unknown")).isEmpty();
+
+        verify(refreshTokenRepository, times(0)).insert(any());
+    }
+
+    @Test
+    void shouldNotExchangeTheTokenOfADeactivatedUser() {
+        RefreshToken refreshToken = stored("token", NOW.plusSeconds(60), null);
+        when(refreshTokenRepository.findOneByTokenHash(refreshToken.tokenHash())).thenReturn(Optional.of(refreshToken));
+        when(refreshTokenRepository.revoke(refreshToken.tokenHash(), NOW)).thenReturn(true);
+        when(userRepository.findOneWithAuthoritiesById(1L)).thenReturn(Optional.of(user(false)));
+
+        assertThat(service.exchange("token")).isEmpty();
+    }
+}
@@ -0,0 +1,215 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(-TimeUnit.HOURS.toNanos(1));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties.RateLimit properties = new ApplicationProperties.RateLimit();
+        properties.setRoutes(List.of(route("authenticate", "POST", "/api/authenticate", 3), route("list", "GET", "/api/*", 100)));
+        filter = new RateLimitFilter(properties, registry, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static ApplicationProperties.RateLimit.Route route(String name, String method, String pattern, int capacity) {
+        ApplicationProperties.RateLimit.Route route = new ApplicationProperties.RateLimit.Route();
+        route.setName(name);
+        route.setMethod(method);
+        route.setPattern(pattern);
+        route.setCapacity(capacity);
+        route.setPeriod(Duration.ofMinutes(1));
+        return route;
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    /**
+     * Performs an anonymous request through an Undertow server with the forwarded headers enabled, as with
+     * {@code server.forward-headers-strategy: native}.
+     */
+    private static int performForwarded(WebServer server, String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/api/authenticate"))
+            .header("X-Forwarded-For", forwardedFor)
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private double throttled(String route) {
+        return registry
+            .get(RateLimitFilter.THROTTLED_METER_NAME)
+            .tag(RateLimitFilter.THROTTLED_METER_ROUTE_DIMENSION, route)
+            .counter()
+            .count();
+    }
+
+    @Test
+    void shouldAllowBurstThenThrottle() throws Exception {
+        for (int i = 2; i >= 0; i--) {
+            MockHttpServletResponse response = perform("POST", "/api/authenticate", "10.0.0.1");
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("3");
+            assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo(String.valueOf(i));
+        }
+
+        MockHttpServletResponse response = perform("POST", "/api/authenticate", "10.0.0.1");
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("20");
+        assertThat(response.getContentType()).isEqualTo("application/problem+json");
+        assertThat(throttled("authenticate")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefillOverTime() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            perform("POST", "/api/authenticate", "10.0.0.1");
+        }
+        assertThat(perform("POST", "/api/authenticate", "10.0.0.1").getStatus()).isEqualTo(429);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+
+        assertThat(perform("POST", "/api/authenticate", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/authenticate", "10.0.0.1").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void shouldKeepOneBucketPerClient() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            perform("POST", "/api/authenticate", "10.0.0.1");
+        }
+
+        assertThat(perform("POST", "/api/authenticate", "10.0.0.2").getStatus()).isEqualTo(200);
+
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated("user", null, List.of()));
+        assertThat(perform("POST", "/api/authenticate", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldKeepOneBucketPerForwardedClient() throws Exception {
+        UndertowServletWebServerFactory factory = new UndertowServletWebServerFactory(0);
+        factory.setUseForwardHeaders(true);
+        WebServer server = factory.getWebServer(context -> {
+            context.addFilter("rateLimit", filter).addMappingForUrlPatterns(null, false, "/*");
+            context.addServlet("ok", new HttpServlet() {}).addMapping("/*");
+        });
+        server.start();
+        try {
+            for (int i = 0; i < 3; i++) {
+                performForwarded(server, "203.0.113.1");
+            }
+            assertThat(performForwarded(server, "203.0.113.1")).isEqualTo(429);
+
+            // Another client behind the same proxy
+            assertThat(performForwarded(server, "203.0.113.2")).isNotEqualTo(429);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void shouldOnlyLimitMatchingRoutes() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            perform("POST", "/api/authenticate", "10.0.0.1");
+        }
+
+        MockHttpServletResponse response = perform("GET", "/api/employees", "10.0.0.1");
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("100");
+
+        // The account shares the route of the lists
+        response = perform("GET", "/api/account", "10.0.0.1");
+        assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("98");
+
+        response = perform("GET", "/api/employees/1", "10.0.0.1");
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+    }
+
+    @Test
+    void shouldNotLimitWhenDisabled() throws Exception {
+        ApplicationProperties.RateLimit properties = new ApplicationProperties.RateLimit();
+        properties.setEnabled(false);
+        properties.setRoutes(List.of(route("authenticate", "POST", "/api/authenticate", 1)));
+        filter = new RateLimitFilter(properties, registry, clock::get);
+
+        assertThat(perform("POST", "/api/authenticate", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/authenticate", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldShareBucketOnceMaxBucketsReached() throws Exception {
+        ApplicationProperties.RateLimit properties = new ApplicationProperties.RateLimit();
+        properties.setMaxBuckets(2);
+        properties.setRoutes(List.of(route("authenticate", "POST", "/api/authenticate", 3)));
+        filter = new RateLimitFilter(properties, registry, clock::get);
+        perform("POST", "/api/authenticate", "10.0.0.1");
+        perform("POST", "/api/authenticate", "10.0.0.2");
+
+        for (int i = 3; i < 6; i++) {
+            assertThat(perform("POST", "/api/authenticate", "10.0.0." + i).getStatus()).isEqualTo(200);
+        }
+
+        assertThat(perform("POST", "/api/authenticate", "10.0.0.6").getStatus()).isEqualTo(429);
+        assertThat(perform("POST", "/api/authenticate", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldRejectInvalidRoutes() {
+        ApplicationProperties.RateLimit properties = new ApplicationProperties.RateLimit();
+        properties.setRoutes(List.of(route("authenticate", "POST", "/api/authenticate", 0)));
+
+        assertThatThrownBy(() -> new RateLimitFilter(properties, registry))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("capacity of the rate limit route authenticate");
+
+        properties.getRoutes().get(0).setCapacity(1);
+        properties.getRoutes().get(0).setPeriod(Duration.ZERO);
+
+        assertThatThrownBy(() -> new RateLimitFilter(properties, registry))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("period of the rate limit route authenticate");
+    }
+}
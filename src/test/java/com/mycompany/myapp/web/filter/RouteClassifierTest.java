@@ -0,0 +1,73 @@
+package com.mycompany.myapp.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.web.filter.RouteClassifier.Route;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class RouteClassifierTest {
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {
+            "/api",
+            "/api/account",
+            "/api/authenticate/refresh",
+            "/api/employees/1.json",
+            "/apidocs",
+            "/management",
+            "/management/health",
+            "/v3/api-docs",
+            "/v3/api-docs/swagger-config",
+        }
+    )
+    void shouldClassifyBackendPrefixes(String path) {
+        assertThat(RouteClassifier.classify(path)).isEqualTo(Route.BACKEND);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/", "/test", "/first-level/second-level", "/1/2/3/4/5/6/7/8/9/10", "/app", "/app/main", "/swagger-ui/" })
+    void shouldClassifyClientRoutes(String path) {
+        assertThat(RouteClassifier.classify(path)).isEqualTo(Route.SPA);
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {
+            "/index.html",
+            "/main.js",
+            "/main.js.map",
+            "/robots.txt",
+            "/favicon.ico",
+            "/manifest.webapp",
+            "/app/main.7f3c.js",
+            "/app/vendors/chunk.css",
+            "/i18n/en.json",
+            "/content/images/logo.svg",
+            "/swagger-ui/index.html",
+        }
+    )
+    void shouldClassifyStaticAssets(String path) {
+        assertThat(RouteClassifier.classify(path)).isEqualTo(Route.STATIC);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "/404.html", "/foo/bar.js", "/foo/another/bar.js", "/WEB-INF/web.xml", "/app.js/x.png", "", "index.html" })
+    void shouldLeaveOtherFilesToTheBackend(String path) {
+        assertThat(RouteClassifier.classify(path)).isEqualTo(Route.BACKEND);
+    }
+
+    @Test
+    void shouldIgnoreTheContextPath() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/context/api/account");
+        request.setContextPath("/context");
+        assertThat(RouteClassifier.classify(request)).isEqualTo(Route.BACKEND);
+
+        request = new MockHttpServletRequest("GET", "/context/employees");
+        request.setContextPath("/context");
+        assertThat(RouteClassifier.classify(request)).isEqualTo(Route.SPA);
+    }
+}
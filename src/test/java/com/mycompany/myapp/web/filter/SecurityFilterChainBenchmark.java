@@ -0,0 +1,183 @@
+package com.mycompany.myapp.web.filter;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.SecurityConfiguration;
+import com.mycompany.myapp.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
+import org.springframework.security.web.DefaultSecurityFilterChain;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Benchmark of a request for the client shell, a client route or a static asset through the security filters, with the
+ * filter chains of {@link SecurityConfiguration}, with and without the static chain of the {@link RouteClassifier}, and
+ * of the classification of the paths against the previous checks of the {@link SpaWebFilter}.
+ * <p>
+ * Run it with:
+ * <pre>
+ * ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/classpath.txt) org.openjdk.jmh.Main SecurityFilterChainBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+    private static final HttpServlet RESOURCE_SERVLET = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) {}
+    };
+
+    @Param({ "/", "/employees/1", "/app/main.js" })
+    private String path;
+
+    @Param({ "false", "true" })
+    private boolean fastPath;
+
+    private AnnotationConfigWebApplicationContext context;
+
+    private MockServletContext servletContext;
+
+    private FilterChainProxy filterChainProxy;
+
+    @Setup
+    public void setUp() {
+        servletContext = new MockServletContext();
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(servletContext);
+        context.register(SecurityTestConfiguration.class);
+        context.refresh();
+        SecurityFilterChain filterChain = context.getBean("filterChain", SecurityFilterChain.class);
+        filterChainProxy = new FilterChainProxy(
+            fastPath ? List.of(context.getBean("staticFilterChain", SecurityFilterChain.class), filterChain) : List.of(legacy(filterChain))
+        );
+    }
+
+    /**
+     * The chain before the {@link RouteClassifier}: every request went through the filters of the backend, the client
+     * routes being forwarded by the {@link SpaWebFilter} after the authentication.
+     */
+    private static SecurityFilterChain legacy(SecurityFilterChain filterChain) {
+        List<Filter> filters = new ArrayList<>(filterChain.getFilters());
+        for (int i = 0; i < filters.size(); i++) {
+            if (filters.get(i) instanceof BearerTokenAuthenticationFilter) {
+                filters.add(i + 1, new SpaWebFilter());
+                break;
+            }
+        }
+        return new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE, filters);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterChain() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filterChainProxy.doFilter(request, response, new MockFilterChain(RESOURCE_SERVLET));
+        return response;
+    }
+
+    @Benchmark
+    public boolean classify() {
+        return fastPath ? RouteClassifier.classify(path) == RouteClassifier.Route.SPA : isSpaRoute(path);
+    }
+
+    /**
+     * Checks of the {@link SpaWebFilter} before the {@link RouteClassifier}.
+     */
+    private static boolean isSpaRoute(String path) {
+        return (
+            !path.startsWith("/api") &&
+            !path.startsWith("/management") &&
+            !path.startsWith("/v3/api-docs") &&
+            !path.contains(".") &&
+            path.matches("/(.*)")
+        );
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SecurityFilterChainBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @EnableWebSecurity
+    @Import(SecurityConfiguration.class)
+    static class SecurityTestConfiguration {
+
+        @Bean
+        JHipsterProperties jHipsterProperties() {
+            return new JHipsterProperties();
+        }
+
+        @Bean
+        ApplicationProperties applicationProperties() {
+            return new ApplicationProperties();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        SecurityMetersService securityMetersService(MeterRegistry meterRegistry) {
+            return new SecurityMetersService(meterRegistry);
+        }
+
+        @Bean
+        JwtDecoder jwtDecoder() {
+            return token -> {
+                throw new BadJwtException("Unexpected token");
+            };
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Country;
+import com.mycompany.myapp.domain.Department;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.Job;
+import com.mycompany.myapp.domain.Location;
+import com.mycompany.myapp.domain.Region;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link AnalyticsResource} REST controller.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@IntegrationTest
+@Transactional
+class AnalyticsResourceIT {
+
+    private static final String REGION_NAME = "Analytics region";
+
+    private static final String JOB_TITLE = "Analytics job";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restAnalyticsMockMvc;
+
+    private Department department;
+
+    private Country country;
+
+    private Region region;
+
+    @BeforeEach
+    void initTest() {
+        region = new Region().regionName(REGION_NAME);
+        em.persist(region);
+        country = new Country().countryName("Analytics country").region(region);
+        em.persist(country);
+        Location location = new Location().city("Analytics city").country(country);
+        em.persist(location);
+        department = new Department().departmentName("Analytics department").location(location);
+        em.persist(department);
+        Employee below = EmployeeResourceIT.createEntity().salary(100L).commissionPct(10L).department(department);
+        Employee within = EmployeeResourceIT.createEntity().salary(300L).commissionPct(null).department(department);
+        em.persist(below);
+        em.persist(within);
+        em.persist(new Job().jobTitle(JOB_TITLE).minSalary(200L).maxSalary(400L).employee(below));
+        em.persist(new Job().jobTitle(JOB_TITLE).minSalary(250L).maxSalary(500L).employee(within));
+        em.flush();
+    }
+
+    @Test
+    void getSalariesByDepartment() throws Exception {
+        restAnalyticsMockMvc.perform(post("/api/admin/analytics/refresh")).andExpect(status().isNoContent());
+
+        String path = "$.[?(@.id == " + department.getId() + ")]";
+        restAnalyticsMockMvc
+            .perform(get("/api/analytics/salaries/by-department"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(path + ".headcount").value(2))
+            .andExpect(jsonPath(path + ".payroll").value(400))
+            .andExpect(jsonPath(path + ".averageSalary").value(200.0))
+            .andExpect(jsonPath(path + ".minSalary").value(100))
+            .andExpect(jsonPath(path + ".maxSalary").value(300))
+            .andExpect(jsonPath(path + ".totalCommission").value(10))
+            .andExpect(jsonPath(path + ".averageCommission").value(10.0));
+    }
+
+    @Test
+    void getSalariesByCountryAndRegion() throws Exception {
+        restAnalyticsMockMvc.perform(post("/api/admin/analytics/refresh")).andExpect(status().isNoContent());
+
+        restAnalyticsMockMvc
+            .perform(get("/api/analytics/salaries/by-country"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == " + country.getId() + ")].payroll").value(400));
+        restAnalyticsMockMvc
+            .perform(get("/api/analytics/salaries/by-region"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == " + region.getId() + ")].name").value(REGION_NAME))
+            .andExpect(jsonPath("$.[?(@.id == " + region.getId() + ")].headcount").value(2));
+        restAnalyticsMockMvc
+            .perform(get("/api/analytics/salaries"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.refreshedAt").exists());
+    }
+
+    @Test
+    void getJobSalaryBands() throws Exception {
+        restAnalyticsMockMvc.perform(post("/api/admin/analytics/refresh")).andExpect(status().isNoContent());
+
+        String path = "$.[?(@.jobTitle == '" + JOB_TITLE + "')]";
+        restAnalyticsMockMvc
+            .perform(get("/api/analytics/job-salary-bands"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].jobTitle").value(hasItem(JOB_TITLE)))
+            .andExpect(jsonPath(path + ".jobs").value(2))
+            .andExpect(jsonPath(path + ".minSalary").value(200))
+            .andExpect(jsonPath(path + ".maxSalary").value(500))
+            .andExpect(jsonPath(path + ".belowBand").value(1))
+            .andExpect(jsonPath(path + ".withinBand").value(1))
+            .andExpect(jsonPath(path + ".aboveBand").value(0));
+    }
+
+    @Test
+    @WithMockUser
+    void refreshIsForbiddenToUsers() throws Exception {
+        restAnalyticsMockMvc.perform(post("/api/admin/analytics/refresh")).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,63 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Region;
+import com.mycompany.myapp.repository.RegionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link ChangeFeedResource} REST controller.
+ * <p>
+ * Not transactional: the changes are only recorded when their transaction commits.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ChangeFeedResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/changes";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private MockMvc restChangeFeedMockMvc;
+
+    @Test
+    void getChangesOfRegion() throws Exception {
+        String head = om
+            .readTree(restChangeFeedMockMvc.perform(get(ENTITY_API_URL + "/head")).andReturn().getResponse().getContentAsString())
+            .get("cursor")
+            .asText();
+
+        Region region = regionRepository.save(new Region().regionName("Change feed region"));
+        regionRepository.delete(region);
+
+        restChangeFeedMockMvc
+            .perform(get(ENTITY_API_URL).param("since", head).param("entity", "Region"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes.length()").value(2))
+            .andExpect(jsonPath("$.changes[0].entity").value("Region"))
+            .andExpect(jsonPath("$.changes[0].entityId").value(region.getId().intValue()))
+            .andExpect(jsonPath("$.changes[0].operation").value("CREATE"))
+            .andExpect(jsonPath("$.changes[0].changes.regionName").value("Change feed region"))
+            .andExpect(jsonPath("$.changes[1].operation").value("DELETE"))
+            .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void getChangesWithInvalidCursor() throws Exception {
+        restChangeFeedMockMvc.perform(get(ENTITY_API_URL).param("since", "invalid")).andExpect(status().isBadRequest());
+    }
+}
@@ -19,6 +19,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -193,6 +194,39 @@ class CountryResourceIT {
         assertPersistedCountryToMatchAllProperties(updatedCountry);
     }
 
+    @Test
+    @Transactional
+    void putCountryWithStaleIfMatch() throws Exception {
+        // Initialize the database, then modify the country after the client read it
+        insertedCountry = countryRepository.saveAndFlush(country);
+        String staleETag = "\"" + country.getVersion() + "\"";
+        country.setCountryName("CCCCCCCCCC");
+        countryRepository.saveAndFlush(country);
+
+        Country updatedCountry = createUpdatedEntity();
+        updatedCountry.setId(country.getId());
+
+        restCountryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedCountry.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedCountry))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restCountryMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedCountry.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedCountry))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(getPersistedCountry(country).getCountryName()).isEqualTo("CCCCCCCCCC");
+    }
+
     @Test
     @Transactional
     void putNonExistingCountry() throws Exception {
@@ -1,6 +1,7 @@
 package com.mycompany.myapp.web.rest;
 
 import static com.mycompany.myapp.domain.DepartmentAsserts.*;
+import static com.mycompany.myapp.web.rest.TestUtil.assertListItemEqualsEntity;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
@@ -10,6 +11,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Department;
+import com.mycompany.myapp.domain.Location;
 import com.mycompany.myapp.repository.DepartmentRepository;
 import jakarta.persistence.EntityManager;
 import java.util.Random;
@@ -19,6 +21,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -160,6 +163,19 @@ class DepartmentResourceIT {
             .andExpect(jsonPath("$.[*].departmentName").value(hasItem(DEFAULT_DEPARTMENT_NAME)));
     }
 
+    @Test
+    @Transactional
+    void searchDepartments() throws Exception {
+        // Initialize the database
+        insertedDepartment = departmentRepository.saveAndFlush(department.departmentName("Quillon research"));
+
+        restDepartmentMockMvc
+            .perform(get(ENTITY_API_URL + "/_search").param("query", "quillon"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(department.getId().intValue()))
+            .andExpect(jsonPath("$.[0].departmentName").value("Quillon research"));
+    }
+
     @Test
     @Transactional
     void getDepartment() throws Exception {
@@ -175,6 +191,34 @@ class DepartmentResourceIT {
             .andExpect(jsonPath("$.departmentName").value(DEFAULT_DEPARTMENT_NAME));
     }
 
+    @Test
+    @Transactional
+    void getAllDepartmentsWithTheJsonOfTheEntity() throws Exception {
+        // Initialize the database with every association of a department
+        Location location = LocationResourceIT.createEntity();
+        em.persist(location);
+        em.persist(department.location(location));
+        em.persist(EmployeeResourceIT.createEntity().department(department));
+        em.persist(JobHistoryResourceIT.createEntity().department(department));
+        em.flush();
+        em.clear();
+
+        String entity = restDepartmentMockMvc
+            .perform(get(ENTITY_API_URL_ID, department.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        String list = restDepartmentMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertListItemEqualsEntity(om, list, entity);
+    }
+
     @Test
     @Transactional
     void getNonExistingDepartment() throws Exception {
@@ -209,6 +253,39 @@ class DepartmentResourceIT {
         assertPersistedDepartmentToMatchAllProperties(updatedDepartment);
     }
 
+    @Test
+    @Transactional
+    void putDepartmentWithStaleIfMatch() throws Exception {
+        // Initialize the database, then modify the department after the client read it
+        insertedDepartment = departmentRepository.saveAndFlush(department);
+        String staleETag = "\"" + department.getVersion() + "\"";
+        department.setDepartmentName("CCCCCCCCCC");
+        departmentRepository.saveAndFlush(department);
+
+        Department updatedDepartment = createUpdatedEntity();
+        updatedDepartment.setId(department.getId());
+
+        restDepartmentMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedDepartment.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedDepartment))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restDepartmentMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedDepartment.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedDepartment))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(getPersistedDepartment(department).getDepartmentName()).isEqualTo("CCCCCCCCCC");
+    }
+
     @Test
     @Transactional
     void putNonExistingDepartment() throws Exception {
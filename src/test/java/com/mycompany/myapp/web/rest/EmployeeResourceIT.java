@@ -1,26 +1,42 @@
 package com.mycompany.myapp.web.rest;
 
 import static com.mycompany.myapp.domain.EmployeeAsserts.*;
+import static com.mycompany.myapp.web.rest.TestUtil.assertListItemEqualsEntity;
+import static com.mycompany.myapp.web.rest.TestUtil.assertSelectsPerTable;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Department;
 import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.management.QueryCount;
+import com.mycompany.myapp.management.QueryInstrumentation;
 import com.mycompany.myapp.repository.EmployeeRepository;
 import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -67,6 +83,9 @@ class EmployeeResourceIT {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private QueryInstrumentation queryInstrumentation;
+
     @Autowired
     private EntityManager em;
 
@@ -184,6 +203,97 @@ class EmployeeResourceIT {
             .andExpect(jsonPath("$.[*].commissionPct").value(hasItem(DEFAULT_COMMISSION_PCT.intValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllEmployeesWithoutRepeatedSelects() throws Exception {
+        // Initialize the database with a full page of employees sharing a department and a manager, each with a job
+        Department department = DepartmentResourceIT.createEntity();
+        em.persist(department);
+        Employee manager = createEntity();
+        em.persist(manager);
+        for (int i = 0; i < 5; i++) {
+            Employee report = createEntity().department(department).manager(manager);
+            em.persist(report);
+            em.persist(JobResourceIT.createEntity().employee(report));
+        }
+        em.flush();
+        em.clear();
+
+        try (QueryCount queries = queryInstrumentation.startCounting()) {
+            restEmployeeMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].department.id").value(everyItem(is(department.getId().intValue()))))
+                .andExpect(jsonPath("$.[*].manager.id").value(everyItem(is(manager.getId().intValue()))));
+
+            // The page and its count, whatever the number of employees
+            assertThat(queries.getStatements()).isLessThanOrEqualTo(2);
+            assertSelectsPerTable(queries, Map.of("employee", 2));
+        }
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesNotModified() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+
+        String eTag = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // Updating an employee of the page changes its tag
+        employee.setSalary(UPDATED_SALARY);
+        employeeRepository.saveAndFlush(employee);
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].version").value(hasItem(employee.getVersion().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void searchEmployees() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee.firstName("Quillon").lastName("Searchable"));
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "/_search").param("query", "quillon searchable"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(employee.getId().intValue()));
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "/_search").param("query", "quillon -searchable"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @Transactional
+    void typeaheadEmployees() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee.firstName("Quillon").lastName("Typeahead"));
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "/_typeahead").param("query", "uillon typ"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(employee.getId().intValue()));
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "/_typeahead").param("query", "quillon%_"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
     @Test
     @Transactional
     void getEmployee() throws Exception {
@@ -205,6 +315,57 @@ class EmployeeResourceIT {
             .andExpect(jsonPath("$.commissionPct").value(DEFAULT_COMMISSION_PCT.intValue()));
     }
 
+    @Test
+    @Transactional
+    void getEmployeeWithSelectedFields() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?fields=id,firstName", employee.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(employee.getId().intValue()))
+            .andExpect(jsonPath("$.firstName").value(DEFAULT_FIRST_NAME))
+            .andExpect(jsonPath("$.lastName").doesNotExist())
+            .andExpect(jsonPath("$.email").doesNotExist());
+
+        restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&fields=id,lastName"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].lastName").value(hasItem(DEFAULT_LAST_NAME)))
+            .andExpect(jsonPath("$.[*].firstName").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getAllEmployeesWithTheJsonOfTheEntity() throws Exception {
+        // Initialize the database with every association of an employee
+        Department department = DepartmentResourceIT.createEntity();
+        em.persist(department);
+        Employee manager = createEntity();
+        em.persist(manager);
+        em.persist(employee.department(department).manager(manager));
+        em.persist(JobResourceIT.createEntity().employee(employee));
+        em.persist(JobHistoryResourceIT.createEntity().employee(employee));
+        em.flush();
+        em.clear();
+
+        String entity = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL_ID, employee.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        String list = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=1"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertListItemEqualsEntity(om, list, entity);
+    }
+
     @Test
     @Transactional
     void getNonExistingEmployee() throws Exception {
@@ -246,6 +407,39 @@ class EmployeeResourceIT {
         assertPersistedEmployeeToMatchAllProperties(updatedEmployee);
     }
 
+    @Test
+    @Transactional
+    void putEmployeeWithStaleIfMatch() throws Exception {
+        // Initialize the database, then modify the employee after the client read it
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+        String staleETag = "\"" + employee.getVersion() + "\"";
+        employee.setFirstName("CCCCCCCCCC");
+        employeeRepository.saveAndFlush(employee);
+
+        Employee updatedEmployee = createUpdatedEntity();
+        updatedEmployee.setId(employee.getId());
+
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedEmployee.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedEmployee))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restEmployeeMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedEmployee.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedEmployee))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(getPersistedEmployee(employee).getFirstName()).isEqualTo("CCCCCCCCCC");
+    }
+
     @Test
     @Transactional
     void putNonExistingEmployee() throws Exception {
@@ -430,6 +624,146 @@ class EmployeeResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    void bulkCreateEmployees() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        Employee employeeWithId = createEntity().id(1L);
+        String body = om.writeValueAsString(employee) + "\n" + om.writeValueAsString(employeeWithId) + "\n";
+
+        // Items are processed independently: the one with an ID is rejected, the other one is created
+        String response = restEmployeeMockMvc
+            .perform(post(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].index").value(0))
+            .andExpect(jsonPath("$[0].status").value("CREATED"))
+            .andExpect(jsonPath("$[1].index").value(1))
+            .andExpect(jsonPath("$[1].status").value("FAILED"))
+            .andExpect(jsonPath("$[1].errorKey").value("idexists"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        insertedEmployee = employeeRepository.findById(om.readTree(response).get(0).get("id").asLong()).orElseThrow();
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        assertEmployeeUpdatableFieldsEquals(employee, insertedEmployee);
+    }
+
+    @Test
+    void bulkDeleteEmployees() throws Exception {
+        // Initialize the database
+        Employee persistedEmployee = employeeRepository.saveAndFlush(employee);
+
+        long databaseSizeBeforeDelete = getRepositoryCount();
+
+        restEmployeeMockMvc
+            .perform(
+                delete(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + persistedEmployee.getId() + ", " + Long.MAX_VALUE + "]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("DELETED"))
+            .andExpect(jsonPath("$[1].status").value("FAILED"))
+            .andExpect(jsonPath("$[1].errorKey").value("idnotfound"));
+
+        assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
+    }
+
+    @Test
+    @Transactional
+    void exportEmployeesAsCsv() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+
+        String csv = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("employees.csv")))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(csv)
+            .startsWith(
+                "id,first_name,last_name,email,phone_number,hire_date,salary,commission_pct," + "manager_id,department_id,job_history_id\r\n"
+            )
+            .contains("\r\n" + employee.getId() + "," + DEFAULT_FIRST_NAME + "," + DEFAULT_LAST_NAME + "," + DEFAULT_EMAIL + ",");
+    }
+
+    @Test
+    @Transactional
+    void exportEmployeesAsGzippedNdjson() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+
+        byte[] body = restEmployeeMockMvc
+            .perform(get(ENTITY_API_URL + "/export").param("format", "ndjson").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(ndjson.lines().map(line -> readTree(line).get("id").asLong())).contains(employee.getId());
+        assertThat(ndjson).endsWith("\n");
+    }
+
+    @Test
+    void getOrgChartOfEmployee() throws Exception {
+        // Initialize the database, committed so that the org chart sees the writes
+        Employee manager = employeeRepository.saveAndFlush(createEntity());
+        Employee report = employeeRepository.saveAndFlush(createEntity().manager(manager));
+        Employee indirectReport = employeeRepository.saveAndFlush(createEntity().manager(report));
+
+        try {
+            restEmployeeMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/reports", manager.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$.[0].id").value(report.getId().intValue()))
+                .andExpect(jsonPath("$.[1].id").value(indirectReport.getId().intValue()));
+
+            restEmployeeMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/reports?direct=true", manager.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$.[0].id").value(report.getId().intValue()));
+
+            restEmployeeMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/reporting-chain", indirectReport.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id").value(report.getId().intValue()))
+                .andExpect(jsonPath("$.[1].id").value(manager.getId().intValue()));
+
+            restEmployeeMockMvc
+                .perform(get(ENTITY_API_URL_ID + "/span-of-control", manager.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.directReports").value(1))
+                .andExpect(jsonPath("$.totalReports").value(2))
+                .andExpect(jsonPath("$.depth").value(0));
+        } finally {
+            employeeRepository.deleteAll(List.of(indirectReport, report, manager));
+        }
+    }
+
+    @Test
+    void getOrgChartOfNonExistingEmployee() throws Exception {
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL_ID + "/reports", Long.MAX_VALUE)).andExpect(status().isNotFound());
+        restEmployeeMockMvc.perform(get(ENTITY_API_URL_ID + "/span-of-control", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return om.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     protected long getRepositoryCount() {
         return employeeRepository.count();
     }
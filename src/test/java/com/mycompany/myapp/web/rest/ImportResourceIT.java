@@ -0,0 +1,95 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.repository.EmployeeRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ImportResource} REST controller.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@IntegrationTest
+class ImportResourceIT {
+
+    private static final String IMPORT_API_URL = "/api/admin/import";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MockMvc restImportMockMvc;
+
+    @Test
+    @Transactional
+    void importDepartmentsAndEmployees() throws Exception {
+        MockMultipartFile departments = csv("department", "id;department_name\n10;Imported department\n");
+        // The manager of the first employee comes later in the file, the last row references an unknown department
+        MockMultipartFile employees = csv(
+            "employee",
+            "id;first_name;last_name;hire_date;salary;manager_id;department_id\n" +
+            "1;Report;Imported;2025-05-26T09:01:02;100;2;10\n" +
+            "2;Manager;Imported;2025-05-26T09:01:02;200;;10\n" +
+            "3;Orphan;Imported;2025-05-26T09:01:02;300;;99\n"
+        );
+
+        restImportMockMvc
+            .perform(multipart(IMPORT_API_URL).file(departments).file(employees))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tables[0].table").value("department"))
+            .andExpect(jsonPath("$.tables[0].importedRows").value(1))
+            .andExpect(jsonPath("$.tables[1].table").value("employee"))
+            .andExpect(jsonPath("$.tables[1].importedRows").value(2))
+            .andExpect(jsonPath("$.tables[1].rejectedRows").value(1))
+            .andExpect(jsonPath("$.errorCount").value(1))
+            .andExpect(jsonPath("$.errors[0]").value("employee.csv line 4: unknown department_id 99"));
+
+        List<Employee> imported = employeeRepository
+            .findAll()
+            .stream()
+            .filter(employee -> "Imported".equals(employee.getLastName()))
+            .toList();
+        assertThat(imported).hasSize(2);
+        Employee report = imported.stream().filter(employee -> "Report".equals(employee.getFirstName())).findFirst().orElseThrow();
+        Employee manager = imported.stream().filter(employee -> "Manager".equals(employee.getFirstName())).findFirst().orElseThrow();
+        assertThat(report.getManager().getId()).isEqualTo(manager.getId());
+        assertThat(report.getDepartment().getId()).isEqualTo(manager.getDepartment().getId());
+        assertThat(report.getSalary()).isEqualTo(100L);
+    }
+
+    @Test
+    void importWithUnknownColumn() throws Exception {
+        restImportMockMvc
+            .perform(multipart(IMPORT_API_URL).file(csv("department", "id;name\n1;Unknown column\n")))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importUnknownTable() throws Exception {
+        restImportMockMvc.perform(multipart(IMPORT_API_URL).file(csv("salary", "id\n1\n"))).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void importIsForAdminsOnly() throws Exception {
+        restImportMockMvc.perform(multipart(IMPORT_API_URL).file(csv("department", "id\n"))).andExpect(status().isForbidden());
+    }
+
+    private static MockMultipartFile csv(String table, String content) {
+        return new MockMultipartFile(table, table + ".csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
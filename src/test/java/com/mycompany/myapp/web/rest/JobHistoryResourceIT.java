@@ -1,20 +1,31 @@
 package com.mycompany.myapp.web.rest;
 
 import static com.mycompany.myapp.domain.JobHistoryAsserts.*;
+import static com.mycompany.myapp.web.rest.TestUtil.assertSelectsPerTable;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Department;
+import com.mycompany.myapp.domain.Employee;
+import com.mycompany.myapp.domain.Job;
 import com.mycompany.myapp.domain.JobHistory;
+import com.mycompany.myapp.management.QueryCount;
+import com.mycompany.myapp.management.QueryInstrumentation;
 import com.mycompany.myapp.domain.enumeration.Language;
 import com.mycompany.myapp.repository.JobHistoryRepository;
 import jakarta.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -22,6 +33,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -56,6 +68,9 @@ class JobHistoryResourceIT {
     @Autowired
     private JobHistoryRepository jobHistoryRepository;
 
+    @Autowired
+    private QueryInstrumentation queryInstrumentation;
+
     @Autowired
     private EntityManager em;
 
@@ -155,6 +170,38 @@ class JobHistoryResourceIT {
             .andExpect(jsonPath("$.[*].language").value(hasItem(DEFAULT_LANGUAGE.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllJobHistoriesWithoutRepeatedSelects() throws Exception {
+        // Initialize the database with a full page of job histories, each with its job, department and employee
+        Employee manager = EmployeeResourceIT.createEntity();
+        em.persist(manager);
+        for (int i = 0; i < 5; i++) {
+            Job job = JobResourceIT.createEntity();
+            Department department = DepartmentResourceIT.createEntity();
+            Employee employee = EmployeeResourceIT.createEntity().department(department).manager(manager);
+            em.persist(job);
+            em.persist(department);
+            em.persist(employee);
+            em.persist(createEntity().job(job).department(department).employee(employee));
+        }
+        em.flush();
+        em.clear();
+
+        try (QueryCount queries = queryInstrumentation.startCounting()) {
+            restJobHistoryMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].job.id").value(everyItem(notNullValue())))
+                .andExpect(jsonPath("$.[*].department.id").value(everyItem(notNullValue())))
+                .andExpect(jsonPath("$.[*].employee.id").value(everyItem(notNullValue())));
+
+            // The page and its count, whatever the number of job histories
+            assertThat(queries.getStatements()).isLessThanOrEqualTo(2);
+            assertSelectsPerTable(queries, Map.of("job_history", 2));
+        }
+    }
+
     @Test
     @Transactional
     void getJobHistory() throws Exception {
@@ -206,6 +253,39 @@ class JobHistoryResourceIT {
         assertPersistedJobHistoryToMatchAllProperties(updatedJobHistory);
     }
 
+    @Test
+    @Transactional
+    void putJobHistoryWithStaleIfMatch() throws Exception {
+        // Initialize the database, then modify the jobHistory after the client read it
+        insertedJobHistory = jobHistoryRepository.saveAndFlush(jobHistory);
+        String staleETag = "\"" + jobHistory.getVersion() + "\"";
+        jobHistory.setLanguage(Language.SPANISH);
+        jobHistoryRepository.saveAndFlush(jobHistory);
+
+        JobHistory updatedJobHistory = createUpdatedEntity();
+        updatedJobHistory.setId(jobHistory.getId());
+
+        restJobHistoryMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedJobHistory.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedJobHistory))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restJobHistoryMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedJobHistory.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedJobHistory))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(getPersistedJobHistory(jobHistory).getLanguage()).isEqualTo(Language.SPANISH);
+    }
+
     @Test
     @Transactional
     void putNonExistingJobHistory() throws Exception {
@@ -384,6 +464,130 @@ class JobHistoryResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void exportJobHistoriesAsNdjson() throws Exception {
+        // Initialize the database
+        insertedJobHistory = jobHistoryRepository.saveAndFlush(jobHistory);
+
+        String ndjson = restJobHistoryMockMvc
+            .perform(get(ENTITY_API_URL + "/export").param("format", "NDJSON"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        JsonNode exported = null;
+        for (String line : ndjson.split("\n")) {
+            JsonNode node = om.readTree(line);
+            if (node.get("id").asLong() == jobHistory.getId()) {
+                exported = node;
+            }
+        }
+        assertThat(exported).isNotNull();
+        assertThat(exported.get("language").asText()).isEqualTo(DEFAULT_LANGUAGE.toString());
+    }
+
+    @Test
+    void exportJobHistoriesWithUnknownFormat() throws Exception {
+        restJobHistoryMockMvc.perform(get(ENTITY_API_URL + "/export").param("format", "xml")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getJobHistoriesAsOfAndOverlapping() throws Exception {
+        // Initialize the database, committed so that the period index sees the writes
+        Instant base = Instant.parse("2100-01-01T00:00:00Z");
+        JobHistory first = jobHistoryRepository.saveAndFlush(createEntity().startDate(base).endDate(base.plus(10, ChronoUnit.DAYS)));
+        JobHistory second = jobHistoryRepository.saveAndFlush(createEntity().startDate(base.plus(5, ChronoUnit.DAYS)).endDate(null));
+        JobHistory inverted = jobHistoryRepository.saveAndFlush(
+            createEntity().startDate(base.plus(7, ChronoUnit.DAYS)).endDate(base.plus(6, ChronoUnit.DAYS))
+        );
+
+        try {
+            restJobHistoryMockMvc
+                .perform(get(ENTITY_API_URL + "/as-of").param("at", base.plus(6, ChronoUnit.DAYS).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(first.getId().intValue())))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(second.getId().intValue())))
+                .andExpect(jsonPath("$.[?(@.id == " + inverted.getId() + ")]").isEmpty());
+
+            // Periods are half-open, the first one is over at its end date
+            restJobHistoryMockMvc
+                .perform(get(ENTITY_API_URL + "/as-of").param("at", base.plus(10, ChronoUnit.DAYS).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[?(@.id == " + first.getId() + ")]").isEmpty())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(second.getId().intValue())));
+
+            restJobHistoryMockMvc
+                .perform(
+                    get(ENTITY_API_URL + "/overlapping")
+                        .param("from", base.minus(1, ChronoUnit.DAYS).toString())
+                        .param("to", base.plus(5, ChronoUnit.DAYS).toString())
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(first.getId().intValue())))
+                .andExpect(jsonPath("$.[?(@.id == " + second.getId() + ")]").isEmpty());
+        } finally {
+            jobHistoryRepository.deleteAll(List.of(first, second, inverted));
+        }
+    }
+
+    @Test
+    @Transactional
+    void getTimelineOfEmployee() throws Exception {
+        Employee employee = EmployeeResourceIT.createEntity();
+        em.persist(employee);
+        insertedJobHistory = jobHistoryRepository.saveAndFlush(jobHistory.employee(employee));
+
+        restJobHistoryMockMvc
+            .perform(get(ENTITY_API_URL + "/timeline").param("employeeId", employee.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(insertedJobHistory.getId().intValue()))
+            .andExpect(jsonPath("$.[0].employee.id").value(employee.getId().intValue()));
+    }
+
+    @Test
+    void getOverlappingJobHistoriesWithInvalidInterval() throws Exception {
+        restJobHistoryMockMvc
+            .perform(get(ENTITY_API_URL + "/overlapping").param("from", "2100-01-02T00:00:00Z").param("to", "2100-01-01T00:00:00Z"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkUpdateAndDeleteJobHistoriesWithAMissingId() throws Exception {
+        // Initialize the database
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        JobHistory persistedJobHistory = jobHistoryRepository.saveAndFlush(jobHistory);
+        JobHistory updatedJobHistory = createUpdatedEntity().id(persistedJobHistory.getId());
+        String body = om.writeValueAsString(List.of(updatedJobHistory, createUpdatedEntity().id(Long.MAX_VALUE)));
+
+        // A missing id fails with the same error key in both operations, the other items are still written
+        restJobHistoryMockMvc
+            .perform(put(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("UPDATED"))
+            .andExpect(jsonPath("$[1].status").value("FAILED"))
+            .andExpect(jsonPath("$[1].errorKey").value("idnotfound"));
+
+        assertJobHistoryUpdatableFieldsEquals(updatedJobHistory, jobHistoryRepository.findById(persistedJobHistory.getId()).orElseThrow());
+
+        restJobHistoryMockMvc
+            .perform(
+                delete(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + persistedJobHistory.getId() + ", " + Long.MAX_VALUE + "]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("DELETED"))
+            .andExpect(jsonPath("$[1].status").value("FAILED"))
+            .andExpect(jsonPath("$[1].errorKey").value("idnotfound"));
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     protected long getRepositoryCount() {
         return jobHistoryRepository.count();
     }
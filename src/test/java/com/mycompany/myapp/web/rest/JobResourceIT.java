@@ -1,19 +1,30 @@
 package com.mycompany.myapp.web.rest;
 
 import static com.mycompany.myapp.domain.JobAsserts.*;
+import static com.mycompany.myapp.web.rest.TestUtil.assertListItemEqualsEntity;
+import static com.mycompany.myapp.web.rest.TestUtil.assertSelectsPerTable;
 import static com.mycompany.myapp.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Employee;
 import com.mycompany.myapp.domain.Job;
+import com.mycompany.myapp.domain.Task;
+import com.mycompany.myapp.management.QueryCount;
+import com.mycompany.myapp.management.QueryInstrumentation;
 import com.mycompany.myapp.repository.JobRepository;
 import jakarta.persistence.EntityManager;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -26,6 +37,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -61,6 +73,9 @@ class JobResourceIT {
     @Autowired
     private JobRepository jobRepository;
 
+    @Autowired
+    private QueryInstrumentation queryInstrumentation;
+
     @Mock
     private JobRepository jobRepositoryMock;
 
@@ -165,19 +180,63 @@ class JobResourceIT {
 
     @SuppressWarnings({ "unchecked" })
     void getAllJobsWithEagerRelationshipsIsEnabled() throws Exception {
-        when(jobRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
+        when(jobRepositoryMock.findAllViewsWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         restJobMockMvc.perform(get(ENTITY_API_URL + "?eagerload=true")).andExpect(status().isOk());
 
-        verify(jobRepositoryMock, times(1)).findAllWithEagerRelationships(any());
+        verify(jobRepositoryMock, times(1)).findAllViewsWithEagerRelationships(any());
     }
 
     @SuppressWarnings({ "unchecked" })
     void getAllJobsWithEagerRelationshipsIsNotEnabled() throws Exception {
-        when(jobRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
+        when(jobRepositoryMock.findAllViewsWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         restJobMockMvc.perform(get(ENTITY_API_URL + "?eagerload=false")).andExpect(status().isOk());
-        verify(jobRepositoryMock, times(1)).findAll(any(Pageable.class));
+        verify(jobRepositoryMock, times(1)).findAllViews(any(Pageable.class));
+    }
+
+    @Test
+    @Transactional
+    void getAllJobsWithoutRepeatedSelects() throws Exception {
+        // Initialize the database with a full page of jobs of the same employee, sharing their tasks
+        Employee employee = EmployeeResourceIT.createEntity();
+        em.persist(employee);
+        Task design = TaskResourceIT.createEntity();
+        Task review = TaskResourceIT.createEntity();
+        em.persist(design);
+        em.persist(review);
+        for (int i = 0; i < 5; i++) {
+            em.persist(createEntity().employee(employee).addTask(design).addTask(review));
+        }
+        em.flush();
+        em.clear();
+
+        try (QueryCount queries = queryInstrumentation.startCounting()) {
+            restJobMockMvc
+                .perform(get(ENTITY_API_URL + "?sort=id,desc&size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].employee.id").value(everyItem(is(employee.getId().intValue()))))
+                .andExpect(jsonPath("$.[*].tasks[*].id").value(hasItems(design.getId().intValue(), review.getId().intValue())));
+
+            // The page, its count and the tasks of the page, whatever the number of jobs
+            assertThat(queries.getStatements()).isLessThanOrEqualTo(3);
+            assertSelectsPerTable(queries, Map.of("job", 3));
+        }
+    }
+
+    @Test
+    @Transactional
+    void searchJobs() throws Exception {
+        // Initialize the database
+        insertedJob = jobRepository.saveAndFlush(job.jobTitle("Quillon engineers"));
+
+        // Titles are stemmed
+        restJobMockMvc
+            .perform(get(ENTITY_API_URL + "/_search").param("query", "quillon engineer"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(job.getId().intValue()))
+            .andExpect(jsonPath("$.[0].jobTitle").value("Quillon engineers"));
     }
 
     @Test
@@ -197,6 +256,35 @@ class JobResourceIT {
             .andExpect(jsonPath("$.maxSalary").value(DEFAULT_MAX_SALARY.intValue()));
     }
 
+    @Test
+    @Transactional
+    void getAllJobsWithTheJsonOfTheEntity() throws Exception {
+        // Initialize the database with every association of a job
+        Employee employee = EmployeeResourceIT.createEntity();
+        em.persist(employee);
+        Task task = TaskResourceIT.createEntity();
+        em.persist(task);
+        em.persist(job.employee(employee).addTask(task));
+        em.persist(JobHistoryResourceIT.createEntity().job(job));
+        em.flush();
+        em.clear();
+
+        String entity = restJobMockMvc
+            .perform(get(ENTITY_API_URL_ID, job.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        String list = restJobMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&size=1"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertListItemEqualsEntity(om, list, entity);
+    }
+
     @Test
     @Transactional
     void getNonExistingJob() throws Exception {
@@ -229,6 +317,39 @@ class JobResourceIT {
         assertPersistedJobToMatchAllProperties(updatedJob);
     }
 
+    @Test
+    @Transactional
+    void putJobWithStaleIfMatch() throws Exception {
+        // Initialize the database, then modify the job after the client read it
+        insertedJob = jobRepository.saveAndFlush(job);
+        String staleETag = "\"" + job.getVersion() + "\"";
+        job.setJobTitle("CCCCCCCCCC");
+        jobRepository.saveAndFlush(job);
+
+        Job updatedJob = createUpdatedEntity();
+        updatedJob.setId(job.getId());
+
+        restJobMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedJob.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedJob))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restJobMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedJob.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedJob))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(getPersistedJob(job).getJobTitle()).isEqualTo("CCCCCCCCCC");
+    }
+
     @Test
     @Transactional
     void putNonExistingJob() throws Exception {
@@ -398,6 +519,38 @@ class JobResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    void bulkUpdateAndDeleteJobsWithAMissingId() throws Exception {
+        // Initialize the database
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        Job persistedJob = jobRepository.saveAndFlush(job);
+        Job updatedJob = createUpdatedEntity().id(persistedJob.getId());
+        String body = om.writeValueAsString(List.of(updatedJob, createUpdatedEntity().id(Long.MAX_VALUE)));
+
+        // A missing id fails with the same error key in both operations, the other items are still written
+        restJobMockMvc
+            .perform(put(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("UPDATED"))
+            .andExpect(jsonPath("$[1].status").value("FAILED"))
+            .andExpect(jsonPath("$[1].errorKey").value("idnotfound"));
+
+        assertJobUpdatableFieldsEquals(updatedJob, jobRepository.findById(persistedJob.getId()).orElseThrow());
+
+        restJobMockMvc
+            .perform(
+                delete(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + persistedJob.getId() + ", " + Long.MAX_VALUE + "]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("DELETED"))
+            .andExpect(jsonPath("$[1].status").value("FAILED"))
+            .andExpect(jsonPath("$[1].errorKey").value("idnotfound"));
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     protected long getRepositoryCount() {
         return jobRepository.count();
     }
@@ -19,6 +19,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -220,6 +221,39 @@ class LocationResourceIT {
         assertPersistedLocationToMatchAllProperties(updatedLocation);
     }
 
+    @Test
+    @Transactional
+    void putLocationWithStaleIfMatch() throws Exception {
+        // Initialize the database, then modify the location after the client read it
+        insertedLocation = locationRepository.saveAndFlush(location);
+        String staleETag = "\"" + location.getVersion() + "\"";
+        location.setCity("CCCCCCCCCC");
+        locationRepository.saveAndFlush(location);
+
+        Location updatedLocation = createUpdatedEntity();
+        updatedLocation.setId(location.getId());
+
+        restLocationMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedLocation.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedLocation))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restLocationMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedLocation.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedLocation))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(getPersistedLocation(location).getCity()).isEqualTo("CCCCCCCCCC");
+    }
+
     @Test
     @Transactional
     void putNonExistingLocation() throws Exception {
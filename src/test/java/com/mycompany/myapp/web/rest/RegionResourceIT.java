@@ -19,6 +19,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -364,6 +365,123 @@ class RegionResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void getRegionNotModified() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        String eTag = restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID, region.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + region.getVersion() + "\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restRegionMockMvc
+            .perform(get(ENTITY_API_URL_ID, region.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getAllRegionsNotModified() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        String eTag = restRegionMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restRegionMockMvc.perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        // Updating a region changes the tag of the list
+        region.setRegionName(UPDATED_REGION_NAME);
+        regionRepository.saveAndFlush(region);
+        restRegionMockMvc.perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    void putRegionWithIfMatch() throws Exception {
+        // Initialize the database
+        insertedRegion = regionRepository.saveAndFlush(region);
+
+        Region updatedRegion = createUpdatedEntity();
+        updatedRegion.setId(region.getId());
+
+        restRegionMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedRegion.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"" + region.getVersion() + "\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedRegion))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG));
+
+        assertThat(getPersistedRegion(region).getRegionName()).isEqualTo(UPDATED_REGION_NAME);
+    }
+
+    @Test
+    @Transactional
+    void putRegionWithStaleIfMatch() throws Exception {
+        // Initialize the database, then modify the region after the client read it
+        insertedRegion = regionRepository.saveAndFlush(region);
+        String staleETag = "\"" + region.getVersion() + "\"";
+        region.setRegionName("CCCCCCCCCC");
+        regionRepository.saveAndFlush(region);
+
+        Region updatedRegion = createUpdatedEntity();
+        updatedRegion.setId(region.getId());
+
+        restRegionMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedRegion.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedRegion))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restRegionMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedRegion.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedRegion))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(getPersistedRegion(region).getRegionName()).isEqualTo("CCCCCCCCCC");
+    }
+
+    @Test
+    @Transactional
+    void putRegionWithStaleVersion() throws Exception {
+        // Initialize the database, then modify the region after the client read it
+        insertedRegion = regionRepository.saveAndFlush(region);
+        Region updatedRegion = createUpdatedEntity();
+        updatedRegion.setId(region.getId());
+        updatedRegion.setVersion(region.getVersion());
+        region.setRegionName("CCCCCCCCCC");
+        regionRepository.saveAndFlush(region);
+
+        restRegionMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedRegion.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedRegion))
+            )
+            .andExpect(status().isConflict());
+    }
+
     protected long getRepositoryCount() {
         return regionRepository.count();
     }
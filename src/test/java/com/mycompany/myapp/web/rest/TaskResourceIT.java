@@ -12,6 +12,7 @@ import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Task;
 import com.mycompany.myapp.repository.TaskRepository;
 import jakarta.persistence.EntityManager;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -148,6 +150,22 @@ class TaskResourceIT {
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)));
     }
 
+    @Test
+    @Transactional
+    void searchTasks() throws Exception {
+        // Initialize the database
+        Task described = taskRepository.saveAndFlush(createEntity().title("Other").description("Review the quillon report"));
+        insertedTask = taskRepository.saveAndFlush(task.title("Quillon report"));
+
+        // Matches in the title rank before matches in the description
+        restTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/_search").param("query", "quillon"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[0].id").value(task.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(described.getId().intValue()));
+    }
+
     @Test
     @Transactional
     void getTask() throws Exception {
@@ -198,6 +216,39 @@ class TaskResourceIT {
         assertPersistedTaskToMatchAllProperties(updatedTask);
     }
 
+    @Test
+    @Transactional
+    void putTaskWithStaleIfMatch() throws Exception {
+        // Initialize the database, then modify the task after the client read it
+        insertedTask = taskRepository.saveAndFlush(task);
+        String staleETag = "\"" + task.getVersion() + "\"";
+        task.setTitle("CCCCCCCCCC");
+        taskRepository.saveAndFlush(task);
+
+        Task updatedTask = createUpdatedEntity();
+        updatedTask.setId(task.getId());
+
+        restTaskMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedTask.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedTask))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        restTaskMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedTask.getId())
+                    .header(HttpHeaders.IF_MATCH, staleETag)
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(updatedTask))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        assertThat(getPersistedTask(task).getTitle()).isEqualTo("CCCCCCCCCC");
+    }
+
     @Test
     @Transactional
     void putNonExistingTask() throws Exception {
@@ -369,6 +420,38 @@ class TaskResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    void bulkUpdateAndDeleteTasksWithAMissingId() throws Exception {
+        // Initialize the database
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        Task persistedTask = taskRepository.saveAndFlush(task);
+        Task updatedTask = createUpdatedEntity().id(persistedTask.getId());
+        String body = om.writeValueAsString(List.of(updatedTask, createUpdatedEntity().id(Long.MAX_VALUE)));
+
+        // A missing id fails with the same error key in both operations, the other items are still written
+        restTaskMockMvc
+            .perform(put(ENTITY_API_URL + "/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("UPDATED"))
+            .andExpect(jsonPath("$[1].status").value("FAILED"))
+            .andExpect(jsonPath("$[1].errorKey").value("idnotfound"));
+
+        assertTaskUpdatableFieldsEquals(updatedTask, taskRepository.findById(persistedTask.getId()).orElseThrow());
+
+        restTaskMockMvc
+            .perform(
+                delete(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + persistedTask.getId() + ", " + Long.MAX_VALUE + "]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("DELETED"))
+            .andExpect(jsonPath("$[1].status").value("FAILED"))
+            .andExpect(jsonPath("$[1].errorKey").value("idnotfound"));
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     protected long getRepositoryCount() {
         return taskRepository.count();
     }
@@ -2,16 +2,21 @@ package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mycompany.myapp.management.QueryCount;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.hamcrest.TypeSafeMatcher;
@@ -152,6 +157,37 @@ public final class TestUtil {
         assertThat(domainObject1).hasSameHashCodeAs(domainObject2);
     }
 
+    /**
+     * Asserts that a request only selected from the given tables, at most the given number of times each, whatever the
+     * number of rows: the associations of the rows are joined or fetched in one query, not row by row (N+1).
+     *
+     * @param queries the statements of the request.
+     * @param maxSelectsPerTable the tables the request may select from, with their maximum number of selects.
+     */
+    public static void assertSelectsPerTable(QueryCount queries, Map<String, Integer> maxSelectsPerTable) {
+        assertThat(queries.getSelectsPerTable()).allSatisfy((table, selects) -> {
+            assertThat(maxSelectsPerTable).as("selected tables").containsKey(table);
+            assertThat(selects).as("selects on %s", table).isLessThanOrEqualTo(maxSelectsPerTable.get(table));
+        });
+    }
+
+    /**
+     * Asserts that the item of a list response with the id of an entity response has the same JSON, keys and values,
+     * so that the list endpoints keep the JSON contract of the entity endpoints.
+     *
+     * @param om the object mapper.
+     * @param list the body of the list response.
+     * @param entity the body of the entity response.
+     * @throws IOException if a body isn't JSON.
+     */
+    public static void assertListItemEqualsEntity(ObjectMapper om, String list, String entity) throws IOException {
+        JsonNode expected = om.readTree(entity);
+        assertThat(om.readTree(list))
+            .filteredOn(item -> item.get("id").equals(expected.get("id")))
+            .singleElement()
+            .isEqualTo(expected);
+    }
+
     /**
      * Create a {@link FormattingConversionService} which use ISO date format, instead of the localized one.
      * @return the {@link FormattingConversionService}.
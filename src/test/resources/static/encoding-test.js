@@ -0,0 +1 @@
+window.encoding = 'identity';
@@ -0,0 +1,59 @@
+const zlib = require('zlib');
+const { promisify } = require('util');
+const { Compilation, sources } = require('webpack');
+
+const PLUGIN_NAME = 'PrecompressPlugin';
+
+const gzip = promisify(zlib.gzip);
+const brotliCompress = promisify(zlib.brotliCompress);
+
+/**
+ * Emits a brotli (.br) and a gzip (.gz) copy next to the text assets of the bundle, at the highest compression level.
+ * The server sends them to the clients accepting these encodings (see StaticResourcesWebConfiguration) instead of
+ * compressing the assets on every request. A copy is only emitted when it saves enough bytes.
+ */
+class PrecompressPlugin {
+  constructor({ test = /\.(js|css|html|svg|json|txt|map)$/, threshold = 1024, minRatio = 0.8 } = {}) {
+    this.test = test;
+    this.threshold = threshold;
+    this.minRatio = minRatio;
+  }
+
+  apply(compiler) {
+    compiler.hooks.thisCompilation.tap(PLUGIN_NAME, compilation => {
+      compilation.hooks.processAssets.tapPromise(
+        { name: PLUGIN_NAME, stage: Compilation.PROCESS_ASSETS_STAGE_OPTIMIZE_TRANSFER },
+        assets => Promise.all(Object.keys(assets).map(name => this.compress(compilation, name, assets[name]))),
+      );
+    });
+  }
+
+  async compress(compilation, name, source) {
+    if (!this.test.test(name)) {
+      return;
+    }
+    const content = source.buffer();
+    if (content.length < this.threshold) {
+      return;
+    }
+    const [brotli, gzipped] = await Promise.all([
+      brotliCompress(content, {
+        params: {
+          [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+          [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+        },
+      }),
+      gzip(content, { level: zlib.constants.Z_BEST_COMPRESSION }),
+    ]);
+    for (const [extension, compressed] of [
+      ['br', brotli],
+      ['gz', gzipped],
+    ]) {
+      if (compressed.length <= content.length * this.minRatio) {
+        compilation.emitAsset(`${name}.${extension}`, new sources.RawSource(compressed), { compressed: true });
+      }
+    }
+  }
+}
+
+module.exports = PrecompressPlugin;